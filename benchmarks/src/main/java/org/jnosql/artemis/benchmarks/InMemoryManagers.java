@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.benchmarks;
+
+import javax.enterprise.inject.Instance;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Creates managers that answer from memory, so the benchmarks measure the extension code instead of a driver or
+ * a mock library. Every method that returns a {@link List} returns the given entities, a method that returns the
+ * type of its first argument, like save and update, returns that argument, and everything else returns null.
+ */
+public final class InMemoryManagers {
+
+    private InMemoryManagers() {
+    }
+
+    public static <T> T of(Class<T> managerType, List<?> entities) {
+        Objects.requireNonNull(managerType, "managerType is required");
+        Objects.requireNonNull(entities, "entities is required");
+        List<?> result = Collections.unmodifiableList(entities);
+        Object manager = Proxy.newProxyInstance(managerType.getClassLoader(), new Class[]{managerType},
+                (proxy, method, args) -> answer(method, args, result));
+        return managerType.cast(manager);
+    }
+
+    @SuppressWarnings("unchecked")
+    public static <T> Instance<T> instance(T value) {
+        Objects.requireNonNull(value, "value is required");
+        return (Instance<T>) Proxy.newProxyInstance(Instance.class.getClassLoader(), new Class[]{Instance.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "get":
+                            return value;
+                        case "iterator":
+                            return Collections.singletonList(value).iterator();
+                        case "isUnsatisfied":
+                        case "isAmbiguous":
+                            return false;
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private static Object answer(Method method, Object[] args, List<?> entities) {
+        Class<?> returnType = method.getReturnType();
+        if (List.class.equals(returnType) || Iterable.class.equals(returnType)) {
+            return entities;
+        }
+        if (Optional.class.equals(returnType)) {
+            return entities.stream().findFirst();
+        }
+        if (args != null && args.length > 0 && args[0] != null && returnType.isInstance(args[0])) {
+            return args[0];
+        }
+        if (boolean.class.equals(returnType)) {
+            return false;
+        }
+        if (long.class.equals(returnType)) {
+            return 0L;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.cassandra.column;
+
+import org.jnosql.artemis.benchmarks.BenchmarkContainer;
+import org.jnosql.artemis.cassandra.column.model.Actor;
+import org.jnosql.artemis.cassandra.column.model.Director;
+import org.jnosql.artemis.cassandra.column.model.History2;
+import org.jnosql.artemis.cassandra.column.model.Job;
+import org.jnosql.artemis.cassandra.column.model.Money;
+import org.jnosql.artemis.cassandra.column.model.Movie;
+import org.jnosql.artemis.cassandra.column.model.Worker;
+import org.jnosql.diana.api.column.ColumnEntity;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZonedDateTime;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link CassandraColumnEntityConverter} on a flat entity, an entity with an embedded field,
+ * an entity with a UDT field and entities with {@link org.jnosql.artemis.Convert} fields, in both directions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CassandraColumnEntityConverterBenchmark {
+
+    private CassandraColumnEntityConverter converter;
+
+    private Actor actor;
+
+    private Director director;
+
+    private Person person;
+
+    private Worker worker;
+
+    private History2 history;
+
+    private ColumnEntity actorEntity;
+
+    private ColumnEntity directorEntity;
+
+    private ColumnEntity personEntity;
+
+    private ColumnEntity workerEntity;
+
+    private ColumnEntity historyEntity;
+
+    @Setup
+    public void setUp() {
+        converter = BenchmarkContainer.INSTANCE.getBean(CassandraColumnEntityConverter.class);
+
+        Map<String, String> characters = new HashMap<>();
+        characters.put("The Shining", "Jack Torrance");
+        characters.put("Chinatown", "Jake Gittes");
+        Map<String, Integer> ratings = new HashMap<>();
+        ratings.put("The Shining", 10);
+        ratings.put("Chinatown", 9);
+        actor = Actor.actorBuilder().withAge().withId().withName().withPhones(Arrays.asList("234", "2342"))
+                .withMovieCharacter(characters).withMovierRating(ratings).build();
+
+        Movie movie = new Movie("Star Wars", 1977, new HashSet<>(Collections.singletonList("Mark Hamill")));
+        director = Director.builderDiretor().withAge(78).withId(12).withName("George Lucas")
+                .withPhones(Arrays.asList("234", "2342")).withMovie(movie).build();
+
+        person = new Person("Ada", 10);
+        Address address = new Address();
+        address.setStreet("Rua Paulista");
+        address.setCity("Sao Paulo");
+        person.setHome(address);
+
+        Job job = new Job();
+        job.setDescription("Developer");
+        job.setCity("Sao Paulo");
+        worker = new Worker();
+        worker.setName("Ada");
+        worker.setJob(job);
+        worker.setSalary(new Money("USD", BigDecimal.valueOf(1_000)));
+
+        history = new History2();
+        history.setNumber(System.currentTimeMillis());
+        history.setLocalDate(LocalDate.now());
+        history.setLocalDateTime(LocalDateTime.now());
+        history.setCalendar(Calendar.getInstance());
+        history.setZonedDateTime(ZonedDateTime.now());
+
+        actorEntity = converter.toColumn(actor);
+        directorEntity = converter.toColumn(director);
+        personEntity = converter.toColumn(person);
+        workerEntity = converter.toColumn(worker);
+        historyEntity = converter.toColumn(history);
+    }
+
+    @Benchmark
+    public ColumnEntity flatToColumn() {
+        return converter.toColumn(actor);
+    }
+
+    @Benchmark
+    public Actor flatToEntity() {
+        return converter.toEntity(Actor.class, actorEntity);
+    }
+
+    @Benchmark
+    public ColumnEntity embeddedToColumn() {
+        return converter.toColumn(director);
+    }
+
+    @Benchmark
+    public Director embeddedToEntity() {
+        return converter.toEntity(Director.class, directorEntity);
+    }
+
+    @Benchmark
+    public ColumnEntity udtToColumn() {
+        return converter.toColumn(person);
+    }
+
+    @Benchmark
+    public Person udtToEntity() {
+        return converter.toEntity(Person.class, personEntity);
+    }
+
+    @Benchmark
+    public ColumnEntity convertToColumn() {
+        return converter.toColumn(worker);
+    }
+
+    @Benchmark
+    public Worker convertToEntity() {
+        return converter.toEntity(Worker.class, workerEntity);
+    }
+
+    @Benchmark
+    public ColumnEntity timestampConvertToColumn() {
+        return converter.toColumn(history);
+    }
+
+    @Benchmark
+    public History2 timestampConvertToEntity() {
+        return converter.toEntity(History2.class, historyEntity);
+    }
+}
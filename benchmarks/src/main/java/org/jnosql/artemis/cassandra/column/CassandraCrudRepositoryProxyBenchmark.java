@@ -0,0 +1,129 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.cassandra.column;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import org.jnosql.artemis.benchmarks.BenchmarkContainer;
+import org.jnosql.artemis.benchmarks.InMemoryManagers;
+import org.jnosql.artemis.column.ColumnEventPersistManager;
+import org.jnosql.artemis.column.ColumnWorkflow;
+import org.jnosql.artemis.reflection.ClassRepresentations;
+import org.jnosql.diana.api.column.Column;
+import org.jnosql.diana.api.column.ColumnEntity;
+import org.jnosql.diana.cassandra.column.CassandraColumnFamilyManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Measures the {@link CassandraCrudRepositoryProxy} dispatch, query parsing and result conversion on top of a
+ * manager that answers from memory, so the numbers do not include any I/O.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CassandraCrudRepositoryProxyBenchmark {
+
+    @Param({"1", "100"})
+    private int size;
+
+    private PersonBenchmarkRepository repository;
+
+    @Setup
+    public void setUp() {
+        List<ColumnEntity> entities = new ArrayList<>();
+        for (int index = 0; index < size; index++) {
+            ColumnEntity entity = ColumnEntity.of("Person");
+            entity.add(Column.of("name", "Ada"));
+            entity.add(Column.of("age", index));
+            entities.add(entity);
+        }
+        CassandraColumnFamilyManager manager = InMemoryManagers.of(CassandraColumnFamilyManager.class, entities);
+
+        BenchmarkContainer container = BenchmarkContainer.INSTANCE;
+        CassandraColumnRepository columnRepository = new DefaultCassandraColumnRepository(
+                InMemoryManagers.instance(manager), container.getBean(CassandraColumnEntityConverter.class),
+                container.getBean(ColumnWorkflow.class), container.getBean(ColumnEventPersistManager.class));
+        CassandraCrudRepositoryProxy<Person> handler = new CassandraCrudRepositoryProxy<>(columnRepository,
+                container.getBean(ClassRepresentations.class), PersonBenchmarkRepository.class);
+        repository = (PersonBenchmarkRepository) Proxy.newProxyInstance(
+                PersonBenchmarkRepository.class.getClassLoader(), new Class[]{PersonBenchmarkRepository.class},
+                handler);
+    }
+
+    @Benchmark
+    public List<Person> findByList() {
+        return repository.findByName("Ada");
+    }
+
+    @Benchmark
+    public Optional<Person> findByOptional() {
+        return repository.findByAge(10);
+    }
+
+    @Benchmark
+    public List<Person> findByConsistencyLevel() {
+        return repository.findByName("Ada", ConsistencyLevel.ONE);
+    }
+
+    @Benchmark
+    public List<Person> cqlList() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public List<Person> cqlStream() {
+        return repository.streamAll().collect(Collectors.toList());
+    }
+
+    interface PersonBenchmarkRepository extends CassandraCrudRepository<Person> {
+
+        List<Person> findByName(String name);
+
+        List<Person> findByName(String name, ConsistencyLevel level);
+
+        Optional<Person> findByAge(Integer age);
+
+        @CQL("select * from Person")
+        List<Person> findAll();
+
+        @CQL("select * from Person")
+        Stream<Person> streamAll();
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.orientdb.document;
+
+import org.jnosql.artemis.benchmarks.BenchmarkContainer;
+import org.jnosql.artemis.benchmarks.InMemoryManagers;
+import org.jnosql.artemis.document.DocumentEntityConverter;
+import org.jnosql.artemis.document.DocumentEventPersistManager;
+import org.jnosql.artemis.document.DocumentWorkflow;
+import org.jnosql.artemis.reflection.ClassRepresentations;
+import org.jnosql.diana.api.document.Document;
+import org.jnosql.diana.api.document.DocumentEntity;
+import org.jnosql.diana.orientdb.document.OrientDBDocumentCollectionManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link OrientDBDocumentCrudRepositoryProxy} dispatch, query parsing and result conversion on top of
+ * a manager that answers from memory, so the numbers do not include any I/O.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrientDBCrudRepositoryProxyBenchmark {
+
+    @Param({"1", "100"})
+    private int size;
+
+    private PersonBenchmarkRepository repository;
+
+    @Setup
+    public void setUp() {
+        List<DocumentEntity> entities = new ArrayList<>();
+        for (int index = 0; index < size; index++) {
+            DocumentEntity entity = DocumentEntity.of("Person");
+            entity.add(Document.of("name", "Ada"));
+            entity.add(Document.of("age", index));
+            entities.add(entity);
+        }
+        OrientDBDocumentCollectionManager manager = InMemoryManagers.of(OrientDBDocumentCollectionManager.class,
+                entities);
+
+        BenchmarkContainer container = BenchmarkContainer.INSTANCE;
+        OrientDBDocumentRepository documentRepository = new DefaultOrientDBDocumentRepository(
+                InMemoryManagers.instance(manager), container.getBean(DocumentEntityConverter.class),
+                container.getBean(DocumentWorkflow.class), container.getBean(DocumentEventPersistManager.class));
+        OrientDBDocumentCrudRepositoryProxy<Person> handler = new OrientDBDocumentCrudRepositoryProxy<>(
+                documentRepository, container.getBean(ClassRepresentations.class), PersonBenchmarkRepository.class);
+        repository = (PersonBenchmarkRepository) Proxy.newProxyInstance(
+                PersonBenchmarkRepository.class.getClassLoader(), new Class[]{PersonBenchmarkRepository.class},
+                handler);
+    }
+
+    @Benchmark
+    public List<Person> findByList() {
+        return repository.findByName("Ada");
+    }
+
+    @Benchmark
+    public Optional<Person> findByOptional() {
+        return repository.findByAge(10);
+    }
+
+    @Benchmark
+    public List<Person> sqlList() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public List<Person> sqlParams() {
+        return repository.queryByName("Ada");
+    }
+
+    interface PersonBenchmarkRepository extends OrientDBCrudRepository<Person> {
+
+        List<Person> findByName(String name);
+
+        Optional<Person> findByAge(Integer age);
+
+        @SQL("select * from Person")
+        List<Person> findAll();
+
+        @SQL("select * from Person where name = ?")
+        List<Person> queryByName(String name);
+    }
+}
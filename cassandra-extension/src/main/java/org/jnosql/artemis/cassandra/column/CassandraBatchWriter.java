@@ -0,0 +1,267 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.cassandra.column;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.ColumnMetadata;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.KeyspaceMetadata;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.TableMetadata;
+import com.datastax.driver.core.exceptions.CodecNotFoundException;
+import com.datastax.driver.core.querybuilder.Insert;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import org.jnosql.diana.api.column.Column;
+import org.jnosql.diana.api.column.ColumnEntity;
+import org.jnosql.diana.cassandra.column.CassandraColumnFamilyManager;
+import org.jnosql.diana.cassandra.column.UDT;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Groups {@link ColumnEntity} into unlogged {@link BatchStatement}, one open batch per partition key, and sends each
+ * batch once it reaches the max size. When no partition key is given, it is read from the table metadata of the
+ * {@link Session}; an entity whose partition key is still unknown is never batched with other partitions, it is
+ * written on its own: asynchronously through the session, at most maxBatchSize writes in flight, or through the
+ * manager when there is no session. Entities with UDT or sub columns, or with a value that has no codec in the
+ * driver's {@link CodecRegistry}, cannot be written by a plain {@link Insert}, so they are saved one by one through
+ * the {@link CassandraColumnFamilyManager}, which converts their values.
+ * At most maxOpenBatches batches are open at once, when a new partition key needs one more, the oldest open batch
+ * is sent first, so the memory held is bounded by maxOpenBatches * maxBatchSize inserts whatever the number of
+ * partition keys. The inserts use the table name only, so the manager's session must be connected to the keyspace.
+ * The entities are written below the entity events, so neither the pre nor the post persist events are fired.
+ */
+class CassandraBatchWriter {
+
+    static final int DEFAULT_MAX_OPEN_BATCHES = 64;
+
+    private static final Object NO_PARTITION = new Object();
+
+    private final CassandraColumnFamilyManager manager;
+
+    private final ConsistencyLevel level;
+
+    private final Duration ttl;
+
+    private final int maxBatchSize;
+
+    private final int maxOpenBatches;
+
+    private final Session session;
+
+    private final CodecRegistry codecs;
+
+    private final Map<Object, BatchStatement> batches = new LinkedHashMap<>();
+
+    private final Map<String, List<String>> partitionColumns = new HashMap<>();
+
+    private final Queue<ResultSetFuture> writes = new ArrayDeque<>();
+
+    CassandraBatchWriter(CassandraColumnFamilyManager manager, ConsistencyLevel level, Duration ttl, int maxBatchSize) {
+        this(manager, null, level, ttl, maxBatchSize, DEFAULT_MAX_OPEN_BATCHES);
+    }
+
+    CassandraBatchWriter(CassandraColumnFamilyManager manager, Session session, ConsistencyLevel level, Duration ttl,
+                         int maxBatchSize) {
+        this(manager, session, level, ttl, maxBatchSize, DEFAULT_MAX_OPEN_BATCHES);
+    }
+
+    /**
+     * @param manager        the manager
+     * @param session        the session used to read the partition keys and to send single writes, it may be null
+     * @param level          the level
+     * @param ttl            the ttl, it may be null
+     * @param maxBatchSize   the max number of inserts on each batch
+     * @param maxOpenBatches the max number of batches open at once
+     */
+    CassandraBatchWriter(CassandraColumnFamilyManager manager, Session session, ConsistencyLevel level, Duration ttl,
+                         int maxBatchSize, int maxOpenBatches) {
+        this.manager = Objects.requireNonNull(manager, "manager is required");
+        this.session = session;
+        this.codecs = session == null ? CodecRegistry.DEFAULT_INSTANCE
+                : session.getCluster().getConfiguration().getCodecRegistry();
+        this.level = Objects.requireNonNull(level, "level is required");
+        this.ttl = ttl;
+        if (maxBatchSize <= 0) {
+            throw new IllegalArgumentException("The max batch size must be greater than zero: " + maxBatchSize);
+        }
+        if (maxOpenBatches <= 0) {
+            throw new IllegalArgumentException("The max open batches must be greater than zero: " + maxOpenBatches);
+        }
+        this.maxBatchSize = maxBatchSize;
+        this.maxOpenBatches = maxOpenBatches;
+    }
+
+    ConsistencyLevel getLevel() {
+        return level;
+    }
+
+    void add(ColumnEntity entity, Object partitionKey) {
+        Objects.requireNonNull(entity, "entity is required");
+        if (!isBatchable(entity)) {
+            save(entity);
+            return;
+        }
+
+        Object key = partitionKey == null ? toPartitionKey(entity) : partitionKey;
+        if (key == NO_PARTITION) {
+            write(toInsert(entity));
+            return;
+        }
+        if (!batches.containsKey(key) && batches.size() >= maxOpenBatches) {
+            flushOldest();
+        }
+        BatchStatement batch = batches.computeIfAbsent(key, k -> newBatch());
+        batch.add(toInsert(entity));
+        if (batch.size() >= maxBatchSize) {
+            batches.remove(key);
+            manager.execute(batch);
+        }
+    }
+
+    void flush() {
+        for (BatchStatement batch : batches.values()) {
+            manager.execute(batch);
+        }
+        batches.clear();
+        while (!writes.isEmpty()) {
+            writes.poll().getUninterruptibly();
+        }
+    }
+
+    private void write(Insert insert) {
+        insert.setConsistencyLevel(level);
+        if (session == null) {
+            manager.execute(insert);
+            return;
+        }
+        if (writes.size() >= maxBatchSize) {
+            writes.poll().getUninterruptibly();
+        }
+        writes.add(session.executeAsync(insert));
+    }
+
+    private Object toPartitionKey(ColumnEntity entity) {
+        List<String> names = partitionColumns.computeIfAbsent(entity.getName(), this::readPartitionColumns);
+        if (names.isEmpty()) {
+            return NO_PARTITION;
+        }
+        List<Object> key = new ArrayList<>(names.size());
+        for (String name : names) {
+            Optional<Column> column = entity.find(name);
+            if (!column.isPresent()) {
+                return NO_PARTITION;
+            }
+            key.add(column.get().get());
+        }
+        return key;
+    }
+
+    private List<String> readPartitionColumns(String table) {
+        if (session == null || session.getLoggedKeyspace() == null) {
+            return Collections.emptyList();
+        }
+        KeyspaceMetadata keyspace = session.getCluster().getMetadata().getKeyspace(session.getLoggedKeyspace());
+        TableMetadata metadata = keyspace == null ? null : keyspace.getTable(table);
+        if (metadata == null) {
+            return Collections.emptyList();
+        }
+        return metadata.getPartitionKey().stream().map(ColumnMetadata::getName).collect(toList());
+    }
+
+    private void flushOldest() {
+        Iterator<BatchStatement> iterator = batches.values().iterator();
+        BatchStatement oldest = iterator.next();
+        iterator.remove();
+        manager.execute(oldest);
+    }
+
+    private void save(ColumnEntity entity) {
+        if (ttl == null) {
+            manager.save(entity, level);
+        } else {
+            manager.save(entity, ttl, level);
+        }
+    }
+
+    private BatchStatement newBatch() {
+        BatchStatement batch = new BatchStatement(BatchStatement.Type.UNLOGGED);
+        batch.setConsistencyLevel(level);
+        return batch;
+    }
+
+    private Insert toInsert(ColumnEntity entity) {
+        Insert insert = QueryBuilder.insertInto(entity.getName());
+        for (Column column : entity.getColumns()) {
+            insert.value(column.getName(), column.get());
+        }
+        if (ttl != null) {
+            insert.using(QueryBuilder.ttl((int) ttl.getSeconds()));
+        }
+        return insert;
+    }
+
+    private boolean isBatchable(ColumnEntity entity) {
+        for (Column column : entity.getColumns()) {
+            if (UDT.class.isInstance(column)) {
+                return false;
+            }
+            Object value = column.get();
+            if (!hasCodec(value)) {
+                return false;
+            }
+            if (Iterable.class.isInstance(value)) {
+                for (Object element : Iterable.class.cast(value)) {
+                    if (Column.class.isInstance(element)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    private boolean hasCodec(Object value) {
+        if (value == null) {
+            return true;
+        }
+        try {
+            codecs.codecFor(value);
+            return true;
+        } catch (CodecNotFoundException exception) {
+            return false;
+        }
+    }
+}
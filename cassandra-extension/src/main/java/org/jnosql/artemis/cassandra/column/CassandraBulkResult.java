@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.cassandra.column;
+
+/**
+ * The result of a bulk operation on {@link CassandraColumnRepositoryAsync}
+ */
+public final class CassandraBulkResult {
+
+    private final long successes;
+
+    private final long failures;
+
+    CassandraBulkResult(long successes, long failures) {
+        this.successes = successes;
+        this.failures = failures;
+    }
+
+    /**
+     * @return the number of entities written with success
+     */
+    public long getSuccesses() {
+        return successes;
+    }
+
+    /**
+     * @return the number of entities that failed
+     */
+    public long getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return the number of entities processed
+     */
+    public long getTotal() {
+        return successes + failures;
+    }
+
+    /**
+     * @return true when there is not failure
+     */
+    public boolean isSuccess() {
+        return failures == 0;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("CassandraBulkResult{");
+        sb.append("successes=").append(successes);
+        sb.append(", failures=").append(failures);
+        sb.append('}');
+        return sb.toString();
+    }
+}
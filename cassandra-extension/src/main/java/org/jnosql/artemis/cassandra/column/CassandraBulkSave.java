@@ -0,0 +1,203 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.cassandra.column;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Writes the elements of an {@link Iterable} keeping at most maxInFlight writes waiting for the callback.
+ * A write without callback within the timeout is taken as failed, since the diana async manager just calls back on
+ * success; a late callback of that write is ignored. A new write is just submitted when a previous one finishes,
+ * the submission loop never recurses, so callbacks that are called on the submitting thread are safe.
+ *
+ * @param <T> the entity type
+ */
+class CassandraBulkSave<T> {
+
+    private static final Logger LOGGER = Logger.getLogger(CassandraBulkSave.class.getName());
+
+    private final Iterator<T> iterator;
+
+    private final int maxInFlight;
+
+    private final BiConsumer<T, Runnable> writer;
+
+    private final BiConsumer<T, Throwable> onFailure;
+
+    private final Duration timeout;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final CompletableFuture<CassandraBulkResult> result = new CompletableFuture<>();
+
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private final AtomicLong successes = new AtomicLong();
+
+    private final AtomicLong failures = new AtomicLong();
+
+    private int inFlight;
+
+    private boolean exhausted;
+
+    /**
+     * @param entities    the entities
+     * @param maxInFlight the max number of writes waiting for callback
+     * @param writer      submits the entity and must run the given callback when the write finishes
+     * @param onFailure   called with each entity that failed, null entities included
+     */
+    CassandraBulkSave(Iterable<T> entities, int maxInFlight, BiConsumer<T, Runnable> writer,
+                      BiConsumer<T, Throwable> onFailure) {
+        this(entities, maxInFlight, writer, onFailure, CassandraTimeouts.DEFAULT_TIMEOUT,
+                CassandraTimeouts.scheduler());
+    }
+
+    /**
+     * @param entities    the entities
+     * @param maxInFlight the max number of writes waiting for callback
+     * @param writer      submits the entity and must run the given callback when the write finishes
+     * @param onFailure   called with each entity that failed, null entities included
+     * @param timeout     the time a write may wait for its callback
+     * @param scheduler   runs the timeouts
+     */
+    CassandraBulkSave(Iterable<T> entities, int maxInFlight, BiConsumer<T, Runnable> writer,
+                      BiConsumer<T, Throwable> onFailure, Duration timeout, ScheduledExecutorService scheduler) {
+        Objects.requireNonNull(entities, "entities is required");
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("The max in flight must be greater than zero: " + maxInFlight);
+        }
+        this.iterator = entities.iterator();
+        this.maxInFlight = maxInFlight;
+        this.writer = Objects.requireNonNull(writer, "writer is required");
+        this.onFailure = Objects.requireNonNull(onFailure, "onFailure is required");
+        this.timeout = Objects.requireNonNull(timeout, "timeout is required");
+        this.scheduler = Objects.requireNonNull(scheduler, "scheduler is required");
+    }
+
+    CompletionStage<CassandraBulkResult> start() {
+        drain();
+        return result;
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        do {
+            T entity;
+            while ((entity = next()) != null) {
+                submit(entity);
+            }
+            completeWhenDone();
+        } while (wip.decrementAndGet() != 0);
+    }
+
+    private T next() {
+        while (true) {
+            synchronized (this) {
+                if (exhausted || inFlight >= maxInFlight || result.isDone()) {
+                    return null;
+                }
+                try {
+                    if (!iterator.hasNext()) {
+                        exhausted = true;
+                        return null;
+                    }
+                    T entity = iterator.next();
+                    if (entity != null) {
+                        inFlight++;
+                        return entity;
+                    }
+                } catch (RuntimeException exception) {
+                    exhausted = true;
+                    result.completeExceptionally(exception);
+                    return null;
+                }
+            }
+            failures.incrementAndGet();
+            notifyFailure(null, new NullPointerException("entity is required"));
+        }
+    }
+
+    private void submit(T entity) {
+        AtomicBoolean finished = new AtomicBoolean();
+        long millis = timeout.toMillis();
+        ScheduledFuture<?> timer = scheduler.schedule(() -> {
+            if (finished.compareAndSet(false, true)) {
+                failed(entity, new TimeoutException("The write did not finish in " + millis + " ms"));
+            }
+        }, millis, TimeUnit.MILLISECONDS);
+        try {
+            writer.accept(entity, () -> {
+                if (finished.compareAndSet(false, true)) {
+                    timer.cancel(false);
+                    successes.incrementAndGet();
+                    release();
+                }
+            });
+        } catch (RuntimeException exception) {
+            if (finished.compareAndSet(false, true)) {
+                timer.cancel(false);
+                failed(entity, exception);
+            }
+        }
+    }
+
+    private void failed(T entity, Throwable cause) {
+        failures.incrementAndGet();
+        notifyFailure(entity, cause);
+        release();
+    }
+
+    private void notifyFailure(T entity, Throwable cause) {
+        try {
+            onFailure.accept(entity, cause);
+        } catch (RuntimeException callbackException) {
+            LOGGER.log(Level.WARNING, "Error on the failure callback of a bulk save", callbackException);
+        }
+    }
+
+    private void release() {
+        synchronized (this) {
+            inFlight--;
+        }
+        drain();
+    }
+
+    private synchronized void completeWhenDone() {
+        if (exhausted && inFlight == 0) {
+            result.complete(new CassandraBulkResult(successes.get(), failures.get()));
+        }
+    }
+}
@@ -20,10 +20,9 @@
 package org.jnosql.artemis.cassandra.column;
 
 
-import org.jnosql.artemis.AttributeConverter;
 import org.jnosql.artemis.Converters;
+import org.jnosql.artemis.cassandra.column.CassandraColumnMapping.FieldMapping;
 import org.jnosql.artemis.column.ColumnEntityConverter;
-import org.jnosql.artemis.reflection.ClassRepresentation;
 import org.jnosql.artemis.reflection.ClassRepresentations;
 import org.jnosql.artemis.reflection.FieldRepresentation;
 import org.jnosql.artemis.reflection.FieldValue;
@@ -39,22 +38,20 @@ import javax.enterprise.inject.Alternative;
 import javax.inject.Inject;
 import javax.interceptor.Interceptor;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
-import java.util.function.Consumer;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
-
-import static org.jnosql.artemis.reflection.FieldType.EMBEDDED;
+import java.util.concurrent.ConcurrentHashMap;
 
 @ApplicationScoped
 @Alternative
 @Priority(Interceptor.Priority.LIBRARY_BEFORE)
 class CassandraColumnEntityConverter implements ColumnEntityConverter {
 
+    private final Map<Class<?>, CassandraColumnMapping> mappingsByClass = new ConcurrentHashMap<>();
+
+    private final Map<String, CassandraColumnMapping> mappingsByName = new ConcurrentHashMap<>();
+
     @Inject
     private ClassRepresentations classRepresentations;
 
@@ -67,13 +64,14 @@ class CassandraColumnEntityConverter implements ColumnEntityConverter {
     @Override
     public ColumnEntity toColumn(Object entityInstance) {
         Objects.requireNonNull(entityInstance, "Object is required");
-        ClassRepresentation representation = classRepresentations.get(entityInstance.getClass());
-        ColumnEntity entity = ColumnEntity.of(representation.getName());
-        representation.getFields().stream()
-                .map(f -> to(f, entityInstance))
-                .filter(FieldValue::isNotEmpty)
-                .map(f -> f.toColumn(this, converters))
-                .forEach(entity::add);
+        CassandraColumnMapping mapping = getMapping(entityInstance.getClass());
+        ColumnEntity entity = ColumnEntity.of(mapping.getRepresentation().getName());
+        for (FieldMapping field : mapping.getFields()) {
+            FieldValue value = to(field, entityInstance);
+            if (value.isNotEmpty()) {
+                entity.add(value.toColumn(this, converters));
+            }
+        }
         return entity;
     }
 
@@ -83,93 +81,98 @@ class CassandraColumnEntityConverter implements ColumnEntityConverter {
     }
 
     private <T> T toEntity(Class<T> entityClass, List<Column> columns) {
-        ClassRepresentation representation = classRepresentations.get(entityClass);
-        T instance = reflections.newInstance(representation.getConstructor());
-        return convertEntity(columns, representation, instance);
+        CassandraColumnMapping mapping = getMapping(entityClass);
+        T instance = reflections.newInstance(mapping.getRepresentation().getConstructor());
+        return convertEntity(columns, mapping, instance);
     }
 
     @SuppressWarnings("unchecked")
     @Override
     public <T> T toEntity(ColumnEntity entity) {
-        ClassRepresentation representation = classRepresentations.findByName(entity.getName());
-        T instance = reflections.newInstance(representation.getConstructor());
-        return convertEntity(entity.getColumns(), representation, instance);
+        CassandraColumnMapping mapping = mappingsByName.computeIfAbsent(entity.getName(),
+                n -> CassandraColumnMapping.of(classRepresentations.findByName(n), converters));
+        T instance = reflections.newInstance(mapping.getRepresentation().getConstructor());
+        return convertEntity(entity.getColumns(), mapping, instance);
     }
 
-    private FieldValue to(FieldRepresentation field, Object entityInstance) {
+    private CassandraColumnMapping getMapping(Class<?> entityClass) {
+        return mappingsByClass.computeIfAbsent(entityClass,
+                c -> CassandraColumnMapping.of(classRepresentations.get(c), converters));
+    }
+
+    private FieldValue to(FieldMapping field, Object entityInstance) {
         Object value = reflections.getValue(entityInstance, field.getField());
-        UDT annotation = field.getField().getAnnotation(UDT.class);
-        if (Objects.isNull(annotation)) {
-            return FieldValue.of(value, field);
-        } else {
-            return new CassandraUDTType(annotation.value(), value, field);
+        if (CassandraColumnMapping.MappingType.UDT.equals(field.getType())) {
+            return new CassandraUDTType(field.getUserType(), value, field.getRepresentation());
         }
-
+        return FieldValue.of(value, field.getRepresentation());
     }
 
-    private <T> Consumer<String> feedObject(T instance, List<Column> columns, Map<String, FieldRepresentation> fieldsGroupByName) {
-        return k -> {
-            Optional<Column> column = columns.stream().filter(c -> c.getName().equals(k)).findFirst();
-            FieldRepresentation field = fieldsGroupByName.get(k);
-            if (EMBEDDED.equals(field.getType())) {
-                setEmbeddedField(instance, columns, column, field);
-            } else if (Objects.nonNull(field.getField().getAnnotation(UDT.class))) {
-                setUDTField(instance, columns, column, field);
-            } else {
-                setSingleField(instance, column, field);
+    private <T> T convertEntity(List<Column> columns, CassandraColumnMapping mapping, T instance) {
+        FieldMapping[] fields = mapping.getFields();
+        Column[] slots = new Column[fields.length];
+        for (Column column : columns) {
+            int slot = mapping.slot(column.getName());
+            if (slot >= 0 && slots[slot] == null) {
+                slots[slot] = column;
             }
-        };
-    }
+        }
 
-    private <T> void setSingleField(T instance, Optional<Column> column, FieldRepresentation field) {
-        Value value = column.get().getValue();
-        Optional<Class<? extends AttributeConverter>> converter = field.getConverter();
-        if (converter.isPresent()) {
-            AttributeConverter attributeConverter = converters.get(converter.get());
-            Object attributeConverted = attributeConverter.convertToEntityAttribute(value.get());
-            reflections.setValue(instance, field.getField(), field.getValue(Value.of(attributeConverted)));
-        } else {
-            reflections.setValue(instance, field.getField(), field.getValue(value));
+        for (int index = 0; index < fields.length; index++) {
+            FieldMapping field = fields[index];
+            Column column = slots[index];
+            switch (field.getType()) {
+                case EMBEDDED:
+                    setEmbeddedField(instance, columns, column, field);
+                    break;
+                case UDT:
+                    setUDTField(instance, column, field);
+                    break;
+                default:
+                    if (column != null) {
+                        setSingleField(instance, column, field);
+                    }
+            }
         }
+        return instance;
     }
 
-    private <T> T convertEntity(List<Column> columns, ClassRepresentation representation, T instance) {
-        Map<String, FieldRepresentation> fieldsGroupByName = representation.getFieldsGroupByName();
-        List<String> names = columns.stream().map(Column::getName).sorted().collect(Collectors.toList());
-        Predicate<String> existField = k -> Collections.binarySearch(names, k) >= 0;
-        fieldsGroupByName.keySet().stream()
-                .filter(existField.or(k -> EMBEDDED.equals(fieldsGroupByName.get(k).getType())))
-                .forEach(feedObject(instance, columns, fieldsGroupByName));
-
-        return instance;
+    private <T> void setSingleField(T instance, Column column, FieldMapping field) {
+        Value value = column.getValue();
+        FieldRepresentation representation = field.getRepresentation();
+        if (field.hasConverter()) {
+            Object attributeConverted = field.getConverter().convertToEntityAttribute(value.get());
+            reflections.setValue(instance, field.getField(), representation.getValue(Value.of(attributeConverted)));
+        } else {
+            reflections.setValue(instance, field.getField(), representation.getValue(value));
+        }
     }
 
-    private <T> void setEmbeddedField(T instance, List<Column> columns, Optional<Column> column, FieldRepresentation field) {
-        if (column.isPresent()) {
-            Column subColumn = column.get();
-            Object value = subColumn.get();
+    private <T> void setEmbeddedField(T instance, List<Column> columns, Column column, FieldMapping field) {
+        if (column != null) {
+            Object value = column.get();
             if (Map.class.isInstance(value)) {
                 Map map = Map.class.cast(value);
-                List<Column> embeddedColumns = new ArrayList<>();
+                List<Column> embeddedColumns = new ArrayList<>(map.size());
                 for (Object key : map.keySet()) {
                     embeddedColumns.add(Column.of(key.toString(), map.get(key)));
                 }
-                reflections.setValue(instance, field.getField(), toEntity(field.getField().getType(), embeddedColumns));
+                reflections.setValue(instance, field.getField(), toEntity(field.getFieldType(), embeddedColumns));
             } else {
-                reflections.setValue(instance, field.getField(), toEntity(field.getField().getType(),
-                        subColumn.get(new TypeReference<List<Column>>() {
+                reflections.setValue(instance, field.getField(), toEntity(field.getFieldType(),
+                        column.get(new TypeReference<List<Column>>() {
                         })));
             }
 
         } else {
-            reflections.setValue(instance, field.getField(), toEntity(field.getField().getType(), columns));
+            reflections.setValue(instance, field.getField(), toEntity(field.getFieldType(), columns));
         }
     }
 
-    private <T> void setUDTField(T instance, List<Column> columns, Optional<Column> column, FieldRepresentation field) {
-        if (column.isPresent() && org.jnosql.diana.cassandra.column.UDT.class.isInstance(column.get())) {
-            org.jnosql.diana.cassandra.column.UDT udt = org.jnosql.diana.cassandra.column.UDT.class.cast(column.get());
-            reflections.setValue(instance, field.getField(), toEntity(field.getField().getType(), udt.getColumns()));
+    private <T> void setUDTField(T instance, Column column, FieldMapping field) {
+        if (org.jnosql.diana.cassandra.column.UDT.class.isInstance(column)) {
+            org.jnosql.diana.cassandra.column.UDT udt = org.jnosql.diana.cassandra.column.UDT.class.cast(column);
+            reflections.setValue(instance, field.getField(), toEntity(field.getFieldType(), udt.getColumns()));
         }
     }
 
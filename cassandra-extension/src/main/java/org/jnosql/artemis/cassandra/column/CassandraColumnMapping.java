@@ -0,0 +1,174 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.cassandra.column;
+
+import org.jnosql.artemis.AttributeConverter;
+import org.jnosql.artemis.Converters;
+import org.jnosql.artemis.reflection.ClassRepresentation;
+import org.jnosql.artemis.reflection.FieldRepresentation;
+
+import java.lang.reflect.Field;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+import static org.jnosql.artemis.reflection.FieldType.EMBEDDED;
+
+/**
+ * The compiled mapping of a {@link ClassRepresentation} used by {@link CassandraColumnEntityConverter}.
+ * Everything that does not change between two conversions, the field kind, the UDT type name, the
+ * {@link AttributeConverter} instance and the column name to slot index, is resolved once when the mapping is created.
+ */
+class CassandraColumnMapping {
+
+    private final ClassRepresentation representation;
+
+    private final FieldMapping[] fields;
+
+    private final Map<String, Integer> slots;
+
+    private CassandraColumnMapping(ClassRepresentation representation, FieldMapping[] fields,
+                                   Map<String, Integer> slots) {
+        this.representation = representation;
+        this.fields = fields;
+        this.slots = slots;
+    }
+
+    ClassRepresentation getRepresentation() {
+        return representation;
+    }
+
+    FieldMapping[] getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns the slot index of a column name
+     *
+     * @param name the column name
+     * @return the slot index or -1 when there is not a field to this column
+     */
+    int slot(String name) {
+        Integer slot = slots.get(name);
+        if (slot == null) {
+            return -1;
+        }
+        return slot;
+    }
+
+    static CassandraColumnMapping of(ClassRepresentation representation, Converters converters) {
+        Objects.requireNonNull(representation, "representation is required");
+        Objects.requireNonNull(converters, "converters is required");
+
+        List<FieldRepresentation> fieldRepresentations = representation.getFields();
+        FieldMapping[] fields = new FieldMapping[fieldRepresentations.size()];
+        Map<String, Integer> slots = new HashMap<>(fieldRepresentations.size() * 2);
+
+        int index = 0;
+        for (FieldRepresentation field : fieldRepresentations) {
+            fields[index] = FieldMapping.of(field, converters);
+            slots.putIfAbsent(field.getName(), index);
+            index++;
+        }
+        return new CassandraColumnMapping(representation, fields, slots);
+    }
+
+    /**
+     * The way a field is written and read
+     */
+    enum MappingType {
+        DEFAULT, EMBEDDED, UDT
+    }
+
+    static class FieldMapping {
+
+        private final FieldRepresentation representation;
+
+        private final Field field;
+
+        private final MappingType type;
+
+        private final String userType;
+
+        private final AttributeConverter converter;
+
+        private FieldMapping(FieldRepresentation representation, MappingType type, String userType,
+                             AttributeConverter converter) {
+            this.representation = representation;
+            this.field = representation.getField();
+            this.type = type;
+            this.userType = userType;
+            this.converter = converter;
+        }
+
+        FieldRepresentation getRepresentation() {
+            return representation;
+        }
+
+        Field getField() {
+            return field;
+        }
+
+        Class<?> getFieldType() {
+            return field.getType();
+        }
+
+        MappingType getType() {
+            return type;
+        }
+
+        String getUserType() {
+            return userType;
+        }
+
+        AttributeConverter getConverter() {
+            return converter;
+        }
+
+        boolean hasConverter() {
+            return converter != null;
+        }
+
+        static FieldMapping of(FieldRepresentation representation, Converters converters) {
+            UDT udt = representation.getField().getAnnotation(UDT.class);
+            Optional<Class<? extends AttributeConverter>> converter = representation.getConverter();
+            AttributeConverter attributeConverter = converter.isPresent() ? converters.get(converter.get()) : null;
+
+            if (EMBEDDED.equals(representation.getType())) {
+                return new FieldMapping(representation, MappingType.EMBEDDED, null, attributeConverter);
+            } else if (Objects.nonNull(udt)) {
+                return new FieldMapping(representation, MappingType.UDT, udt.value(), attributeConverter);
+            }
+            return new FieldMapping(representation, MappingType.DEFAULT, null, attributeConverter);
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder("FieldMapping{");
+            sb.append("representation=").append(representation);
+            sb.append(", type=").append(type);
+            sb.append(", userType='").append(userType).append('\'');
+            sb.append('}');
+            return sb.toString();
+        }
+    }
+}
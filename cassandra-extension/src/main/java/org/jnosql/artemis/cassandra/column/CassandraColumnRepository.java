@@ -29,6 +29,8 @@ import org.jnosql.diana.api.column.ColumnQuery;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
 
 /**
  * A Cassandra extension of {@link ColumnRepository}
@@ -85,6 +87,72 @@ public interface CassandraColumnRepository extends ColumnRepository {
      */
     <T> T save(T entity, Duration ttl, ConsistencyLevel level) throws NullPointerException;
 
+    /**
+     * Saves the entities using unlogged batches of at most maxBatchSize inserts grouped by the partition key read
+     * from the table metadata of the {@link com.datastax.driver.core.Session}. Without a session, or when the
+     * partition key is unknown, each entity is written on its own, so a batch never spans partitions. Unlike
+     * {@link CassandraColumnRepository#save(Iterable, ConsistencyLevel)} the saved entities are not converted back
+     * and the entity events are not fired, so use it when neither the returned instances nor the events are needed.
+     *
+     * @param <T>          type
+     * @param entities     the entities
+     * @param level        the level
+     * @param maxBatchSize the max number of inserts on each batch
+     * @throws NullPointerException     when either entities or level are null
+     * @throws IllegalArgumentException when maxBatchSize is not greater than zero
+     */
+    <T> void saveBatch(Iterable<T> entities, ConsistencyLevel level, int maxBatchSize) throws NullPointerException;
+
+    /**
+     * Saves the entities using unlogged batches of at most maxBatchSize inserts, each batch just has entities
+     * that share the same partition key, so each batch is sent to a single replica set. The entity events are not
+     * fired, and at most 64 batches are open at once: a new partition key sends the oldest open batch first. An
+     * entity whose function returns null is grouped by the partition key read from the table metadata.
+     *
+     * @param <T>          type
+     * @param entities     the entities
+     * @param level        the level
+     * @param maxBatchSize the max number of inserts on each batch
+     * @param partitionKey the function that returns the partition key of an entity
+     * @throws NullPointerException     when either entities, level or partitionKey are null
+     * @throws IllegalArgumentException when maxBatchSize is not greater than zero
+     */
+    <T> void saveBatch(Iterable<T> entities, ConsistencyLevel level, int maxBatchSize,
+                       Function<T, ?> partitionKey) throws NullPointerException;
+
+    /**
+     * Saves the entities with ttl using unlogged batches of at most maxBatchSize inserts grouped by the partition key
+     * read from the table metadata, see {@link CassandraColumnRepository#saveBatch(Iterable, ConsistencyLevel, int)}.
+     * The entity events are not fired.
+     *
+     * @param <T>          type
+     * @param entities     the entities
+     * @param ttl          the ttl
+     * @param level        the level
+     * @param maxBatchSize the max number of inserts on each batch
+     * @throws NullPointerException     when either entities, ttl or level are null
+     * @throws IllegalArgumentException when maxBatchSize is not greater than zero
+     */
+    <T> void saveBatch(Iterable<T> entities, Duration ttl, ConsistencyLevel level, int maxBatchSize)
+            throws NullPointerException;
+
+    /**
+     * Saves the entities with ttl using unlogged batches of at most maxBatchSize inserts grouped by partition key.
+     * The entity events are not fired, and at most 64 batches are open at once: a new partition key sends the oldest
+     * open batch first.
+     *
+     * @param <T>          type
+     * @param entities     the entities
+     * @param ttl          the ttl
+     * @param level        the level
+     * @param maxBatchSize the max number of inserts on each batch
+     * @param partitionKey the function that returns the partition key of an entity
+     * @throws NullPointerException     when either entities, ttl, level or partitionKey are null
+     * @throws IllegalArgumentException when maxBatchSize is not greater than zero
+     */
+    <T> void saveBatch(Iterable<T> entities, Duration ttl, ConsistencyLevel level, int maxBatchSize,
+                       Function<T, ?> partitionKey) throws NullPointerException;
+
 
     /**
      * Deletes an information using {@link ConsistencyLevel}
@@ -136,4 +204,62 @@ public interface CassandraColumnRepository extends ColumnRepository {
      */
     <T> List<T> execute(Statement statement) throws NullPointerException;
 
+    /**
+     * Finds using a consistency level, the entities are converted lazily while the stream is consumed.
+     * When a {@link com.datastax.driver.core.Session} is produced the statement runs on it and the rows are read page
+     * by page while the stream is consumed, otherwise the manager loads every row first. With the session the query
+     * is run as CQL on the keyspace of the session, which supports neither OR nor NOT conditions.
+     *
+     * @param <T>   type
+     * @param query the query
+     * @param level the consistency level
+     * @return the query result as {@link Stream}
+     * @throws NullPointerException when either query or level are null
+     */
+    <T> Stream<T> findStream(ColumnQuery query, ConsistencyLevel level) throws NullPointerException;
+
+    /**
+     * Executes CQL, the entities are converted lazily while the stream is consumed.
+     * When a {@link com.datastax.driver.core.Session} is produced the statement runs on it and the rows are read page
+     * by page while the stream is consumed, otherwise the manager loads every row first.
+     *
+     * @param <T>   type
+     * @param query the Cassandra query language
+     * @return the result of this query as {@link Stream}
+     * @throws NullPointerException when query is null
+     */
+    <T> Stream<T> cqlStream(String query) throws NullPointerException;
+
+    /**
+     * Executes CQL, the entities are converted lazily while the stream is consumed.
+     * When a {@link com.datastax.driver.core.Session} is produced the statement runs on it and the rows are read page
+     * by page while the stream is consumed, otherwise the manager loads every row first.
+     *
+     * @param <T>    type
+     * @param query  the Cassandra query language
+     * @param params the params
+     * @return the result of this query as {@link Stream}
+     * @throws NullPointerException when query is null
+     */
+    <T> Stream<T> cqlStream(String query, Object... params) throws NullPointerException;
+
+    /**
+     * Executes a statement, the entities are converted lazily while the stream is consumed.
+     * When a {@link com.datastax.driver.core.Session} is produced the statement runs on it and the rows are read page
+     * by page while the stream is consumed, otherwise the manager loads every row first.
+     *
+     * @param <T>       type
+     * @param statement the statement
+     * @return the result of this query as {@link Stream}
+     * @throws NullPointerException when statement is null
+     */
+    <T> Stream<T> executeStream(Statement statement) throws NullPointerException;
+
+    /**
+     * Returns the cache of prepared statements used by {@link CassandraColumnRepository#cql(String, Object...)}
+     *
+     * @return the {@link CassandraPreparedStatementCache}
+     */
+    CassandraPreparedStatementCache getPreparedStatementCache();
+
 }
@@ -29,6 +29,8 @@ import org.jnosql.diana.api.column.ColumnQuery;
 
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
 /**
@@ -78,6 +80,71 @@ public interface CassandraColumnRepositoryAsync extends ColumnRepositoryAsync {
      */
     <T> void save(Iterable<T> entities, Duration ttl, ConsistencyLevel level) throws ExecuteAsyncQueryException, UnsupportedOperationException, NullPointerException;
 
+    /**
+     * Saves the entities keeping at most maxInFlight writes waiting for the database at the same time.
+     * A write that does not call back within 30 seconds is taken as failed, since diana just calls back on success.
+     *
+     * @param <T>         the type
+     * @param entities    the entities
+     * @param level       {@link ConsistencyLevel}
+     * @param maxInFlight the max number of concurrent writes
+     * @return the {@link CompletionStage} completed when every entity was processed
+     * @throws NullPointerException     when either entities or level are null
+     * @throws IllegalArgumentException when maxInFlight is not greater than zero
+     */
+    <T> CompletionStage<CassandraBulkResult> saveBulk(Iterable<T> entities, ConsistencyLevel level, int maxInFlight)
+            throws NullPointerException;
+
+    /**
+     * Saves the entities keeping at most maxInFlight writes waiting for the database at the same time.
+     * A write that does not call back within 30 seconds is taken as failed, since diana just calls back on success.
+     *
+     * @param <T>         the type
+     * @param entities    the entities
+     * @param level       {@link ConsistencyLevel}
+     * @param maxInFlight the max number of concurrent writes
+     * @param onFailure   the callback called with each entity that could not be saved, a null entity included
+     * @return the {@link CompletionStage} completed when every entity was processed
+     * @throws NullPointerException     when any arguments are null
+     * @throws IllegalArgumentException when maxInFlight is not greater than zero
+     */
+    <T> CompletionStage<CassandraBulkResult> saveBulk(Iterable<T> entities, ConsistencyLevel level, int maxInFlight,
+                                                      BiConsumer<T, Throwable> onFailure) throws NullPointerException;
+
+    /**
+     * Saves the entities with ttl keeping at most maxInFlight writes waiting for the database at the same time.
+     * A write that does not call back within 30 seconds is taken as failed, since diana just calls back on success.
+     *
+     * @param <T>         the type
+     * @param entities    the entities
+     * @param ttl         the ttl
+     * @param level       {@link ConsistencyLevel}
+     * @param maxInFlight the max number of concurrent writes
+     * @return the {@link CompletionStage} completed when every entity was processed
+     * @throws NullPointerException     when any arguments are null
+     * @throws IllegalArgumentException when maxInFlight is not greater than zero
+     */
+    <T> CompletionStage<CassandraBulkResult> saveBulk(Iterable<T> entities, Duration ttl, ConsistencyLevel level,
+                                                      int maxInFlight) throws NullPointerException;
+
+    /**
+     * Saves the entities with ttl keeping at most maxInFlight writes waiting for the database at the same time.
+     * A write that does not call back within 30 seconds is taken as failed, since diana just calls back on success.
+     *
+     * @param <T>         the type
+     * @param entities    the entities
+     * @param ttl         the ttl
+     * @param level       {@link ConsistencyLevel}
+     * @param maxInFlight the max number of concurrent writes
+     * @param onFailure   the callback called with each entity that could not be saved, a null entity included
+     * @return the {@link CompletionStage} completed when every entity was processed
+     * @throws NullPointerException     when any arguments are null
+     * @throws IllegalArgumentException when maxInFlight is not greater than zero
+     */
+    <T> CompletionStage<CassandraBulkResult> saveBulk(Iterable<T> entities, Duration ttl, ConsistencyLevel level,
+                                                      int maxInFlight, BiConsumer<T, Throwable> onFailure)
+            throws NullPointerException;
+
     /**
      * Save the entity with ConsistencyLevel
      *
@@ -169,5 +236,124 @@ public interface CassandraColumnRepositoryAsync extends ColumnRepositoryAsync {
     <T> void execute(Statement statement, Consumer<List<T>> consumer)
             throws ExecuteAsyncQueryException, NullPointerException;
 
+    /**
+     * Saves the entity with ConsistencyLevel
+     *
+     * @param <T>    the type
+     * @param entity the entity
+     * @param level  {@link ConsistencyLevel}
+     * @return the {@link CompletionStage} completed with the entity saved, it fails with
+     * {@link java.util.concurrent.TimeoutException} when the driver does not call back within 30 seconds, e.g. when
+     * the operation failed on the server
+     * @throws NullPointerException when either entity or level are null
+     */
+    <T> CompletionStage<T> saveStage(T entity, ConsistencyLevel level) throws NullPointerException;
+
+    /**
+     * Saves the entity with ttl and ConsistencyLevel
+     *
+     * @param <T>    the type
+     * @param entity the entity
+     * @param ttl    the ttl
+     * @param level  {@link ConsistencyLevel}
+     * @return the {@link CompletionStage} completed with the entity saved, it fails with
+     * {@link java.util.concurrent.TimeoutException} when the driver does not call back within 30 seconds, e.g. when
+     * the operation failed on the server
+     * @throws NullPointerException when either entity, ttl or level are null
+     */
+    <T> CompletionStage<T> saveStage(T entity, Duration ttl, ConsistencyLevel level) throws NullPointerException;
+
+    /**
+     * Deletes an entity
+     *
+     * @param query the query
+     * @return the {@link CompletionStage} completed when the entities are deleted, it fails with
+     * {@link java.util.concurrent.TimeoutException} when the driver does not call back within 30 seconds, e.g. when
+     * the operation failed on the server
+     * @throws NullPointerException when query is null
+     */
+    CompletionStage<Void> deleteStage(ColumnDeleteQuery query) throws NullPointerException;
+
+    /**
+     * Deletes an entity with ConsistencyLevel
+     *
+     * @param query the query
+     * @param level {@link ConsistencyLevel}
+     * @return the {@link CompletionStage} completed when the entities are deleted, it fails with
+     * {@link java.util.concurrent.TimeoutException} when the driver does not call back within 30 seconds, e.g. when
+     * the operation failed on the server
+     * @throws NullPointerException when either query or level are null
+     */
+    CompletionStage<Void> deleteStage(ColumnDeleteQuery query, ConsistencyLevel level) throws NullPointerException;
+
+    /**
+     * Finds
+     *
+     * @param <T>   the type
+     * @param query the query
+     * @return the {@link CompletionStage} completed with the result, it fails with
+     * {@link java.util.concurrent.TimeoutException} when the driver does not call back within 30 seconds, e.g. when
+     * the operation failed on the server, or with the error of the conversion
+     * @throws NullPointerException when query is null
+     */
+    <T> CompletionStage<List<T>> findStage(ColumnQuery query) throws NullPointerException;
+
+    /**
+     * Finds with ConsistencyLevel
+     *
+     * @param <T>   the type
+     * @param query the query
+     * @param level {@link ConsistencyLevel}
+     * @return the {@link CompletionStage} completed with the result, it fails with
+     * {@link java.util.concurrent.TimeoutException} when the driver does not call back within 30 seconds, e.g. when
+     * the operation failed on the server
+     * @throws NullPointerException when either query or level are null
+     */
+    <T> CompletionStage<List<T>> findStage(ColumnQuery query, ConsistencyLevel level) throws NullPointerException;
+
+    /**
+     * Executes CQL
+     *
+     * @param <T>   the type
+     * @param query the query
+     * @return the {@link CompletionStage} completed with the result, it fails with
+     * {@link java.util.concurrent.TimeoutException} when the driver does not call back within 30 seconds, e.g. when
+     * the operation failed on the server
+     * @throws NullPointerException when query is null
+     */
+    <T> CompletionStage<List<T>> cqlStage(String query) throws NullPointerException;
+
+    /**
+     * Executes CQL
+     *
+     * @param <T>    the type
+     * @param query  the Cassandra query language
+     * @param params the params
+     * @return the {@link CompletionStage} completed with the result, it fails with
+     * {@link java.util.concurrent.TimeoutException} when the driver does not call back within 30 seconds, e.g. when
+     * the operation failed on the server
+     * @throws NullPointerException when either query or params are null
+     */
+    <T> CompletionStage<List<T>> cqlStage(String query, Object... params) throws NullPointerException;
+
+    /**
+     * Executes statement
+     *
+     * @param <T>       the type
+     * @param statement the statement
+     * @return the {@link CompletionStage} completed with the result, it fails with
+     * {@link java.util.concurrent.TimeoutException} when the driver does not call back within 30 seconds, e.g. when
+     * the operation failed on the server
+     * @throws NullPointerException when statement is null
+     */
+    <T> CompletionStage<List<T>> executeStage(Statement statement) throws NullPointerException;
+
+    /**
+     * Returns the cache of prepared statements used by
+     * {@link CassandraColumnRepositoryAsync#cql(String, Consumer, Object...)}
+     *
+     * @return the {@link CassandraPreparedStatementCache}
+     */
+    CassandraPreparedStatementCache getPreparedStatementCache();
 
 }
@@ -34,9 +34,15 @@ import org.jnosql.diana.api.column.ColumnQuery;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -56,9 +62,7 @@ class CassandraCrudRepositoryAsyncProxy<T> implements InvocationHandler {
 
     private final Class<T> typeClass;
 
-    private final CassandraColumnRepositoryAsync repository;
-
-    private final ColumnCrudRepositoryAsync crudRepository;
+    private final Map<Method, ColumnCrudRepositoryAsync> repositories = new HashMap<>();
 
     private final ClassRepresentation classRepresentation;
 
@@ -68,21 +72,38 @@ class CassandraCrudRepositoryAsyncProxy<T> implements InvocationHandler {
 
 
     CassandraCrudRepositoryAsyncProxy(CassandraColumnRepositoryAsync repository, ClassRepresentations classRepresentations, Class<?> repositoryType) {
-        this.repository = repository;
-        this.crudRepository = new ColumnCrudRepositoryAsync(repository);
         this.typeClass = Class.class.cast(ParameterizedType.class.cast(repositoryType.getGenericInterfaces()[0])
                 .getActualTypeArguments()[0]);
         this.classRepresentation = classRepresentations.get(typeClass);
         this.queryParser = new ColumnQueryParser();
         this.queryDeleteParser = new ColumnQueryDeleteParser();
+        String repositoryName = repositoryType.getSimpleName();
+        for (Method method : repositoryType.getMethods()) {
+            checkSaveStage(method);
+            repositories.put(method, new ColumnCrudRepositoryAsync(forMethod(repository,
+                    repositoryName + '.' + method.getName())));
+        }
     }
 
 
     @Override
     public Object invoke(Object instance, Method method, Object[] args) throws Throwable {
-
+        ColumnCrudRepositoryAsync crudRepository = repositories.get(method);
+        if (crudRepository == null) {
+            return null;
+        }
+        CassandraColumnRepositoryAsync repository = crudRepository.repository;
 
         CQL cql = method.getAnnotation(CQL.class);
+        if (Objects.nonNull(cql) && isCompletionStage(method)) {
+            Object[] params = args == null ? new Object[0] : Stream.of(args)
+                    .filter(IS_VALID_PARAMETER)
+                    .toArray(Object[]::new);
+            if (params.length == 0) {
+                return toResult(repository.cqlStage(cql.value()), method);
+            }
+            return toResult(repository.cqlStage(cql.value(), params), method);
+        }
         if (Objects.nonNull(cql)) {
             Consumer callBack = NOOP;
             if (Consumer.class.isInstance(args[args.length - 1])) {
@@ -104,11 +125,33 @@ class CassandraCrudRepositoryAsyncProxy<T> implements InvocationHandler {
         switch (methodName) {
             case SAVE:
             case UPDATE:
+                if (isCompletionStage(method)) {
+                    return saveStage(repository, args);
+                }
                 return method.invoke(crudRepository, args);
             default:
         }
 
 
+        if (methodName.startsWith(FIND_BY) && isCompletionStage(method)) {
+            ColumnQuery query = queryParser.parse(methodName, args, classRepresentation);
+            CassandraReturnTypeConverterUtil.limitSingleResult(query, typeClass, getResultType(method));
+            Optional<ConsistencyLevel> consistencyLevel = getConsistencyLevel(args);
+            if (consistencyLevel.isPresent()) {
+                return toResult(repository.findStage(query, consistencyLevel.get()), method);
+            }
+            return toResult(repository.findStage(query), method);
+        }
+
+        if (methodName.startsWith(DELETE_BY) && isCompletionStage(method)) {
+            ColumnDeleteQuery query = queryDeleteParser.parse(methodName, args, classRepresentation);
+            Optional<ConsistencyLevel> consistencyLevel = getConsistencyLevel(args);
+            if (consistencyLevel.isPresent()) {
+                return repository.deleteStage(query, consistencyLevel.get()).toCompletableFuture();
+            }
+            return repository.deleteStage(query).toCompletableFuture();
+        }
+
         if (methodName.startsWith(FIND_BY)) {
             ColumnQuery query = queryParser.parse(methodName, args, classRepresentation);
             Object callBack = args[args.length - 1];
@@ -155,6 +198,60 @@ class CassandraCrudRepositoryAsyncProxy<T> implements InvocationHandler {
     }
 
 
+    private CompletableFuture<Object> saveStage(CassandraColumnRepositoryAsync repository, Object[] args) {
+        if (args.length == 2) {
+            return repository.saveStage(args[0], ConsistencyLevel.class.cast(args[1])).toCompletableFuture();
+        }
+        return repository.saveStage(args[0], Duration.class.cast(args[1]), ConsistencyLevel.class.cast(args[2]))
+                .toCompletableFuture();
+    }
+
+    /**
+     * A save or update that returns a {@link CompletionStage} runs through the stage methods of the repository, so
+     * it must take the entity followed by either the {@link ConsistencyLevel} or the ttl and the level.
+     */
+    private void checkSaveStage(Method method) {
+        String methodName = method.getName();
+        if (!(SAVE.equals(methodName) || UPDATE.equals(methodName)) || !isCompletionStage(method)) {
+            return;
+        }
+        Class<?>[] types = method.getParameterTypes();
+        boolean entity = types.length > 0 && !Iterable.class.isAssignableFrom(types[0]);
+        boolean valid = types.length == 2 && ConsistencyLevel.class.equals(types[1])
+                || types.length == 3 && Duration.class.equals(types[1]) && ConsistencyLevel.class.equals(types[2]);
+        if (!entity || !valid) {
+            throw new DynamicQueryException("The async " + methodName + " that returns a CompletionStage must take "
+                    + "the entity followed by either the ConsistencyLevel or the ttl and the ConsistencyLevel: "
+                    + method);
+        }
+    }
+
+    private boolean isCompletionStage(Method method) {
+        Class<?> returnType = method.getReturnType();
+        return CompletionStage.class.equals(returnType) || CompletableFuture.class.equals(returnType);
+    }
+
+    private CompletableFuture<Object> toResult(CompletionStage<List<T>> stage, Method method) {
+        Class<?> resultType = getResultType(method);
+        return stage.thenApply(l -> CassandraReturnTypeConverterUtil.returnObject(l, typeClass, resultType))
+                .toCompletableFuture();
+    }
+
+    private Class<?> getResultType(Method method) {
+        Type returnType = method.getGenericReturnType();
+        if (!ParameterizedType.class.isInstance(returnType)) {
+            return List.class;
+        }
+        Type resultType = ParameterizedType.class.cast(returnType).getActualTypeArguments()[0];
+        if (ParameterizedType.class.isInstance(resultType)) {
+            return Class.class.cast(ParameterizedType.class.cast(resultType).getRawType());
+        }
+        if (Class.class.isInstance(resultType)) {
+            return Class.class.cast(resultType);
+        }
+        return List.class;
+    }
+
     private Optional<ConsistencyLevel> getConsistencyLevel(Object[] args) {
         return Stream.of(args)
                 .filter(a -> ConsistencyLevel.class.isInstance(a))
@@ -163,6 +260,17 @@ class CassandraCrudRepositoryAsyncProxy<T> implements InvocationHandler {
     }
 
 
+    /**
+     * @return the repository that records its metrics with the method, when it is the default one
+     */
+    private static CassandraColumnRepositoryAsync forMethod(CassandraColumnRepositoryAsync repository,
+                                                            String method) {
+        if (repository instanceof DefaultCassandraColumnRepositoryAsync) {
+            return ((DefaultCassandraColumnRepositoryAsync) repository).forMethod(method);
+        }
+        return repository;
+    }
+
     class ColumnCrudRepositoryAsync extends AbstractColumnCrudRepositoryAsync implements CassandraCrudRepositoryAsync {
 
         private final CassandraColumnRepositoryAsync repository;
@@ -23,8 +23,6 @@ package org.jnosql.artemis.cassandra.column;
 import com.datastax.driver.core.ConsistencyLevel;
 import org.jnosql.artemis.column.ColumnRepository;
 import org.jnosql.artemis.column.query.AbstractColumnCrudRepository;
-import org.jnosql.artemis.column.query.ColumnQueryDeleteParser;
-import org.jnosql.artemis.column.query.ColumnQueryParser;
 import org.jnosql.artemis.column.query.ReturnTypeConverterUtil;
 import org.jnosql.artemis.reflection.ClassRepresentation;
 import org.jnosql.artemis.reflection.ClassRepresentations;
@@ -35,97 +33,110 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.time.Duration;
-import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Stream;
 
 class CassandraCrudRepositoryProxy<T> implements InvocationHandler {
 
-    private static final String SAVE = "save";
-    private static final String UPDATE = "update";
-    private static final String FIND_BY = "findBy";
-    private static final String DELETE_BY = "deleteBy";
-
     private final Class<T> typeClass;
 
-    private final CassandraColumnRepository repository;
-
-    private final ColumnCrudRepository crudRepository;
-
-    private final ClassRepresentation classRepresentation;
+    private final Map<Method, CassandraMethodPlan> plans = new HashMap<>();
 
-    private final ColumnQueryParser queryParser;
+    private final Map<Method, ColumnCrudRepository> repositories = new HashMap<>();
 
-    private final ColumnQueryDeleteParser deleteQueryParser;
 
-
-    CassandraCrudRepositoryProxy(CassandraColumnRepository repository, ClassRepresentations classRepresentations, Class<?> repositoryType) {
-        this.repository = repository;
-        this.crudRepository = new ColumnCrudRepository(repository);
+    CassandraCrudRepositoryProxy(CassandraColumnRepository repository, ClassRepresentations classRepresentations,
+                                 Class<?> repositoryType) {
         this.typeClass = Class.class.cast(ParameterizedType.class.cast(repositoryType.getGenericInterfaces()[0])
                 .getActualTypeArguments()[0]);
-        this.classRepresentation = classRepresentations.get(typeClass);
-        this.queryParser = new ColumnQueryParser();
-        this.deleteQueryParser = new ColumnQueryDeleteParser();
+        ClassRepresentation classRepresentation = classRepresentations.get(typeClass);
+        String repositoryName = repositoryType.getSimpleName();
+        for (Method method : repositoryType.getMethods()) {
+            CassandraMethodPlan plan = CassandraMethodPlan.of(method, repositoryName, classRepresentation);
+            plans.put(method, plan);
+            repositories.put(method, new ColumnCrudRepository(forMethod(repository, plan.getName())));
+        }
     }
 
 
     @Override
     public Object invoke(Object o, Method method, Object[] args) throws Throwable {
 
-        CQL cql = method.getAnnotation(CQL.class);
-        if (Objects.nonNull(cql)) {
-            List<T> result = Collections.emptyList();
-            if (args == null || args.length == 0) {
-                result = repository.cql(cql.value());
-            } else {
-                result = repository.cql(cql.value(), args);
-            }
-            return CassandraReturnTypeConverterUtil.returnObject(result, typeClass, method);
+        CassandraMethodPlan plan = plans.get(method);
+        if (plan == null) {
+            return null;
         }
-
-        String methodName = method.getName();
-        switch (methodName) {
+        ColumnCrudRepository crudRepository = repositories.get(method);
+        CassandraColumnRepository repository = crudRepository.repository;
+        switch (plan.getType()) {
+            case CQL:
+                return executeCQL(repository, plan, method, args);
             case SAVE:
-            case UPDATE:
                 return method.invoke(crudRepository, args);
+            case FIND_BY:
+                ColumnQuery query = plan.toQuery(args);
+                CassandraReturnTypeConverterUtil.limitSingleResult(query, typeClass, method.getReturnType());
+                if (plan.hasConsistencyLevel()) {
+                    return CassandraReturnTypeConverterUtil.returnObject(query, repository, typeClass, method,
+                            plan.getConsistencyLevel(args));
+                }
+                return ReturnTypeConverterUtil.returnObject(query, repository, typeClass, method);
+            case DELETE_BY:
+                ColumnDeleteQuery deleteQuery = plan.toDeleteQuery(args);
+                if (plan.hasConsistencyLevel()) {
+                    repository.delete(deleteQuery, plan.getConsistencyLevel(args));
+                } else {
+                    repository.delete(deleteQuery);
+                }
+                return null;
             default:
+                return null;
         }
+    }
 
-        if (methodName.startsWith(FIND_BY)) {
-            ColumnQuery query = queryParser.parse(methodName, args, classRepresentation);
-            Optional<ConsistencyLevel> consistencyLevel = getConsistencyLevel(args);
-            if (consistencyLevel.isPresent()) {
-                return CassandraReturnTypeConverterUtil.returnObject(query, repository, typeClass, method,
-                        consistencyLevel.get());
-            } else {
-                return ReturnTypeConverterUtil.returnObject(query, repository, typeClass, method);
-            }
+    private Object executeCQL(CassandraColumnRepository repository, CassandraMethodPlan plan, Method method,
+                              Object[] args) {
+        boolean hasArgs = args != null && args.length > 0;
+        if (plan.isStream()) {
+            return hasArgs ? repository.cqlStream(plan.getCql(), args) : repository.cqlStream(plan.getCql());
         }
-
-        if (methodName.startsWith(DELETE_BY)) {
-            Optional<ConsistencyLevel> consistencyLevel = getConsistencyLevel(args);
-
-            ColumnDeleteQuery query = deleteQueryParser.parse(methodName, args, classRepresentation);
-            if (consistencyLevel.isPresent()) {
-                repository.delete(query, consistencyLevel.get());
-            } else {
-                repository.delete(query);
-            }
-            return null;
+        Class<?> returnType = method.getReturnType();
+        if (CassandraReturnTypeConverterUtil.isSingleResult(typeClass, returnType)) {
+            Optional<T> first = findFirst(repository, plan, args, hasArgs);
+            return Optional.class.equals(returnType) ? first : first.orElse(null);
         }
-        return null;
+        List<T> result = hasArgs ? repository.cql(plan.getCql(), args) : repository.cql(plan.getCql());
+        return CassandraReturnTypeConverterUtil.returnObject(result, typeClass, method);
     }
 
-    private Optional<ConsistencyLevel> getConsistencyLevel(Object[] args) {
-        return Stream.of(args)
-                        .filter(a -> ConsistencyLevel.class.isInstance(a))
-                        .map(c -> ConsistencyLevel.class.cast(c))
-                        .findFirst();
+    /**
+     * Reads a single row: the CQL gets LIMIT 1 when it has no limit, otherwise just the first row is read.
+     */
+    private Optional<T> findFirst(CassandraColumnRepository repository, CassandraMethodPlan plan, Object[] args,
+                                  boolean hasArgs) {
+        String single = plan.getSingleResultCql();
+        if (single != null) {
+            List<T> result = hasArgs ? repository.cql(single, args) : repository.cql(single);
+            return result.stream().findFirst();
+        }
+        try (Stream<T> stream = hasArgs ? repository.cqlStream(plan.getCql(), args)
+                : repository.cqlStream(plan.getCql())) {
+            return stream.findFirst();
+        }
     }
 
+    /**
+     * @return the repository that records its metrics with the method, when it is the default one
+     */
+    private static CassandraColumnRepository forMethod(CassandraColumnRepository repository, String method) {
+        if (repository instanceof DefaultCassandraColumnRepository) {
+            return ((DefaultCassandraColumnRepository) repository).forMethod(method);
+        }
+        return repository;
+    }
 
     class ColumnCrudRepository extends AbstractColumnCrudRepository implements CassandraCrudRepository {
 
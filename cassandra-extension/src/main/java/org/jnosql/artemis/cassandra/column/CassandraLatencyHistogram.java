@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.cassandra.column;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A lock free histogram of non negative values with log-linear buckets: each power of two is split into sixteen
+ * buckets, so a value is kept with at most 1/16 of relative error, using a fixed amount of memory
+ * whatever the range of the values.
+ */
+public final class CassandraLatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 4;
+
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    private final AtomicLong count = new AtomicLong();
+
+    private final AtomicLong sum = new AtomicLong();
+
+    private final AtomicLong max = new AtomicLong();
+
+    CassandraLatencyHistogram() {
+    }
+
+    void record(long value) {
+        long positive = Math.max(0L, value);
+        counts.incrementAndGet(indexOf(positive));
+        count.incrementAndGet();
+        sum.addAndGet(positive);
+        max.accumulateAndGet(positive, Math::max);
+    }
+
+    /**
+     * @return the number of recorded values
+     */
+    public long getCount() {
+        return count.get();
+    }
+
+    /**
+     * @return the highest recorded value
+     */
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * @return the mean of the recorded values, or zero when there is not value
+     */
+    public double getMean() {
+        long total = count.get();
+        return total == 0 ? 0D : (double) sum.get() / total;
+    }
+
+    /**
+     * Returns the value that the given percentage of the recorded values are lower or equal to
+     *
+     * @param percentile the percentile between 0 and 100
+     * @return the value at the percentile, or zero when there is not value
+     * @throws IllegalArgumentException when the percentile is not between 0 and 100
+     */
+    public long getValueAtPercentile(double percentile) throws IllegalArgumentException {
+        if (percentile < 0D || percentile > 100D) {
+            throw new IllegalArgumentException("The percentile must be between 0 and 100: " + percentile);
+        }
+        long total = 0;
+        long[] snapshot = new long[BUCKETS];
+        for (int index = 0; index < BUCKETS; index++) {
+            snapshot[index] = counts.get(index);
+            total += snapshot[index];
+        }
+        if (total == 0) {
+            return 0L;
+        }
+        long target = Math.max(1L, (long) Math.ceil(percentile / 100D * total));
+        long accumulated = 0;
+        for (int index = 0; index < BUCKETS; index++) {
+            accumulated += snapshot[index];
+            if (accumulated >= target) {
+                return Math.min(highestValueOf(index), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - 1 - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    static long highestValueOf(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = index / SUB_BUCKETS - 1;
+        long subBucket = index % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("CassandraLatencyHistogram{");
+        sb.append("count=").append(count);
+        sb.append(", mean=").append(getMean());
+        sb.append(", max=").append(max);
+        sb.append('}');
+        return sb.toString();
+    }
+}
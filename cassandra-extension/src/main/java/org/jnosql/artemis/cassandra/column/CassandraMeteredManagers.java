@@ -0,0 +1,190 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.cassandra.column;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import org.jnosql.artemis.cassandra.column.CassandraMetricsRecorder.Sample;
+import org.jnosql.diana.api.column.ColumnFamilyManager;
+import org.jnosql.diana.api.column.ColumnFamilyManagerAsync;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.jnosql.artemis.cassandra.column.CassandraOperation.DELETE;
+import static org.jnosql.artemis.cassandra.column.CassandraOperation.FIND;
+import static org.jnosql.artemis.cassandra.column.CassandraOperation.SAVE;
+import static org.jnosql.artemis.cassandra.column.CassandraOperation.UPDATE;
+
+/**
+ * Decorates the Diana managers that the inherited repository operations use, so these operations keep their
+ * behavior and are still measured. The whole manager call is taken as driver time. The async decorator wraps the
+ * callback of each call: the driver time ends when the driver calls back, then the callback, which converts the
+ * result, runs on the {@link CassandraConversionExecutor} instead of the driver's I/O thread.
+ */
+final class CassandraMeteredManagers {
+
+    private static final Logger LOGGER = Logger.getLogger(CassandraMeteredManagers.class.getName());
+
+    private CassandraMeteredManagers() {
+    }
+
+    static ColumnFamilyManager of(ColumnFamilyManager manager, CassandraMetricsRecorder recorder) {
+        Objects.requireNonNull(manager, "manager is required");
+        Objects.requireNonNull(recorder, "recorder is required");
+        InvocationHandler handler = (proxy, method, args) -> {
+            CassandraOperation operation = toOperation(method);
+            if (operation == null) {
+                return invoke(manager, method, args);
+            }
+            return recorder.record(operation, getLevel(args), s -> s.driver(() -> invoke(manager, method, args)),
+                    CassandraMeteredManagers::toRows);
+        };
+        return (ColumnFamilyManager) Proxy.newProxyInstance(ColumnFamilyManager.class.getClassLoader(),
+                new Class[]{ColumnFamilyManager.class}, handler);
+    }
+
+    static ColumnFamilyManagerAsync of(ColumnFamilyManagerAsync manager, CassandraMetricsRecorder recorder,
+                                       CassandraConversionExecutor executor) {
+        Objects.requireNonNull(manager, "manager is required");
+        Objects.requireNonNull(recorder, "recorder is required");
+        Objects.requireNonNull(executor, "executor is required");
+        InvocationHandler handler = (proxy, method, args) -> {
+            CassandraOperation operation = toOperation(method);
+            int callBackIndex = getCallBackIndex(args);
+            if (operation == null || callBackIndex < 0) {
+                return invoke(manager, method, args);
+            }
+            Sample sample = recorder.start(operation, getLevel(args));
+            Object[] arguments = args.clone();
+            arguments[callBackIndex] = toCallBack(sample, Consumer.class.cast(args[callBackIndex]), executor);
+            sample.submitted();
+            try {
+                return invoke(manager, method, arguments);
+            } catch (RuntimeException exception) {
+                sample.failure();
+                throw exception;
+            }
+        };
+        return (ColumnFamilyManagerAsync) Proxy.newProxyInstance(ColumnFamilyManagerAsync.class.getClassLoader(),
+                new Class[]{ColumnFamilyManagerAsync.class}, handler);
+    }
+
+    private static Consumer<Object> toCallBack(Sample sample, Consumer<Object> callBack,
+                                               CassandraConversionExecutor executor) {
+        return result -> {
+            sample.driverDone();
+            try {
+                executor.execute(() -> {
+                    try {
+                        callBack.accept(result);
+                    } catch (RuntimeException exception) {
+                        sample.failure();
+                        throw exception;
+                    }
+                    sample.success(toRows(result));
+                });
+            } catch (RejectedExecutionException exception) {
+                sample.failure();
+                LOGGER.log(Level.SEVERE, "The conversion executor is full, the result is dropped", exception);
+            }
+        };
+    }
+
+    private static Object invoke(Object manager, Method method, Object[] args) {
+        try {
+            return method.invoke(manager, args);
+        } catch (InvocationTargetException exception) {
+            Throwable cause = exception.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        } catch (IllegalAccessException exception) {
+            throw new IllegalStateException(exception);
+        }
+    }
+
+    private static CassandraOperation toOperation(Method method) {
+        switch (method.getName()) {
+            case "save":
+                return SAVE;
+            case "update":
+                return UPDATE;
+            case "delete":
+                return DELETE;
+            case "find":
+            case "singleResult":
+                return FIND;
+            default:
+                return null;
+        }
+    }
+
+    private static ConsistencyLevel getLevel(Object[] args) {
+        if (args != null) {
+            for (Object arg : args) {
+                if (arg instanceof ConsistencyLevel) {
+                    return (ConsistencyLevel) arg;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static int getCallBackIndex(Object[] args) {
+        if (args != null) {
+            for (int index = args.length - 1; index >= 0; index--) {
+                if (args[index] instanceof Consumer) {
+                    return index;
+                }
+            }
+        }
+        return -1;
+    }
+
+    private static long toRows(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Iterable) {
+            long rows = 0L;
+            for (Object ignored : (Iterable<?>) result) {
+                rows++;
+            }
+            return rows;
+        }
+        if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1L : 0L;
+        }
+        return result == null ? 0L : 1L;
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.cassandra.column;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import org.jnosql.artemis.reflection.ClassRepresentation;
+import org.jnosql.diana.api.column.ColumnDeleteQuery;
+import org.jnosql.diana.api.column.ColumnQuery;
+
+import java.lang.reflect.Method;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * What a repository method does, resolved once from the {@link Method} so the proxy does not read annotations,
+ * compare or parse method names or look for the {@link ConsistencyLevel} argument on each call.
+ */
+class CassandraMethodPlan {
+
+    private static final String SAVE = "save";
+    private static final String UPDATE = "update";
+    private static final String FIND_BY = "findBy";
+    private static final String DELETE_BY = "deleteBy";
+
+    private static final Pattern LIMIT = Pattern.compile("\\bLIMIT\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern ALLOW_FILTERING = Pattern.compile("\\s+ALLOW\\s+FILTERING$",
+            Pattern.CASE_INSENSITIVE);
+
+    private final String name;
+
+    private final MethodType type;
+
+    private final String cql;
+
+    private final String singleResultCql;
+
+    private final CassandraQueryTemplate template;
+
+    private final int consistencyLevelIndex;
+
+    private final boolean stream;
+
+    private CassandraMethodPlan(String name, MethodType type, String cql, CassandraQueryTemplate template,
+                                int consistencyLevelIndex, boolean stream) {
+        this.name = name;
+        this.type = type;
+        this.cql = cql;
+        this.singleResultCql = cql == null ? null : toSingleResultCql(cql);
+        this.template = template;
+        this.consistencyLevelIndex = consistencyLevelIndex;
+        this.stream = stream;
+    }
+
+    /**
+     * @return the name of the method qualified by the repository, e.g. PersonRepository.findByName
+     */
+    String getName() {
+        return name;
+    }
+
+    MethodType getType() {
+        return type;
+    }
+
+    String getCql() {
+        return cql;
+    }
+
+    /**
+     * @return the CQL limited to one row, or null when it is not a select or already has a limit
+     */
+    String getSingleResultCql() {
+        return singleResultCql;
+    }
+
+    boolean isStream() {
+        return stream;
+    }
+
+    boolean hasConsistencyLevel() {
+        return consistencyLevelIndex >= 0;
+    }
+
+    ConsistencyLevel getConsistencyLevel(Object[] args) {
+        return ConsistencyLevel.class.cast(args[consistencyLevelIndex]);
+    }
+
+    /**
+     * @return the query of a findBy method bound to the arguments
+     */
+    ColumnQuery toQuery(Object[] args) {
+        return template.toQuery(args);
+    }
+
+    /**
+     * @return the query of a deleteBy method bound to the arguments
+     */
+    ColumnDeleteQuery toDeleteQuery(Object[] args) {
+        return template.toDeleteQuery(args);
+    }
+
+    static CassandraMethodPlan of(Method method, String repositoryName, ClassRepresentation representation) {
+        String name = repositoryName + '.' + method.getName();
+        boolean stream = Stream.class.equals(method.getReturnType());
+        int consistencyLevelIndex = -1;
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        for (int index = 0; index < parameterTypes.length; index++) {
+            if (ConsistencyLevel.class.equals(parameterTypes[index])) {
+                consistencyLevelIndex = index;
+                break;
+            }
+        }
+
+        CQL cql = method.getAnnotation(CQL.class);
+        if (cql != null) {
+            return new CassandraMethodPlan(name, MethodType.CQL, cql.value(), null, consistencyLevelIndex, stream);
+        }
+        MethodType type = MethodType.of(method.getName());
+        CassandraQueryTemplate template = null;
+        if (MethodType.FIND_BY.equals(type)) {
+            template = CassandraQueryTemplate.ofQuery(method, representation);
+        } else if (MethodType.DELETE_BY.equals(type)) {
+            template = CassandraQueryTemplate.ofDeleteQuery(method, representation);
+        }
+        return new CassandraMethodPlan(name, type, null, template, consistencyLevelIndex, stream);
+    }
+
+    static String toSingleResultCql(String cql) {
+        String select = cql.trim();
+        if (select.endsWith(";")) {
+            select = select.substring(0, select.length() - 1).trim();
+        }
+        if (!select.regionMatches(true, 0, "select", 0, 6) || LIMIT.matcher(select).find()) {
+            return null;
+        }
+        Matcher allowFiltering = ALLOW_FILTERING.matcher(select);
+        if (allowFiltering.find()) {
+            int start = allowFiltering.start();
+            return select.substring(0, start) + " LIMIT 1" + select.substring(start);
+        }
+        return select + " LIMIT 1";
+    }
+
+    enum MethodType {
+        CQL, SAVE, FIND_BY, DELETE_BY, UNKNOWN;
+
+        static MethodType of(String methodName) {
+            switch (methodName) {
+                case CassandraMethodPlan.SAVE:
+                case CassandraMethodPlan.UPDATE:
+                    return SAVE;
+                default:
+            }
+            if (methodName.startsWith(CassandraMethodPlan.FIND_BY)) {
+                return FIND_BY;
+            }
+            if (methodName.startsWith(CassandraMethodPlan.DELETE_BY)) {
+                return DELETE_BY;
+            }
+            return UNKNOWN;
+        }
+    }
+}
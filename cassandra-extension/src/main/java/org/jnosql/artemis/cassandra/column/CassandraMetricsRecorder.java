@@ -0,0 +1,150 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.cassandra.column;
+
+import com.datastax.driver.core.ConsistencyLevel;
+
+import javax.enterprise.inject.Instance;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Measures the operations of the Cassandra repositories and sends them to the {@link CassandraRepositoryMetrics}.
+ * The repository method of an operation is the one the recorder is bound to with {@link #forMethod(String)}, it is
+ * a value of the recorder, so neither nested calls nor callbacks on other threads inherit it.
+ */
+class CassandraMetricsRecorder {
+
+    private static final Logger LOGGER = Logger.getLogger(CassandraMetricsRecorder.class.getName());
+
+    private final CassandraRepositoryMetrics metrics;
+
+    private final String method;
+
+    CassandraMetricsRecorder(CassandraRepositoryMetrics metrics) {
+        this(metrics, null);
+    }
+
+    private CassandraMetricsRecorder(CassandraRepositoryMetrics metrics, String method) {
+        this.metrics = Objects.requireNonNull(metrics, "metrics is required");
+        this.method = method;
+    }
+
+    static CassandraMetricsRecorder of(Instance<CassandraRepositoryMetrics> metrics) {
+        if (metrics == null || metrics.isUnsatisfied()) {
+            return new CassandraMetricsRecorder(CassandraRepositoryMetrics.noop());
+        }
+        return new CassandraMetricsRecorder(metrics.get());
+    }
+
+    /**
+     * @param method the repository method, e.g. PersonRepository.findByName
+     * @return a recorder that sends the metrics to the same {@link CassandraRepositoryMetrics} with the method
+     */
+    CassandraMetricsRecorder forMethod(String method) {
+        return new CassandraMetricsRecorder(metrics, Objects.requireNonNull(method, "method is required"));
+    }
+
+    Sample start(CassandraOperation operation, ConsistencyLevel level) {
+        return new Sample(operation, level);
+    }
+
+    /**
+     * Runs a synchronous operation, the time not spent on {@link Sample#driver(Supplier)} is the conversion time
+     */
+    <R> R record(CassandraOperation operation, ConsistencyLevel level, Function<Sample, R> call,
+                 ToLongFunction<? super R> rows) {
+        Sample sample = start(operation, level);
+        R result;
+        try {
+            result = call.apply(sample);
+        } catch (RuntimeException exception) {
+            sample.failure();
+            throw exception;
+        }
+        sample.success(rows.applyAsLong(result));
+        return result;
+    }
+
+    private void record(CassandraOperationMetric metric) {
+        try {
+            metrics.record(metric);
+        } catch (RuntimeException exception) {
+            LOGGER.log(Level.WARNING, "Error when recording the metric: " + metric, exception);
+        }
+    }
+
+    /**
+     * An operation in progress. A synchronous operation wraps the driver calls with {@link #driver(Supplier)},
+     * an asynchronous one calls {@link #submitted()} before and {@link #driverDone()} on the callback.
+     */
+    final class Sample {
+
+        private final CassandraOperation operation;
+
+        private final ConsistencyLevel level;
+
+        private final long start = System.nanoTime();
+
+        private long driverStart = start;
+
+        private long driverNanos;
+
+        private Sample(CassandraOperation operation, ConsistencyLevel level) {
+            this.operation = operation;
+            this.level = level;
+        }
+
+        <R> R driver(Supplier<R> call) {
+            long begin = System.nanoTime();
+            try {
+                return call.get();
+            } finally {
+                driverNanos += System.nanoTime() - begin;
+            }
+        }
+
+        void submitted() {
+            driverStart = System.nanoTime();
+        }
+
+        void driverDone() {
+            driverNanos += System.nanoTime() - driverStart;
+        }
+
+        void success(long rows) {
+            done(rows, true);
+        }
+
+        void failure() {
+            done(0L, false);
+        }
+
+        private void done(long rows, boolean success) {
+            long total = System.nanoTime() - start;
+            record(new CassandraOperationMetric(operation, method, level, driverNanos,
+                    Math.max(0L, total - driverNanos), rows, success));
+        }
+    }
+}
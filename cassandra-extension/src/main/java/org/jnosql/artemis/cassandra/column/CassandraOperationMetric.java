@@ -0,0 +1,120 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.cassandra.column;
+
+import com.datastax.driver.core.ConsistencyLevel;
+
+import java.util.Optional;
+
+/**
+ * A single operation done by a Cassandra repository, the time is split between the time waiting for the driver and
+ * the time converting the result to entities.
+ */
+public final class CassandraOperationMetric {
+
+    private final CassandraOperation operation;
+
+    private final String method;
+
+    private final ConsistencyLevel level;
+
+    private final long driverNanos;
+
+    private final long conversionNanos;
+
+    private final long rows;
+
+    private final boolean success;
+
+    CassandraOperationMetric(CassandraOperation operation, String method, ConsistencyLevel level, long driverNanos,
+                             long conversionNanos, long rows, boolean success) {
+        this.operation = operation;
+        this.method = method;
+        this.level = level;
+        this.driverNanos = driverNanos;
+        this.conversionNanos = conversionNanos;
+        this.rows = rows;
+        this.success = success;
+    }
+
+    /**
+     * @return the operation type
+     */
+    public CassandraOperation getOperation() {
+        return operation;
+    }
+
+    /**
+     * @return the repository interface method that started the operation, e.g. PersonRepository.findByName,
+     * or empty when the repository was called directly
+     */
+    public Optional<String> getMethod() {
+        return Optional.ofNullable(method);
+    }
+
+    /**
+     * @return the consistency level used, or empty when the operation uses the session default
+     */
+    public Optional<ConsistencyLevel> getConsistencyLevel() {
+        return Optional.ofNullable(level);
+    }
+
+    /**
+     * @return the time, in nanoseconds, spent on the driver
+     */
+    public long getDriverNanos() {
+        return driverNanos;
+    }
+
+    /**
+     * @return the time, in nanoseconds, spent converting between entities and columns
+     */
+    public long getConversionNanos() {
+        return conversionNanos;
+    }
+
+    /**
+     * @return the number of rows read or written
+     */
+    public long getRows() {
+        return rows;
+    }
+
+    /**
+     * @return false when the operation threw an exception
+     */
+    public boolean isSuccess() {
+        return success;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("CassandraOperationMetric{");
+        sb.append("operation=").append(operation);
+        sb.append(", method='").append(method).append('\'');
+        sb.append(", level=").append(level);
+        sb.append(", driverNanos=").append(driverNanos);
+        sb.append(", conversionNanos=").append(conversionNanos);
+        sb.append(", rows=").append(rows);
+        sb.append(", success=").append(success);
+        sb.append('}');
+        return sb.toString();
+    }
+}
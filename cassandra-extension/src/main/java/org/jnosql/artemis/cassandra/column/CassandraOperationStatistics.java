@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.cassandra.column;
+
+import com.datastax.driver.core.ConsistencyLevel;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * The aggregated metrics of either an operation type or a repository method, kept by
+ * {@link InMemoryCassandraRepositoryMetrics}
+ */
+public final class CassandraOperationStatistics {
+
+    private final LongAdder failures = new LongAdder();
+
+    private final LongAdder rows = new LongAdder();
+
+    private final CassandraLatencyHistogram driverTime = new CassandraLatencyHistogram();
+
+    private final CassandraLatencyHistogram conversionTime = new CassandraLatencyHistogram();
+
+    private final ConcurrentMap<ConsistencyLevel, LongAdder> levels = new ConcurrentHashMap<>();
+
+    CassandraOperationStatistics() {
+    }
+
+    void record(CassandraOperationMetric metric) {
+        driverTime.record(metric.getDriverNanos());
+        conversionTime.record(metric.getConversionNanos());
+        rows.add(metric.getRows());
+        if (!metric.isSuccess()) {
+            failures.increment();
+        }
+        metric.getConsistencyLevel().ifPresent(l -> levels.computeIfAbsent(l, k -> new LongAdder()).increment());
+    }
+
+    /**
+     * @return the number of operations
+     */
+    public long getCount() {
+        return driverTime.getCount();
+    }
+
+    /**
+     * @return the number of operations that threw an exception
+     */
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    /**
+     * @return the number of rows read or written
+     */
+    public long getRows() {
+        return rows.sum();
+    }
+
+    /**
+     * @return the histogram of the time, in nanoseconds, spent on the driver
+     */
+    public CassandraLatencyHistogram getDriverTime() {
+        return driverTime;
+    }
+
+    /**
+     * @return the histogram of the time, in nanoseconds, spent converting between entities and columns
+     */
+    public CassandraLatencyHistogram getConversionTime() {
+        return conversionTime;
+    }
+
+    /**
+     * @return the number of operations by consistency level, operations that use the session default are not
+     * counted
+     */
+    public Map<ConsistencyLevel, Long> getConsistencyLevels() {
+        Map<ConsistencyLevel, Long> snapshot = new EnumMap<>(ConsistencyLevel.class);
+        levels.forEach((level, count) -> snapshot.put(level, count.sum()));
+        return Collections.unmodifiableMap(snapshot);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("CassandraOperationStatistics{");
+        sb.append("count=").append(getCount());
+        sb.append(", failures=").append(failures);
+        sb.append(", rows=").append(rows);
+        sb.append(", driverTime=").append(driverTime);
+        sb.append(", conversionTime=").append(conversionTime);
+        sb.append('}');
+        return sb.toString();
+    }
+}
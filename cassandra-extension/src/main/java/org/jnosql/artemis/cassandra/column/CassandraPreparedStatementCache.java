@@ -0,0 +1,176 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.cassandra.column;
+
+import org.jnosql.diana.cassandra.column.CassandraPrepareStatment;
+
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A bounded cache of {@link CassandraPrepareStatment} keyed by the CQL text, the least recently used CQL is evicted
+ * when the cache is full. A {@link CassandraPrepareStatment} keeps the bound values between bind and execute,
+ * so an instance is never shared by two callers: each CQL keeps a small pool of idle statements, and a new one is
+ * just prepared when every pooled statement is in use.
+ */
+public final class CassandraPreparedStatementCache {
+
+    private static final Logger LOGGER = Logger.getLogger(CassandraPreparedStatementCache.class.getName());
+
+    static final int DEFAULT_MAX_SIZE = 256;
+
+    static final int DEFAULT_MAX_IDLE = 16;
+
+    private final Function<String, CassandraPrepareStatment> preparer;
+
+    private final int maxIdle;
+
+    private final Map<String, Deque<CassandraPrepareStatment>> statements;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong evictions = new AtomicLong();
+
+    CassandraPreparedStatementCache(Function<String, CassandraPrepareStatment> preparer) {
+        this(preparer, DEFAULT_MAX_SIZE, DEFAULT_MAX_IDLE);
+    }
+
+    CassandraPreparedStatementCache(Function<String, CassandraPrepareStatment> preparer, int maxSize, int maxIdle) {
+        this.preparer = Objects.requireNonNull(preparer, "preparer is required");
+        if (maxSize <= 0 || maxIdle <= 0) {
+            throw new IllegalArgumentException("The max size and max idle must be greater than zero");
+        }
+        this.maxIdle = maxIdle;
+        this.statements = new LinkedHashMap<String, Deque<CassandraPrepareStatment>>(16, 0.75F, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Deque<CassandraPrepareStatment>> eldest) {
+                if (size() > maxSize) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * @return the number of calls that reused a prepared statement
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * @return the number of calls that had to prepare the statement
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * @return the number of CQL removed from the cache
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * @return the number of CQL in the cache
+     */
+    public synchronized int size() {
+        return statements.size();
+    }
+
+    <R> R execute(String query, Function<CassandraPrepareStatment, R> call) {
+        Objects.requireNonNull(query, "query is required");
+        CassandraPrepareStatment statement = borrow(query);
+        try {
+            return call.apply(statement);
+        } finally {
+            release(query, statement);
+        }
+    }
+
+    void prepare(String query) {
+        Objects.requireNonNull(query, "query is required");
+        release(query, borrow(query));
+    }
+
+    /**
+     * Prepares the CQL of every method annotated with {@link CQL} that has parameters, a failure is just logged
+     * and the statement is prepared again on the first call.
+     */
+    void prepare(Class<?> repositoryType) {
+        for (Method method : repositoryType.getMethods()) {
+            CQL cql = method.getAnnotation(CQL.class);
+            if (cql == null || method.getParameterCount() == 0) {
+                continue;
+            }
+            try {
+                prepare(cql.value());
+            } catch (RuntimeException exception) {
+                LOGGER.log(Level.WARNING, "Error when preparing the CQL: " + cql.value(), exception);
+            }
+        }
+    }
+
+    private CassandraPrepareStatment borrow(String query) {
+        synchronized (this) {
+            Deque<CassandraPrepareStatment> idle = statements.get(query);
+            if (idle != null && !idle.isEmpty()) {
+                hits.incrementAndGet();
+                return idle.pop();
+            }
+        }
+        misses.incrementAndGet();
+        return preparer.apply(query);
+    }
+
+    private synchronized void release(String query, CassandraPrepareStatment statement) {
+        Deque<CassandraPrepareStatment> idle = statements.get(query);
+        if (idle == null) {
+            idle = new ArrayDeque<>();
+            statements.put(query, idle);
+        }
+        if (idle.size() < maxIdle) {
+            idle.push(statement);
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("CassandraPreparedStatementCache{");
+        sb.append("hits=").append(hits);
+        sb.append(", misses=").append(misses);
+        sb.append(", evictions=").append(evictions);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,224 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.cassandra.column;
+
+import org.jnosql.artemis.column.query.ColumnQueryDeleteParser;
+import org.jnosql.artemis.column.query.ColumnQueryParser;
+import org.jnosql.artemis.reflection.ClassRepresentation;
+import org.jnosql.diana.api.column.Column;
+import org.jnosql.diana.api.column.ColumnCondition;
+import org.jnosql.diana.api.column.ColumnDeleteQuery;
+import org.jnosql.diana.api.column.ColumnQuery;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The query of a findBy or deleteBy method, parsed once from the method name with a {@link Slot} in place of each
+ * argument, so a call just binds its arguments into a copy of the conditions instead of parsing the name again.
+ * A method whose conditions cannot be bound this way, e.g. a between, is parsed on each call.
+ */
+final class CassandraQueryTemplate {
+
+    private static final ColumnQueryParser QUERY_PARSER = new ColumnQueryParser();
+
+    private static final ColumnQueryDeleteParser DELETE_QUERY_PARSER = new ColumnQueryDeleteParser();
+
+    private final String methodName;
+
+    private final ClassRepresentation representation;
+
+    private final ColumnQuery query;
+
+    private final ColumnDeleteQuery deleteQuery;
+
+    private CassandraQueryTemplate(String methodName, ClassRepresentation representation, ColumnQuery query,
+                                   ColumnDeleteQuery deleteQuery) {
+        this.methodName = methodName;
+        this.representation = representation;
+        this.query = query;
+        this.deleteQuery = deleteQuery;
+    }
+
+    /**
+     * @return true when the query is bound from the template, false when the method name is parsed on each call
+     */
+    boolean isCompiled() {
+        return query != null || deleteQuery != null;
+    }
+
+    /**
+     * @return a new query with the arguments, the caller may change it
+     */
+    ColumnQuery toQuery(Object[] args) {
+        if (query == null) {
+            return QUERY_PARSER.parse(methodName, args, representation);
+        }
+        ColumnQuery bound = ColumnQuery.of(query.getColumnFamily());
+        query.getCondition().ifPresent(c -> bound.and(bind(c, args)));
+        query.getSorts().forEach(bound::addSort);
+        if (query.getLimit() > 0) {
+            bound.withLimit(query.getLimit());
+        }
+        return bound;
+    }
+
+    /**
+     * @return a new delete query with the arguments, the caller may change it
+     */
+    ColumnDeleteQuery toDeleteQuery(Object[] args) {
+        if (deleteQuery == null) {
+            return DELETE_QUERY_PARSER.parse(methodName, args, representation);
+        }
+        ColumnDeleteQuery bound = ColumnDeleteQuery.of(deleteQuery.getColumnFamily());
+        deleteQuery.getCondition().ifPresent(c -> bound.and(bind(c, args)));
+        return bound;
+    }
+
+    static CassandraQueryTemplate ofQuery(Method method, ClassRepresentation representation) {
+        ColumnQuery query = null;
+        try {
+            ColumnQuery parsed = QUERY_PARSER.parse(method.getName(), slots(method), representation);
+            if (parsed.getCondition().map(CassandraQueryTemplate::isBindable).orElse(true)) {
+                query = parsed;
+            }
+        } catch (RuntimeException exception) {
+            query = null; // the name is parsed on each call, which reports the error to the caller
+        }
+        return new CassandraQueryTemplate(method.getName(), representation, query, null);
+    }
+
+    static CassandraQueryTemplate ofDeleteQuery(Method method, ClassRepresentation representation) {
+        ColumnDeleteQuery deleteQuery = null;
+        try {
+            ColumnDeleteQuery parsed = DELETE_QUERY_PARSER.parse(method.getName(), slots(method), representation);
+            if (parsed.getCondition().map(CassandraQueryTemplate::isBindable).orElse(true)) {
+                deleteQuery = parsed;
+            }
+        } catch (RuntimeException exception) {
+            deleteQuery = null; // the name is parsed on each call, which reports the error to the caller
+        }
+        return new CassandraQueryTemplate(method.getName(), representation, null, deleteQuery);
+    }
+
+    private static Object[] slots(Method method) {
+        Object[] slots = new Object[method.getParameterCount()];
+        for (int index = 0; index < slots.length; index++) {
+            slots[index] = new Slot(index);
+        }
+        return slots;
+    }
+
+    private static boolean isBindable(ColumnCondition condition) {
+        Object value = condition.getColumn().getValue().get();
+        switch (condition.getCondition()) {
+            case AND:
+            case OR:
+                return toConditions(value).stream().allMatch(CassandraQueryTemplate::isBindable);
+            case NOT:
+                return isBindable(ColumnCondition.class.cast(value));
+            case EQUALS:
+            case GREATER_THAN:
+            case GREATER_EQUALS_THAN:
+            case LESSER_THAN:
+            case LESSER_EQUALS_THAN:
+            case IN:
+            case LIKE:
+                return value instanceof Slot;
+            default:
+                return false;
+        }
+    }
+
+    private static ColumnCondition bind(ColumnCondition condition, Object[] args) {
+        Column column = condition.getColumn();
+        Object value = column.getValue().get();
+        switch (condition.getCondition()) {
+            case AND:
+                return bind(toConditions(value), args).stream().reduce(ColumnCondition::and)
+                        .orElseThrow(() -> new IllegalStateException("The condition has no conditions: "
+                                + condition));
+            case OR:
+                return bind(toConditions(value), args).stream().reduce(ColumnCondition::or)
+                        .orElseThrow(() -> new IllegalStateException("The condition has no conditions: "
+                                + condition));
+            case NOT:
+                return bind(ColumnCondition.class.cast(value), args).negate();
+            default:
+        }
+        Column bound = Column.of(column.getName(), args[Slot.class.cast(value).index]);
+        switch (condition.getCondition()) {
+            case EQUALS:
+                return ColumnCondition.eq(bound);
+            case GREATER_THAN:
+                return ColumnCondition.gt(bound);
+            case GREATER_EQUALS_THAN:
+                return ColumnCondition.gte(bound);
+            case LESSER_THAN:
+                return ColumnCondition.lt(bound);
+            case LESSER_EQUALS_THAN:
+                return ColumnCondition.lte(bound);
+            case IN:
+                return ColumnCondition.in(bound);
+            case LIKE:
+                return ColumnCondition.like(bound);
+            default:
+                throw new IllegalStateException("The condition cannot be bound: " + condition);
+        }
+    }
+
+    private static List<ColumnCondition> bind(List<ColumnCondition> conditions, Object[] args) {
+        List<ColumnCondition> bound = new ArrayList<>(conditions.size());
+        conditions.forEach(c -> bound.add(bind(c, args)));
+        return bound;
+    }
+
+    private static List<ColumnCondition> toConditions(Object value) {
+        List<ColumnCondition> conditions = new ArrayList<>();
+        ((Iterable<?>) value).forEach(c -> conditions.add(ColumnCondition.class.cast(c)));
+        return conditions;
+    }
+
+    /**
+     * The place of an argument in the template. It is an {@link Iterable} so the parser takes it for the
+     * conditions that need one, e.g. IN.
+     */
+    private static final class Slot implements Iterable<Object> {
+
+        private final int index;
+
+        private Slot(int index) {
+            this.index = index;
+        }
+
+        @Override
+        public Iterator<Object> iterator() {
+            return Collections.emptyIterator();
+        }
+
+        @Override
+        public String toString() {
+            return "?" + index;
+        }
+    }
+}
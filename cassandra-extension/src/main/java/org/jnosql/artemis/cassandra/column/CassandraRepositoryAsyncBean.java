@@ -73,6 +73,10 @@ class CassandraRepositoryAsyncBean implements Bean<CassandraCrudRepositoryAsync>
     public CassandraCrudRepositoryAsync create(CreationalContext<CassandraCrudRepositoryAsync> creationalContext) {
         ClassRepresentations classRepresentations = getInstance(ClassRepresentations.class);
         CassandraColumnRepositoryAsync repository = getInstance(CassandraColumnRepositoryAsync.class);
+        CassandraPreparedStatementCache preparedStatements = repository.getPreparedStatementCache();
+        if (preparedStatements != null) {
+            preparedStatements.prepare(type);
+        }
         CassandraCrudRepositoryAsyncProxy handler = new CassandraCrudRepositoryAsyncProxy(repository,
                 classRepresentations, type);
         return (CassandraCrudRepositoryAsync) Proxy.newProxyInstance(type.getClassLoader(),
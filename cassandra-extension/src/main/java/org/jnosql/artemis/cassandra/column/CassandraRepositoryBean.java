@@ -73,6 +73,10 @@ class CassandraRepositoryBean implements Bean<CassandraCrudRepository>, Passivat
     public CassandraCrudRepository create(CreationalContext<CassandraCrudRepository> creationalContext) {
         ClassRepresentations classRepresentations = getInstance(ClassRepresentations.class);
         CassandraColumnRepository repository = getInstance(CassandraColumnRepository.class);
+        CassandraPreparedStatementCache preparedStatements = repository.getPreparedStatementCache();
+        if (preparedStatements != null) {
+            preparedStatements.prepare(type);
+        }
         CassandraCrudRepositoryProxy handler = new CassandraCrudRepositoryProxy(repository,
                 classRepresentations, type);
         return (CassandraCrudRepository) Proxy.newProxyInstance(type.getClassLoader(),
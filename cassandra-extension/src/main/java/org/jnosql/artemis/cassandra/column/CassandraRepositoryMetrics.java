@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.cassandra.column;
+
+/**
+ * Receives a {@link CassandraOperationMetric} for each operation done by {@link CassandraColumnRepository}
+ * and {@link CassandraColumnRepositoryAsync}. The repositories look up an implementation through CDI and use
+ * {@link CassandraRepositoryMetrics#noop()} when there is none, so to enable metrics an application produces
+ * a bean, e.g. an {@link InMemoryCassandraRepositoryMetrics}:
+ * <pre>
+ * &#64;Produces
+ * &#64;ApplicationScoped
+ * public CassandraRepositoryMetrics getMetrics() {
+ *     return new InMemoryCassandraRepositoryMetrics();
+ * }
+ * </pre>
+ * The record method is called on the thread that did the operation, including the driver I/O threads
+ * on async operations, so implementations must be thread safe and must not block.
+ */
+public interface CassandraRepositoryMetrics {
+
+    /**
+     * Records an operation
+     *
+     * @param metric the operation metric
+     */
+    void record(CassandraOperationMetric metric);
+
+    /**
+     * @return an implementation that ignores every metric
+     */
+    static CassandraRepositoryMetrics noop() {
+        return NoopCassandraRepositoryMetrics.INSTANCE;
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.cassandra.column;
+
+import com.datastax.driver.core.ColumnDefinitions;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.UDTValue;
+import com.datastax.driver.core.querybuilder.Clause;
+import com.datastax.driver.core.querybuilder.QueryBuilder;
+import com.datastax.driver.core.querybuilder.Select;
+import org.jnosql.diana.api.Sort;
+import org.jnosql.diana.api.column.Column;
+import org.jnosql.diana.api.column.ColumnCondition;
+import org.jnosql.diana.api.column.ColumnEntity;
+import org.jnosql.diana.api.column.ColumnQuery;
+import org.jnosql.diana.cassandra.column.UDT;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Reads the rows of a {@link ResultSet} as a {@link Stream} of {@link ColumnEntity}, the driver fetches the next
+ * page just when the stream reaches the end of the current one, so the rows are not loaded into a list first. A
+ * statement without a fetch size reads pages of {@value #DEFAULT_FETCH_SIZE} rows.
+ */
+final class CassandraResultStream {
+
+    static final int DEFAULT_FETCH_SIZE = 500;
+
+    private CassandraResultStream() {
+    }
+
+    /**
+     * Sets the {@link #DEFAULT_FETCH_SIZE} when the statement has no fetch size
+     *
+     * @return the statement itself
+     */
+    static Statement withFetchSize(Statement statement) {
+        if (statement.getFetchSize() <= 0) {
+            statement.setFetchSize(DEFAULT_FETCH_SIZE);
+        }
+        return statement;
+    }
+
+    static Stream<ColumnEntity> toEntities(ResultSet resultSet) {
+        Spliterator<Row> rows = Spliterators.spliteratorUnknownSize(resultSet.iterator(), Spliterator.ORDERED);
+        return StreamSupport.stream(rows, false).map(CassandraResultStream::toEntity);
+    }
+
+    /**
+     * @return the row as the Cassandra manager returns it: a column per value that is not null, and a {@link UDT}
+     * for a user defined type
+     */
+    static ColumnEntity toEntity(Row row) {
+        ColumnDefinitions definitions = row.getColumnDefinitions();
+        List<Column> columns = new ArrayList<>(definitions.size());
+        for (int index = 0; index < definitions.size(); index++) {
+            String name = definitions.getName(index);
+            Object value = row.getObject(index);
+            if (value instanceof UDTValue) {
+                columns.add(toUDT(name, (UDTValue) value));
+            } else if (value != null) {
+                columns.add(Column.of(name, value));
+            }
+        }
+        String table = definitions.size() == 0 ? null : definitions.getTable(0);
+        return ColumnEntity.of(table, columns);
+    }
+
+    /**
+     * @return the select of the query, the table is in the keyspace of the session
+     * @throws UnsupportedOperationException when the query has a condition that CQL does not support, e.g. OR
+     */
+    static Statement toStatement(ColumnQuery query, ConsistencyLevel level) {
+        Select select = QueryBuilder.select().all().from(query.getColumnFamily());
+        query.getCondition().ifPresent(c -> toClauses(c).forEach(select.where()::and));
+        for (Sort sort : query.getSorts()) {
+            select.orderBy(Sort.SortType.ASC.equals(sort.getType()) ? QueryBuilder.asc(sort.getName())
+                    : QueryBuilder.desc(sort.getName()));
+        }
+        if (query.getLimit() > 0) {
+            select.limit((int) query.getLimit());
+        }
+        select.setConsistencyLevel(level);
+        return select;
+    }
+
+    private static List<Clause> toClauses(ColumnCondition condition) {
+        Column column = condition.getColumn();
+        Object value = column.getValue().get();
+        List<Clause> clauses = new ArrayList<>();
+        switch (condition.getCondition()) {
+            case AND:
+                ((Iterable<?>) value).forEach(c -> clauses.addAll(toClauses(ColumnCondition.class.cast(c))));
+                return clauses;
+            case EQUALS:
+                clauses.add(QueryBuilder.eq(column.getName(), value));
+                return clauses;
+            case GREATER_THAN:
+                clauses.add(QueryBuilder.gt(column.getName(), value));
+                return clauses;
+            case GREATER_EQUALS_THAN:
+                clauses.add(QueryBuilder.gte(column.getName(), value));
+                return clauses;
+            case LESSER_THAN:
+                clauses.add(QueryBuilder.lt(column.getName(), value));
+                return clauses;
+            case LESSER_EQUALS_THAN:
+                clauses.add(QueryBuilder.lte(column.getName(), value));
+                return clauses;
+            case IN:
+                List<Object> values = new ArrayList<>();
+                ((Iterable<?>) value).forEach(values::add);
+                clauses.add(QueryBuilder.in(column.getName(), values));
+                return clauses;
+            case LIKE:
+                clauses.add(QueryBuilder.like(column.getName(), value));
+                return clauses;
+            default:
+                throw new UnsupportedOperationException("Cassandra does not support the condition "
+                        + condition.getCondition());
+        }
+    }
+
+    private static Column toUDT(String name, UDTValue value) {
+        List<Column> columns = new ArrayList<>();
+        for (String field : value.getType().getFieldNames()) {
+            Object fieldValue = value.getObject(field);
+            if (fieldValue != null) {
+                columns.add(Column.of(field, fieldValue));
+            }
+        }
+        return UDT.builder().withTypeName(value.getType().getTypeName()).withName(name).addAll(columns).build();
+    }
+}
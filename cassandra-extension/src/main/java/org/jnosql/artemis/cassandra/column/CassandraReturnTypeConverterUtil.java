@@ -35,12 +35,35 @@ import java.util.stream.Stream;
 
 class CassandraReturnTypeConverterUtil {
 
+    private static final long SINGLE_RESULT_LIMIT = 1L;
+
     private CassandraReturnTypeConverterUtil() {
     }
 
+    /**
+     * @return true when the method returns either the entity or an {@link Optional}, so just the first row is used
+     */
+    static boolean isSingleResult(Class typeClass, Class<?> returnType) {
+        return typeClass.equals(returnType) || Optional.class.equals(returnType);
+    }
+
+    /**
+     * Limits the query to one row when the method returns a single result, a smaller limit already defined
+     * in the query is kept.
+     */
+    static ColumnQuery limitSingleResult(ColumnQuery query, Class typeClass, Class<?> returnType) {
+        if (isSingleResult(typeClass, returnType)
+                && (query.getLimit() <= 0 || query.getLimit() > SINGLE_RESULT_LIMIT)) {
+            query.withLimit(SINGLE_RESULT_LIMIT);
+        }
+        return query;
+    }
+
     static Object returnObject(List result, Class typeClass, Method method) {
-        Class<?> returnType = method.getReturnType();
+        return returnObject(result, typeClass, method.getReturnType());
+    }
 
+    static Object returnObject(List result, Class typeClass, Class<?> returnType) {
         if (typeClass.equals(returnType)) {
             if (!result.isEmpty()) {
                 return result.get(0);
@@ -67,6 +90,7 @@ class CassandraReturnTypeConverterUtil {
 
     static Object returnObject(ColumnQuery query, CassandraColumnRepository repository, Class typeClass, Method method, ConsistencyLevel level) {
         Class<?> returnType = method.getReturnType();
+        limitSingleResult(query, typeClass, returnType);
 
         if (typeClass.equals(returnType)) {
             List<Object> result = repository.find(query, level);
@@ -88,7 +112,7 @@ class CassandraReturnTypeConverterUtil {
         } else if (Queue.class.equals(returnType)) {
             return repository.find(query, level).stream().collect(Collectors.toCollection(PriorityQueue::new));
         } else if (Stream.class.equals(returnType)) {
-            return repository.find(query, level).stream();
+            return repository.findStream(query, level);
         }
 
         return repository.find(query, level);
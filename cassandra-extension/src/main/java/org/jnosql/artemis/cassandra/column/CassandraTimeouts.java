@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.cassandra.column;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * The timeouts of the async operations. The diana async manager just calls back on success, so a write or a query
+ * that fails on the server is only noticed when it does not call back within the timeout.
+ */
+final class CassandraTimeouts {
+
+    static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
+    private CassandraTimeouts() {
+    }
+
+    /**
+     * Completes the future with {@link TimeoutException} when it is not completed within the timeout
+     *
+     * @return the future itself
+     */
+    static <T> CompletableFuture<T> within(CompletableFuture<T> future, Duration timeout,
+                                           ScheduledExecutorService scheduler) {
+        long millis = timeout.toMillis();
+        ScheduledFuture<?> timer = scheduler.schedule(() -> future.completeExceptionally(
+                new TimeoutException("The operation did not call back in " + millis + " ms")),
+                millis, TimeUnit.MILLISECONDS);
+        future.whenComplete((result, error) -> timer.cancel(false));
+        return future;
+    }
+
+    /**
+     * Creates a stage that fails with {@link TimeoutException} when it is not completed within
+     * {@link #DEFAULT_TIMEOUT} and gives it to the call, an exception thrown by the call completes the stage
+     * exceptionally.
+     */
+    static <T> CompletionStage<T> newStage(Consumer<CompletableFuture<T>> call) {
+        return newStage(call, DEFAULT_TIMEOUT, scheduler());
+    }
+
+    static <T> CompletionStage<T> newStage(Consumer<CompletableFuture<T>> call, Duration timeout,
+                                           ScheduledExecutorService scheduler) {
+        CompletableFuture<T> stage = within(new CompletableFuture<>(), timeout, scheduler);
+        try {
+            call.accept(stage);
+        } catch (RuntimeException exception) {
+            stage.completeExceptionally(exception);
+        }
+        return stage;
+    }
+
+    /**
+     * @return the daemon scheduler that runs the timeouts of this module
+     */
+    static ScheduledExecutorService scheduler() {
+        return SchedulerHolder.INSTANCE;
+    }
+
+    private static final class SchedulerHolder {
+
+        private static final ScheduledExecutorService INSTANCE = newScheduler();
+
+        private static ScheduledExecutorService newScheduler() {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "cassandra-timeout");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+}
@@ -21,6 +21,9 @@ package org.jnosql.artemis.cassandra.column;
 
 
 import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.SimpleStatement;
 import com.datastax.driver.core.Statement;
 import org.jnosql.artemis.column.AbstractColumnRepository;
 import org.jnosql.artemis.column.ColumnEntityConverter;
@@ -31,19 +34,32 @@ import org.jnosql.diana.api.column.ColumnEntity;
 import org.jnosql.diana.api.column.ColumnFamilyManager;
 import org.jnosql.diana.api.column.ColumnQuery;
 import org.jnosql.diana.cassandra.column.CassandraColumnFamilyManager;
-import org.jnosql.diana.cassandra.column.CassandraPrepareStatment;
 
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
-import java.util.function.UnaryOperator;
-import java.util.stream.Collectors;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import static java.util.stream.Collectors.toList;
+import static org.jnosql.artemis.cassandra.column.CassandraOperation.BATCH;
+import static org.jnosql.artemis.cassandra.column.CassandraOperation.CQL;
+import static org.jnosql.artemis.cassandra.column.CassandraOperation.DELETE;
+import static org.jnosql.artemis.cassandra.column.CassandraOperation.EXECUTE;
+import static org.jnosql.artemis.cassandra.column.CassandraOperation.FIND;
+import static org.jnosql.artemis.cassandra.column.CassandraOperation.SAVE;
+
 class DefaultCassandraColumnRepository extends AbstractColumnRepository implements CassandraColumnRepository {
 
+    private static final ToLongFunction<Object> ONE_ROW = e -> 1L;
+
+    private static final ToLongFunction<Object> NO_ROW = e -> 0L;
+
     private Instance<CassandraColumnFamilyManager> manager;
 
     private CassandraColumnEntityConverter converter;
@@ -52,29 +68,77 @@ class DefaultCassandraColumnRepository extends AbstractColumnRepository implemen
 
     private ColumnEventPersistManager persistManager;
 
+    private CassandraPreparedStatementCache preparedStatements;
+
+    private CassandraMetricsRecorder recorder;
+
+    private Instance<Session> session;
+
     @Inject
     DefaultCassandraColumnRepository(Instance<CassandraColumnFamilyManager> manager,
                                      CassandraColumnEntityConverter converter,
                                      ColumnWorkflow flow,
-                                     ColumnEventPersistManager persistManager) {
+                                     ColumnEventPersistManager persistManager,
+                                     Instance<CassandraRepositoryMetrics> metrics,
+                                     Instance<Session> session) {
         this.manager = manager;
         this.converter = converter;
         this.flow = flow;
         this.persistManager = persistManager;
+        this.preparedStatements = new CassandraPreparedStatementCache(q -> this.manager.get().nativeQueryPrepare(q));
+        this.recorder = CassandraMetricsRecorder.of(metrics);
+        this.session = session;
+    }
+
+    DefaultCassandraColumnRepository(Instance<CassandraColumnFamilyManager> manager,
+                                     CassandraColumnEntityConverter converter,
+                                     ColumnWorkflow flow,
+                                     ColumnEventPersistManager persistManager,
+                                     Instance<CassandraRepositoryMetrics> metrics) {
+        this(manager, converter, flow, persistManager, metrics, null);
+    }
+
+    DefaultCassandraColumnRepository(Instance<CassandraColumnFamilyManager> manager,
+                                     CassandraColumnEntityConverter converter,
+                                     ColumnWorkflow flow,
+                                     ColumnEventPersistManager persistManager) {
+        this(manager, converter, flow, persistManager, null, null);
+    }
+
+    private DefaultCassandraColumnRepository(DefaultCassandraColumnRepository repository,
+                                             CassandraMetricsRecorder recorder) {
+        this.manager = repository.manager;
+        this.converter = repository.converter;
+        this.flow = repository.flow;
+        this.persistManager = repository.persistManager;
+        this.preparedStatements = repository.preparedStatements;
+        this.recorder = recorder;
+        this.session = repository.session;
     }
 
     DefaultCassandraColumnRepository() {
     }
 
+    /**
+     * @param method the repository method, e.g. PersonRepository.findByName
+     * @return a repository that shares this one's state and records its metrics with the method
+     */
+    DefaultCassandraColumnRepository forMethod(String method) {
+        return new DefaultCassandraColumnRepository(this, recorder.forMethod(method));
+    }
+
 
     @Override
     protected ColumnEntityConverter getConverter() {
         return converter;
     }
 
+    /**
+     * The inherited operations run through a manager that records their metrics
+     */
     @Override
     protected ColumnFamilyManager getManager() {
-        return manager.get();
+        return CassandraMeteredManagers.of(manager.get(), recorder);
     }
 
     @Override
@@ -91,8 +155,8 @@ class DefaultCassandraColumnRepository extends AbstractColumnRepository implemen
     public <T> T save(T entity, ConsistencyLevel level) throws NullPointerException {
         Objects.requireNonNull(entity, "entity is required");
         Objects.requireNonNull(level, "level is required");
-        UnaryOperator<ColumnEntity> save = e -> manager.get().save(e, level);
-        return getFlow().flow(entity, save);
+        return recorder.record(SAVE, level,
+                s -> getFlow().flow(entity, e -> s.driver(() -> manager.get().save(e, level))), ONE_ROW);
     }
 
     @Override
@@ -102,11 +166,11 @@ class DefaultCassandraColumnRepository extends AbstractColumnRepository implemen
         Objects.requireNonNull(level, "level is required");
 
         return StreamSupport.stream(entities.spliterator(), false)
-                .map(converter::toColumn)
-                .map(e -> manager.get().save(e, ttl, level))
-                .map(converter::toEntity)
-                .map(e -> (T) e)
-                .collect(Collectors.toList());
+                .map(entity -> recorder.record(SAVE, level, s -> {
+                    ColumnEntity saved = s.driver(() -> manager.get().save(converter.toColumn(entity), ttl, level));
+                    return (T) converter.toEntity(saved);
+                }, ONE_ROW))
+                .collect(toList());
     }
 
     @Override
@@ -114,11 +178,11 @@ class DefaultCassandraColumnRepository extends AbstractColumnRepository implemen
         Objects.requireNonNull(entities, "entities is required");
         Objects.requireNonNull(level, "level is required");
         return StreamSupport.stream(entities.spliterator(), false)
-                .map(converter::toColumn)
-                .map(e -> manager.get().save(e, level))
-                .map(converter::toEntity)
-                .map(e -> (T) e)
-                .collect(Collectors.toList());
+                .map(entity -> recorder.record(SAVE, level, s -> {
+                    ColumnEntity saved = s.driver(() -> manager.get().save(converter.toColumn(entity), level));
+                    return (T) converter.toEntity(saved);
+                }, ONE_ROW))
+                .collect(toList());
     }
 
     @Override
@@ -126,16 +190,76 @@ class DefaultCassandraColumnRepository extends AbstractColumnRepository implemen
         Objects.requireNonNull(entity, "entity is required");
         Objects.requireNonNull(ttl, "ttl is required");
         Objects.requireNonNull(level, "level is required");
-        UnaryOperator<ColumnEntity> save = e -> manager.get().save(e, ttl, level);
-        return getFlow().flow(entity, save);
+        return recorder.record(SAVE, level,
+                s -> getFlow().flow(entity, e -> s.driver(() -> manager.get().save(e, ttl, level))), ONE_ROW);
+    }
+
+    @Override
+    public <T> void saveBatch(Iterable<T> entities, ConsistencyLevel level, int maxBatchSize)
+            throws NullPointerException {
+        saveBatch(entities, level, maxBatchSize, e -> null);
+    }
+
+    @Override
+    public <T> void saveBatch(Iterable<T> entities, ConsistencyLevel level, int maxBatchSize,
+                              Function<T, ?> partitionKey) throws NullPointerException {
+        Objects.requireNonNull(entities, "entities is required");
+        Objects.requireNonNull(level, "level is required");
+        Objects.requireNonNull(partitionKey, "partitionKey is required");
+        saveBatch(entities, newBatchWriter(level, null, maxBatchSize), partitionKey);
+    }
+
+    @Override
+    public <T> void saveBatch(Iterable<T> entities, Duration ttl, ConsistencyLevel level, int maxBatchSize)
+            throws NullPointerException {
+        saveBatch(entities, ttl, level, maxBatchSize, e -> null);
+    }
+
+    @Override
+    public <T> void saveBatch(Iterable<T> entities, Duration ttl, ConsistencyLevel level, int maxBatchSize,
+                              Function<T, ?> partitionKey) throws NullPointerException {
+        Objects.requireNonNull(entities, "entities is required");
+        Objects.requireNonNull(ttl, "ttl is required");
+        Objects.requireNonNull(level, "level is required");
+        Objects.requireNonNull(partitionKey, "partitionKey is required");
+        saveBatch(entities, newBatchWriter(level, ttl, maxBatchSize), partitionKey);
+    }
+
+    private CassandraBatchWriter newBatchWriter(ConsistencyLevel level, Duration ttl, int maxBatchSize) {
+        Session batchSession = session == null || session.isUnsatisfied() ? null : session.get();
+        return new CassandraBatchWriter(manager.get(), batchSession, level, ttl, maxBatchSize);
+    }
+
+    private <T> void saveBatch(Iterable<T> entities, CassandraBatchWriter writer, Function<T, ?> partitionKey) {
+        recorder.record(BATCH, writer.getLevel(), s -> {
+            long rows = 0;
+            for (T entity : entities) {
+                ColumnEntity column = converter.toColumn(entity);
+                s.driver(() -> {
+                    writer.add(column, partitionKey.apply(entity));
+                    return null;
+                });
+                rows++;
+            }
+            s.driver(() -> {
+                writer.flush();
+                return null;
+            });
+            return rows;
+        }, Long::longValue);
     }
 
     @Override
     public void delete(ColumnDeleteQuery query, ConsistencyLevel level) throws NullPointerException {
         Objects.requireNonNull(query, "query is required");
         Objects.requireNonNull(level, "level is required");
-        persistManager.firePreDeleteQuery(query);
-        manager.get().delete(query, level);
+        recorder.record(DELETE, level, s -> {
+            persistManager.firePreDeleteQuery(query);
+            return s.driver(() -> {
+                manager.get().delete(query, level);
+                return null;
+            });
+        }, NO_ROW);
     }
 
     @Override
@@ -143,33 +267,83 @@ class DefaultCassandraColumnRepository extends AbstractColumnRepository implemen
         Objects.requireNonNull(query, "query is required");
         Objects.requireNonNull(level, "level is required");
         persistManager.firePreQuery(query);
-
-        return manager.get().find(query, level).stream()
-                .map(c -> (T) converter.toEntity(c))
-                .collect(Collectors.toList());
+        return toList(FIND, level, () -> manager.get().find(query, level));
     }
 
     @Override
     public <T> List<T> cql(String query) throws NullPointerException {
-        return manager.get().cql(query).stream()
-                .map(c -> (T) converter.toEntity(c))
-                .collect(Collectors.toList());
+        Objects.requireNonNull(query, "query is required");
+        return toList(CQL, null, () -> manager.get().cql(query));
     }
 
     @Override
     public <T> List<T> cql(String query, Object... params) throws NullPointerException {
         Objects.requireNonNull(query, "query is required");
-        CassandraPrepareStatment cassandraPrepareStatment = manager.get().nativeQueryPrepare(query);
-        List<ColumnEntity> entities = cassandraPrepareStatment.bind(params).executeQuery();
-        return entities.stream().map(converter::toEntity).map(e -> (T) e).collect(Collectors.toList());
+        return toList(CQL, null, () -> preparedStatements.execute(query, s -> s.bind(params).executeQuery()));
     }
 
     @Override
     public <T> List<T> execute(Statement statement) throws NullPointerException {
-        return manager.get().execute(statement).stream()
+        Objects.requireNonNull(statement, "statement is required");
+        return toList(EXECUTE, statement.getConsistencyLevel(), () -> manager.get().execute(statement));
+    }
+
+    @Override
+    public <T> Stream<T> findStream(ColumnQuery query, ConsistencyLevel level) throws NullPointerException {
+        Objects.requireNonNull(query, "query is required");
+        Objects.requireNonNull(level, "level is required");
+        persistManager.firePreQuery(query);
+        return toStream(FIND, level, () -> CassandraResultStream.toStatement(query, level),
+                () -> manager.get().find(query, level));
+    }
+
+    @Override
+    public <T> Stream<T> cqlStream(String query) throws NullPointerException {
+        Objects.requireNonNull(query, "query is required");
+        return toStream(CQL, null, () -> new SimpleStatement(query), () -> manager.get().cql(query));
+    }
+
+    @Override
+    public <T> Stream<T> cqlStream(String query, Object... params) throws NullPointerException {
+        Objects.requireNonNull(query, "query is required");
+        return toStream(CQL, null, () -> new SimpleStatement(query, params),
+                () -> preparedStatements.execute(query, s -> s.bind(params).executeQuery()));
+    }
+
+    @Override
+    public <T> Stream<T> executeStream(Statement statement) throws NullPointerException {
+        Objects.requireNonNull(statement, "statement is required");
+        return toStream(EXECUTE, statement.getConsistencyLevel(), () -> statement,
+                () -> manager.get().execute(statement));
+    }
+
+    @Override
+    public CassandraPreparedStatementCache getPreparedStatementCache() {
+        return preparedStatements;
+    }
+
+    private <T> List<T> toList(CassandraOperation operation, ConsistencyLevel level,
+                               Supplier<List<ColumnEntity>> query) {
+        return recorder.record(operation, level, s -> s.driver(query).stream()
                 .map(c -> (T) converter.toEntity(c))
-                .collect(Collectors.toList());
+                .collect(toList()), List::size);
     }
 
+    /**
+     * With a {@link Session} the rows are read page by page while the stream is consumed, so the metric has the time
+     * and the rows of the first page; otherwise the manager loads every row and the entities are converted while
+     * the stream is consumed.
+     */
+    private <T> Stream<T> toStream(CassandraOperation operation, ConsistencyLevel level,
+                                   Supplier<Statement> statement, Supplier<List<ColumnEntity>> query) {
+        if (session == null || session.isUnsatisfied()) {
+            List<ColumnEntity> entities = recorder.record(operation, level, s -> s.driver(query), List::size);
+            return entities.stream().map(c -> (T) converter.toEntity(c));
+        }
+        Statement paged = CassandraResultStream.withFetchSize(statement.get());
+        ResultSet resultSet = recorder.record(operation, level, s -> s.driver(() -> session.get().execute(paged)),
+                ResultSet::getAvailableWithoutFetching);
+        return CassandraResultStream.toEntities(resultSet).map(c -> (T) converter.toEntity(c));
+    }
 
 }
@@ -23,6 +23,7 @@ import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.Statement;
 import org.jnosql.artemis.column.AbstractColumnRepositoryAsync;
 import org.jnosql.artemis.column.ColumnEntityConverter;
+import org.jnosql.artemis.cassandra.column.CassandraMetricsRecorder.Sample;
 import org.jnosql.diana.api.ExecuteAsyncQueryException;
 import org.jnosql.diana.api.column.ColumnDeleteQuery;
 import org.jnosql.diana.api.column.ColumnEntity;
@@ -35,10 +36,19 @@ import javax.inject.Inject;
 import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.StreamSupport;
 
 import static java.util.stream.Collectors.toList;
+import static org.jnosql.artemis.cassandra.column.CassandraOperation.CQL;
+import static org.jnosql.artemis.cassandra.column.CassandraOperation.DELETE;
+import static org.jnosql.artemis.cassandra.column.CassandraOperation.EXECUTE;
+import static org.jnosql.artemis.cassandra.column.CassandraOperation.FIND;
+import static org.jnosql.artemis.cassandra.column.CassandraOperation.SAVE;
 
 /**
  * The CassandraColumnRepositoryAsync default implementation
@@ -51,14 +61,54 @@ class DefaultCassandraColumnRepositoryAsync extends AbstractColumnRepositoryAsyn
 
     private Instance<CassandraColumnFamilyManagerAsync> managerAsync;
 
+    private CassandraPreparedStatementCache preparedStatements;
+
+    private CassandraMetricsRecorder recorder;
+
+    private CassandraConversionExecutor executor;
+
     DefaultCassandraColumnRepositoryAsync() {
     }
 
     @Inject
     DefaultCassandraColumnRepositoryAsync(CassandraColumnEntityConverter converter,
-                                          Instance<CassandraColumnFamilyManagerAsync> managerAsync) {
+                                          Instance<CassandraColumnFamilyManagerAsync> managerAsync,
+                                          Instance<CassandraRepositoryMetrics> metrics,
+                                          Instance<CassandraConversionExecutor> executor) {
         this.converter = converter;
         this.managerAsync = managerAsync;
+        this.preparedStatements = new CassandraPreparedStatementCache(q -> this.managerAsync.get()
+                .nativeQueryPrepare(q));
+        this.recorder = CassandraMetricsRecorder.of(metrics);
+        this.executor = CassandraConversionExecutor.of(executor);
+    }
+
+    DefaultCassandraColumnRepositoryAsync(CassandraColumnEntityConverter converter,
+                                          Instance<CassandraColumnFamilyManagerAsync> managerAsync,
+                                          Instance<CassandraRepositoryMetrics> metrics) {
+        this(converter, managerAsync, metrics, null);
+    }
+
+    DefaultCassandraColumnRepositoryAsync(CassandraColumnEntityConverter converter,
+                                          Instance<CassandraColumnFamilyManagerAsync> managerAsync) {
+        this(converter, managerAsync, null);
+    }
+
+    private DefaultCassandraColumnRepositoryAsync(DefaultCassandraColumnRepositoryAsync repository,
+                                                  CassandraMetricsRecorder recorder) {
+        this.converter = repository.converter;
+        this.managerAsync = repository.managerAsync;
+        this.preparedStatements = repository.preparedStatements;
+        this.recorder = recorder;
+        this.executor = repository.executor;
+    }
+
+    /**
+     * @param method the repository method, e.g. PersonRepository.findByName
+     * @return a repository that shares this one's state and records its metrics with the method
+     */
+    DefaultCassandraColumnRepositoryAsync forMethod(String method) {
+        return new DefaultCassandraColumnRepositoryAsync(this, recorder.forMethod(method));
     }
 
     @Override
@@ -66,9 +116,13 @@ class DefaultCassandraColumnRepositoryAsync extends AbstractColumnRepositoryAsyn
         return converter;
     }
 
+    /**
+     * The inherited operations run through a manager that records their metrics and calls back on the
+     * {@link CassandraConversionExecutor}
+     */
     @Override
     protected ColumnFamilyManagerAsync getManager() {
-        return managerAsync.get();
+        return CassandraMeteredManagers.of(managerAsync.get(), recorder, executor);
     }
 
     @Override
@@ -84,8 +138,9 @@ class DefaultCassandraColumnRepositoryAsync extends AbstractColumnRepositoryAsyn
         Objects.requireNonNull(entity, "entity is required");
         Objects.requireNonNull(level, "level is required");
         Objects.requireNonNull(callBack, "callBack is required");
-        Consumer<ColumnEntity> dianaCallBack = c -> callBack.accept((T) getConverter().toEntity(entity.getClass(), c));
-        managerAsync.get().save(converter.toColumn(entity), level, dianaCallBack);
+        Sample sample = recorder.start(SAVE, level);
+        ColumnEntity column = converter.toColumn(entity);
+        submit(sample, () -> managerAsync.get().save(column, level, toEntity(sample, entity, callBack)));
     }
 
     @Override
@@ -117,6 +172,55 @@ class DefaultCassandraColumnRepositoryAsync extends AbstractColumnRepositoryAsyn
                 .forEach(c -> managerAsync.get().save(c, ttl, level));
     }
 
+    @Override
+    public <T> CompletionStage<CassandraBulkResult> saveBulk(Iterable<T> entities, ConsistencyLevel level,
+                                                             int maxInFlight) throws NullPointerException {
+        return saveBulk(entities, level, maxInFlight, (e, t) -> {
+        });
+    }
+
+    @Override
+    public <T> CompletionStage<CassandraBulkResult> saveBulk(Iterable<T> entities, ConsistencyLevel level,
+                                                             int maxInFlight, BiConsumer<T, Throwable> onFailure)
+            throws NullPointerException {
+        Objects.requireNonNull(level, "level is required");
+        BiConsumer<T, Runnable> writer = (e, callBack) -> {
+            Sample sample = recorder.start(SAVE, level);
+            ColumnEntity column = converter.toColumn(e);
+            submit(sample, () -> managerAsync.get().save(column, level, c -> {
+                sample.driverDone();
+                sample.success(1L);
+                callBack.run();
+            }));
+        };
+        return new CassandraBulkSave<>(entities, maxInFlight, writer, onFailure).start();
+    }
+
+    @Override
+    public <T> CompletionStage<CassandraBulkResult> saveBulk(Iterable<T> entities, Duration ttl, ConsistencyLevel level,
+                                                             int maxInFlight) throws NullPointerException {
+        return saveBulk(entities, ttl, level, maxInFlight, (e, t) -> {
+        });
+    }
+
+    @Override
+    public <T> CompletionStage<CassandraBulkResult> saveBulk(Iterable<T> entities, Duration ttl, ConsistencyLevel level,
+                                                             int maxInFlight, BiConsumer<T, Throwable> onFailure)
+            throws NullPointerException {
+        Objects.requireNonNull(ttl, "ttl is required");
+        Objects.requireNonNull(level, "level is required");
+        BiConsumer<T, Runnable> writer = (e, callBack) -> {
+            Sample sample = recorder.start(SAVE, level);
+            ColumnEntity column = converter.toColumn(e);
+            submit(sample, () -> managerAsync.get().save(column, ttl, level, c -> {
+                sample.driverDone();
+                sample.success(1L);
+                callBack.run();
+            }));
+        };
+        return new CassandraBulkSave<>(entities, maxInFlight, writer, onFailure).start();
+    }
+
     @Override
     public <T> void save(T entity, Duration ttl, ConsistencyLevel level, Consumer<T> callBack)
             throws ExecuteAsyncQueryException, UnsupportedOperationException, NullPointerException {
@@ -124,8 +228,9 @@ class DefaultCassandraColumnRepositoryAsync extends AbstractColumnRepositoryAsyn
         Objects.requireNonNull(level, "level is required");
         Objects.requireNonNull(ttl, "ttl is required");
         Objects.requireNonNull(callBack, "callBack is required");
-        Consumer<ColumnEntity> dianaCallBack = c -> callBack.accept((T) getConverter().toEntity(entity.getClass(), c));
-        managerAsync.get().save(converter.toColumn(entity), ttl, level, dianaCallBack);
+        Sample sample = recorder.start(SAVE, level);
+        ColumnEntity column = converter.toColumn(entity);
+        submit(sample, () -> managerAsync.get().save(column, ttl, level, toEntity(sample, entity, callBack)));
     }
 
     @Override
@@ -135,36 +240,25 @@ class DefaultCassandraColumnRepositoryAsync extends AbstractColumnRepositoryAsyn
 
     @Override
     public void delete(ColumnDeleteQuery query, ConsistencyLevel level, Consumer<Void> consumer) {
-        managerAsync.get().delete(query, level, consumer);
+        Objects.requireNonNull(consumer, "consumer is required");
+        Sample sample = recorder.start(DELETE, level);
+        submit(sample, () -> managerAsync.get().delete(query, level, toVoid(sample, consumer)));
     }
 
     @Override
     public <T> void find(ColumnQuery query, ConsistencyLevel level, Consumer<List<T>> callBack)
             throws ExecuteAsyncQueryException, NullPointerException {
         Objects.requireNonNull(callBack, "callBack is required");
-        Consumer<List<ColumnEntity>> dianaCallBack = d -> {
-            callBack.accept(
-                    d.stream()
-                            .map(getConverter()::toEntity)
-                            .map(o -> (T) o)
-                            .collect(toList()));
-        };
-
-        managerAsync.get().find(query, level, dianaCallBack);
+        Sample sample = recorder.start(FIND, level);
+        submit(sample, () -> managerAsync.get().find(query, level, toEntities(sample, callBack)));
     }
 
     @Override
     public <T> void cql(String query, Consumer<List<T>> callBack)
             throws ExecuteAsyncQueryException, NullPointerException {
         Objects.requireNonNull(callBack, "callBack is required");
-        Consumer<List<ColumnEntity>> dianaCallBack = d -> {
-            callBack.accept(
-                    d.stream()
-                            .map(getConverter()::toEntity)
-                            .map(o -> (T) o)
-                            .collect(toList()));
-        };
-        managerAsync.get().cql(query, dianaCallBack);
+        Sample sample = recorder.start(CQL, null);
+        submit(sample, () -> managerAsync.get().cql(query, toEntities(sample, callBack)));
     }
 
     @Override
@@ -172,29 +266,206 @@ class DefaultCassandraColumnRepositoryAsync extends AbstractColumnRepositoryAsyn
         Objects.requireNonNull(query, "callBack is required");
         Objects.requireNonNull(callBack, "callBack is required");
         Objects.requireNonNull(params, "params is required");
-        Consumer<List<ColumnEntity>> dianaCallBack = d -> {
-            callBack.accept(
-                    d.stream()
-                            .map(getConverter()::toEntity)
-                            .map(o -> (T) o)
-                            .collect(toList()));
-        };
-        managerAsync.get().nativeQueryPrepare(query).bind(params).executeQueryAsync(dianaCallBack);
+        Sample sample = recorder.start(CQL, null);
+        Consumer<List<ColumnEntity>> dianaCallBack = toEntities(sample, callBack);
+        submit(sample, () -> preparedStatements.execute(query, s -> {
+            s.bind(params).executeQueryAsync(dianaCallBack);
+            return null;
+        }));
     }
 
     @Override
     public <T> void execute(Statement statement, Consumer<List<T>> callBack)
             throws ExecuteAsyncQueryException, NullPointerException {
+        Objects.requireNonNull(statement, "statement is required");
         Objects.requireNonNull(callBack, "callBack is required");
-        Consumer<List<ColumnEntity>> dianaCallBack = d -> {
-            callBack.accept(
-                    d.stream()
-                            .map(getConverter()::toEntity)
-                            .map(o -> (T) o)
-                            .collect(toList()));
+        Sample sample = recorder.start(EXECUTE, statement.getConsistencyLevel());
+        submit(sample, () -> managerAsync.get().execute(statement, toEntities(sample, callBack)));
+    }
+
+    @Override
+    public CassandraPreparedStatementCache getPreparedStatementCache() {
+        return preparedStatements;
+    }
+
+    @Override
+    public <T> CompletionStage<T> saveStage(T entity, ConsistencyLevel level) throws NullPointerException {
+        Objects.requireNonNull(entity, "entity is required");
+        Objects.requireNonNull(level, "level is required");
+        return CassandraTimeouts.newStage(stage -> {
+            Sample sample = recorder.start(SAVE, level);
+            ColumnEntity column = converter.toColumn(entity);
+            submit(sample, () -> managerAsync.get().save(column, level, toEntity(sample, entity, stage)));
+        });
+    }
+
+    @Override
+    public <T> CompletionStage<T> saveStage(T entity, Duration ttl, ConsistencyLevel level)
+            throws NullPointerException {
+        Objects.requireNonNull(entity, "entity is required");
+        Objects.requireNonNull(ttl, "ttl is required");
+        Objects.requireNonNull(level, "level is required");
+        return CassandraTimeouts.newStage(stage -> {
+            Sample sample = recorder.start(SAVE, level);
+            ColumnEntity column = converter.toColumn(entity);
+            submit(sample, () -> managerAsync.get().save(column, ttl, level, toEntity(sample, entity, stage)));
+        });
+    }
+
+    @Override
+    public CompletionStage<Void> deleteStage(ColumnDeleteQuery query) throws NullPointerException {
+        Objects.requireNonNull(query, "query is required");
+        return CassandraTimeouts.newStage(stage -> {
+            Sample sample = recorder.start(DELETE, null);
+            submit(sample, () -> managerAsync.get().delete(query, toVoid(sample, stage)));
+        });
+    }
+
+    @Override
+    public CompletionStage<Void> deleteStage(ColumnDeleteQuery query, ConsistencyLevel level)
+            throws NullPointerException {
+        Objects.requireNonNull(query, "query is required");
+        Objects.requireNonNull(level, "level is required");
+        return CassandraTimeouts.newStage(stage -> {
+            Sample sample = recorder.start(DELETE, level);
+            submit(sample, () -> managerAsync.get().delete(query, level, toVoid(sample, stage)));
+        });
+    }
+
+    @Override
+    public <T> CompletionStage<List<T>> findStage(ColumnQuery query) throws NullPointerException {
+        Objects.requireNonNull(query, "query is required");
+        return CassandraTimeouts.newStage(stage -> {
+            Sample sample = recorder.start(FIND, null);
+            submit(sample, () -> managerAsync.get().find(query, toEntities(sample, stage)));
+        });
+    }
+
+    @Override
+    public <T> CompletionStage<List<T>> findStage(ColumnQuery query, ConsistencyLevel level)
+            throws NullPointerException {
+        Objects.requireNonNull(query, "query is required");
+        Objects.requireNonNull(level, "level is required");
+        return CassandraTimeouts.newStage(stage -> {
+            Sample sample = recorder.start(FIND, level);
+            submit(sample, () -> managerAsync.get().find(query, level, toEntities(sample, stage)));
+        });
+    }
+
+    @Override
+    public <T> CompletionStage<List<T>> cqlStage(String query) throws NullPointerException {
+        Objects.requireNonNull(query, "query is required");
+        return CassandraTimeouts.newStage(stage -> {
+            Sample sample = recorder.start(CQL, null);
+            submit(sample, () -> managerAsync.get().cql(query, toEntities(sample, stage)));
+        });
+    }
+
+    @Override
+    public <T> CompletionStage<List<T>> cqlStage(String query, Object... params) throws NullPointerException {
+        Objects.requireNonNull(query, "query is required");
+        Objects.requireNonNull(params, "params is required");
+        return CassandraTimeouts.newStage(stage -> {
+            Sample sample = recorder.start(CQL, null);
+            Consumer<List<ColumnEntity>> dianaCallBack = toEntities(sample, stage);
+            submit(sample, () -> preparedStatements.execute(query, s -> {
+                s.bind(params).executeQueryAsync(dianaCallBack);
+                return null;
+            }));
+        });
+    }
+
+    @Override
+    public <T> CompletionStage<List<T>> executeStage(Statement statement) throws NullPointerException {
+        Objects.requireNonNull(statement, "statement is required");
+        return CassandraTimeouts.newStage(stage -> {
+            Sample sample = recorder.start(EXECUTE, statement.getConsistencyLevel());
+            submit(sample, () -> managerAsync.get().execute(statement, toEntities(sample, stage)));
+        });
+    }
+
+    private void submit(Sample sample, Runnable call) {
+        sample.submitted();
+        try {
+            call.run();
+        } catch (RuntimeException exception) {
+            sample.failure();
+            throw exception;
+        }
+    }
+
+    private <T> Consumer<ColumnEntity> toEntity(Sample sample, T entity, Consumer<T> callBack) {
+        return c -> {
+            sample.driverDone();
+            executor.execute(convert(sample, entity, c), callBack);
+        };
+    }
+
+    private <T> Consumer<ColumnEntity> toEntity(Sample sample, T entity, CompletableFuture<T> stage) {
+        return c -> {
+            sample.driverDone();
+            executor.execute(convert(sample, entity, c), stage);
+        };
+    }
+
+    private <T> Consumer<List<ColumnEntity>> toEntities(Sample sample, Consumer<List<T>> callBack) {
+        return d -> {
+            sample.driverDone();
+            executor.execute(convert(sample, d), callBack);
+        };
+    }
+
+    private <T> Consumer<List<ColumnEntity>> toEntities(Sample sample, CompletableFuture<List<T>> stage) {
+        return d -> {
+            sample.driverDone();
+            executor.execute(convert(sample, d), stage);
+        };
+    }
+
+    private Consumer<Void> toVoid(Sample sample, Consumer<Void> callBack) {
+        return v -> {
+            sample.driverDone();
+            sample.success(0L);
+            executor.execute(() -> callBack.accept(v));
+        };
+    }
+
+    private Consumer<Void> toVoid(Sample sample, CompletableFuture<Void> stage) {
+        return v -> {
+            sample.driverDone();
+            sample.success(0L);
+            executor.execute(() -> v, stage);
         };
-        managerAsync.get().execute(statement, dianaCallBack);
     }
 
+    private <T> Supplier<T> convert(Sample sample, T entity, ColumnEntity column) {
+        return () -> {
+            T result;
+            try {
+                result = (T) getConverter().toEntity(entity.getClass(), column);
+            } catch (RuntimeException exception) {
+                sample.failure();
+                throw exception;
+            }
+            sample.success(1L);
+            return result;
+        };
+    }
 
+    private <T> Supplier<List<T>> convert(Sample sample, List<ColumnEntity> columns) {
+        return () -> {
+            List<T> entities;
+            try {
+                entities = columns.stream()
+                        .map(getConverter()::toEntity)
+                        .map(o -> (T) o)
+                        .collect(toList());
+            } catch (RuntimeException exception) {
+                sample.failure();
+                throw exception;
+            }
+            sample.success(entities.size());
+            return entities;
+        };
+    }
 }
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.cassandra.column;
+
+import javax.enterprise.inject.Vetoed;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A {@link CassandraRepositoryMetrics} that keeps {@link CassandraOperationStatistics} in memory by operation type
+ * and by repository method, so an application can read and export them. It is not a bean by itself,
+ * see {@link CassandraRepositoryMetrics} to enable it.
+ */
+@Vetoed
+public final class InMemoryCassandraRepositoryMetrics implements CassandraRepositoryMetrics {
+
+    private final Map<CassandraOperation, CassandraOperationStatistics> operations;
+
+    private final ConcurrentMap<String, CassandraOperationStatistics> methods = new ConcurrentHashMap<>();
+
+    public InMemoryCassandraRepositoryMetrics() {
+        Map<CassandraOperation, CassandraOperationStatistics> statistics = new EnumMap<>(CassandraOperation.class);
+        for (CassandraOperation operation : CassandraOperation.values()) {
+            statistics.put(operation, new CassandraOperationStatistics());
+        }
+        this.operations = Collections.unmodifiableMap(statistics);
+    }
+
+    @Override
+    public void record(CassandraOperationMetric metric) {
+        Objects.requireNonNull(metric, "metric is required");
+        operations.get(metric.getOperation()).record(metric);
+        metric.getMethod().ifPresent(m -> methods.computeIfAbsent(m, k -> new CassandraOperationStatistics())
+                .record(metric));
+    }
+
+    /**
+     * @param operation the operation
+     * @return the statistics of the operation type
+     * @throws NullPointerException when operation is null
+     */
+    public CassandraOperationStatistics getStatistics(CassandraOperation operation) throws NullPointerException {
+        Objects.requireNonNull(operation, "operation is required");
+        return operations.get(operation);
+    }
+
+    /**
+     * @param method the repository method, e.g. PersonRepository.findByName
+     * @return the statistics of the method or empty when the method was not called
+     * @throws NullPointerException when method is null
+     */
+    public Optional<CassandraOperationStatistics> getStatistics(String method) throws NullPointerException {
+        Objects.requireNonNull(method, "method is required");
+        return Optional.ofNullable(methods.get(method));
+    }
+
+    /**
+     * @return the statistics by operation type
+     */
+    public Map<CassandraOperation, CassandraOperationStatistics> getOperations() {
+        return operations;
+    }
+
+    /**
+     * @return the statistics by repository method
+     */
+    public Map<String, CassandraOperationStatistics> getMethods() {
+        return Collections.unmodifiableMap(methods);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("InMemoryCassandraRepositoryMetrics{");
+        sb.append("operations=").append(operations);
+        sb.append(", methods=").append(methods);
+        sb.append('}');
+        return sb.toString();
+    }
+}
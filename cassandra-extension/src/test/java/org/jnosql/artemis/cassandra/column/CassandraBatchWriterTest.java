@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.cassandra.column;
+
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.Cluster;
+import com.datastax.driver.core.CodecRegistry;
+import com.datastax.driver.core.ColumnMetadata;
+import com.datastax.driver.core.Configuration;
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.KeyspaceMetadata;
+import com.datastax.driver.core.Metadata;
+import com.datastax.driver.core.ResultSetFuture;
+import com.datastax.driver.core.Session;
+import com.datastax.driver.core.Statement;
+import com.datastax.driver.core.TableMetadata;
+import org.jnosql.diana.api.column.Column;
+import org.jnosql.diana.api.column.ColumnEntity;
+import org.jnosql.diana.cassandra.column.CassandraColumnFamilyManager;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.Collections;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CassandraBatchWriterTest {
+
+    private CassandraColumnFamilyManager manager;
+
+    private CassandraBatchWriter writer;
+
+    @Before
+    public void setUp() {
+        manager = Mockito.mock(CassandraColumnFamilyManager.class);
+        writer = new CassandraBatchWriter(manager, null, ConsistencyLevel.ONE, null, 10, 2);
+    }
+
+    @Test
+    public void shouldSendOldestBatchWhenTooManyAreOpen() {
+        writer.add(person("Ada"), "Ada");
+        writer.add(person("Ada"), "Ada");
+        writer.add(person("Poliana"), "Poliana");
+        verify(manager, Mockito.never()).execute(Mockito.any(BatchStatement.class));
+
+        writer.add(person("Otavio"), "Otavio");
+
+        ArgumentCaptor<BatchStatement> captor = ArgumentCaptor.forClass(BatchStatement.class);
+        verify(manager).execute(captor.capture());
+        assertEquals(2, captor.getValue().size());
+    }
+
+    @Test
+    public void shouldSendEveryOpenBatchOnFlush() {
+        writer.add(person("Ada"), "Ada");
+        writer.add(person("Poliana"), "Poliana");
+        writer.add(person("Otavio"), "Otavio");
+        writer.flush();
+
+        ArgumentCaptor<BatchStatement> captor = ArgumentCaptor.forClass(BatchStatement.class);
+        verify(manager, Mockito.times(3)).execute(captor.capture());
+        List<BatchStatement> batches = captor.getAllValues();
+        assertEquals(3, batches.stream().mapToInt(BatchStatement::size).sum());
+    }
+
+    @Test
+    public void shouldGroupByThePartitionKeyOfTheTableMetadata() {
+        Session session = session("name");
+        CassandraBatchWriter writer = new CassandraBatchWriter(manager, session, ConsistencyLevel.ONE, null, 10);
+        writer.add(person("Ada"), null);
+        writer.add(person("Poliana"), null);
+        writer.add(person("Ada"), null);
+        writer.flush();
+
+        ArgumentCaptor<BatchStatement> captor = ArgumentCaptor.forClass(BatchStatement.class);
+        verify(manager, Mockito.times(2)).execute(captor.capture());
+        List<BatchStatement> batches = captor.getAllValues();
+        assertEquals(2, batches.get(0).size());
+        assertEquals(1, batches.get(1).size());
+        verify(session, Mockito.never()).executeAsync(Mockito.any(Statement.class));
+    }
+
+    @Test
+    public void shouldWriteAsyncWhenThePartitionKeyIsUnknown() {
+        Session session = session("id");
+        ResultSetFuture future = mock(ResultSetFuture.class);
+        when(session.executeAsync(Mockito.any(Statement.class))).thenReturn(future);
+        CassandraBatchWriter writer = new CassandraBatchWriter(manager, session, ConsistencyLevel.ONE, null, 10);
+        writer.add(person("Ada"), null);
+        writer.add(person("Poliana"), null);
+        writer.flush();
+
+        verify(session, Mockito.times(2)).executeAsync(Mockito.any(Statement.class));
+        verify(future, Mockito.times(2)).getUninterruptibly();
+        verify(manager, Mockito.never()).execute(Mockito.any(Statement.class));
+    }
+
+    @Test
+    public void shouldSaveThroughTheManagerWhenAValueHasNoCodec() {
+        ColumnEntity entity = ColumnEntity.of("Person", asList(Column.of("name", "Ada"),
+                Column.of("birthday", new Object())));
+        writer.add(entity, "Ada");
+        writer.flush();
+
+        verify(manager).save(entity, ConsistencyLevel.ONE);
+        verify(manager, Mockito.never()).execute(Mockito.any(Statement.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldReturnErrorWhenMaxOpenBatchesIsInvalid() {
+        new CassandraBatchWriter(manager, null, ConsistencyLevel.ONE, null, 10, 0);
+    }
+
+    private ColumnEntity person(String name) {
+        return ColumnEntity.of("Person", asList(Column.of("name", name), Column.of("age", 20)));
+    }
+
+    private Session session(String partitionKey) {
+        ColumnMetadata column = mock(ColumnMetadata.class);
+        when(column.getName()).thenReturn(partitionKey);
+        TableMetadata table = mock(TableMetadata.class);
+        when(table.getPartitionKey()).thenReturn(Collections.singletonList(column));
+        KeyspaceMetadata keyspace = mock(KeyspaceMetadata.class);
+        when(keyspace.getTable("Person")).thenReturn(table);
+        Metadata metadata = mock(Metadata.class);
+        when(metadata.getKeyspace("library")).thenReturn(keyspace);
+        Configuration configuration = mock(Configuration.class);
+        when(configuration.getCodecRegistry()).thenReturn(CodecRegistry.DEFAULT_INSTANCE);
+        Cluster cluster = mock(Cluster.class);
+        when(cluster.getMetadata()).thenReturn(metadata);
+        when(cluster.getConfiguration()).thenReturn(configuration);
+        Session session = mock(Session.class);
+        when(session.getLoggedKeyspace()).thenReturn("library");
+        when(session.getCluster()).thenReturn(cluster);
+        return session;
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.cassandra.column;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CassandraBulkSaveTest {
+
+    private ScheduledExecutorService scheduler;
+
+    private final List<Object> failed = new ArrayList<>();
+
+    private final List<Throwable> causes = new ArrayList<>();
+
+    @Before
+    public void setUp() {
+        scheduler = new ScheduledThreadPoolExecutor(1);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void shouldFailWriteWithoutCallback() throws Exception {
+        CassandraBulkResult result = new CassandraBulkSave<String>(Arrays.asList("a", "b", "c"), 1, (e, c) -> {
+            if (!"a".equals(e)) {
+                c.run();
+            }
+        }, this::onFailure, Duration.ofMillis(20), scheduler).start().toCompletableFuture()
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, result.getSuccesses());
+        assertEquals(1, result.getFailures());
+        assertEquals(Arrays.asList("a"), failed);
+        assertTrue(causes.get(0) instanceof TimeoutException);
+    }
+
+    @Test
+    public void shouldIgnoreLateCallback() throws Exception {
+        List<Runnable> callbacks = new ArrayList<>();
+        CassandraBulkResult result = new CassandraBulkSave<String>(Arrays.asList("a"), 1, (e, c) -> callbacks.add(c),
+                this::onFailure, Duration.ofMillis(20), scheduler).start().toCompletableFuture()
+                .get(5, TimeUnit.SECONDS);
+        callbacks.get(0).run();
+
+        assertEquals(0, result.getSuccesses());
+        assertEquals(1, result.getFailures());
+    }
+
+    @Test
+    public void shouldReportNullEntity() throws Exception {
+        CassandraBulkResult result = new CassandraBulkSave<String>(Arrays.asList("a", null), 2, (e, c) -> c.run(),
+                this::onFailure, Duration.ofSeconds(5), scheduler).start().toCompletableFuture()
+                .get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, result.getSuccesses());
+        assertEquals(1, result.getFailures());
+        assertNull(failed.get(0));
+        assertTrue(causes.get(0) instanceof NullPointerException);
+    }
+
+    private synchronized void onFailure(Object entity, Throwable cause) {
+        failed.add(entity);
+        causes.add(cause);
+    }
+}
@@ -362,6 +362,45 @@ public class CassandraColumnEntityConverterTest {
 
     }
 
+    @Test
+    public void shouldIgnoreUnknownColumns() {
+        ColumnEntity entity = ColumnEntity.of("Actor");
+        Stream.of(columns).forEach(entity::add);
+        entity.add(Column.of("unknown", "value"));
+
+        Actor actor = converter.toEntity(Actor.class, entity);
+        assertNotNull(actor);
+        assertEquals(10, actor.getAge());
+        assertEquals(12L, actor.getId());
+    }
+
+    @Test
+    public void shouldUseFirstColumnWhenNameIsDuplicated() {
+        ColumnEntity entity = ColumnEntity.of("Person");
+        entity.add(Column.of("name", "Ada"));
+        entity.add(Column.of("name", "Poliana"));
+        entity.add(Column.of("age", 20));
+
+        Person person = converter.toEntity(entity);
+        assertEquals("Ada", person.getName());
+        assertEquals(Integer.valueOf(20), person.getAge());
+    }
+
+    @Test
+    public void shouldConvertTheSameClassRepeatedly() {
+        Movie movie = new Movie("Matrix", 2012, singleton("Actor"));
+        Director director = Director.builderDiretor().withAge(12)
+                .withId(12)
+                .withName("Otavio")
+                .withPhones(Arrays.asList("234", "2342")).withMovie(movie).build();
+
+        for (int index = 0; index < 3; index++) {
+            Director converted = converter.toEntity(converter.toColumn(director));
+            assertEquals(movie, converted.getMovie());
+            assertEquals(director.getName(), converted.getName());
+        }
+    }
+
     private Object getValue(Optional<Column> document) {
         return document.map(Column::getValue).map(Value::get).orElse(null);
     }
@@ -35,11 +35,14 @@ import javax.inject.Inject;
 import java.lang.reflect.Proxy;
 import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 
 import static java.util.Collections.singletonList;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.verify;
 
@@ -176,8 +179,83 @@ public class CassandraCrudRepositoryAsyncProxyTest {
 
     }
 
+    @Test
+    public void shouldFindByNameStage() {
+        ConsistencyLevel level = ConsistencyLevel.ANY;
+        Person person = new Person("Ada", 12);
+        Mockito.when(repository.findStage(Mockito.any(ColumnQuery.class), Mockito.eq(level)))
+                .thenReturn(CompletableFuture.completedFuture(singletonList(person)));
+
+        CompletionStage<Person> result = personRepository.findByAge(12, level);
+        assertEquals(person, result.toCompletableFuture().join());
+        verify(repository).findStage(Mockito.any(ColumnQuery.class), Mockito.eq(level));
+    }
+
+    @Test
+    public void shouldDeleteByNameStage() {
+        ConsistencyLevel level = ConsistencyLevel.ANY;
+        Mockito.when(repository.deleteStage(Mockito.any(ColumnDeleteQuery.class), Mockito.eq(level)))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        CompletableFuture<Void> result = personRepository.deleteByAge(12, level);
+        assertNotNull(result);
+        verify(repository).deleteStage(Mockito.any(ColumnDeleteQuery.class), Mockito.eq(level));
+    }
+
+    @Test
+    public void shouldExecuteCQLStage() {
+        Person person = new Person("Ada", 12);
+        Mockito.when(repository.cqlStage(Mockito.eq("select * from Person where name= ?"), Mockito.any()))
+                .thenReturn(CompletableFuture.completedFuture(singletonList(person)));
+
+        CompletionStage<List<Person>> result = personRepository.queryAge("Ada");
+        assertThat(result.toCompletableFuture().join(), containsInAnyOrder(person));
+    }
+
+    @Test
+    public void shouldSaveStage() {
+        ConsistencyLevel level = ConsistencyLevel.ANY;
+        Person person = new Person("Ada", 12);
+        Mockito.when(repository.saveStage(person, level)).thenReturn(CompletableFuture.completedFuture(person));
+
+        CompletionStage<Person> result = personRepository.save(person, level);
+        assertEquals(person, result.toCompletableFuture().join());
+        verify(repository).saveStage(person, level);
+    }
+
+    @Test
+    public void shouldUpdateStage() {
+        Person person = new Person("Ada", 12);
+        Mockito.when(repository.saveStage(person, ConsistencyLevel.ANY))
+                .thenReturn(CompletableFuture.completedFuture(person));
+
+        assertEquals(person, personRepository.update(person, ConsistencyLevel.ANY).join());
+        verify(repository).saveStage(person, ConsistencyLevel.ANY);
+    }
+
+    @Test(expected = DynamicQueryException.class)
+    public void shouldReturnErrorWhenSaveStageTakesIterable() {
+        new CassandraCrudRepositoryAsyncProxy(repository, classRepresentations, InvalidAsyncRepository.class);
+    }
+
+    interface InvalidAsyncRepository extends CrudRepositoryAsync<Person> {
+
+        CompletionStage<Iterable<Person>> save(Iterable<Person> people, ConsistencyLevel level);
+    }
+
     interface PersonAsyncRepository extends CrudRepositoryAsync<Person> {
 
+        CompletionStage<Person> save(Person person, ConsistencyLevel level);
+
+        CompletableFuture<Person> update(Person person, ConsistencyLevel level);
+
+        CompletionStage<Person> findByAge(Integer age, ConsistencyLevel level);
+
+        CompletableFuture<Void> deleteByAge(Integer age, ConsistencyLevel level);
+
+        @CQL("select * from Person where name= ?")
+        CompletionStage<List<Person>> queryAge(String name);
+
         Person findByName(String name);
 
         Person findByName(String name, ConsistencyLevel level, Consumer<List<Person>> callBack);
@@ -34,6 +34,8 @@ import javax.inject.Inject;
 import java.lang.reflect.Proxy;
 import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import static java.util.Collections.singletonList;
 import static org.hamcrest.Matchers.containsInAnyOrder;
@@ -155,10 +157,54 @@ public class CassandraCrudRepositoryProxyTest {
         verify(repository).cql(Mockito.eq("select * from Person where name = ?"), Mockito.any());
     }
 
+    @Test
+    public void shouldFindByAgeCQLStream() {
+        personRepository.findByAge(20);
+        verify(repository).cqlStream(Mockito.eq("select * from Person where age = ?"), Mockito.any());
+    }
+
+    @Test
+    public void shouldLimitFindByWhenReturnsEntity() {
+        ArgumentCaptor<ColumnQuery> captor = ArgumentCaptor.forClass(ColumnQuery.class);
+        personRepository.findByName("Ada", ConsistencyLevel.ONE);
+        verify(repository).find(captor.capture(), Mockito.eq(ConsistencyLevel.ONE));
+        assertEquals(1L, captor.getValue().getLimit());
+    }
+
+    @Test
+    public void shouldNotLimitFindByWhenReturnsList() {
+        ArgumentCaptor<ColumnQuery> captor = ArgumentCaptor.forClass(ColumnQuery.class);
+        personRepository.findByAge(20, ConsistencyLevel.ONE);
+        verify(repository).find(captor.capture(), Mockito.eq(ConsistencyLevel.ONE));
+        assertEquals(0L, captor.getValue().getLimit());
+    }
+
+    @Test
+    public void shouldReturnFirstElementFromCQL() {
+        Person ada = new Person("Ada", 20);
+        when(repository.cql(Mockito.eq("select * from Person where name = ? LIMIT 1"), Mockito.any()))
+                .thenReturn(singletonList(ada));
+        Optional<Person> person = personRepository.findOptionalByName("Ada");
+        assertEquals(ada, person.get());
+        verify(repository, Mockito.never()).cqlStream(Mockito.anyString(), Mockito.any());
+    }
+
+    @Test
+    public void shouldReadFirstRowWhenCQLHasLimit() {
+        Person ada = new Person("Ada", 20);
+        when(repository.cqlStream(Mockito.eq("select * from Person where age = ? limit 10"), Mockito.any()))
+                .thenReturn(Stream.of(ada, new Person("Poliana", 20)));
+        Optional<Person> person = personRepository.findFirstByAge(20);
+        assertEquals(ada, person.get());
+        verify(repository, Mockito.never()).cql(Mockito.anyString(), Mockito.any());
+    }
+
     interface PersonRepository extends CrudRepository<Person> {
 
         Person findByName(String name, ConsistencyLevel level);
 
+        List<Person> findByAge(Integer age, ConsistencyLevel level);
+
         void deleteByName(String name, ConsistencyLevel level);
 
         @CQL("select * from Person")
@@ -166,6 +212,15 @@ public class CassandraCrudRepositoryProxyTest {
 
         @CQL("select * from Person where name = ?")
         List<Person> findByName(String name);
+
+        @CQL("select * from Person where age = ?")
+        Stream<Person> findByAge(Integer age);
+
+        @CQL("select * from Person where name = ?")
+        Optional<Person> findOptionalByName(String name);
+
+        @CQL("select * from Person where age = ? limit 10")
+        Optional<Person> findFirstByAge(Integer age);
     }
 
 }
\ No newline at end of file
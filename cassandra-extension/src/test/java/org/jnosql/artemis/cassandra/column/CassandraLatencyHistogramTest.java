@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.cassandra.column;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CassandraLatencyHistogramTest {
+
+    @Test
+    public void shouldReturnZeroWhenEmpty() {
+        CassandraLatencyHistogram histogram = new CassandraLatencyHistogram();
+        assertEquals(0L, histogram.getCount());
+        assertEquals(0L, histogram.getValueAtPercentile(99));
+        assertEquals(0D, histogram.getMean(), 0D);
+    }
+
+    @Test
+    public void shouldKeepSmallValuesExact() {
+        CassandraLatencyHistogram histogram = new CassandraLatencyHistogram();
+        for (long value = 1; value <= 10; value++) {
+            histogram.record(value);
+        }
+        assertEquals(10L, histogram.getCount());
+        assertEquals(5L, histogram.getValueAtPercentile(50));
+        assertEquals(10L, histogram.getValueAtPercentile(100));
+        assertEquals(5.5D, histogram.getMean(), 0D);
+    }
+
+    @Test
+    public void shouldKeepRelativeError() {
+        CassandraLatencyHistogram histogram = new CassandraLatencyHistogram();
+        for (long value = 1; value <= 1_000_000; value++) {
+            histogram.record(value * 1_000);
+        }
+        long median = histogram.getValueAtPercentile(50);
+        assertTrue(Math.abs(median - 500_000_000L) <= 500_000_000L / 16);
+        assertEquals(1_000_000_000L, histogram.getMax());
+        assertEquals(1_000_000_000L, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void shouldMapValueToBucket() {
+        for (long value : new long[]{0L, 15L, 16L, 17L, 1_000L, 123_456_789L, Long.MAX_VALUE}) {
+            int index = CassandraLatencyHistogram.indexOf(value);
+            assertTrue(CassandraLatencyHistogram.highestValueOf(index) >= value);
+            assertTrue(index == 0 || CassandraLatencyHistogram.highestValueOf(index - 1) < value);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldReturnErrorWhenPercentileIsInvalid() {
+        new CassandraLatencyHistogram().getValueAtPercentile(101);
+    }
+}
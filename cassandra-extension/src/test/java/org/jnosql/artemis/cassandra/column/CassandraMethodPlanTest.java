@@ -0,0 +1,166 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.cassandra.column;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import org.jnosql.artemis.cassandra.column.CassandraMethodPlan.MethodType;
+import org.jnosql.artemis.reflection.ClassRepresentation;
+import org.jnosql.artemis.reflection.ClassRepresentations;
+import org.jnosql.diana.api.Condition;
+import org.jnosql.diana.api.column.ColumnCondition;
+import org.jnosql.diana.api.column.ColumnQuery;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import javax.inject.Inject;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(WeldJUnit4Runner.class)
+public class CassandraMethodPlanTest {
+
+    @Inject
+    private ClassRepresentations classRepresentations;
+
+    private ClassRepresentation representation;
+
+    @Before
+    public void setUp() {
+        representation = classRepresentations.get(Person.class);
+    }
+
+    @Test
+    public void shouldCreateCQLPlan() throws NoSuchMethodException {
+        CassandraMethodPlan plan = plan(PersonQueries.class.getMethod("findByAge", Integer.class));
+        assertEquals(MethodType.CQL, plan.getType());
+        assertEquals("select * from Person where age = ?", plan.getCql());
+        assertTrue(plan.isStream());
+        assertFalse(plan.hasConsistencyLevel());
+    }
+
+    @Test
+    public void shouldLimitCQLToOneRow() {
+        assertEquals("select * from Person where age = ? LIMIT 1",
+                CassandraMethodPlan.toSingleResultCql("select * from Person where age = ?;"));
+        assertEquals("SELECT * FROM Person WHERE age > ? LIMIT 1 ALLOW FILTERING",
+                CassandraMethodPlan.toSingleResultCql("SELECT * FROM Person WHERE age > ? ALLOW FILTERING"));
+        assertNull(CassandraMethodPlan.toSingleResultCql("select * from Person limit 10"));
+        assertNull(CassandraMethodPlan.toSingleResultCql("update Person set age = 10 where name = ?"));
+    }
+
+    @Test
+    public void shouldFindConsistencyLevelIndex() throws NoSuchMethodException {
+        CassandraMethodPlan plan = plan(PersonQueries.class.getMethod("findByName", String.class,
+                ConsistencyLevel.class));
+        assertEquals(MethodType.FIND_BY, plan.getType());
+        assertTrue(plan.hasConsistencyLevel());
+        assertEquals(ConsistencyLevel.ONE, plan.getConsistencyLevel(new Object[]{"Ada", ConsistencyLevel.ONE}));
+    }
+
+    @Test
+    public void shouldResolveMethodType() throws NoSuchMethodException {
+        assertEquals(MethodType.DELETE_BY, plan(PersonQueries.class.getMethod("deleteByName", String.class))
+                .getType());
+        assertEquals(MethodType.SAVE, plan(PersonQueries.class.getMethod("save", Person.class)).getType());
+        assertEquals(MethodType.UNKNOWN, plan(PersonQueries.class.getMethod("count")).getType());
+    }
+
+    @Test
+    public void shouldQualifyTheNameByTheRepository() throws NoSuchMethodException {
+        assertEquals("PersonQueries.deleteByName", plan(PersonQueries.class.getMethod("deleteByName", String.class))
+                .getName());
+    }
+
+    @Test
+    public void shouldBindTheArgumentsIntoANewQuery() throws NoSuchMethodException {
+        CassandraMethodPlan plan = plan(PersonQueries.class.getMethod("findByName", String.class,
+                ConsistencyLevel.class));
+
+        ColumnQuery ada = plan.toQuery(new Object[]{"Ada", ConsistencyLevel.ONE});
+        ColumnQuery poliana = plan.toQuery(new Object[]{"Poliana", ConsistencyLevel.ONE});
+
+        assertNotSame(ada, poliana);
+        assertEquals("Person", ada.getColumnFamily());
+        ColumnCondition condition = ada.getCondition().get();
+        assertEquals(Condition.EQUALS, condition.getCondition());
+        assertEquals("name", condition.getColumn().getName());
+        assertEquals("Ada", condition.getColumn().getValue().get());
+        assertEquals("Poliana", poliana.getCondition().get().getColumn().getValue().get());
+    }
+
+    @Test
+    public void shouldBindEachConditionOfAnd() throws NoSuchMethodException {
+        CassandraMethodPlan plan = plan(PersonQueries.class.getMethod("findByNameAndAge", String.class,
+                Integer.class));
+
+        ColumnCondition condition = plan.toQuery(new Object[]{"Ada", 10}).getCondition().get();
+
+        assertEquals(Condition.AND, condition.getCondition());
+        List<ColumnCondition> conditions = (List<ColumnCondition>) condition.getColumn().getValue().get();
+        assertEquals("Ada", conditions.get(0).getColumn().getValue().get());
+        assertEquals(10, conditions.get(1).getColumn().getValue().get());
+    }
+
+    @Test
+    public void shouldBindTheDeleteQuery() throws NoSuchMethodException {
+        CassandraMethodPlan plan = plan(PersonQueries.class.getMethod("deleteByName", String.class));
+
+        ColumnCondition condition = plan.toDeleteQuery(new Object[]{"Ada"}).getCondition().get();
+
+        assertEquals("name", condition.getColumn().getName());
+        assertEquals("Ada", condition.getColumn().getValue().get());
+    }
+
+    @Test
+    public void shouldCompileTheTemplateOnce() throws NoSuchMethodException {
+        Method method = PersonQueries.class.getMethod("findByNameAndAge", String.class, Integer.class);
+        assertTrue(CassandraQueryTemplate.ofQuery(method, representation).isCompiled());
+        assertTrue(CassandraQueryTemplate.ofDeleteQuery(PersonQueries.class.getMethod("deleteByName",
+                String.class), representation).isCompiled());
+    }
+
+    private CassandraMethodPlan plan(Method method) {
+        return CassandraMethodPlan.of(method, "PersonQueries", representation);
+    }
+
+    interface PersonQueries {
+
+        @CQL("select * from Person where age = ?")
+        Stream<Person> findByAge(Integer age);
+
+        List<Person> findByName(String name, ConsistencyLevel level);
+
+        List<Person> findByNameAndAge(String name, Integer age);
+
+        void deleteByName(String name);
+
+        Person save(Person person);
+
+        long count();
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.cassandra.column;
+
+import org.jnosql.diana.cassandra.column.CassandraPrepareStatment;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CassandraPreparedStatementCacheTest {
+
+    @Test
+    public void shouldReuseStatement() {
+        Function<String, CassandraPrepareStatment> preparer = mock(Function.class);
+        when(preparer.apply(Mockito.anyString())).then(i -> mock(CassandraPrepareStatment.class));
+        CassandraPreparedStatementCache cache = new CassandraPreparedStatementCache(preparer);
+
+        CassandraPrepareStatment first = cache.execute("select * from Person where name = ?", s -> s);
+        CassandraPrepareStatment second = cache.execute("select * from Person where name = ?", s -> s);
+
+        assertSame(first, second);
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        verify(preparer, times(1)).apply("select * from Person where name = ?");
+    }
+
+    @Test
+    public void shouldNotShareStatementInUse() {
+        Function<String, CassandraPrepareStatment> preparer = q -> mock(CassandraPrepareStatment.class);
+        CassandraPreparedStatementCache cache = new CassandraPreparedStatementCache(preparer);
+        String query = "select * from Person where name = ?";
+
+        cache.execute(query, outer -> {
+            CassandraPrepareStatment inner = cache.execute(query, s -> s);
+            assertNotSame(outer, inner);
+            return null;
+        });
+        assertEquals(2, cache.getMisses());
+    }
+
+    @Test
+    public void shouldEvictLeastRecentlyUsed() {
+        Function<String, CassandraPrepareStatment> preparer = q -> mock(CassandraPrepareStatment.class);
+        CassandraPreparedStatementCache cache = new CassandraPreparedStatementCache(preparer, 2, 1);
+
+        cache.prepare("select * from Person where name = ?");
+        cache.prepare("select * from Person where age = ?");
+        cache.prepare("select * from Person where name = ?");
+        cache.prepare("select * from Person where home = ?");
+
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        cache.prepare("select * from Person where name = ?");
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    public void shouldPrepareCQLMethods() {
+        Function<String, CassandraPrepareStatment> preparer = mock(Function.class);
+        when(preparer.apply(Mockito.anyString())).then(i -> mock(CassandraPrepareStatment.class));
+        CassandraPreparedStatementCache cache = new CassandraPreparedStatementCache(preparer);
+
+        cache.prepare(PersonQueries.class);
+
+        verify(preparer).apply("select * from Person where name = ?");
+        verify(preparer, Mockito.never()).apply("select * from Person");
+    }
+
+    interface PersonQueries {
+
+        @CQL("select * from Person")
+        List<Person> findAll();
+
+        @CQL("select * from Person where name = ?")
+        List<Person> findByName(String name);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.cassandra.column;
+
+import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.SimpleStatement;
+import com.datastax.driver.core.Statement;
+import org.jnosql.diana.api.Sort;
+import org.jnosql.diana.api.column.Column;
+import org.jnosql.diana.api.column.ColumnCondition;
+import org.jnosql.diana.api.column.ColumnQuery;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class CassandraResultStreamTest {
+
+    @Test
+    public void shouldConvertQueryToSelect() {
+        ColumnQuery query = ColumnQuery.of("Person");
+        query.and(ColumnCondition.eq(Column.of("name", "Ada")).and(ColumnCondition.gt(Column.of("age", 20))));
+        query.addSort(Sort.of("age", Sort.SortType.DESC));
+        query.withLimit(10);
+
+        Statement statement = CassandraResultStream.toStatement(query, ConsistencyLevel.ONE);
+
+        assertEquals("SELECT * FROM Person WHERE name='Ada' AND age>20 ORDER BY age DESC LIMIT 10;",
+                statement.toString());
+        assertEquals(ConsistencyLevel.ONE, statement.getConsistencyLevel());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void shouldReturnErrorWhenConditionIsOr() {
+        ColumnQuery query = ColumnQuery.of("Person");
+        query.and(ColumnCondition.eq(Column.of("name", "Ada")).or(ColumnCondition.eq(Column.of("name", "Grace"))));
+
+        CassandraResultStream.toStatement(query, ConsistencyLevel.ONE);
+    }
+
+    @Test
+    public void shouldKeepTheFetchSizeOfTheStatement() {
+        Statement statement = new SimpleStatement("select * from Person").setFetchSize(10);
+        assertEquals(10, CassandraResultStream.withFetchSize(statement).getFetchSize());
+        assertEquals(CassandraResultStream.DEFAULT_FETCH_SIZE,
+                CassandraResultStream.withFetchSize(new SimpleStatement("select * from Person")).getFetchSize());
+    }
+}
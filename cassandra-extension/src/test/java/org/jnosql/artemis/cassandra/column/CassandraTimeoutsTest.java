@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.cassandra.column;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CassandraTimeoutsTest {
+
+    private ScheduledExecutorService scheduler;
+
+    @Before
+    public void setUp() {
+        scheduler = new ScheduledThreadPoolExecutor(1);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void shouldCompleteWithTheCall() throws Exception {
+        CompletableFuture<String> stage = CassandraTimeouts.<String>newStage(s -> s.complete("Ada"),
+                Duration.ofSeconds(5), scheduler).toCompletableFuture();
+        assertEquals("Ada", stage.get(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void shouldFailWhenStageIsNotCompleted() throws Exception {
+        CompletableFuture<String> stage = CassandraTimeouts.<String>newStage(s -> {
+        }, Duration.ofMillis(20), scheduler).toCompletableFuture();
+        try {
+            stage.get(5, TimeUnit.SECONDS);
+            fail("The stage should time out");
+        } catch (ExecutionException exception) {
+            assertTrue(exception.getCause() instanceof TimeoutException);
+        }
+    }
+
+    @Test
+    public void shouldFailWhenCallThrows() {
+        CompletableFuture<String> stage = CassandraTimeouts.<String>newStage(s -> {
+            throw new IllegalStateException("closed");
+        }, Duration.ofSeconds(5), scheduler).toCompletableFuture();
+        assertTrue(stage.isCompletedExceptionally());
+    }
+
+    @Test
+    public void shouldNotFailCompletedFuture() throws Exception {
+        CompletableFuture<String> future = CassandraTimeouts.within(new CompletableFuture<>(), Duration.ofMillis(10),
+                scheduler);
+        future.complete("Ada");
+        TimeUnit.MILLISECONDS.sleep(50);
+        assertEquals("Ada", future.get());
+    }
+}
@@ -23,6 +23,7 @@ import com.datastax.driver.core.ConsistencyLevel;
 import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
 import org.jnosql.artemis.column.ColumnEntityConverter;
+import org.jnosql.diana.api.ExecuteAsyncQueryException;
 import org.jnosql.diana.api.column.Column;
 import org.jnosql.diana.api.column.ColumnDeleteQuery;
 import org.jnosql.diana.api.column.ColumnEntity;
@@ -37,11 +38,20 @@ import org.mockito.Mockito;
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
 import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.verify;
@@ -146,7 +156,7 @@ public class DefaultCassandraColumnRepositoryAsyncTest {
         };
 
         repository.delete(query, level, callBack);
-        verify(managerAsync).delete(query, level, callBack);
+        verify(managerAsync).delete(eq(query), eq(level), any(Consumer.class));
     }
 
     @Test
@@ -176,4 +186,156 @@ public class DefaultCassandraColumnRepositoryAsyncTest {
         repository.execute(statement, callBack);
         verify(managerAsync).execute(eq(statement), any());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldSaveBulk() throws Exception {
+        ConsistencyLevel level = ConsistencyLevel.THREE;
+        Mockito.doAnswer(invocation -> {
+            Consumer<ColumnEntity> callBack = (Consumer<ColumnEntity>) invocation.getArguments()[2];
+            callBack.accept((ColumnEntity) invocation.getArguments()[0]);
+            return null;
+        }).when(managerAsync).save(any(ColumnEntity.class), eq(level), any(Consumer.class));
+
+        List<Person> people = asList(new Person("Ada", 20), new Person("Poliana", 21), new Person("Otavio", 30));
+        CassandraBulkResult result = repository.saveBulk(people, level, 2).toCompletableFuture().get();
+
+        assertEquals(3, result.getSuccesses());
+        assertEquals(0, result.getFailures());
+        verify(managerAsync, Mockito.times(3)).save(any(ColumnEntity.class), eq(level), any(Consumer.class));
+    }
+
+    @Test
+    public void shouldKeepMaxInFlightOnSaveBulk() {
+        ConsistencyLevel level = ConsistencyLevel.THREE;
+        List<Consumer<ColumnEntity>> callBacks = new ArrayList<>();
+        Mockito.doAnswer(invocation -> {
+            callBacks.add((Consumer<ColumnEntity>) invocation.getArguments()[2]);
+            return null;
+        }).when(managerAsync).save(any(ColumnEntity.class), eq(level), any(Consumer.class));
+
+        List<Person> people = asList(new Person("Ada", 20), new Person("Poliana", 21), new Person("Otavio", 30));
+        CompletableFuture<CassandraBulkResult> result = repository.saveBulk(people, level, 2).toCompletableFuture();
+
+        assertEquals(2, callBacks.size());
+        assertFalse(result.isDone());
+        callBacks.get(0).accept(null);
+        assertEquals(3, callBacks.size());
+        callBacks.get(1).accept(null);
+        callBacks.get(2).accept(null);
+        assertTrue(result.isDone());
+        assertEquals(3, result.join().getSuccesses());
+    }
+
+    @Test
+    public void shouldReportFailureOnSaveBulk() {
+        ConsistencyLevel level = ConsistencyLevel.THREE;
+        Duration duration = Duration.ofHours(2L);
+        Mockito.doThrow(new ExecuteAsyncQueryException("error"))
+                .when(managerAsync).save(any(ColumnEntity.class), eq(duration), eq(level), any(Consumer.class));
+
+        List<Person> failed = new ArrayList<>();
+        Person person = new Person("Ada", 20);
+        CassandraBulkResult result = repository.saveBulk(singletonList(person), duration, level, 2,
+                (p, e) -> failed.add(p)).toCompletableFuture().join();
+
+        assertEquals(0, result.getSuccesses());
+        assertEquals(1, result.getFailures());
+        assertEquals(singletonList(person), failed);
+    }
+
+    @Test
+    public void shouldFindStage() {
+        ColumnQuery query = ColumnQuery.of("Person");
+        ConsistencyLevel level = ConsistencyLevel.THREE;
+        ColumnEntity entity = ColumnEntity.of("Person", asList(Column.of("name", "Name"), Column.of("age", 20)));
+        Mockito.doAnswer(invocation -> {
+            Consumer<List<ColumnEntity>> callBack = (Consumer<List<ColumnEntity>>) invocation.getArguments()[2];
+            callBack.accept(singletonList(entity));
+            return null;
+        }).when(managerAsync).find(eq(query), eq(level), any(Consumer.class));
+
+        List<Person> people = repository.<Person>findStage(query, level).toCompletableFuture().join();
+        assertEquals(singletonList(new Person("Name", 20)), people);
+    }
+
+    @Test
+    public void shouldCompleteExceptionallyStage() {
+        Statement statement = QueryBuilder.select().from("Person");
+        Mockito.doThrow(new ExecuteAsyncQueryException("error"))
+                .when(managerAsync).execute(eq(statement), any(Consumer.class));
+
+        CompletableFuture<List<Person>> result = repository.<Person>executeStage(statement).toCompletableFuture();
+        assertTrue(result.isCompletedExceptionally());
+    }
+
+    @Test
+    public void shouldFindStageWithoutLevel() {
+        ColumnQuery query = ColumnQuery.of("Person");
+        ColumnEntity entity = ColumnEntity.of("Person", asList(Column.of("name", "Name"), Column.of("age", 20)));
+        Mockito.doAnswer(invocation -> {
+            Consumer<List<ColumnEntity>> callBack = (Consumer<List<ColumnEntity>>) invocation.getArguments()[1];
+            callBack.accept(singletonList(entity));
+            return null;
+        }).when(managerAsync).find(eq(query), any(Consumer.class));
+
+        List<Person> people = repository.<Person>findStage(query).toCompletableFuture().join();
+        assertEquals(singletonList(new Person("Name", 20)), people);
+    }
+
+    @Test
+    public void shouldFailTheStageWhenTheConversionExecutorIsFull() throws Exception {
+        Instance managerInstance = Mockito.mock(Instance.class);
+        Mockito.when(managerInstance.get()).thenReturn(managerAsync);
+        Instance executor = Mockito.mock(Instance.class);
+        Mockito.when(executor.get()).thenReturn(CassandraConversionExecutor.of(r -> {
+            throw new RejectedExecutionException("full");
+        }));
+        CassandraColumnRepositoryAsync repository = new DefaultCassandraColumnRepositoryAsync(converter,
+                managerInstance, null, executor);
+        ColumnQuery query = ColumnQuery.of("Person");
+        Mockito.doAnswer(invocation -> {
+            Consumer<List<ColumnEntity>> callBack = (Consumer<List<ColumnEntity>>) invocation.getArguments()[1];
+            callBack.accept(new ArrayList<>());
+            return null;
+        }).when(managerAsync).find(eq(query), any(Consumer.class));
+
+        try {
+            repository.findStage(query).toCompletableFuture().get(5, TimeUnit.SECONDS);
+            fail("The stage should fail");
+        } catch (ExecutionException exception) {
+            assertTrue(exception.getCause() instanceof RejectedExecutionException);
+        }
+    }
+
+    @Test
+    public void shouldRecordInheritedFindAndCallBackOnTheConversionExecutor() {
+        Instance managerInstance = Mockito.mock(Instance.class);
+        Mockito.when(managerInstance.get()).thenReturn(managerAsync);
+        InMemoryCassandraRepositoryMetrics metrics = new InMemoryCassandraRepositoryMetrics();
+        Instance metricsInstance = Mockito.mock(Instance.class);
+        Mockito.when(metricsInstance.get()).thenReturn(metrics);
+        List<String> threads = new ArrayList<>();
+        Instance executor = Mockito.mock(Instance.class);
+        Mockito.when(executor.get()).thenReturn(CassandraConversionExecutor.of(r -> {
+            threads.add("conversion");
+            r.run();
+        }));
+        CassandraColumnRepositoryAsync repository = new DefaultCassandraColumnRepositoryAsync(converter,
+                managerInstance, metricsInstance, executor).forMethod("PersonRepositoryAsync.findByName");
+        ColumnQuery query = ColumnQuery.of("Person");
+        ColumnEntity entity = ColumnEntity.of("Person", asList(Column.of("name", "Name"), Column.of("age", 20)));
+        Mockito.doAnswer(invocation -> {
+            Consumer<List<ColumnEntity>> callBack = (Consumer<List<ColumnEntity>>) invocation.getArguments()[1];
+            callBack.accept(singletonList(entity));
+            return null;
+        }).when(managerAsync).find(eq(query), any(Consumer.class));
+        List<Person> people = new ArrayList<>();
+
+        repository.find(query, (Consumer<List<Person>>) people::addAll);
+
+        assertEquals(singletonList(new Person("Name", 20)), people);
+        assertEquals(singletonList("conversion"), threads);
+        assertEquals(1L, metrics.getStatistics(CassandraOperation.FIND).getRows());
+        assertEquals(1L, metrics.getStatistics("PersonRepositoryAsync.findByName").get().getCount());
+    }
+}
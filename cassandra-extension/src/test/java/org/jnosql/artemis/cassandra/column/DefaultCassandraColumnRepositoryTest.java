@@ -19,7 +19,12 @@
  */
 package org.jnosql.artemis.cassandra.column;
 
+import com.datastax.driver.core.BatchStatement;
+import com.datastax.driver.core.ColumnDefinitions;
 import com.datastax.driver.core.ConsistencyLevel;
+import com.datastax.driver.core.ResultSet;
+import com.datastax.driver.core.Row;
+import com.datastax.driver.core.Session;
 import com.datastax.driver.core.Statement;
 import com.datastax.driver.core.querybuilder.QueryBuilder;
 import org.hamcrest.Matchers;
@@ -31,6 +36,7 @@ import org.jnosql.diana.api.column.ColumnDeleteQuery;
 import org.jnosql.diana.api.column.ColumnEntity;
 import org.jnosql.diana.api.column.ColumnQuery;
 import org.jnosql.diana.cassandra.column.CassandraColumnFamilyManager;
+import org.jnosql.diana.cassandra.column.CassandraPrepareStatment;
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -43,9 +49,12 @@ import javax.inject.Inject;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
@@ -214,4 +223,215 @@ public class DefaultCassandraColumnRepositoryTest {
         Assert.assertThat(people, Matchers.contains(person));
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldFindStream() {
+        Person person = new Person();
+        person.setName("Name");
+        person.setAge(20);
+
+        ColumnEntity entity = ColumnEntity.of("Person", asList(Column.of("name", "Name"), Column.of("age", 20)));
+        ColumnQuery query = ColumnQuery.of("");
+        ConsistencyLevel level = ConsistencyLevel.THREE;
+        when(manager.find(query, level)).thenReturn(Collections.singletonList(entity));
+
+        Stream<Person> people = repository.findStream(query, level);
+        Assert.assertThat(people.collect(Collectors.toList()), Matchers.contains(person));
+    }
+
+    @Test
+    public void shouldFindCQLStream() {
+        Person person = new Person();
+        person.setName("Name");
+        person.setAge(20);
+        String cql = "select * from Person";
+        ColumnEntity entity = ColumnEntity.of("Person", asList(Column.of("name", "Name"), Column.of("age", 20)));
+
+        when(manager.cql(cql)).thenReturn(Collections.singletonList(entity));
+
+        Stream<Person> people = repository.cqlStream(cql);
+        Assert.assertThat(people.collect(Collectors.toList()), Matchers.contains(person));
+    }
+
+    @Test
+    public void shouldFindStatmentStream() {
+        Statement statement = QueryBuilder.select().from("Person");
+        Person person = new Person();
+        person.setName("Name");
+        person.setAge(20);
+        ColumnEntity entity = ColumnEntity.of("Person", asList(Column.of("name", "Name"), Column.of("age", 20)));
+
+        when(manager.execute(statement)).thenReturn(Collections.singletonList(entity));
+
+        Stream<Person> people = repository.executeStream(statement);
+        Assert.assertThat(people.collect(Collectors.toList()), Matchers.contains(person));
+    }
+
+    @Test
+    public void shouldStreamThroughTheSession() {
+        ColumnDefinitions definitions = mock(ColumnDefinitions.class);
+        when(definitions.size()).thenReturn(2);
+        when(definitions.getName(0)).thenReturn("name");
+        when(definitions.getName(1)).thenReturn("age");
+        when(definitions.getTable(0)).thenReturn("Person");
+        Row row = mock(Row.class);
+        when(row.getColumnDefinitions()).thenReturn(definitions);
+        when(row.getObject(0)).thenReturn("Name");
+        when(row.getObject(1)).thenReturn(20);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(resultSet.iterator()).thenReturn(Collections.singletonList(row).iterator());
+        Session session = mock(Session.class);
+        when(session.execute(Mockito.any(Statement.class))).thenReturn(resultSet);
+        Instance managerInstance = mock(Instance.class);
+        when(managerInstance.get()).thenReturn(manager);
+        Instance<Session> sessionInstance = mock(Instance.class);
+        when(sessionInstance.get()).thenReturn(session);
+        CassandraColumnRepository repository = new DefaultCassandraColumnRepository(managerInstance, converter, flow,
+                persistManager, null, sessionInstance);
+        Person person = new Person();
+        person.setName("Name");
+        person.setAge(20);
+
+        Stream<Person> people = repository.cqlStream("select * from Person");
+
+        assertThat(people.collect(Collectors.toList()), Matchers.contains(person));
+        ArgumentCaptor<Statement> statement = ArgumentCaptor.forClass(Statement.class);
+        verify(session).execute(statement.capture());
+        assertEquals(CassandraResultStream.DEFAULT_FETCH_SIZE, statement.getValue().getFetchSize());
+        verify(manager, Mockito.never()).cql(Mockito.anyString());
+    }
+
+    @Test
+    public void shouldSaveEachEntityOnItsOwnWithoutPartitionKey() {
+        ConsistencyLevel level = ConsistencyLevel.ONE;
+        List<Person> people = asList(new Person("Ada", 20), new Person("Poliana", 21),
+                new Person("Otavio", 30));
+
+        repository.saveBatch(people, level, 2);
+
+        ArgumentCaptor<Statement> captor = ArgumentCaptor.forClass(Statement.class);
+        verify(manager, Mockito.times(3)).execute(captor.capture());
+        for (Statement statement : captor.getAllValues()) {
+            assertThat(statement, Matchers.not(Matchers.instanceOf(BatchStatement.class)));
+            assertEquals(level, statement.getConsistencyLevel());
+        }
+        verify(manager, Mockito.never()).save(Mockito.any(ColumnEntity.class), Mockito.eq(level));
+    }
+
+    @Test
+    public void shouldSaveBatchGroupedByPartitionKey() {
+        ConsistencyLevel level = ConsistencyLevel.ONE;
+        List<Person> people = asList(new Person("Ada", 20), new Person("Poliana", 21),
+                new Person("Ada", 22));
+
+        repository.saveBatch(people, Duration.ofHours(2), level, 10, Person::getName);
+
+        ArgumentCaptor<BatchStatement> captor = ArgumentCaptor.forClass(BatchStatement.class);
+        verify(manager, Mockito.times(2)).execute(captor.capture());
+        List<BatchStatement> batches = captor.getAllValues();
+        assertEquals(2, batches.get(0).size());
+        assertEquals(1, batches.get(1).size());
+    }
+
+    @Test
+    public void shouldSaveUDTOutOfBatch() {
+        ConsistencyLevel level = ConsistencyLevel.ONE;
+        Address address = new Address();
+        address.setCity("California");
+        address.setStreet("Street");
+        Person person = new Person("Ada", 20);
+        person.setHome(address);
+
+        repository.saveBatch(Collections.singletonList(person), level, 10);
+
+        verify(manager).save(Mockito.any(ColumnEntity.class), Mockito.eq(level));
+        verify(manager, Mockito.never()).execute(Mockito.any(Statement.class));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldReturnErrorWhenBatchSizeIsInvalid() {
+        repository.saveBatch(Collections.singletonList(new Person("Ada", 20)), ConsistencyLevel.ONE, 0);
+    }
+
+    @Test
+    public void shouldPrepareCQLOnce() {
+        String cql = "select * from Person where name = ?";
+        ColumnEntity entity = ColumnEntity.of("Person", asList(Column.of("name", "Name"), Column.of("age", 20)));
+        CassandraPrepareStatment statement = mock(CassandraPrepareStatment.class);
+        when(manager.nativeQueryPrepare(cql)).thenReturn(statement);
+        when(statement.bind(Mockito.anyVararg())).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(Collections.singletonList(entity));
+
+        List<Person> people = repository.cql(cql, "Name");
+        Assert.assertThat(people, Matchers.contains(new Person("Name", 20)));
+        repository.cql(cql, "Ada");
+
+        verify(manager, Mockito.times(1)).nativeQueryPrepare(cql);
+        assertEquals(1, repository.getPreparedStatementCache().getHits());
+    }
+
+    @Test
+    public void shouldRecordMetrics() {
+        InMemoryCassandraRepositoryMetrics metrics = new InMemoryCassandraRepositoryMetrics();
+        Instance<CassandraRepositoryMetrics> metricsInstance = mock(Instance.class);
+        when(metricsInstance.get()).thenReturn(metrics);
+        Instance instance = mock(Instance.class);
+        when(instance.get()).thenReturn(manager);
+        CassandraColumnRepository repository = new DefaultCassandraColumnRepository(instance, converter, flow,
+                persistManager, metricsInstance).forMethod("PersonRepository.findByName");
+
+        ColumnEntity entity = ColumnEntity.of("Person", asList(Column.of("name", "Name"), Column.of("age", 20)));
+        ConsistencyLevel level = ConsistencyLevel.ONE;
+        ColumnQuery query = ColumnQuery.of("Person");
+        when(manager.find(query, level)).thenReturn(asList(entity, entity));
+
+        repository.find(query, level);
+
+        CassandraOperationStatistics statistics = metrics.getStatistics(CassandraOperation.FIND);
+        assertEquals(1L, statistics.getCount());
+        assertEquals(2L, statistics.getRows());
+        assertEquals(0L, statistics.getFailures());
+        assertEquals(Long.valueOf(1L), statistics.getConsistencyLevels().get(level));
+        assertEquals(1L, metrics.getStatistics("PersonRepository.findByName").get().getCount());
+        assertEquals(0L, metrics.getStatistics(CassandraOperation.SAVE).getCount());
+    }
+
+    @Test
+    public void shouldRecordInheritedSave() {
+        InMemoryCassandraRepositoryMetrics metrics = new InMemoryCassandraRepositoryMetrics();
+        Instance<CassandraRepositoryMetrics> metricsInstance = mock(Instance.class);
+        when(metricsInstance.get()).thenReturn(metrics);
+        Instance instance = mock(Instance.class);
+        when(instance.get()).thenReturn(manager);
+        CassandraColumnRepository repository = new DefaultCassandraColumnRepository(instance, converter, flow,
+                persistManager, metricsInstance);
+        ColumnEntity entity = ColumnEntity.of("Person", asList(Column.of("name", "Name"), Column.of("age", 20)));
+        when(manager.save(Mockito.any(ColumnEntity.class))).thenReturn(entity);
+
+        assertEquals(new Person("Name", 20), repository.save(new Person("Name", 20)));
+
+        CassandraOperationStatistics statistics = metrics.getStatistics(CassandraOperation.SAVE);
+        assertEquals(1L, statistics.getCount());
+        assertEquals(1L, statistics.getRows());
+        assertFalse(metrics.getStatistics("PersonRepository.findByName").isPresent());
+    }
+
+    @Test
+    public void shouldRecordFailure() {
+        InMemoryCassandraRepositoryMetrics metrics = new InMemoryCassandraRepositoryMetrics();
+        Instance<CassandraRepositoryMetrics> metricsInstance = mock(Instance.class);
+        when(metricsInstance.get()).thenReturn(metrics);
+        Instance instance = mock(Instance.class);
+        when(instance.get()).thenReturn(manager);
+        CassandraColumnRepository repository = new DefaultCassandraColumnRepository(instance, converter, flow,
+                persistManager, metricsInstance);
+        when(manager.cql(Mockito.anyString())).thenThrow(new IllegalStateException());
+
+        try {
+            repository.cql("select * from Person");
+            Assert.fail("The exception must be propagated");
+        } catch (IllegalStateException exception) {
+            assertEquals(1L, metrics.getStatistics(CassandraOperation.CQL).getFailures());
+        }
+    }
+
+}
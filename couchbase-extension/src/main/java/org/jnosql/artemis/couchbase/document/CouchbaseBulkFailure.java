@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.couchbase.document;
+
+/**
+ * An entity that {@link CouchbaseDocumentRepositoryAsync#saveBulk(Iterable, int)} could not save
+ *
+ * @param <T> the entity type
+ */
+public final class CouchbaseBulkFailure<T> {
+
+    private final T entity;
+
+    private final Throwable cause;
+
+    private final int attempts;
+
+    CouchbaseBulkFailure(T entity, Throwable cause, int attempts) {
+        this.entity = entity;
+        this.cause = cause;
+        this.attempts = attempts;
+    }
+
+    /**
+     * @return the entity, null when the iterable had a null element
+     */
+    public T getEntity() {
+        return entity;
+    }
+
+    /**
+     * @return the error of the last attempt
+     */
+    public Throwable getCause() {
+        return cause;
+    }
+
+    /**
+     * @return the number of writes tried
+     */
+    public int getAttempts() {
+        return attempts;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("CouchbaseBulkFailure{");
+        sb.append("entity=").append(entity);
+        sb.append(", cause=").append(cause);
+        sb.append(", attempts=").append(attempts);
+        sb.append('}');
+        return sb.toString();
+    }
+}
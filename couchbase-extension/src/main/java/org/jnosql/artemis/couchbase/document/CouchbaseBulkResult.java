@@ -0,0 +1,95 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.couchbase.document;
+
+import java.util.List;
+
+/**
+ * The result of a bulk operation on {@link CouchbaseDocumentRepositoryAsync}, every entity is either saved or in
+ * {@link #getFailed()}.
+ *
+ * @param <T> the entity type
+ */
+public final class CouchbaseBulkResult<T> {
+
+    private final long successes;
+
+    private final long retries;
+
+    private final List<CouchbaseBulkFailure<T>> failed;
+
+    CouchbaseBulkResult(long successes, long retries, List<CouchbaseBulkFailure<T>> failed) {
+        this.successes = successes;
+        this.retries = retries;
+        this.failed = failed;
+    }
+
+    /**
+     * @return the number of entities written with success
+     */
+    public long getSuccesses() {
+        return successes;
+    }
+
+    /**
+     * @return the number of entities that failed
+     */
+    public long getFailures() {
+        return failed.size();
+    }
+
+    /**
+     * @return the number of writes tried again after a transient error
+     */
+    public long getRetries() {
+        return retries;
+    }
+
+    /**
+     * @return the entities that failed with the error of their last attempt
+     */
+    public List<CouchbaseBulkFailure<T>> getFailed() {
+        return failed;
+    }
+
+    /**
+     * @return the number of entities processed
+     */
+    public long getTotal() {
+        return successes + failed.size();
+    }
+
+    /**
+     * @return true when there is not failure
+     */
+    public boolean isSuccess() {
+        return failed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("CouchbaseBulkResult{");
+        sb.append("successes=").append(successes);
+        sb.append(", failures=").append(failed.size());
+        sb.append(", retries=").append(retries);
+        sb.append('}');
+        return sb.toString();
+    }
+}
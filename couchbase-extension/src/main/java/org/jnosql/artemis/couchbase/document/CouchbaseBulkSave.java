@@ -0,0 +1,209 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.couchbase.document;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Writes the elements of an {@link Iterable} keeping at most maxInFlight entities waiting for the write or for a
+ * retry. A write that fails is retried when the {@link CouchbaseRetryPolicy} takes its error as transient, a write
+ * that does not finish within the timeout of the policy is taken as failed with {@link TimeoutException} and its late
+ * result is ignored. A new entity is just taken when a previous one finishes, the submission loop never recurses,
+ * so writes that finish on the submitting thread are safe.
+ *
+ * @param <T> the entity type
+ */
+class CouchbaseBulkSave<T> {
+
+    static final int DEFAULT_MAX_IN_FLIGHT = 128;
+
+    private final Iterator<T> iterator;
+
+    private final int maxInFlight;
+
+    private final Function<T, CompletionStage<?>> writer;
+
+    private final CouchbaseRetryPolicy retryPolicy;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final CompletableFuture<CouchbaseBulkResult<T>> result = new CompletableFuture<>();
+
+    private final Deque<Attempt<T>> ready = new ArrayDeque<>();
+
+    private final List<CouchbaseBulkFailure<T>> failed = new ArrayList<>();
+
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private final AtomicLong successes = new AtomicLong();
+
+    private final AtomicLong retries = new AtomicLong();
+
+    private int inFlight;
+
+    private boolean exhausted;
+
+    /**
+     * @param entities    the entities
+     * @param maxInFlight the max number of entities waiting for the write or a retry
+     * @param writer      submits the write of the entity, the stage completes when the write finishes
+     * @param retryPolicy the retry policy
+     * @param scheduler   runs the timeouts and the retries
+     */
+    CouchbaseBulkSave(Iterable<T> entities, int maxInFlight, Function<T, CompletionStage<?>> writer,
+                      CouchbaseRetryPolicy retryPolicy, ScheduledExecutorService scheduler) {
+        Objects.requireNonNull(entities, "entities is required");
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("The max in flight must be greater than zero: " + maxInFlight);
+        }
+        this.iterator = entities.iterator();
+        this.maxInFlight = maxInFlight;
+        this.writer = Objects.requireNonNull(writer, "writer is required");
+        this.retryPolicy = Objects.requireNonNull(retryPolicy, "retryPolicy is required");
+        this.scheduler = Objects.requireNonNull(scheduler, "scheduler is required");
+    }
+
+    CompletionStage<CouchbaseBulkResult<T>> start() {
+        drain();
+        return result;
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        do {
+            Attempt<T> attempt;
+            while ((attempt = next()) != null) {
+                submit(attempt);
+            }
+            completeWhenDone();
+        } while (wip.decrementAndGet() != 0);
+    }
+
+    private synchronized Attempt<T> next() {
+        if (result.isDone()) {
+            return null;
+        }
+        if (!ready.isEmpty()) {
+            return ready.poll();
+        }
+        if (exhausted || inFlight >= maxInFlight) {
+            return null;
+        }
+        try {
+            while (iterator.hasNext()) {
+                T entity = iterator.next();
+                if (entity != null) {
+                    inFlight++;
+                    return new Attempt<>(entity);
+                }
+                failed.add(new CouchbaseBulkFailure<>(null, new NullPointerException("entity is required"), 0));
+            }
+            exhausted = true;
+            return null;
+        } catch (RuntimeException exception) {
+            exhausted = true;
+            result.completeExceptionally(exception);
+            return null;
+        }
+    }
+
+    private void submit(Attempt<T> attempt) {
+        attempt.attempts++;
+        CompletableFuture<Object> write = CouchbaseTimeouts.within(new CompletableFuture<>(),
+                retryPolicy.getTimeout(), scheduler);
+        write.whenComplete((ignored, error) -> {
+            if (error == null) {
+                successes.incrementAndGet();
+                release();
+            } else {
+                failed(attempt, error);
+            }
+        });
+        try {
+            writer.apply(attempt.entity).whenComplete((value, error) -> {
+                if (error == null) {
+                    write.complete(value);
+                } else {
+                    write.completeExceptionally(error);
+                }
+            });
+        } catch (RuntimeException exception) {
+            write.completeExceptionally(exception);
+        }
+    }
+
+    private void failed(Attempt<T> attempt, Throwable cause) {
+        if (attempt.attempts < retryPolicy.getMaxAttempts() && retryPolicy.isTransient(cause)) {
+            retries.incrementAndGet();
+            scheduler.schedule(() -> {
+                synchronized (this) {
+                    ready.add(attempt);
+                }
+                drain();
+            }, retryPolicy.backoff(attempt.attempts), TimeUnit.MILLISECONDS);
+            return;
+        }
+        synchronized (this) {
+            failed.add(new CouchbaseBulkFailure<>(attempt.entity, cause, attempt.attempts));
+        }
+        release();
+    }
+
+    private void release() {
+        synchronized (this) {
+            inFlight--;
+        }
+        drain();
+    }
+
+    private synchronized void completeWhenDone() {
+        if (exhausted && inFlight == 0 && !result.isDone()) {
+            result.complete(new CouchbaseBulkResult<>(successes.get(), retries.get(),
+                    Collections.unmodifiableList(new ArrayList<>(failed))));
+        }
+    }
+
+    private static final class Attempt<T> {
+
+        private final T entity;
+
+        private int attempts;
+
+        private Attempt(T entity) {
+            this.entity = entity;
+        }
+    }
+}
@@ -35,8 +35,10 @@ import org.jnosql.diana.api.document.DocumentQuery;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -77,6 +79,14 @@ class CouchbaseCrudRepositoryAsyncProxy<T> implements InvocationHandler {
     public Object invoke(Object instance, Method method, Object[] args) throws Throwable {
 
         N1QL n1QL = method.getAnnotation(N1QL.class);
+        if (Objects.nonNull(n1QL) && ReturnTypeConverterUtil.isCompletionStage(method)) {
+            Optional<JsonObject> params = getParams(args);
+            if (params.isPresent()) {
+                return ReturnTypeConverterUtil.returnStage(repository.n1qlQueryStage(n1QL.value(), params.get()),
+                        typeClass, method);
+            }
+            return ReturnTypeConverterUtil.returnStage(repository.n1qlQueryStage(n1QL.value()), typeClass, method);
+        }
         if (Objects.nonNull(n1QL)) {
             Consumer callBack = NOOP;
             if (Consumer.class.isInstance(args[args.length - 1])) {
@@ -100,6 +110,11 @@ class CouchbaseCrudRepositoryAsyncProxy<T> implements InvocationHandler {
             default:
 
         }
+        if (methodName.startsWith("findBy") && ReturnTypeConverterUtil.isCompletionStage(method)) {
+            DocumentQuery query = queryParser.parse(methodName, args, classRepresentation);
+            CompletionStage<List<T>> result = repository.findStage(query);
+            return ReturnTypeConverterUtil.returnStage(result, typeClass, method);
+        }
         if (methodName.startsWith("findBy")) {
             DocumentQuery query = queryParser.parse(methodName, args, classRepresentation);
             Object callBack = args[args.length - 1];
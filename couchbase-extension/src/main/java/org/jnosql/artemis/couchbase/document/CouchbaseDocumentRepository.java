@@ -23,8 +23,12 @@ package org.jnosql.artemis.couchbase.document;
 import com.couchbase.client.java.document.json.JsonObject;
 import com.couchbase.client.java.query.Statement;
 import org.jnosql.artemis.document.DocumentRepository;
+import org.jnosql.diana.api.document.DocumentQuery;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * A {@link DocumentRepository} to couchbase
@@ -69,4 +73,243 @@ public interface CouchbaseDocumentRepository extends DocumentRepository {
      * @throws NullPointerException when either n1qlQuery or params are null
      */
     <T> List<T> n1qlQuery(Statement n1qlQuery) throws NullPointerException;
+
+    /**
+     * Executes the n1qlquery with params and returns the result as a {@link Stream}, each document is converted
+     * to entity just when the stream reaches it. When a {@link com.couchbase.client.java.Bucket} is produced the rows
+     * are read while the query service sends them and closing the stream cancels the query, otherwise the manager
+     * loads every row first.
+     *
+     * @param n1qlQuery the query
+     * @param params    the params
+     * @return the query result
+     * @throws NullPointerException when either n1qlQuery or params are null
+     */
+    <T> Stream<T> n1qlQueryStream(String n1qlQuery, JsonObject params) throws NullPointerException;
+
+    /**
+     * Executes the n1qlquery with params and returns the result as a {@link Stream}, each document is converted
+     * to entity just when the stream reaches it. When a {@link com.couchbase.client.java.Bucket} is produced the rows
+     * are read while the query service sends them and closing the stream cancels the query, otherwise the manager
+     * loads every row first.
+     *
+     * @param n1qlQuery the query
+     * @param params    the params
+     * @return the query result
+     * @throws NullPointerException when either n1qlQuery or params are null
+     */
+    <T> Stream<T> n1qlQueryStream(Statement n1qlQuery, JsonObject params) throws NullPointerException;
+
+    /**
+     * Executes the n1qlquery plain query and returns the result as a {@link Stream}, each document is converted
+     * to entity just when the stream reaches it. When a {@link com.couchbase.client.java.Bucket} is produced the rows
+     * are read while the query service sends them and closing the stream cancels the query, otherwise the manager
+     * loads every row first.
+     *
+     * @param n1qlQuery the query
+     * @return the query result
+     * @throws NullPointerException when n1qlQuery is null
+     */
+    <T> Stream<T> n1qlQueryStream(String n1qlQuery) throws NullPointerException;
+
+    /**
+     * Executes the n1qlquery plain query and returns the result as a {@link Stream}, each document is converted
+     * to entity just when the stream reaches it. When a {@link com.couchbase.client.java.Bucket} is produced the rows
+     * are read while the query service sends them and closing the stream cancels the query, otherwise the manager
+     * loads every row first.
+     *
+     * @param n1qlQuery the query
+     * @return the query result
+     * @throws NullPointerException when n1qlQuery is null
+     */
+    <T> Stream<T> n1qlQueryStream(Statement n1qlQuery) throws NullPointerException;
+
+    /**
+     * Executes the n1qlquery with params as a prepared statement. When a {@link com.couchbase.client.java.Bucket} is
+     * produced the query runs on it with adhoc false, so the SDK prepares the statement on the first call and then
+     * reuses the plan, otherwise the manager runs it as an adhoc query.
+     *
+     * @param n1qlQuery the query
+     * @param params    the params
+     * @return the query result
+     * @throws NullPointerException when either n1qlQuery or params are null
+     */
+    <T> List<T> n1qlPreparedQuery(String n1qlQuery, JsonObject params) throws NullPointerException;
+
+    /**
+     * Executes the n1qlquery plain query as a prepared statement, see
+     * {@link #n1qlPreparedQuery(String, JsonObject)}.
+     *
+     * @param n1qlQuery the query
+     * @return the query result
+     * @throws NullPointerException when n1qlQuery is null
+     */
+    <T> List<T> n1qlPreparedQuery(String n1qlQuery) throws NullPointerException;
+
+    /**
+     * The {@link #n1qlPreparedQuery(String, JsonObject)} returning a {@link Stream}, each document is converted
+     * to entity just when the stream reaches it.
+     *
+     * @param n1qlQuery the query
+     * @param params    the params
+     * @return the query result
+     * @throws NullPointerException when either n1qlQuery or params are null
+     */
+    <T> Stream<T> n1qlPreparedQueryStream(String n1qlQuery, JsonObject params) throws NullPointerException;
+
+    /**
+     * The {@link #n1qlPreparedQuery(String)} returning a {@link Stream}, each document is converted
+     * to entity just when the stream reaches it.
+     *
+     * @param n1qlQuery the query
+     * @return the query result
+     * @throws NullPointerException when n1qlQuery is null
+     */
+    <T> Stream<T> n1qlPreparedQueryStream(String n1qlQuery) throws NullPointerException;
+
+    /**
+     * Looks up the entity by key with a key-value get of the {@link com.couchbase.client.java.Bucket} produced by
+     * CDI, the same bucket of the Couchbase manager, instead of a N1QL query. Without a bucket the key is looked up
+     * through the manager.
+     *
+     * @param entityClass the entity class
+     * @param id          the key
+     * @param <T>         the entity type
+     * @return the entity or an empty {@link Optional} when it is missing
+     * @throws NullPointerException when either entityClass or id is null
+     */
+    <T> Optional<T> findById(Class<T> entityClass, Object id) throws NullPointerException;
+
+    /**
+     * Looks up the entities by key with at most 32 gets waiting for the server, waiting up to 30 seconds.
+     *
+     * @param entityClass the entity class
+     * @param ids         the keys
+     * @param <T>         the entity type
+     * @return the entities in the order of the keys, a missing entity is an empty {@link Optional}
+     * @throws NullPointerException  when either entityClass, ids or a key is null
+     * @throws IllegalStateException when the gets do not finish in time
+     */
+    <T> List<Optional<T>> findByIds(Class<T> entityClass, Iterable<?> ids) throws NullPointerException;
+
+    /**
+     * Looks up the entities by key with at most maxConcurrency gets waiting for the server.
+     * The gets are key-value gets that run in parallel on the asynchronous {@link com.couchbase.client.java.Bucket}
+     * produced by CDI when there is one, otherwise they run one after another through the manager.
+     *
+     * @param entityClass    the entity class
+     * @param ids            the keys
+     * @param maxConcurrency the max number of gets waiting for the server
+     * @param timeout        how long to wait for all the gets
+     * @param <T>            the entity type
+     * @return the entities in the order of the keys, a missing entity is an empty {@link Optional}
+     * @throws NullPointerException     when either entityClass, ids, timeout or a key is null
+     * @throws IllegalArgumentException when maxConcurrency is not greater than zero
+     * @throws IllegalStateException    when the gets do not finish in time
+     */
+    <T> List<Optional<T>> findByIds(Class<T> entityClass, Iterable<?> ids, int maxConcurrency, Duration timeout)
+            throws NullPointerException, IllegalArgumentException;
+
+    /**
+     * Executes the n1qlquery as a prepared statement and maps each row to the projection, an interface whose getters
+     * or a class whose fields name the documents. A query that selects * is rewritten to select just the
+     * projected documents.
+     *
+     * @param n1qlQuery  the query
+     * @param params     the params, null when the query has none
+     * @param projection the projection type
+     * @param <P>        the projection type
+     * @return the query result
+     * @throws NullPointerException     when either n1qlQuery or projection are null
+     * @throws IllegalArgumentException when the projection has neither getter nor field
+     */
+    <P> List<P> n1qlPreparedQuery(String n1qlQuery, JsonObject params, Class<P> projection)
+            throws NullPointerException, IllegalArgumentException;
+
+    /**
+     * Executes the n1qlquery as a prepared statement and maps each row to the projection just when the stream
+     * reaches it, see {@link #n1qlPreparedQuery(String, JsonObject, Class)}.
+     *
+     * @param n1qlQuery  the query
+     * @param params     the params, null when the query has none
+     * @param projection the projection type
+     * @param <P>        the projection type
+     * @return the query result
+     * @throws NullPointerException     when either n1qlQuery or projection are null
+     * @throws IllegalArgumentException when the projection has neither getter nor field
+     */
+    <P> Stream<P> n1qlPreparedQueryStream(String n1qlQuery, JsonObject params, Class<P> projection)
+            throws NullPointerException, IllegalArgumentException;
+
+    /**
+     * Finds the documents and maps each one to the projection, only the projected documents are converted.
+     *
+     * @param query      the query
+     * @param projection the projection type
+     * @param <P>        the projection type
+     * @return the query result
+     * @throws NullPointerException     when either query or projection are null
+     * @throws IllegalArgumentException when the projection has neither getter nor field
+     */
+    <P> List<P> find(DocumentQuery query, Class<P> projection) throws NullPointerException, IllegalArgumentException;
+
+    /**
+     * Executes the n1qlquery as a prepared statement and returns one page of the rows, paged by keyset: the rows are
+     * ordered by the page fields and the next page just reads the rows after the last one, so it does not scan
+     * the rows of the previous pages as an OFFSET does. The query cannot have ORDER BY, GROUP BY, LIMIT or OFFSET
+     * and the page fields must be top level fields of the rows.
+     *
+     * @param n1qlQuery the query
+     * @param params    the params, null when the query has none
+     * @param page      the page, either {@link CouchbasePageRequest#of(int, String...)} or
+     *                  {@link CouchbaseSlice#nextPage()}
+     * @param <T>       the entity type
+     * @return the page
+     * @throws NullPointerException     when either n1qlQuery or page are null
+     * @throws IllegalArgumentException when the query cannot be paged or the continuation is invalid
+     */
+    <T> CouchbaseSlice<T> n1qlPreparedQuerySlice(String n1qlQuery, JsonObject params, CouchbasePageRequest page)
+            throws NullPointerException, IllegalArgumentException;
+
+    /**
+     * Finds one page of the documents, paged by keyset, see
+     * {@link #n1qlPreparedQuerySlice(String, JsonObject, CouchbasePageRequest)}.
+     *
+     * @param query the query, it cannot be sorted
+     * @param page  the page
+     * @param <T>   the entity type
+     * @return the page
+     * @throws NullPointerException     when either query or page are null
+     * @throws IllegalArgumentException when the query is sorted or the continuation is invalid
+     */
+    <T> CouchbaseSlice<T> findSlice(DocumentQuery query, CouchbasePageRequest page)
+            throws NullPointerException, IllegalArgumentException;
+
+    /**
+     * Applies the sub-document mutation to the entity with this id in one atomic round trip that sends just the
+     * changed paths, so neither the whole document is rewritten nor read before. It needs a
+     * {@link com.couchbase.client.java.Bucket} produced by CDI, the same bucket of the Couchbase manager.
+     *
+     * @param entityClass the entity class
+     * @param id          the entity id
+     * @param mutation    the mutation
+     * @return the CAS of the document after the mutation and the incremented counters
+     * @throws NullPointerException     when either entityClass, id or mutation are null
+     * @throws IllegalArgumentException when the mutation has no path, too many paths or changes the id
+     * @throws IllegalStateException    when there is not a {@link com.couchbase.client.java.Bucket} to inject
+     */
+    CouchbaseMutationResult mutate(Class<?> entityClass, Object id, CouchbaseMutation mutation)
+            throws NullPointerException, IllegalArgumentException, IllegalStateException;
+
+    /**
+     * Finds the current CAS of the entity without reading the document, to start a
+     * {@link CouchbaseMutation#withCas(long)}.
+     *
+     * @param entityClass the entity class
+     * @param id          the entity id
+     * @return the CAS or {@link Optional#empty()} when the document does not exist
+     * @throws NullPointerException  when either entityClass or id are null
+     * @throws IllegalStateException when there is not a {@link com.couchbase.client.java.Bucket} to inject
+     */
+    Optional<Long> findCas(Class<?> entityClass, Object id) throws NullPointerException, IllegalStateException;
 }
@@ -25,7 +25,10 @@ import com.couchbase.client.java.query.Statement;
 import org.jnosql.artemis.document.DocumentRepositoryAsync;
 import org.jnosql.diana.api.ExecuteAsyncQueryException;
 
+import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 
 /**
@@ -79,4 +82,153 @@ public interface CouchbaseDocumentRepositoryAsync extends DocumentRepositoryAsyn
      */
     <T> void n1qlQuery(Statement n1qlQuery, Consumer<List<T>> callback) throws
             NullPointerException, ExecuteAsyncQueryException;
+
+    /**
+     * Looks up the entities by key, the gets run in parallel with at most 32 waiting for the server.
+     * The stage fails with {@link java.util.concurrent.TimeoutException} when the gets do not finish in 30 seconds.
+     *
+     * @param entityClass the entity class
+     * @param ids         the keys
+     * @param <T>         the entity type
+     * @return the entities in the order of the keys, a missing entity is an empty {@link Optional}
+     * @throws NullPointerException  when either entityClass or ids are null
+     * @throws IllegalStateException when there is not a {@link com.couchbase.client.java.Bucket} to inject
+     */
+    <T> CompletionStage<List<Optional<T>>> findByIds(Class<T> entityClass, Iterable<?> ids)
+            throws NullPointerException, IllegalStateException;
+
+    /**
+     * Looks up the entities by key, the gets run in parallel with at most maxConcurrency waiting for the server.
+     * The stage completes exceptionally when a key is null, when a get fails, when an entity cannot be converted or
+     * with {@link java.util.concurrent.TimeoutException} when the gets do not finish in 30 seconds.
+     *
+     * @param entityClass    the entity class
+     * @param ids            the keys
+     * @param maxConcurrency the max number of gets waiting for the server
+     * @param <T>            the entity type
+     * @return the entities in the order of the keys, a missing entity is an empty {@link Optional}
+     * @throws NullPointerException     when either entityClass or ids are null
+     * @throws IllegalArgumentException when maxConcurrency is not greater than zero
+     * @throws IllegalStateException    when there is not a {@link com.couchbase.client.java.Bucket} to inject
+     */
+    <T> CompletionStage<List<Optional<T>>> findByIds(Class<T> entityClass, Iterable<?> ids, int maxConcurrency)
+            throws NullPointerException, IllegalArgumentException, IllegalStateException;
+
+    /**
+     * Looks up the entities by key, the gets are key-value gets that run in parallel on the asynchronous
+     * {@link com.couchbase.client.java.Bucket} produced by CDI with at most maxConcurrency waiting for the server.
+     * The stage completes exceptionally as soon as a key is null, a get fails or an entity cannot be converted, and
+     * with {@link java.util.concurrent.TimeoutException} when the gets do not finish within the timeout.
+     *
+     * @param entityClass    the entity class
+     * @param ids            the keys
+     * @param maxConcurrency the max number of gets waiting for the server
+     * @param timeout        the time to wait for every get
+     * @param <T>            the entity type
+     * @return the entities in the order of the keys, a missing entity is an empty {@link Optional}
+     * @throws NullPointerException     when either entityClass, ids or timeout are null
+     * @throws IllegalArgumentException when maxConcurrency is not greater than zero
+     * @throws IllegalStateException    when there is not a {@link com.couchbase.client.java.Bucket} to inject
+     */
+    <T> CompletionStage<List<Optional<T>>> findByIds(Class<T> entityClass, Iterable<?> ids, int maxConcurrency,
+                                                     Duration timeout)
+            throws NullPointerException, IllegalArgumentException, IllegalStateException;
+
+    /**
+     * Saves the entities keeping at most maxInFlight of them waiting for the database at the same time, with the
+     * {@link CouchbaseRetryPolicy#defaultPolicy()}. The entity events are not fired. It needs a
+     * {@link com.couchbase.client.java.Bucket} produced by CDI.
+     *
+     * @param entities    the entities
+     * @param maxInFlight the max number of concurrent writes
+     * @param <T>         the entity type
+     * @return the {@link CompletionStage} completed when every entity was processed
+     * @throws NullPointerException     when entities is null
+     * @throws IllegalArgumentException when maxInFlight is not greater than zero
+     * @throws IllegalStateException    when there is not a {@link com.couchbase.client.java.Bucket} to inject
+     */
+    <T> CompletionStage<CouchbaseBulkResult<T>> saveBulk(Iterable<T> entities, int maxInFlight)
+            throws NullPointerException, IllegalArgumentException, IllegalStateException;
+
+    /**
+     * Saves the entities keeping at most maxInFlight of them waiting for the database or for a retry at the same
+     * time, a write that fails with a transient error is tried again as the retry policy says. The documents are
+     * upserted straight to the asynchronous {@link com.couchbase.client.java.Bucket} produced by CDI, the same
+     * bucket of the Couchbase manager, so the server errors reach the retry policy and the entity events are not
+     * fired.
+     *
+     * @param entities    the entities
+     * @param maxInFlight the max number of concurrent writes
+     * @param retryPolicy the retry policy
+     * @param <T>         the entity type
+     * @return the {@link CompletionStage} completed when every entity was processed
+     * @throws NullPointerException     when either entities or retryPolicy are null
+     * @throws IllegalArgumentException when maxInFlight is not greater than zero
+     * @throws IllegalStateException    when there is not a {@link com.couchbase.client.java.Bucket} to inject
+     */
+    <T> CompletionStage<CouchbaseBulkResult<T>> saveBulk(Iterable<T> entities, int maxInFlight,
+                                                         CouchbaseRetryPolicy retryPolicy)
+            throws NullPointerException, IllegalArgumentException, IllegalStateException;
+
+    /**
+     * Executes the n1qlquery with params
+     *
+     * @param n1qlQuery the query
+     * @param params    the params
+     * @param <T>       the entity type
+     * @return the {@link CompletionStage} completed with the result, or exceptionally when the query cannot be
+     * submitted, its result cannot be converted or with {@link java.util.concurrent.TimeoutException} when the
+     * query does not call back in 30 seconds
+     * @throws NullPointerException when either n1qlQuery or params are null
+     */
+    <T> CompletionStage<List<T>> n1qlQueryStage(String n1qlQuery, JsonObject params) throws NullPointerException;
+
+    /**
+     * Executes the n1qlquery with params
+     *
+     * @param n1qlQuery the query
+     * @param params    the params
+     * @param <T>       the entity type
+     * @return the {@link CompletionStage} completed with the result, or exceptionally when the query cannot be
+     * submitted, its result cannot be converted or with {@link java.util.concurrent.TimeoutException} when the
+     * query does not call back in 30 seconds
+     * @throws NullPointerException when either n1qlQuery or params are null
+     */
+    <T> CompletionStage<List<T>> n1qlQueryStage(Statement n1qlQuery, JsonObject params) throws NullPointerException;
+
+    /**
+     * Executes the n1qlquery plain query
+     *
+     * @param n1qlQuery the query
+     * @param <T>       the entity type
+     * @return the {@link CompletionStage} completed with the result, or exceptionally when the query cannot be
+     * submitted, its result cannot be converted or with {@link java.util.concurrent.TimeoutException} when the
+     * query does not call back in 30 seconds
+     * @throws NullPointerException when n1qlQuery is null
+     */
+    <T> CompletionStage<List<T>> n1qlQueryStage(String n1qlQuery) throws NullPointerException;
+
+    /**
+     * Executes the n1qlquery plain query
+     *
+     * @param n1qlQuery the query
+     * @param <T>       the entity type
+     * @return the {@link CompletionStage} completed with the result, or exceptionally when the query cannot be
+     * submitted, its result cannot be converted or with {@link java.util.concurrent.TimeoutException} when the
+     * query does not call back in 30 seconds
+     * @throws NullPointerException when n1qlQuery is null
+     */
+    <T> CompletionStage<List<T>> n1qlQueryStage(Statement n1qlQuery) throws NullPointerException;
+
+    /**
+     * Finds entities from query
+     *
+     * @param query the query
+     * @param <T>   the entity type
+     * @return the {@link CompletionStage} completed with the result, or exceptionally when the query cannot be
+     * submitted, its result cannot be converted or with {@link java.util.concurrent.TimeoutException} when the
+     * query does not call back in 30 seconds
+     * @throws NullPointerException when query is null
+     */
+    <T> CompletionStage<List<T>> findStage(DocumentQuery query) throws NullPointerException;
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.couchbase.document;
+
+import com.couchbase.client.java.document.JsonDocument;
+import com.couchbase.client.java.document.json.JsonArray;
+import com.couchbase.client.java.document.json.JsonObject;
+import org.jnosql.diana.api.document.Document;
+import org.jnosql.diana.api.document.DocumentEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.util.stream.Collectors.toList;
+import static org.jnosql.artemis.couchbase.document.CouchbaseKeyLookup.KEY;
+
+/**
+ * Converts between the {@link DocumentEntity} of the Couchbase manager and the JSON of the
+ * {@link com.couchbase.client.java.Bucket}, in the shape the manager writes and reads it: the document is stored
+ * under the collection and the id, {@code collection:id}, which is also kept in the {@value CouchbaseKeyLookup#KEY}
+ * field, and a sub-document is a nested object.
+ */
+final class CouchbaseDocuments {
+
+    private static final String KEY_SEPARATOR = ":";
+
+    private CouchbaseDocuments() {
+    }
+
+    /**
+     * @throws IllegalArgumentException when the entity has no {@value CouchbaseKeyLookup#KEY}
+     */
+    static JsonDocument toJsonDocument(DocumentEntity entity) {
+        Document id = entity.find(KEY).orElseThrow(() -> new IllegalArgumentException("The entity "
+                + entity.getName() + " must have the " + KEY + " document to be saved"));
+        String key = CouchbaseSubDocument.key(entity.getName(), id.get());
+        JsonObject json = JsonObject.create();
+        entity.getDocuments().forEach(d -> json.put(d.getName(), toJson(d.get())));
+        json.put(KEY, key);
+        return JsonDocument.create(key, json);
+    }
+
+    /**
+     * @return the entity of a stored document, its collection is taken from the key and is the given one when the
+     * document has no key
+     */
+    static DocumentEntity toEntity(String collection, JsonObject json) {
+        List<Document> documents = toDocuments(json.toMap());
+        String name = documents.stream()
+                .filter(d -> KEY.equals(d.getName()))
+                .findFirst()
+                .map(d -> d.get(String.class).split(KEY_SEPARATOR)[0])
+                .orElse(collection);
+        return DocumentEntity.of(name, documents);
+    }
+
+    /**
+     * @return the entity of a N1QL row, a select * row has the document under the bucket name, or empty when the
+     * row has no document under it
+     */
+    static Optional<DocumentEntity> toEntity(JsonObject row, String bucket) {
+        Object document = row.get(bucket);
+        if (document instanceof JsonObject) {
+            return Optional.of(toEntity(bucket, (JsonObject) document));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * @return the value as a JSON value: a sub-document or a map is an object, an {@link Iterable} an array, an
+     * enum its name and any other non JSON value its string
+     */
+    static Object toJson(Object value) {
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean
+                || value instanceof JsonObject || value instanceof JsonArray) {
+            return value;
+        }
+        if (value instanceof Enum) {
+            return ((Enum<?>) value).name();
+        }
+        if (value instanceof Document) {
+            Document document = (Document) value;
+            return JsonObject.create().put(document.getName(), toJson(document.get()));
+        }
+        if (value instanceof Map) {
+            JsonObject json = JsonObject.create();
+            ((Map<?, ?>) value).forEach((k, v) -> json.put(k.toString(), toJson(v)));
+            return json;
+        }
+        if (value instanceof Iterable) {
+            return toJson((Iterable<?>) value);
+        }
+        return value.toString();
+    }
+
+    private static Object toJson(Iterable<?> values) {
+        List<Object> elements = new ArrayList<>();
+        values.forEach(elements::add);
+        if (!elements.isEmpty() && elements.stream().allMatch(Document.class::isInstance)) {
+            JsonObject json = JsonObject.create();
+            elements.stream().map(Document.class::cast).forEach(d -> json.put(d.getName(), toJson(d.get())));
+            return json;
+        }
+        JsonArray json = JsonArray.create();
+        elements.forEach(e -> json.add(toJson(e)));
+        return json;
+    }
+
+    private static List<Document> toDocuments(Map<String, Object> map) {
+        List<Document> documents = new ArrayList<>();
+        map.forEach((name, value) -> documents.add(Document.of(name, toValue(value))));
+        return documents;
+    }
+
+    private static Object toValue(Object value) {
+        if (value instanceof Map) {
+            return toDocuments((Map<String, Object>) value);
+        }
+        if (value instanceof List) {
+            return ((List<?>) value).stream().map(CouchbaseDocuments::toValue).collect(toList());
+        }
+        return value;
+    }
+}
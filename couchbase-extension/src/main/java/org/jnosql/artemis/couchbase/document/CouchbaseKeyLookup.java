@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.couchbase.document;
+
+import org.jnosql.artemis.reflection.ClassRepresentation;
+import org.jnosql.artemis.reflection.FieldRepresentation;
+import org.jnosql.diana.api.document.Document;
+import org.jnosql.diana.api.document.DocumentCondition;
+import org.jnosql.diana.api.document.DocumentQuery;
+
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * A findBy method that looks up just by the document key, the field mapped to the {@value #KEY} column, either by
+ * a single value, findById, or by a list, findByIdIn. The entities are got by key through
+ * {@link CouchbaseDocumentRepository#findById(Class, Object)} and
+ * {@link CouchbaseDocumentRepository#findByIds(Class, Iterable)}, key-value gets on the bucket instead of N1QL,
+ * and the method name is not parsed on each call.
+ */
+final class CouchbaseKeyLookup {
+
+    static final String KEY = "_id";
+
+    private static final String FIND_BY = "findBy";
+
+    private static final String IN = "In";
+
+    private final String collection;
+
+    private final boolean in;
+
+    private CouchbaseKeyLookup(String collection, boolean in) {
+        this.collection = collection;
+        this.in = in;
+    }
+
+    /**
+     * @return the entities found by the keys of the arguments, a missing key is skipped
+     */
+    <T> List<T> find(CouchbaseDocumentRepository repository, Class<T> entityClass, Object[] args) {
+        if (in) {
+            return repository.findByIds(entityClass, (Iterable<?>) args[0]).stream()
+                    .filter(Optional::isPresent)
+                    .map(Optional::get)
+                    .collect(toList());
+        }
+        return repository.findById(entityClass, args[0])
+                .map(Collections::singletonList)
+                .orElse(Collections.emptyList());
+    }
+
+    /**
+     * @return the query of the keys of the arguments, used when the result is mapped to a projection
+     */
+    DocumentQuery toQuery(Object[] args) {
+        Document key = Document.of(KEY, args[0]);
+        DocumentCondition condition = in ? DocumentCondition.in(key) : DocumentCondition.eq(key);
+        return DocumentQuery.of(collection).and(condition);
+    }
+
+    /**
+     * @return the query that looks up a single document by its key
+     */
+    static DocumentQuery toQuery(String collection, Object key) {
+        return DocumentQuery.of(collection).and(DocumentCondition.eq(Document.of(KEY, key)));
+    }
+
+    static Optional<CouchbaseKeyLookup> of(Method method, ClassRepresentation representation) {
+        if (method.getParameterCount() != 1 || !method.getName().startsWith(FIND_BY)) {
+            return Optional.empty();
+        }
+        Optional<FieldRepresentation> key = representation.getFields().stream()
+                .filter(f -> KEY.equals(f.getName()))
+                .findFirst();
+        if (!key.isPresent()) {
+            return Optional.empty();
+        }
+        String fieldName = key.get().getField().getName();
+        String property = Character.toUpperCase(fieldName.charAt(0)) + fieldName.substring(1);
+        String condition = method.getName().substring(FIND_BY.length());
+        if (condition.equals(property)) {
+            return Optional.of(new CouchbaseKeyLookup(representation.getName(), false));
+        }
+        if (condition.equals(property + IN) && Iterable.class.isAssignableFrom(method.getParameterTypes()[0])) {
+            return Optional.of(new CouchbaseKeyLookup(representation.getName(), true));
+        }
+        return Optional.empty();
+    }
+}
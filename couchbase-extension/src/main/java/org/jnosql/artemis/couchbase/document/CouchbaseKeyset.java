@@ -0,0 +1,318 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.couchbase.document;
+
+import com.couchbase.client.java.document.json.JsonArray;
+import com.couchbase.client.java.document.json.JsonObject;
+import org.jnosql.diana.api.Sort;
+import org.jnosql.diana.api.document.Document;
+import org.jnosql.diana.api.document.DocumentCondition;
+import org.jnosql.diana.api.document.DocumentEntity;
+import org.jnosql.diana.api.document.DocumentQuery;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Turns a query into the query of a page paged by keyset: the rows are ordered by the keyset fields, the page
+ * reads one row more than its size to know whether there is a next page, and from the second page on the query
+ * just matches the rows after the keyset of the last row read, which the continuation carries. The keyset fields are
+ * qualified with the alias of the keyspace, or the keyspace itself, and {@value CouchbaseKeyLookup#KEY} is the document
+ * key.
+ */
+final class CouchbaseKeyset {
+
+    static final String PARAM_PREFIX = "__keyset_";
+
+    private static final Pattern WHERE = Pattern.compile("\\bWHERE\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern FROM = Pattern.compile("\\bFROM\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final String KEYWORDS = "WHERE|USE|LET|GROUP|ORDER|LIMIT|OFFSET|AS|ON|JOIN|INNER|LEFT|RIGHT"
+            + "|OUTER|NEST|UNNEST|UNION|INTERSECT|EXCEPT";
+
+    private static final Pattern KEYSPACE = Pattern.compile(
+            "\\s*(?:(?:`[^`]+`|[\\w-]+):)?(`[^`]+`|[\\w-]+)"
+                    + "(?:(?:\\s+AS)?\\s+(?!(?:" + KEYWORDS + ")\\b)(`[^`]+`|\\w+))?",
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern UNSUPPORTED = Pattern.compile(
+            "\\b(ORDER\\s+BY|GROUP\\s+BY|LIMIT|OFFSET|UNION|INTERSECT|EXCEPT)\\b", Pattern.CASE_INSENSITIVE);
+
+    private static final String FIELDS = "f";
+
+    private static final String DESCENDING = "d";
+
+    private static final String VALUES = "v";
+
+    private CouchbaseKeyset() {
+    }
+
+    /**
+     * @throws IllegalArgumentException when the query has ORDER BY, GROUP BY, LIMIT, OFFSET or a set operator
+     */
+    static String toN1QL(String n1qlQuery, CouchbasePageRequest page) {
+        String query = n1qlQuery.trim();
+        String masked = mask(query);
+        if (UNSUPPORTED.matcher(masked).find()) {
+            throw new IllegalArgumentException("A query paged by keyset cannot have ORDER BY, GROUP BY, LIMIT, "
+                    + "OFFSET or a set operator: " + n1qlQuery);
+        }
+
+        String keyspace = keyspace(query, masked);
+        StringBuilder n1ql = new StringBuilder();
+        if (page.getContinuation().isPresent()) {
+            int where = -1;
+            Matcher matcher = WHERE.matcher(masked);
+            while (matcher.find()) {
+                where = matcher.end();
+            }
+            if (where < 0) {
+                n1ql.append(query).append(" WHERE ").append(predicate(keyspace, page));
+            } else {
+                n1ql.append(query, 0, where).append(" (").append(predicate(keyspace, page)).append(") AND (")
+                        .append(query.substring(where).trim()).append(')');
+            }
+        } else {
+            n1ql.append(query);
+        }
+        String direction = page.isDescending() ? " DESC" : " ASC";
+        n1ql.append(" ORDER BY ").append(page.getFields().stream().map(f -> qualify(keyspace, f) + direction)
+                .collect(joining(", ")));
+        n1ql.append(" LIMIT ").append(page.getSize() + 1);
+        return n1ql.toString();
+    }
+
+    /**
+     * @return the params with the keyset of the continuation, or the params themselves on the first page
+     */
+    static JsonObject toParams(JsonObject params, CouchbasePageRequest page) {
+        if (!page.getContinuation().isPresent()) {
+            return params;
+        }
+        List<Object> values = decode(page);
+        JsonObject keysetParams = params == null ? JsonObject.create() : JsonObject.from(params.toMap());
+        for (int index = 0; index < values.size(); index++) {
+            keysetParams.put(PARAM_PREFIX + index, values.get(index));
+        }
+        return keysetParams;
+    }
+
+    /**
+     * @throws IllegalArgumentException when the query is already sorted
+     */
+    static DocumentQuery toQuery(DocumentQuery query, CouchbasePageRequest page) {
+        if (!query.getSorts().isEmpty()) {
+            throw new IllegalArgumentException("A query paged by keyset is ordered by the keyset fields only: "
+                    + query);
+        }
+        if (page.getContinuation().isPresent()) {
+            query.and(condition(page, decode(page)));
+        }
+        Sort.SortType type = page.isDescending() ? Sort.SortType.DESC : Sort.SortType.ASC;
+        page.getFields().forEach(f -> query.addSort(Sort.of(f, type)));
+        query.withLimit(page.getSize() + 1L);
+        return query;
+    }
+
+    /**
+     * @throws IllegalStateException when the last row of the page has not a keyset field
+     */
+    static <T> CouchbaseSlice<T> toSlice(List<DocumentEntity> documents, CouchbasePageRequest page,
+                                         Function<DocumentEntity, T> converter) {
+        boolean hasNext = documents.size() > page.getSize();
+        List<DocumentEntity> rows = hasNext ? documents.subList(0, page.getSize()) : documents;
+        List<T> content = rows.stream().map(converter).collect(toList());
+        if (!hasNext) {
+            return new CouchbaseSlice<>(content, null);
+        }
+        return new CouchbaseSlice<>(content, page.withContinuation(encode(page, rows.get(rows.size() - 1))));
+    }
+
+    static String encode(CouchbasePageRequest page, DocumentEntity row) {
+        List<Object> values = new ArrayList<>();
+        for (String field : page.getFields()) {
+            Object value = row.find(field).map(Document::get).orElseThrow(() ->
+                    new IllegalStateException("The keyset field " + field + " is not in the row " + row));
+            values.add(toJson(value));
+        }
+        JsonObject continuation = JsonObject.create()
+                .put(FIELDS, JsonArray.from(new ArrayList<>(page.getFields())))
+                .put(DESCENDING, page.isDescending())
+                .put(VALUES, JsonArray.from(values));
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(continuation.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException when the continuation is invalid or belongs to another page request
+     */
+    static List<Object> decode(CouchbasePageRequest page) {
+        String token = page.getContinuation().orElseThrow(() ->
+                new IllegalArgumentException("The page request has no continuation"));
+        JsonObject continuation;
+        try {
+            continuation = JsonObject.fromJson(new String(Base64.getUrlDecoder().decode(token),
+                    StandardCharsets.UTF_8));
+        } catch (RuntimeException exception) {
+            throw new IllegalArgumentException("The continuation is invalid: " + token, exception);
+        }
+        JsonArray fields = continuation.getArray(FIELDS);
+        JsonArray values = continuation.getArray(VALUES);
+        if (fields == null || values == null || !page.getFields().equals(fields.toList())
+                || values.size() != fields.size()
+                || page.isDescending() != Boolean.TRUE.equals(continuation.getBoolean(DESCENDING))) {
+            throw new IllegalArgumentException("The continuation does not belong to the page request: " + page);
+        }
+        List<Object> keyset = new ArrayList<>();
+        for (int index = 0; index < values.size(); index++) {
+            keyset.add(values.get(index));
+        }
+        return keyset;
+    }
+
+    private static String predicate(String keyspace, CouchbasePageRequest page) {
+        String operator = page.isDescending() ? " < " : " > ";
+        List<String> fields = page.getFields();
+        List<String> alternatives = new ArrayList<>();
+        for (int index = 0; index < fields.size(); index++) {
+            StringBuilder alternative = new StringBuilder("(");
+            for (int previous = 0; previous < index; previous++) {
+                alternative.append(qualify(keyspace, fields.get(previous))).append(" = $").append(PARAM_PREFIX)
+                        .append(previous).append(" AND ");
+            }
+            alternative.append(qualify(keyspace, fields.get(index))).append(operator).append('$').append(PARAM_PREFIX)
+                    .append(index).append(')');
+            alternatives.add(alternative.toString());
+        }
+        return String.join(" OR ", alternatives);
+    }
+
+    private static DocumentCondition condition(CouchbasePageRequest page, List<Object> values) {
+        List<String> fields = page.getFields();
+        DocumentCondition keyset = null;
+        for (int index = 0; index < fields.size(); index++) {
+            Document document = Document.of(fields.get(index), values.get(index));
+            DocumentCondition alternative = page.isDescending() ? DocumentCondition.lt(document)
+                    : DocumentCondition.gt(document);
+            for (int previous = index - 1; previous >= 0; previous--) {
+                alternative = DocumentCondition.eq(Document.of(fields.get(previous), values.get(previous)))
+                        .and(alternative);
+            }
+            keyset = keyset == null ? alternative : keyset.or(alternative);
+        }
+        return keyset;
+    }
+
+    /**
+     * @return the value as the JSON value it was read from, a subdocument stays an object and a list an array
+     */
+    private static Object toJson(Object value) {
+        if (value instanceof Collection && !((Collection<?>) value).isEmpty()
+                && ((Collection<?>) value).stream().allMatch(Document.class::isInstance)) {
+            JsonObject object = JsonObject.create();
+            ((Collection<?>) value).stream().map(Document.class::cast)
+                    .forEach(d -> object.put(d.getName(), toJson(d.get())));
+            return object;
+        }
+        if (value instanceof Collection) {
+            JsonArray array = JsonArray.create();
+            ((Collection<?>) value).forEach(v -> array.add(toJson(v)));
+            return array;
+        }
+        if (value instanceof Map) {
+            JsonObject object = JsonObject.create();
+            ((Map<?, ?>) value).forEach((k, v) -> object.put(k.toString(), toJson(v)));
+            return object;
+        }
+        if (value == null || value instanceof String || value instanceof Number || value instanceof Boolean
+                || value instanceof JsonObject || value instanceof JsonArray) {
+            return value;
+        }
+        return value.toString();
+    }
+
+    /**
+     * @return the name of the rows of the first keyspace of the query, its alias or else its name, or null
+     */
+    private static String keyspace(String query, String masked) {
+        Matcher from = FROM.matcher(masked);
+        if (!from.find()) {
+            return null;
+        }
+        Matcher keyspace = KEYSPACE.matcher(query).region(from.end(), query.length());
+        if (!keyspace.lookingAt()) {
+            return null;
+        }
+        String name = keyspace.group(2) == null ? keyspace.group(1) : keyspace.group(2);
+        return escape(name.replace("`", ""));
+    }
+
+    private static String qualify(String keyspace, String field) {
+        if (keyspace == null) {
+            return CouchbaseKeyLookup.KEY.equals(field) ? "META().id" : escape(field);
+        }
+        return CouchbaseKeyLookup.KEY.equals(field) ? "META(" + keyspace + ").id" : keyspace + '.' + escape(field);
+    }
+
+    private static String escape(String field) {
+        return '`' + field.replace("`", "``") + '`';
+    }
+
+    /**
+     * @return the query with the quoted text and what is inside parentheses replaced by blanks
+     */
+    private static String mask(String query) {
+        char[] masked = query.toCharArray();
+        int depth = 0;
+        char quote = 0;
+        for (int index = 0; index < masked.length; index++) {
+            char current = masked[index];
+            if (quote != 0) {
+                if (current == quote) {
+                    quote = 0;
+                }
+                masked[index] = ' ';
+            } else if (current == '\'' || current == '"' || current == '`') {
+                quote = current;
+                masked[index] = ' ';
+            } else if (current == '(') {
+                depth++;
+                masked[index] = ' ';
+            } else if (current == ')') {
+                depth--;
+                masked[index] = ' ';
+            } else if (depth > 0) {
+                masked[index] = ' ';
+            }
+        }
+        return new String(masked);
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.couchbase.document;
+
+import com.couchbase.client.java.AsyncBucket;
+import org.jnosql.artemis.document.DocumentEntityConverter;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Looks up the documents of an {@link Iterable} of keys keeping at most maxConcurrency gets waiting for the
+ * callback, the results keep the order of the keys and a missing document is an empty {@link Optional}.
+ * A get that calls back with an error, e.g. the conversion failed, completes the result exceptionally.
+ * A new get is just submitted when a previous one finishes, the submission loop never recurses,
+ * so callbacks that are called on the submitting thread are safe.
+ *
+ * @param <T> the entity type
+ */
+class CouchbaseMultiGet<T> {
+
+    static final int DEFAULT_MAX_CONCURRENCY = 32;
+
+    private final Iterator<?> keys;
+
+    private final int maxConcurrency;
+
+    private final BiConsumer<Object, BiConsumer<Optional<T>, Throwable>> get;
+
+    private final List<Optional<T>> results = new ArrayList<>();
+
+    private final CompletableFuture<List<Optional<T>>> result = new CompletableFuture<>();
+
+    private final AtomicInteger wip = new AtomicInteger();
+
+    private int inFlight;
+
+    private boolean exhausted;
+
+    /**
+     * @param keys           the document keys
+     * @param maxConcurrency the max number of gets waiting for callback
+     * @param get            submits the get of a key and must call the given callback with either the result
+     *                       or the error
+     */
+    CouchbaseMultiGet(Iterable<?> keys, int maxConcurrency,
+                      BiConsumer<Object, BiConsumer<Optional<T>, Throwable>> get) {
+        Objects.requireNonNull(keys, "keys is required");
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("The max concurrency must be greater than zero: " + maxConcurrency);
+        }
+        this.keys = keys.iterator();
+        this.maxConcurrency = maxConcurrency;
+        this.get = Objects.requireNonNull(get, "get is required");
+    }
+
+    /**
+     * Looks up the entities by key with key-value gets of the asynchronous bucket, a get that fails on the server
+     * completes the result exceptionally as soon as it fails. The documents are converted on the executor.
+     */
+    static <T> CompletionStage<List<Optional<T>>> of(AsyncBucket bucket, DocumentEntityConverter converter,
+                                                     Executor executor, String collection, Class<T> entityClass,
+                                                     Iterable<?> keys, int maxConcurrency, Duration timeout) {
+        BiConsumer<Object, BiConsumer<Optional<T>, Throwable>> get = (key, callback) ->
+                CouchbaseTimeouts.toFuture(bucket.get(CouchbaseSubDocument.key(collection, key)))
+                        .whenComplete((document, error) -> {
+                            if (error != null) {
+                                callback.accept(null, error);
+                                return;
+                            }
+                            try {
+                                executor.execute(() -> convert(callback, () -> Optional.ofNullable(document)
+                                        .map(d -> converter.toEntity(entityClass,
+                                                CouchbaseDocuments.toEntity(collection, d.content())))));
+                            } catch (RuntimeException exception) {
+                                callback.accept(null, exception);
+                            }
+                        });
+        CouchbaseMultiGet<T> multiGet = new CouchbaseMultiGet<>(keys, maxConcurrency, get);
+        CouchbaseTimeouts.within(multiGet.result, timeout);
+        return multiGet.start();
+    }
+
+    CompletionStage<List<Optional<T>>> start() {
+        drain();
+        return result;
+    }
+
+    private void drain() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+        do {
+            Lookup lookup;
+            while ((lookup = next()) != null) {
+                submit(lookup.index, lookup.key);
+            }
+            completeWhenDone();
+        } while (wip.decrementAndGet() != 0);
+    }
+
+    /**
+     * @return the next get or null when no get can be submitted now
+     */
+    private synchronized Lookup next() {
+        if (exhausted || inFlight >= maxConcurrency || result.isDone()) {
+            return null;
+        }
+        try {
+            if (!keys.hasNext()) {
+                exhausted = true;
+                return null;
+            }
+            Object key = Objects.requireNonNull(keys.next(), "key is required");
+            results.add(Optional.empty());
+            inFlight++;
+            return new Lookup(results.size() - 1, key);
+        } catch (RuntimeException exception) {
+            exhausted = true;
+            result.completeExceptionally(exception);
+            return null;
+        }
+    }
+
+    private void submit(int index, Object key) {
+        try {
+            get.accept(key, (document, error) -> {
+                synchronized (this) {
+                    inFlight--;
+                    if (error != null) {
+                        exhausted = true;
+                    } else {
+                        results.set(index, document == null ? Optional.empty() : document);
+                    }
+                }
+                if (error != null) {
+                    result.completeExceptionally(error);
+                }
+                drain();
+            });
+        } catch (RuntimeException exception) {
+            synchronized (this) {
+                exhausted = true;
+                inFlight--;
+            }
+            result.completeExceptionally(exception);
+        }
+    }
+
+    private synchronized void completeWhenDone() {
+        if (exhausted && inFlight == 0 && !result.isDone()) {
+            result.complete(Collections.unmodifiableList(new ArrayList<>(results)));
+        }
+    }
+
+    private static <T> void convert(BiConsumer<Optional<T>, Throwable> callback,
+                                    Supplier<Optional<T>> conversion) {
+        Optional<T> entity;
+        try {
+            entity = conversion.get();
+        } catch (RuntimeException exception) {
+            callback.accept(null, exception);
+            return;
+        }
+        callback.accept(entity, null);
+    }
+
+    private static final class Lookup {
+
+        private final int index;
+
+        private final Object key;
+
+        private Lookup(int index, Object key) {
+            this.index = index;
+            this.key = key;
+        }
+    }
+}
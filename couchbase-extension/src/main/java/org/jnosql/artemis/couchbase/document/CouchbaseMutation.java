@@ -0,0 +1,209 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.couchbase.document;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The sub-document mutations of a single document, applied by
+ * {@link CouchbaseDocumentRepository#mutate(Class, Object, CouchbaseMutation)} in one atomic round trip that just
+ * sends the changed paths instead of the whole document. A path starts with either a field of the entity or the
+ * column name, nested documents and arrays use the Couchbase path syntax, e.g. address.city or phones[0].
+ * This class is not thread safe.
+ */
+public final class CouchbaseMutation {
+
+    private final List<Operation> operations = new ArrayList<>();
+
+    private Long cas;
+
+    private Duration expiry;
+
+    private CouchbaseMutation() {
+    }
+
+    /**
+     * Sets the value on the path, creating the parent documents that do not exist
+     *
+     * @param path  the path
+     * @param value the value, either a String, Number, Boolean, Map, Iterable, enum or null
+     * @return this mutation
+     * @throws NullPointerException when path is null
+     */
+    public CouchbaseMutation set(String path, Object value) throws NullPointerException {
+        operations.add(new Operation(OperationType.SET, path, value));
+        return this;
+    }
+
+    /**
+     * Adds the delta to the number on the path, the number starts at zero when the path does not exist
+     *
+     * @param path  the path
+     * @param delta the delta, negative to decrement
+     * @return this mutation
+     * @throws NullPointerException when path is null
+     */
+    public CouchbaseMutation increment(String path, long delta) throws NullPointerException {
+        operations.add(new Operation(OperationType.INCREMENT, path, delta));
+        return this;
+    }
+
+    /**
+     * Appends the values to the end of the array on the path, the array is created when the path does not exist
+     *
+     * @param path   the path
+     * @param values the values
+     * @return this mutation
+     * @throws NullPointerException     when either path or values are null
+     * @throws IllegalArgumentException when there is not value
+     */
+    public CouchbaseMutation arrayAppend(String path, Object... values) throws NullPointerException,
+            IllegalArgumentException {
+        Objects.requireNonNull(values, "values is required");
+        if (values.length == 0) {
+            throw new IllegalArgumentException("The array append must have at least one value");
+        }
+        operations.add(new Operation(OperationType.ARRAY_APPEND, path, Arrays.asList(values)));
+        return this;
+    }
+
+    /**
+     * Removes the path
+     *
+     * @param path the path
+     * @return this mutation
+     * @throws NullPointerException when path is null
+     */
+    public CouchbaseMutation remove(String path) throws NullPointerException {
+        operations.add(new Operation(OperationType.REMOVE, path, null));
+        return this;
+    }
+
+    /**
+     * The mutation just succeeds when the document still has this CAS, otherwise it fails with
+     * {@link com.couchbase.client.java.error.CASMismatchException}
+     *
+     * @param cas the CAS read from the document
+     * @return this mutation
+     */
+    public CouchbaseMutation withCas(long cas) {
+        this.cas = cas;
+        return this;
+    }
+
+    /**
+     * Sets the expiry of the document, counted from the time the mutation is executed
+     *
+     * @param expiry the expiry
+     * @return this mutation
+     * @throws NullPointerException     when expiry is null
+     * @throws IllegalArgumentException when expiry is not greater than zero
+     */
+    public CouchbaseMutation withExpiry(Duration expiry) throws NullPointerException, IllegalArgumentException {
+        Objects.requireNonNull(expiry, "expiry is required");
+        if (expiry.isNegative() || expiry.isZero()) {
+            throw new IllegalArgumentException("The expiry must be greater than zero: " + expiry);
+        }
+        this.expiry = expiry;
+        return this;
+    }
+
+    /**
+     * @return the CAS that the document must have
+     */
+    public Optional<Long> getCas() {
+        return Optional.ofNullable(cas);
+    }
+
+    /**
+     * @return the expiry of the document
+     */
+    public Optional<Duration> getExpiry() {
+        return Optional.ofNullable(expiry);
+    }
+
+    List<Operation> getOperations() {
+        return Collections.unmodifiableList(operations);
+    }
+
+    /**
+     * @return a new mutation without operations
+     */
+    public static CouchbaseMutation create() {
+        return new CouchbaseMutation();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("CouchbaseMutation{");
+        sb.append("operations=").append(operations);
+        sb.append(", cas=").append(cas);
+        sb.append(", expiry=").append(expiry);
+        sb.append('}');
+        return sb.toString();
+    }
+
+    enum OperationType {
+        SET, INCREMENT, ARRAY_APPEND, REMOVE
+    }
+
+    static final class Operation {
+
+        private final OperationType type;
+
+        private final String path;
+
+        private final Object value;
+
+        private Operation(OperationType type, String path, Object value) {
+            this.type = type;
+            this.path = Objects.requireNonNull(path, "path is required");
+            this.value = value;
+        }
+
+        OperationType getType() {
+            return type;
+        }
+
+        String getPath() {
+            return path;
+        }
+
+        Object getValue() {
+            return value;
+        }
+
+        @Override
+        public String toString() {
+            final StringBuilder sb = new StringBuilder("Operation{");
+            sb.append("type=").append(type);
+            sb.append(", path='").append(path).append('\'');
+            sb.append(", value=").append(value);
+            sb.append('}');
+            return sb.toString();
+        }
+    }
+}
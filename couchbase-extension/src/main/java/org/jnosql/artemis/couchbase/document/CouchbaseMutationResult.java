@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.couchbase.document;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * The result of a {@link CouchbaseMutation}
+ */
+public final class CouchbaseMutationResult {
+
+    private final long cas;
+
+    private final Map<String, Long> counters;
+
+    CouchbaseMutationResult(long cas, Map<String, Long> counters) {
+        this.cas = cas;
+        this.counters = Collections.unmodifiableMap(counters);
+    }
+
+    /**
+     * @return the CAS of the document after the mutation, to use on the next {@link CouchbaseMutation#withCas(long)}
+     */
+    public long getCas() {
+        return cas;
+    }
+
+    /**
+     * @param path the path of an increment, as given to {@link CouchbaseMutation#increment(String, long)}
+     * @return the value of the counter after the mutation
+     */
+    public Optional<Long> getCounter(String path) {
+        return Optional.ofNullable(counters.get(path));
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("CouchbaseMutationResult{");
+        sb.append("cas=").append(cas);
+        sb.append(", counters=").append(counters);
+        sb.append('}');
+        return sb.toString();
+    }
+}
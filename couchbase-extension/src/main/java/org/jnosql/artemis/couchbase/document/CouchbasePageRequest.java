@@ -0,0 +1,132 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.couchbase.document;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Asks for a page of a query ordered by the keyset fields. The first page has no continuation, the next ones use
+ * the continuation of the previous {@link CouchbaseSlice}, so each page seeks straight to the first row after the
+ * last one read instead of skipping rows as an OFFSET does. The keyset fields should be indexed and end with a
+ * unique field, e.g. the key, so that no two rows share the same keyset.
+ */
+public final class CouchbasePageRequest {
+
+    private final int size;
+
+    private final List<String> fields;
+
+    private final boolean descending;
+
+    private final String continuation;
+
+    private CouchbasePageRequest(int size, List<String> fields, boolean descending, String continuation) {
+        this.size = size;
+        this.fields = fields;
+        this.descending = descending;
+        this.continuation = continuation;
+    }
+
+    /**
+     * @return the max number of rows of the page
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * @return the document names the rows are ordered by
+     */
+    public List<String> getFields() {
+        return fields;
+    }
+
+    /**
+     * @return true when the rows are ordered descending
+     */
+    public boolean isDescending() {
+        return descending;
+    }
+
+    /**
+     * @return the continuation of the previous page, empty on the first page
+     */
+    public Optional<String> getContinuation() {
+        return Optional.ofNullable(continuation);
+    }
+
+    /**
+     * @return this page request ordered descending
+     */
+    public CouchbasePageRequest descending() {
+        return new CouchbasePageRequest(size, fields, true, continuation);
+    }
+
+    /**
+     * Returns the page request that continues after a previous page
+     *
+     * @param continuation the continuation returned by {@link CouchbaseSlice#getContinuation()}
+     * @return the page request of the next page
+     * @throws NullPointerException when continuation is null
+     */
+    public CouchbasePageRequest withContinuation(String continuation) throws NullPointerException {
+        Objects.requireNonNull(continuation, "continuation is required");
+        return new CouchbasePageRequest(size, fields, descending, continuation);
+    }
+
+    /**
+     * Creates the request of the first page ordered ascending by the fields
+     *
+     * @param size   the max number of rows of the page
+     * @param fields the document names the rows are ordered by
+     * @return a new {@link CouchbasePageRequest}
+     * @throws NullPointerException     when fields or any field is null
+     * @throws IllegalArgumentException when size is not greater than zero or there is not field
+     */
+    public static CouchbasePageRequest of(int size, String... fields) throws NullPointerException,
+            IllegalArgumentException {
+        Objects.requireNonNull(fields, "fields is required");
+        if (size <= 0) {
+            throw new IllegalArgumentException("The page size must be greater than zero: " + size);
+        }
+        if (fields.length == 0) {
+            throw new IllegalArgumentException("The page request must have at least one keyset field");
+        }
+        List<String> names = new ArrayList<>(Arrays.asList(fields));
+        names.forEach(f -> Objects.requireNonNull(f, "field is required"));
+        return new CouchbasePageRequest(size, Collections.unmodifiableList(names), false, null);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("CouchbasePageRequest{");
+        sb.append("size=").append(size);
+        sb.append(", fields=").append(fields);
+        sb.append(", descending=").append(descending);
+        sb.append(", continuation='").append(continuation).append('\'');
+        sb.append('}');
+        return sb.toString();
+    }
+}
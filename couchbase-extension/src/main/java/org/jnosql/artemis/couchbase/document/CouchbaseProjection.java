@@ -0,0 +1,331 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.couchbase.document;
+
+import org.jnosql.artemis.Column;
+import org.jnosql.artemis.Entity;
+import org.jnosql.diana.api.Value;
+import org.jnosql.diana.api.document.Document;
+import org.jnosql.diana.api.document.DocumentEntity;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Proxy;
+import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Maps a document to a projection, either an interface whose getters name the documents or a class with a
+ * no-arg constructor whose fields name the documents, {@link Column} can rename a field. Only the projected documents
+ * are converted, and a N1QL that selects * from a single keyspace is rewritten to select just them. The rewritten
+ * query keeps the row shape diana reads, an object named after the keyspace, while the projected fields are read from
+ * the alias when the query has one. It reads the key from the document metadata because the key is not a field of
+ * the stored document. Any other query, e.g. with a join, is kept as it is.
+ *
+ * @param <P> the projection type
+ */
+final class CouchbaseProjection<P> {
+
+    private static final String CLAUSES = "WHERE|USE|LET|GROUP|ORDER|LIMIT|OFFSET";
+
+    private static final String KEYWORDS = CLAUSES + "|AS|ON|JOIN|INNER|LEFT|RIGHT|OUTER|NEST|UNNEST";
+
+    /**
+     * select * from a keyspace, an optional alias and the clauses that do not change the row shape
+     */
+    private static final Pattern SELECT_ALL = Pattern.compile(
+            "^(\\s*SELECT\\s+)\\*(\\s+FROM\\s+(?:(?:`[^`]+`|[\\w-]+):)?(`[^`]+`|[\\w-]+)"
+                    + "(?:(?:\\s+AS)?\\s+(?!(?:" + KEYWORDS + ")\\b)(`[^`]+`|\\w+))?)"
+                    + "(\\s*;?\\s*|\\s+(?:" + CLAUSES + ")\\b.*)$",
+            Pattern.CASE_INSENSITIVE | Pattern.DOTALL);
+
+    private static final List<String> IGNORED_PACKAGES = Arrays.asList("java.", "com.couchbase.", "org.jnosql.");
+
+    /**
+     * The projection of each type, a {@link ClassValue} keeps it with the type so it does not pin the class loader
+     */
+    private static final ClassValue<CouchbaseProjection<?>> CACHE = new ClassValue<CouchbaseProjection<?>>() {
+        @Override
+        protected CouchbaseProjection<?> computeValue(Class<?> type) {
+            return create(type);
+        }
+    };
+
+    private static final Map<Class<?>, Class<?>> WRAPPERS = new HashMap<>();
+
+    private static final Map<Class<?>, Object> DEFAULTS = new HashMap<>();
+
+    static {
+        WRAPPERS.put(boolean.class, Boolean.class);
+        WRAPPERS.put(byte.class, Byte.class);
+        WRAPPERS.put(char.class, Character.class);
+        WRAPPERS.put(short.class, Short.class);
+        WRAPPERS.put(int.class, Integer.class);
+        WRAPPERS.put(long.class, Long.class);
+        WRAPPERS.put(float.class, Float.class);
+        WRAPPERS.put(double.class, Double.class);
+        DEFAULTS.put(boolean.class, false);
+        DEFAULTS.put(byte.class, (byte) 0);
+        DEFAULTS.put(char.class, '\0');
+        DEFAULTS.put(short.class, (short) 0);
+        DEFAULTS.put(int.class, 0);
+        DEFAULTS.put(long.class, 0L);
+        DEFAULTS.put(float.class, 0F);
+        DEFAULTS.put(double.class, 0D);
+    }
+
+    private final Class<P> type;
+
+    private final Map<String, Class<?>> properties;
+
+    private final Map<String, String> documents;
+
+    private final Constructor<P> constructor;
+
+    private final Map<String, Field> fields;
+
+    private CouchbaseProjection(Class<P> type, Map<String, Class<?>> properties, Map<String, String> documents,
+                                Constructor<P> constructor, Map<String, Field> fields) {
+        this.type = type;
+        this.properties = properties;
+        this.documents = documents;
+        this.constructor = constructor;
+        this.fields = fields;
+    }
+
+    /**
+     * @return the documents read by the projection
+     */
+    Collection<String> getDocuments() {
+        return documents.values();
+    }
+
+    /**
+     * @return the query selecting just the projected documents when it selects * from a keyspace, otherwise the
+     * query itself
+     */
+    String select(String n1qlQuery) {
+        Matcher matcher = SELECT_ALL.matcher(n1qlQuery);
+        if (!matcher.matches()) {
+            return n1qlQuery;
+        }
+        String keyspace = '`' + matcher.group(3).replace("`", "") + '`';
+        String alias = matcher.group(4) == null ? keyspace : '`' + matcher.group(4).replace("`", "") + '`';
+        String selectList = documents.values().stream().distinct().map(d -> toSelectItem(alias, d))
+                .collect(Collectors.joining(", ", "{", "}"));
+        return matcher.group(1) + selectList + " AS " + keyspace + matcher.group(2) + matcher.group(5);
+    }
+
+    P toProjection(DocumentEntity entity) {
+        Map<String, Object> values = new HashMap<>();
+        for (Map.Entry<String, String> property : documents.entrySet()) {
+            Object value = entity.find(property.getValue()).map(Document::get).orElse(null);
+            values.put(property.getKey(), convert(value, properties.get(property.getKey())));
+        }
+        if (constructor == null) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type},
+                    new ProjectionHandler(type, values)));
+        }
+        try {
+            P projection = constructor.newInstance();
+            for (Map.Entry<String, Field> field : fields.entrySet()) {
+                Object value = values.get(field.getKey());
+                if (value != null) {
+                    field.getValue().set(projection, value);
+                }
+            }
+            return projection;
+        } catch (ReflectiveOperationException exception) {
+            throw new IllegalStateException("Error when creating the projection " + type.getName(), exception);
+        }
+    }
+
+    /**
+     * @return the projection type of the method, when its result is neither an {@link Entity} nor a library type
+     */
+    static Optional<Class<?>> projectionType(Method method, Class<?> entityClass) {
+        Class<?> elementType = elementType(method);
+        if (elementType == null || elementType.equals(entityClass) || elementType.isAnnotationPresent(Entity.class)
+                || elementType.isPrimitive() || elementType.isArray() || elementType.isEnum()
+                || IGNORED_PACKAGES.stream().anyMatch(elementType.getName()::startsWith)) {
+            return Optional.empty();
+        }
+        if (elementType.isInterface()) {
+            return Optional.of(elementType);
+        }
+        try {
+            elementType.getDeclaredConstructor();
+            return Optional.of(elementType);
+        } catch (NoSuchMethodException exception) {
+            return Optional.empty();
+        }
+    }
+
+    static <P> CouchbaseProjection<P> of(Class<P> type) {
+        Objects.requireNonNull(type, "type is required");
+        return (CouchbaseProjection<P>) CACHE.get(type);
+    }
+
+    private static <P> CouchbaseProjection<P> create(Class<P> type) {
+        Map<String, Class<?>> properties = new LinkedHashMap<>();
+        Map<String, String> documents = new LinkedHashMap<>();
+        if (type.isInterface()) {
+            for (Method method : type.getMethods()) {
+                if (method.getParameterCount() != 0 || void.class.equals(method.getReturnType())
+                        || method.isDefault() || Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                String property = toProperty(method.getName());
+                properties.put(method.getName(), method.getReturnType());
+                documents.put(method.getName(), property);
+            }
+            if (documents.isEmpty()) {
+                throw new IllegalArgumentException("The projection has no getter: " + type.getName());
+            }
+            return new CouchbaseProjection<>(type, properties, documents, null, Collections.emptyMap());
+        }
+
+        Constructor<P> constructor;
+        try {
+            constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+        } catch (NoSuchMethodException exception) {
+            throw new IllegalArgumentException("The projection must have a no-arg constructor: " + type.getName());
+        }
+        Map<String, Field> fields = new LinkedHashMap<>();
+        for (Class<?> current = type; current != null && !Object.class.equals(current);
+             current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()
+                        || fields.containsKey(field.getName())) {
+                    continue;
+                }
+                field.setAccessible(true);
+                Column column = field.getAnnotation(Column.class);
+                String document = column == null || column.value().trim().isEmpty() ? field.getName() : column.value();
+                fields.put(field.getName(), field);
+                properties.put(field.getName(), field.getType());
+                documents.put(field.getName(), document);
+            }
+        }
+        if (documents.isEmpty()) {
+            throw new IllegalArgumentException("The projection has no field: " + type.getName());
+        }
+        return new CouchbaseProjection<>(type, properties, documents, constructor, fields);
+    }
+
+    private static Class<?> elementType(Method method) {
+        Type returnType = method.getGenericReturnType();
+        if (Class.class.isInstance(returnType)) {
+            return Class.class.cast(returnType);
+        }
+        if (!ParameterizedType.class.isInstance(returnType)) {
+            return null;
+        }
+        ParameterizedType parameterized = ParameterizedType.class.cast(returnType);
+        Type raw = parameterized.getRawType();
+        boolean container = Stream.of(List.class, Collection.class, Iterable.class, Set.class, Queue.class,
+                Stream.class, Optional.class).anyMatch(raw::equals);
+        Type element = parameterized.getActualTypeArguments()[0];
+        if (!container || !Class.class.isInstance(element)) {
+            return null;
+        }
+        return Class.class.cast(element);
+    }
+
+    private static String toSelectItem(String alias, String document) {
+        String value = CouchbaseKeyLookup.KEY.equals(document) ? "META(" + alias + ").id"
+                : alias + ".`" + document + '`';
+        return '"' + document + "\": " + value;
+    }
+
+    private static String toProperty(String methodName) {
+        if (methodName.startsWith("get") && methodName.length() > 3) {
+            return decapitalize(methodName.substring(3));
+        }
+        if (methodName.startsWith("is") && methodName.length() > 2) {
+            return decapitalize(methodName.substring(2));
+        }
+        return methodName;
+    }
+
+    private static String decapitalize(String name) {
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static Object convert(Object value, Class<?> type) {
+        Class<?> wrapper = WRAPPERS.getOrDefault(type, type);
+        if (value == null) {
+            return DEFAULTS.get(type);
+        }
+        if (wrapper.isInstance(value)) {
+            return value;
+        }
+        return Value.of(value).get(wrapper);
+    }
+
+    private static final class ProjectionHandler implements InvocationHandler {
+
+        private final Class<?> type;
+
+        private final Map<String, Object> values;
+
+        private ProjectionHandler(Class<?> type, Map<String, Object> values) {
+            this.type = type;
+            this.values = values;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "equals":
+                    return args != null && args.length == 1 && proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return type.getSimpleName() + values;
+                default:
+            }
+            if (!values.containsKey(method.getName())) {
+                throw new UnsupportedOperationException("The projection does not support " + method);
+            }
+            return values.get(method.getName());
+        }
+    }
+}
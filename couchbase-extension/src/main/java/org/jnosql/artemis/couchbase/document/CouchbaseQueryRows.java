@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.couchbase.document;
+
+import com.couchbase.client.java.Bucket;
+import com.couchbase.client.java.error.QueryExecutionException;
+import com.couchbase.client.java.query.AsyncN1qlQueryRow;
+import com.couchbase.client.java.query.N1qlQuery;
+import org.jnosql.diana.api.document.DocumentEntity;
+import rx.Observable;
+import rx.subjects.PublishSubject;
+
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Runs a N1QL query on the asynchronous {@link Bucket} and gives its rows as a {@link Stream} while the query
+ * service sends them, so the rows are not loaded into a list first. The rows are requested in small batches as the
+ * stream reads them, closing the stream cancels the query. A query that does not send a row within
+ * {@link CouchbaseTimeouts#DEFAULT_TIMEOUT} fails with {@link java.util.concurrent.TimeoutException} and the errors
+ * of the query service with {@link QueryExecutionException}.
+ */
+final class CouchbaseQueryRows {
+
+    private CouchbaseQueryRows() {
+    }
+
+    /**
+     * @return the entities of the select * rows, a row without a document under the bucket name is skipped
+     */
+    static Stream<DocumentEntity> stream(Bucket bucket, N1qlQuery query) {
+        String name = bucket.name();
+        return rows(bucket, query)
+                .map(row -> CouchbaseDocuments.toEntity(row.value(), name))
+                .filter(Optional::isPresent)
+                .map(Optional::get);
+    }
+
+    private static Stream<AsyncN1qlQueryRow> rows(Bucket bucket, N1qlQuery query) {
+        PublishSubject<Boolean> closed = PublishSubject.create();
+        Iterator<AsyncN1qlQueryRow> rows = bucket.async().query(query)
+                .flatMap(result -> result.rows().concatWith(result.errors()
+                        .flatMap(error -> Observable.<AsyncN1qlQueryRow>error(
+                                new QueryExecutionException("Error when running the N1QL query", error)))))
+                .timeout(CouchbaseTimeouts.DEFAULT_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)
+                .takeUntil(closed)
+                .toBlocking()
+                .getIterator();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(rows, Spliterator.ORDERED), false)
+                .onClose(() -> closed.onNext(Boolean.TRUE));
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.couchbase.document;
+
+import com.couchbase.client.core.BackpressureException;
+import com.couchbase.client.java.error.TemporaryFailureException;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * How {@link CouchbaseDocumentRepositoryAsync#saveBulk(Iterable, int, CouchbaseRetryPolicy)} retries a write.
+ * A write is retried when the bucket fails it with a transient error: a {@link TemporaryFailureException} or a
+ * {@link BackpressureException}. A write that does not finish within the timeout is not retried, since it may have
+ * failed for good or still be applied, it is reported as failed instead. The wait before each retry grows
+ * exponentially from the initial backoff up to the max backoff, with jitter, so the retries of a bulk do not hit the
+ * server together.
+ */
+public final class CouchbaseRetryPolicy {
+
+    private static final CouchbaseRetryPolicy DEFAULT = new CouchbaseRetryPolicy(5, Duration.ofMillis(50),
+            Duration.ofSeconds(2), Duration.ofSeconds(10));
+
+    private final int maxAttempts;
+
+    private final Duration initialBackoff;
+
+    private final Duration maxBackoff;
+
+    private final Duration timeout;
+
+    private CouchbaseRetryPolicy(int maxAttempts, Duration initialBackoff, Duration maxBackoff, Duration timeout) {
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.timeout = timeout;
+    }
+
+    /**
+     * @return the max number of attempts of a write, the first one included
+     */
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    /**
+     * @return the wait before the first retry
+     */
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    /**
+     * @return the max wait before a retry
+     */
+    public Duration getMaxBackoff() {
+        return maxBackoff;
+    }
+
+    /**
+     * @return how long to wait for a write before taking it as failed
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    boolean isTransient(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof TemporaryFailureException || cause instanceof BackpressureException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return the wait in milliseconds before the given attempt
+     */
+    long backoff(int attempt) {
+        long max = initialBackoff.toMillis() << Math.min(attempt - 1, 20);
+        long bound = Math.min(Math.max(max, 1L), maxBackoff.toMillis());
+        return bound / 2 + ThreadLocalRandom.current().nextLong(bound / 2 + 1);
+    }
+
+    /**
+     * @return the policy with 5 attempts, a backoff from 50 milliseconds to 2 seconds and a 10 seconds timeout
+     */
+    public static CouchbaseRetryPolicy defaultPolicy() {
+        return DEFAULT;
+    }
+
+    /**
+     * @return the policy that never retries, with a 10 seconds timeout
+     */
+    public static CouchbaseRetryPolicy noRetry() {
+        return of(1, Duration.ZERO, Duration.ZERO, DEFAULT.timeout);
+    }
+
+    /**
+     * Creates a retry policy
+     *
+     * @param maxAttempts    the max number of attempts of a write, the first one included
+     * @param initialBackoff the wait before the first retry
+     * @param maxBackoff     the max wait before a retry
+     * @param timeout        how long to wait for a write
+     * @return a new {@link CouchbaseRetryPolicy}
+     * @throws NullPointerException     when any duration is null
+     * @throws IllegalArgumentException when maxAttempts or timeout are not greater than zero, or a backoff is negative
+     */
+    public static CouchbaseRetryPolicy of(int maxAttempts, Duration initialBackoff, Duration maxBackoff,
+                                          Duration timeout) throws NullPointerException, IllegalArgumentException {
+        Objects.requireNonNull(initialBackoff, "initialBackoff is required");
+        Objects.requireNonNull(maxBackoff, "maxBackoff is required");
+        Objects.requireNonNull(timeout, "timeout is required");
+        if (maxAttempts <= 0) {
+            throw new IllegalArgumentException("The max attempts must be greater than zero: " + maxAttempts);
+        }
+        if (initialBackoff.isNegative() || maxBackoff.isNegative()) {
+            throw new IllegalArgumentException("The backoff cannot be negative");
+        }
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("The timeout must be greater than zero: " + timeout);
+        }
+        return new CouchbaseRetryPolicy(maxAttempts, initialBackoff, maxBackoff, timeout);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("CouchbaseRetryPolicy{");
+        sb.append("maxAttempts=").append(maxAttempts);
+        sb.append(", initialBackoff=").append(initialBackoff);
+        sb.append(", maxBackoff=").append(maxBackoff);
+        sb.append(", timeout=").append(timeout);
+        sb.append('}');
+        return sb.toString();
+    }
+}
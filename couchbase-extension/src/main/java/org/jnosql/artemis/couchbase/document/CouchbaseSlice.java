@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.couchbase.document;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * A page of the result of a query paged by keyset, see {@link CouchbasePageRequest}
+ *
+ * @param <T> the type of the content
+ */
+public final class CouchbaseSlice<T> {
+
+    private final List<T> content;
+
+    private final CouchbasePageRequest nextPage;
+
+    CouchbaseSlice(List<T> content, CouchbasePageRequest nextPage) {
+        this.content = content;
+        this.nextPage = nextPage;
+    }
+
+    /**
+     * @return the rows of the page
+     */
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * @return true when there is a next page
+     */
+    public boolean hasNext() {
+        return nextPage != null;
+    }
+
+    /**
+     * @return the continuation to give to {@link CouchbasePageRequest#withContinuation(String)}, empty on the
+     * last page
+     */
+    public Optional<String> getContinuation() {
+        return nextPage().flatMap(CouchbasePageRequest::getContinuation);
+    }
+
+    /**
+     * @return the request of the next page, empty on the last page
+     */
+    public Optional<CouchbasePageRequest> nextPage() {
+        return Optional.ofNullable(nextPage);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("CouchbaseSlice{");
+        sb.append("content=").append(content);
+        sb.append(", nextPage=").append(nextPage);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,168 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.couchbase.document;
+
+import com.couchbase.client.java.Bucket;
+import com.couchbase.client.java.error.DocumentDoesNotExistException;
+import com.couchbase.client.java.subdoc.DocumentFragment;
+import com.couchbase.client.java.subdoc.MutateInBuilder;
+import com.couchbase.client.java.subdoc.Mutation;
+import org.jnosql.artemis.reflection.ClassRepresentation;
+import org.jnosql.artemis.reflection.FieldRepresentation;
+import org.jnosql.diana.api.Value;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.jnosql.artemis.couchbase.document.CouchbaseKeyLookup.KEY;
+
+/**
+ * Applies a {@link CouchbaseMutation} with the sub-document API of the {@link Bucket}. The document is addressed by
+ * the key the Couchbase manager saves the entity with, the collection and the id, and the first segment of each
+ * path is turned from the entity field into its column name.
+ */
+final class CouchbaseSubDocument {
+
+    static final int MAX_PATHS = 16;
+
+    /**
+     * The longest expiry Couchbase takes as a number of seconds, a greater one is a Unix time
+     */
+    static final long MAX_RELATIVE_EXPIRY = Duration.ofDays(30).getSeconds();
+
+    private static final char KEY_SEPARATOR = ':';
+
+    private CouchbaseSubDocument() {
+    }
+
+    /**
+     * @throws IllegalArgumentException when the mutation has no path, more than {@value #MAX_PATHS} paths or
+     *                                  mutates the key
+     */
+    static CouchbaseMutationResult mutate(Bucket bucket, ClassRepresentation representation, Object id,
+                                          CouchbaseMutation mutation) {
+        return mutate(bucket, representation, id, mutation, Clock.systemUTC());
+    }
+
+    static CouchbaseMutationResult mutate(Bucket bucket, ClassRepresentation representation, Object id,
+                                          CouchbaseMutation mutation, Clock clock) {
+        List<CouchbaseMutation.Operation> operations = mutation.getOperations();
+        if (operations.isEmpty()) {
+            throw new IllegalArgumentException("The mutation must have at least one operation");
+        }
+        MutateInBuilder builder = bucket.mutateIn(key(representation.getName(), id));
+        Map<Integer, String> counters = new LinkedHashMap<>();
+        int paths = 0;
+        for (CouchbaseMutation.Operation operation : operations) {
+            String path = toPath(representation, operation.getPath());
+            switch (operation.getType()) {
+                case SET:
+                    builder.upsert(path, CouchbaseDocuments.toJson(operation.getValue()), true);
+                    paths++;
+                    break;
+                case INCREMENT:
+                    builder.counter(path, (Long) operation.getValue(), true);
+                    counters.put(paths++, operation.getPath());
+                    break;
+                case ARRAY_APPEND:
+                    for (Object value : (List<?>) operation.getValue()) {
+                        builder.arrayAppend(path, CouchbaseDocuments.toJson(value), true);
+                        paths++;
+                    }
+                    break;
+                case REMOVE:
+                    builder.remove(path);
+                    paths++;
+                    break;
+                default:
+                    throw new UnsupportedOperationException("The operation is not supported: " + operation);
+            }
+        }
+        if (paths > MAX_PATHS) {
+            throw new IllegalArgumentException("A mutation can change at most " + MAX_PATHS + " paths: " + paths);
+        }
+        mutation.getCas().ifPresent(builder::withCas);
+        mutation.getExpiry().ifPresent(e -> builder.withExpiry(toExpiry(e, clock)));
+
+        DocumentFragment<Mutation> fragment = builder.execute();
+        Map<String, Long> values = new LinkedHashMap<>();
+        counters.forEach((index, path) -> values.put(path, ((Number) fragment.content(index)).longValue()));
+        return new CouchbaseMutationResult(fragment.cas(), values);
+    }
+
+    static Optional<Long> findCas(Bucket bucket, ClassRepresentation representation, Object id) {
+        try {
+            return Optional.of(bucket.lookupIn(key(representation.getName(), id)).exists(KEY).execute().cas());
+        } catch (DocumentDoesNotExistException exception) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Converts the expiry to the value Couchbase expects: the seconds up to {@link #MAX_RELATIVE_EXPIRY}, the Unix
+     * time of the expiration above it. A fraction of a second is rounded up, since zero means no expiry.
+     *
+     * @throws IllegalArgumentException when the expiration is after the last Unix time Couchbase can store
+     */
+    static int toExpiry(Duration expiry, Clock clock) {
+        long seconds = expiry.getSeconds() + (expiry.getNano() > 0 ? 1 : 0);
+        if (seconds <= MAX_RELATIVE_EXPIRY) {
+            return (int) seconds;
+        }
+        long expiration = clock.instant().getEpochSecond() + seconds;
+        if (expiration > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("The expiry is too long: " + expiry);
+        }
+        return (int) expiration;
+    }
+
+    static String key(String collection, Object id) {
+        String key = Value.of(id).get(String.class);
+        if (key.startsWith(collection + KEY_SEPARATOR)) {
+            return key;
+        }
+        return collection + KEY_SEPARATOR + key;
+    }
+
+    static String toPath(ClassRepresentation representation, String path) {
+        int end = path.length();
+        for (int index = 0; index < path.length(); index++) {
+            if (path.charAt(index) == '.' || path.charAt(index) == '[') {
+                end = index;
+                break;
+            }
+        }
+        String head = path.substring(0, end);
+        String column = representation.getFields().stream()
+                .filter(f -> f.getField().getName().equals(head))
+                .map(FieldRepresentation::getName)
+                .findFirst().orElse(head);
+        if (column.isEmpty() || KEY.equals(column)) {
+            throw new IllegalArgumentException("The path is not a mutable path of " + representation.getName()
+                    + ": " + path);
+        }
+        return column + path.substring(end);
+    }
+}
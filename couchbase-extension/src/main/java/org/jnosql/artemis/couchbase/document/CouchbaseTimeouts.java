@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.couchbase.document;
+
+import rx.Observable;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * The timeouts of the async operations. The diana async manager just calls back on success, so an operation that
+ * fails on the server is only noticed when it does not call back within the timeout.
+ */
+final class CouchbaseTimeouts {
+
+    static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(30);
+
+    private CouchbaseTimeouts() {
+    }
+
+    /**
+     * Completes the future with {@link TimeoutException} when it is not completed within the timeout
+     *
+     * @return the future itself
+     */
+    static <T> CompletableFuture<T> within(CompletableFuture<T> future, Duration timeout) {
+        return within(future, timeout, scheduler());
+    }
+
+    static <T> CompletableFuture<T> within(CompletableFuture<T> future, Duration timeout,
+                                           ScheduledExecutorService scheduler) {
+        Objects.requireNonNull(timeout, "timeout is required");
+        long millis = timeout.toMillis();
+        ScheduledFuture<?> timer = scheduler.schedule(() -> future.completeExceptionally(
+                new TimeoutException("The operation did not finish in " + millis + " ms")),
+                millis, TimeUnit.MILLISECONDS);
+        future.whenComplete((result, error) -> timer.cancel(false));
+        return future;
+    }
+
+    /**
+     * Adapts a callback based call to {@link java.util.concurrent.CompletionStage} that fails with
+     * {@link TimeoutException} when the callback is not called within {@link #DEFAULT_TIMEOUT}, an exception thrown
+     * when the call is submitted completes the stage exceptionally.
+     */
+    static <T> CompletableFuture<T> toStage(Consumer<Consumer<T>> call) {
+        return toStage(call, DEFAULT_TIMEOUT, scheduler());
+    }
+
+    static <T> CompletableFuture<T> toStage(Consumer<Consumer<T>> call, Duration timeout,
+                                            ScheduledExecutorService scheduler) {
+        CompletableFuture<T> future = within(new CompletableFuture<>(), timeout, scheduler);
+        try {
+            call.accept(future::complete);
+        } catch (RuntimeException exception) {
+            future.completeExceptionally(exception);
+        }
+        return future;
+    }
+
+    /**
+     * Adapts an {@link Observable} of the asynchronous bucket to a {@link CompletableFuture} completed with its last
+     * element, or null when it is empty, and completed exceptionally with its error.
+     */
+    static <T> CompletableFuture<T> toFuture(Observable<T> observable) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        observable.lastOrDefault(null).subscribe(future::complete, future::completeExceptionally);
+        return future;
+    }
+
+    /**
+     * @return the daemon scheduler that runs the timeouts of this module
+     */
+    static ScheduledExecutorService scheduler() {
+        return SchedulerHolder.INSTANCE;
+    }
+
+    private static final class SchedulerHolder {
+
+        private static final ScheduledExecutorService INSTANCE = newScheduler();
+
+        private static ScheduledExecutorService newScheduler() {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, runnable -> {
+                Thread thread = new Thread(runnable, "couchbase-timeout");
+                thread.setDaemon(true);
+                return thread;
+            });
+            executor.setRemoveOnCancelPolicy(true);
+            return executor;
+        }
+    }
+}
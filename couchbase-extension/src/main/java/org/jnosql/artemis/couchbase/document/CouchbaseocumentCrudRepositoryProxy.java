@@ -22,6 +22,7 @@ package org.jnosql.artemis.couchbase.document;
 
 import com.couchbase.client.java.document.json.JsonObject;
 import org.jnosql.artemis.CrudRepository;
+import org.jnosql.artemis.DynamicQueryException;
 import org.jnosql.artemis.document.DocumentRepository;
 import org.jnosql.artemis.document.query.AbstractDocumentCrudRepository;
 import org.jnosql.artemis.document.query.DocumentQueryDeleteParser;
@@ -35,7 +36,9 @@ import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Method;
 import java.lang.reflect.ParameterizedType;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -55,6 +58,9 @@ class CouchbaseocumentCrudRepositoryProxy<T> implements InvocationHandler {
 
     private final DocumentQueryDeleteParser deleteQueryParser;
 
+    private final Map<Method, CouchbaseKeyLookup> keyLookups = new HashMap<>();
+
+    private final Map<Method, Class<?>> projections = new HashMap<>();
 
     CouchbaseocumentCrudRepositoryProxy(CouchbaseDocumentRepository repository, ClassRepresentations classRepresentations, Class<?> repositoryType) {
         this.repository = repository;
@@ -64,6 +70,10 @@ class CouchbaseocumentCrudRepositoryProxy<T> implements InvocationHandler {
         this.classRepresentation = classRepresentations.get(typeClass);
         this.queryParser = new DocumentQueryParser();
         this.deleteQueryParser = new DocumentQueryDeleteParser();
+        for (Method method : repositoryType.getMethods()) {
+            CouchbaseKeyLookup.of(method, classRepresentation).ifPresent(k -> keyLookups.put(method, k));
+            CouchbaseProjection.projectionType(method, typeClass).ifPresent(p -> projections.put(method, p));
+        }
     }
 
 
@@ -71,13 +81,31 @@ class CouchbaseocumentCrudRepositoryProxy<T> implements InvocationHandler {
     public Object invoke(Object o, Method method, Object[] args) throws Throwable {
 
         N1QL n1QL = method.getAnnotation(N1QL.class);
+        if (CouchbaseSlice.class.equals(method.getReturnType())) {
+            return findSlice(n1QL, method, args);
+        }
+        Class<?> projection = projections.get(method);
+        if (Objects.nonNull(n1QL) && projection != null) {
+            JsonObject params = getParams(args).orElse(null);
+            if (Stream.class.equals(method.getReturnType())) {
+                return repository.n1qlPreparedQueryStream(n1QL.value(), params, projection);
+            }
+            List<?> result = repository.n1qlPreparedQuery(n1QL.value(), params, projection);
+            return ReturnTypeConverterUtil.returnObject(result, projection, method);
+        }
         if (Objects.nonNull(n1QL)) {
             List<T> result = Collections.emptyList();
             Optional<JsonObject> params = getParams(args);
+            if (Stream.class.equals(method.getReturnType())) {
+                if (params.isPresent()) {
+                    return repository.n1qlPreparedQueryStream(n1QL.value(), params.get());
+                }
+                return repository.n1qlPreparedQueryStream(n1QL.value());
+            }
             if (params.isPresent()) {
-                result = repository.n1qlQuery(n1QL.value(), params.get());
+                result = repository.n1qlPreparedQuery(n1QL.value(), params.get());
             } else {
-                result = repository.n1qlQuery(n1QL.value());
+                result = repository.n1qlPreparedQuery(n1QL.value());
             }
             return ReturnTypeConverterUtil.returnObject(result, typeClass, method);
         }
@@ -91,9 +119,17 @@ class CouchbaseocumentCrudRepositoryProxy<T> implements InvocationHandler {
             default:
 
         }
+        CouchbaseKeyLookup keyLookup = keyLookups.get(method);
+        if (keyLookup != null && projection == null) {
+            return ReturnTypeConverterUtil.returnObject(keyLookup.find(repository, typeClass, args), typeClass,
+                    method);
+        }
+        if (keyLookup != null) {
+            return find(keyLookup.toQuery(args), method, projection);
+        }
         if (methodName.startsWith("findBy")) {
             DocumentQuery query = queryParser.parse(methodName, args, classRepresentation);
-            return ReturnTypeConverterUtil.returnObject(query, repository, typeClass, method);
+            return find(query, method, projection);
         } else if (methodName.startsWith("deleteBy")) {
             DocumentDeleteQuery query = deleteQueryParser.parse(methodName, args, classRepresentation);
             repository.delete(query);
@@ -102,6 +138,30 @@ class CouchbaseocumentCrudRepositoryProxy<T> implements InvocationHandler {
         return null;
     }
 
+    private Object find(DocumentQuery query, Method method, Class<?> projection) {
+        if (projection == null) {
+            return ReturnTypeConverterUtil.returnObject(query, repository, typeClass, method);
+        }
+        return ReturnTypeConverterUtil.returnObject(repository.find(query, projection), projection, method);
+    }
+
+    private CouchbaseSlice<T> findSlice(N1QL n1QL, Method method, Object[] args) {
+        CouchbasePageRequest page = Stream.of(Optional.ofNullable(args).orElse(new Object[0]))
+                .filter(CouchbasePageRequest.class::isInstance)
+                .map(CouchbasePageRequest.class::cast)
+                .findFirst()
+                .orElseThrow(() -> new DynamicQueryException("On a method that returns a CouchbaseSlice you must "
+                        + "put a CouchbasePageRequest as parameter: " + method));
+        if (Objects.nonNull(n1QL)) {
+            return repository.n1qlPreparedQuerySlice(n1QL.value(), getParams(args).orElse(null), page);
+        }
+        if (method.getName().startsWith("findBy")) {
+            DocumentQuery query = queryParser.parse(method.getName(), args, classRepresentation);
+            return repository.findSlice(query, page);
+        }
+        throw new DynamicQueryException("Just the N1QL and findBy methods can return a CouchbaseSlice: " + method);
+    }
+
     private Optional<JsonObject> getParams(Object[] args) {
         return Stream.of(Optional.ofNullable(args).orElse(new Object[0]))
                 .filter(a -> JsonObject.class.isInstance(a))
@@ -20,20 +20,35 @@
 package org.jnosql.artemis.couchbase.document;
 
 
+import com.couchbase.client.java.Bucket;
+import com.couchbase.client.java.document.JsonDocument;
 import com.couchbase.client.java.document.json.JsonObject;
+import com.couchbase.client.java.query.N1qlParams;
+import com.couchbase.client.java.query.N1qlQuery;
 import com.couchbase.client.java.query.Statement;
 import org.jnosql.artemis.document.AbstractDocumentRepository;
 import org.jnosql.artemis.document.DocumentEntityConverter;
 import org.jnosql.artemis.document.DocumentEventPersistManager;
 import org.jnosql.artemis.document.DocumentWorkflow;
+import org.jnosql.artemis.reflection.ClassRepresentations;
 import org.jnosql.diana.api.document.DocumentCollectionManager;
+import org.jnosql.diana.api.document.DocumentEntity;
+import org.jnosql.diana.api.document.DocumentQuery;
 import org.jnosql.diana.couchbase.document.CouchbaseDocumentCollectionManager;
 
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * The Default implementation of {@link CouchbaseDocumentRepository}
@@ -41,6 +56,8 @@ import java.util.stream.Collectors;
 class DefaultCouchbaseDocumentRepository extends AbstractDocumentRepository
         implements CouchbaseDocumentRepository {
 
+    private static final Duration DEFAULT_FIND_BY_IDS_TIMEOUT = Duration.ofSeconds(30);
+
     private Instance<CouchbaseDocumentCollectionManager> manager;
 
     private DocumentEntityConverter converter;
@@ -49,14 +66,34 @@ class DefaultCouchbaseDocumentRepository extends AbstractDocumentRepository
 
     private DocumentEventPersistManager persistManager;
 
+    private ClassRepresentations classRepresentations;
+
+    private Instance<Bucket> bucket;
+
     @Inject
     DefaultCouchbaseDocumentRepository(Instance<CouchbaseDocumentCollectionManager> manager,
                                        DocumentEntityConverter converter, DocumentWorkflow flow,
-                                       DocumentEventPersistManager persistManager) {
+                                       DocumentEventPersistManager persistManager,
+                                       ClassRepresentations classRepresentations, Instance<Bucket> bucket) {
         this.manager = manager;
         this.converter = converter;
         this.flow = flow;
         this.persistManager = persistManager;
+        this.classRepresentations = classRepresentations;
+        this.bucket = bucket;
+    }
+
+    DefaultCouchbaseDocumentRepository(Instance<CouchbaseDocumentCollectionManager> manager,
+                                       DocumentEntityConverter converter, DocumentWorkflow flow,
+                                       DocumentEventPersistManager persistManager,
+                                       ClassRepresentations classRepresentations) {
+        this(manager, converter, flow, persistManager, classRepresentations, null);
+    }
+
+    DefaultCouchbaseDocumentRepository(Instance<CouchbaseDocumentCollectionManager> manager,
+                                       DocumentEntityConverter converter, DocumentWorkflow flow,
+                                       DocumentEventPersistManager persistManager) {
+        this(manager, converter, flow, persistManager, null, null);
     }
 
     DefaultCouchbaseDocumentRepository() {
@@ -84,39 +121,234 @@ class DefaultCouchbaseDocumentRepository extends AbstractDocumentRepository
 
     @Override
     public <T> List<T> n1qlQuery(String n1qlQuery, JsonObject params) throws NullPointerException {
+        return this.<T>n1qlQueryStream(n1qlQuery, params).collect(Collectors.toList());
+    }
+
+    @Override
+    public <T> List<T> n1qlQuery(Statement n1qlQuery, JsonObject params) throws NullPointerException {
+        return this.<T>n1qlQueryStream(n1qlQuery, params).collect(Collectors.toList());
+    }
+
+    @Override
+    public <T> List<T> n1qlQuery(String n1qlQuery) throws NullPointerException {
+        return this.<T>n1qlQueryStream(n1qlQuery).collect(Collectors.toList());
+    }
+
+    @Override
+    public <T> List<T> n1qlQuery(Statement n1qlQuery) throws NullPointerException {
+        return this.<T>n1qlQueryStream(n1qlQuery).collect(Collectors.toList());
+    }
+
+    @Override
+    public <T> Stream<T> n1qlQueryStream(String n1qlQuery, JsonObject params) throws NullPointerException {
         Objects.requireNonNull(n1qlQuery, "n1qlQuery is required");
         Objects.requireNonNull(params, "params is required");
-        return manager.get().n1qlQuery(n1qlQuery, params).stream()
-                .map(converter::toEntity)
-                .map(d -> (T) d)
-                .collect(Collectors.toList());
+        return streamQuery(N1qlQuery.parameterized(n1qlQuery, params),
+                () -> manager.get().n1qlQuery(n1qlQuery, params));
     }
 
     @Override
-    public <T> List<T> n1qlQuery(Statement n1qlQuery, JsonObject params) throws NullPointerException {
+    public <T> Stream<T> n1qlQueryStream(Statement n1qlQuery, JsonObject params) throws NullPointerException {
         Objects.requireNonNull(n1qlQuery, "n1qlQuery is required");
         Objects.requireNonNull(params, "params is required");
-        return manager.get().n1qlQuery(n1qlQuery, params).stream()
-                .map(converter::toEntity)
-                .map(d -> (T) d)
-                .collect(Collectors.toList());
+        return streamQuery(N1qlQuery.parameterized(n1qlQuery, params),
+                () -> manager.get().n1qlQuery(n1qlQuery, params));
     }
 
     @Override
-    public <T> List<T> n1qlQuery(String n1qlQuery) throws NullPointerException {
+    public <T> Stream<T> n1qlQueryStream(String n1qlQuery) throws NullPointerException {
         Objects.requireNonNull(n1qlQuery, "n1qlQuery is required");
-        return manager.get().n1qlQuery(n1qlQuery).stream()
-                .map(converter::toEntity)
-                .map(d -> (T) d)
-                .collect(Collectors.toList());
+        return streamQuery(N1qlQuery.simple(n1qlQuery), () -> manager.get().n1qlQuery(n1qlQuery));
     }
 
     @Override
-    public <T> List<T> n1qlQuery(Statement n1qlQuery) throws NullPointerException {
+    public <T> Stream<T> n1qlQueryStream(Statement n1qlQuery) throws NullPointerException {
+        Objects.requireNonNull(n1qlQuery, "n1qlQuery is required");
+        return streamQuery(N1qlQuery.simple(n1qlQuery), () -> manager.get().n1qlQuery(n1qlQuery));
+    }
+
+    @Override
+    public <T> List<T> n1qlPreparedQuery(String n1qlQuery, JsonObject params) throws NullPointerException {
+        return this.<T>n1qlPreparedQueryStream(n1qlQuery, params).collect(Collectors.toList());
+    }
+
+    @Override
+    public <T> List<T> n1qlPreparedQuery(String n1qlQuery) throws NullPointerException {
+        return this.<T>n1qlPreparedQueryStream(n1qlQuery).collect(Collectors.toList());
+    }
+
+    @Override
+    public <T> Stream<T> n1qlPreparedQueryStream(String n1qlQuery, JsonObject params) throws NullPointerException {
         Objects.requireNonNull(n1qlQuery, "n1qlQuery is required");
-        return manager.get().n1qlQuery(n1qlQuery).stream()
-                .map(converter::toEntity)
-                .map(d -> (T) d)
-                .collect(Collectors.toList());
+        Objects.requireNonNull(params, "params is required");
+        return toEntities(preparedQuery(n1qlQuery, params));
+    }
+
+    @Override
+    public <T> Stream<T> n1qlPreparedQueryStream(String n1qlQuery) throws NullPointerException {
+        Objects.requireNonNull(n1qlQuery, "n1qlQuery is required");
+        return toEntities(preparedQuery(n1qlQuery, null));
+    }
+
+    @Override
+    public <T> Optional<T> findById(Class<T> entityClass, Object id) throws NullPointerException {
+        Objects.requireNonNull(entityClass, "entityClass is required");
+        Objects.requireNonNull(id, "id is required");
+        String collection = getClassRepresentations("find by id").get(entityClass).getName();
+        if (bucket == null || bucket.isUnsatisfied()) {
+            return manager.get().find(CouchbaseKeyLookup.toQuery(collection, id)).stream()
+                    .findFirst().map(d -> converter.toEntity(entityClass, d));
+        }
+        JsonDocument document = bucket.get().get(CouchbaseSubDocument.key(collection, id));
+        return Optional.ofNullable(document)
+                .map(d -> converter.toEntity(entityClass, CouchbaseDocuments.toEntity(collection, d.content())));
+    }
+
+    @Override
+    public <T> List<Optional<T>> findByIds(Class<T> entityClass, Iterable<?> ids) throws NullPointerException {
+        return findByIds(entityClass, ids, CouchbaseMultiGet.DEFAULT_MAX_CONCURRENCY, DEFAULT_FIND_BY_IDS_TIMEOUT);
+    }
+
+    @Override
+    public <T> List<Optional<T>> findByIds(Class<T> entityClass, Iterable<?> ids, int maxConcurrency,
+                                           Duration timeout) throws NullPointerException, IllegalArgumentException {
+        Objects.requireNonNull(entityClass, "entityClass is required");
+        Objects.requireNonNull(ids, "ids is required");
+        Objects.requireNonNull(timeout, "timeout is required");
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("The max concurrency must be greater than zero: " + maxConcurrency);
+        }
+        String collection = getClassRepresentations("find by ids").get(entityClass).getName();
+        if (bucket == null || bucket.isUnsatisfied()) {
+            List<Optional<T>> entities = new ArrayList<>();
+            for (Object id : ids) {
+                Objects.requireNonNull(id, "id is required");
+                entities.add(manager.get().find(CouchbaseKeyLookup.toQuery(collection, id)).stream()
+                        .findFirst().map(d -> converter.toEntity(entityClass, d)));
+            }
+            return entities;
+        }
+
+        try {
+            return CouchbaseMultiGet.of(bucket.get().async(), converter,
+                    CouchbaseConversionExecutor.defaultExecutor(), collection, entityClass, ids, maxConcurrency,
+                    timeout).toCompletableFuture().get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) exception.getCause();
+            }
+            throw new IllegalStateException("Error when finding by ids", exception.getCause());
+        } catch (TimeoutException exception) {
+            throw new IllegalStateException("The find by ids did not finish in " + timeout, exception);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The find by ids was interrupted", exception);
+        }
+    }
+
+    @Override
+    public <P> List<P> n1qlPreparedQuery(String n1qlQuery, JsonObject params, Class<P> projection)
+            throws NullPointerException, IllegalArgumentException {
+        return n1qlPreparedQueryStream(n1qlQuery, params, projection).collect(Collectors.toList());
+    }
+
+    @Override
+    public <P> Stream<P> n1qlPreparedQueryStream(String n1qlQuery, JsonObject params, Class<P> projection)
+            throws NullPointerException, IllegalArgumentException {
+        Objects.requireNonNull(n1qlQuery, "n1qlQuery is required");
+        Objects.requireNonNull(projection, "projection is required");
+        CouchbaseProjection<P> mapper = CouchbaseProjection.of(projection);
+        return preparedQuery(mapper.select(n1qlQuery), params).map(mapper::toProjection);
+    }
+
+    @Override
+    public <P> List<P> find(DocumentQuery query, Class<P> projection)
+            throws NullPointerException, IllegalArgumentException {
+        Objects.requireNonNull(query, "query is required");
+        Objects.requireNonNull(projection, "projection is required");
+        CouchbaseProjection<P> mapper = CouchbaseProjection.of(projection);
+        return manager.get().find(query).stream().map(mapper::toProjection).collect(Collectors.toList());
+    }
+
+    @Override
+    public <T> CouchbaseSlice<T> n1qlPreparedQuerySlice(String n1qlQuery, JsonObject params,
+                                                        CouchbasePageRequest page)
+            throws NullPointerException, IllegalArgumentException {
+        Objects.requireNonNull(n1qlQuery, "n1qlQuery is required");
+        Objects.requireNonNull(page, "page is required");
+        List<DocumentEntity> documents;
+        try (Stream<DocumentEntity> rows = preparedQuery(CouchbaseKeyset.toN1QL(n1qlQuery, page),
+                CouchbaseKeyset.toParams(params, page))) {
+            documents = rows.collect(Collectors.toList());
+        }
+        return CouchbaseKeyset.toSlice(documents, page, d -> (T) converter.toEntity(d));
+    }
+
+    @Override
+    public <T> CouchbaseSlice<T> findSlice(DocumentQuery query, CouchbasePageRequest page)
+            throws NullPointerException, IllegalArgumentException {
+        Objects.requireNonNull(query, "query is required");
+        Objects.requireNonNull(page, "page is required");
+        List<DocumentEntity> documents = manager.get().find(CouchbaseKeyset.toQuery(query, page));
+        return CouchbaseKeyset.toSlice(documents, page, d -> (T) converter.toEntity(d));
+    }
+
+    @Override
+    public CouchbaseMutationResult mutate(Class<?> entityClass, Object id, CouchbaseMutation mutation)
+            throws NullPointerException, IllegalArgumentException, IllegalStateException {
+        Objects.requireNonNull(entityClass, "entityClass is required");
+        Objects.requireNonNull(id, "id is required");
+        Objects.requireNonNull(mutation, "mutation is required");
+        return CouchbaseSubDocument.mutate(getBucket(), getClassRepresentations("use sub-document mutations")
+                .get(entityClass), id, mutation);
+    }
+
+    @Override
+    public Optional<Long> findCas(Class<?> entityClass, Object id) throws NullPointerException,
+            IllegalStateException {
+        Objects.requireNonNull(entityClass, "entityClass is required");
+        Objects.requireNonNull(id, "id is required");
+        return CouchbaseSubDocument.findCas(getBucket(), getClassRepresentations("use sub-document mutations")
+                .get(entityClass), id);
+    }
+
+    private Bucket getBucket() {
+        if (bucket == null || bucket.isUnsatisfied()) {
+            throw new IllegalStateException("A com.couchbase.client.java.Bucket must be produced to use "
+                    + "sub-document mutations");
+        }
+        return bucket.get();
+    }
+
+    private ClassRepresentations getClassRepresentations(String operation) {
+        if (classRepresentations == null) {
+            throw new IllegalStateException("The ClassRepresentations is required to " + operation);
+        }
+        return classRepresentations;
+    }
+
+    private <T> Stream<T> streamQuery(N1qlQuery query, Supplier<List<DocumentEntity>> managerQuery) {
+        if (bucket == null || bucket.isUnsatisfied()) {
+            return toEntities(managerQuery.get().stream());
+        }
+        return toEntities(CouchbaseQueryRows.stream(bucket.get(), query));
+    }
+
+    /**
+     * Runs the statement with adhoc false on the bucket, the params may be null
+     */
+    private Stream<DocumentEntity> preparedQuery(String n1qlQuery, JsonObject params) {
+        if (bucket == null || bucket.isUnsatisfied()) {
+            return (params == null ? manager.get().n1qlQuery(n1qlQuery) : manager.get().n1qlQuery(n1qlQuery, params))
+                    .stream();
+        }
+        N1qlParams prepared = N1qlParams.build().adhoc(false);
+        N1qlQuery query = params == null ? N1qlQuery.simple(n1qlQuery, prepared)
+                : N1qlQuery.parameterized(n1qlQuery, params, prepared);
+        return CouchbaseQueryRows.stream(bucket.get(), query);
+    }
+
+    private <T> Stream<T> toEntities(Stream<DocumentEntity> documents) {
+        return documents.map(d -> (T) converter.toEntity(d));
     }
 }
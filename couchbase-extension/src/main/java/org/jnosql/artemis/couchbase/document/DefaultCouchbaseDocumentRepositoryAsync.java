@@ -20,20 +20,28 @@
 package org.jnosql.artemis.couchbase.document;
 
 
+import com.couchbase.client.java.AsyncBucket;
+import com.couchbase.client.java.Bucket;
 import com.couchbase.client.java.document.json.JsonObject;
 import com.couchbase.client.java.query.Statement;
 import org.jnosql.artemis.document.AbstractDocumentRepositoryAsync;
 import org.jnosql.artemis.document.DocumentEntityConverter;
+import org.jnosql.artemis.reflection.ClassRepresentations;
 import org.jnosql.diana.api.ExecuteAsyncQueryException;
 import org.jnosql.diana.api.document.DocumentCollectionManagerAsync;
 import org.jnosql.diana.api.document.DocumentEntity;
+import org.jnosql.diana.api.document.DocumentQuery;
 import org.jnosql.diana.couchbase.document.CouchbaseDocumentCollectionManagerAsync;
 
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
+import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 import static java.util.stream.Collectors.toList;
 
@@ -47,11 +55,41 @@ class DefaultCouchbaseDocumentRepositoryAsync extends AbstractDocumentRepository
 
     private Instance<CouchbaseDocumentCollectionManagerAsync> manager;
 
+    private ClassRepresentations classRepresentations;
+
+    private CouchbaseConversionExecutor executor;
+
+    private Instance<Bucket> bucket;
+
     @Inject
     DefaultCouchbaseDocumentRepositoryAsync(DocumentEntityConverter converter,
-                                            Instance<CouchbaseDocumentCollectionManagerAsync> manager) {
+                                            Instance<CouchbaseDocumentCollectionManagerAsync> manager,
+                                            ClassRepresentations classRepresentations,
+                                            Instance<CouchbaseConversionExecutor> executor,
+                                            Instance<Bucket> bucket) {
         this.converter = converter;
         this.manager = manager;
+        this.classRepresentations = classRepresentations;
+        this.executor = CouchbaseConversionExecutor.of(executor);
+        this.bucket = bucket;
+    }
+
+    DefaultCouchbaseDocumentRepositoryAsync(DocumentEntityConverter converter,
+                                            Instance<CouchbaseDocumentCollectionManagerAsync> manager,
+                                            ClassRepresentations classRepresentations,
+                                            Instance<CouchbaseConversionExecutor> executor) {
+        this(converter, manager, classRepresentations, executor, null);
+    }
+
+    DefaultCouchbaseDocumentRepositoryAsync(DocumentEntityConverter converter,
+                                            Instance<CouchbaseDocumentCollectionManagerAsync> manager,
+                                            ClassRepresentations classRepresentations) {
+        this(converter, manager, classRepresentations, null);
+    }
+
+    DefaultCouchbaseDocumentRepositoryAsync(DocumentEntityConverter converter,
+                                            Instance<CouchbaseDocumentCollectionManagerAsync> manager) {
+        this(converter, manager, null, null);
     }
 
     DefaultCouchbaseDocumentRepositoryAsync() {
@@ -74,13 +112,7 @@ class DefaultCouchbaseDocumentRepositoryAsync extends AbstractDocumentRepository
         Objects.requireNonNull(n1qlQuery, "n1qlQuery is required");
         Objects.requireNonNull(params, "params is required");
         Objects.requireNonNull(callback, "callback is required");
-        Consumer<List<DocumentEntity>> dianaCallBack = d -> {
-            callback.accept(
-                    d.stream()
-                            .map(getConverter()::toEntity)
-                            .map(o -> (T) o)
-                            .collect(toList()));
-        };
+        Consumer<List<DocumentEntity>> dianaCallBack = toEntities(callback);
         manager.get().n1qlQuery(n1qlQuery, params, dianaCallBack);
 
     }
@@ -91,13 +123,7 @@ class DefaultCouchbaseDocumentRepositoryAsync extends AbstractDocumentRepository
         Objects.requireNonNull(n1qlQuery, "n1qlQuery is required");
         Objects.requireNonNull(params, "params is required");
         Objects.requireNonNull(callback, "callback is required");
-        Consumer<List<DocumentEntity>> dianaCallBack = d -> {
-            callback.accept(
-                    d.stream()
-                            .map(getConverter()::toEntity)
-                            .map(o -> (T) o)
-                            .collect(toList()));
-        };
+        Consumer<List<DocumentEntity>> dianaCallBack = toEntities(callback);
         manager.get().n1qlQuery(n1qlQuery, params, dianaCallBack);
     }
 
@@ -108,13 +134,7 @@ class DefaultCouchbaseDocumentRepositoryAsync extends AbstractDocumentRepository
         Objects.requireNonNull(n1qlQuery, "n1qlQuery is required");
         Objects.requireNonNull(callback, "callback is required");
 
-        Consumer<List<DocumentEntity>> dianaCallBack = d -> {
-            callback.accept(
-                    d.stream()
-                            .map(getConverter()::toEntity)
-                            .map(o -> (T) o)
-                            .collect(toList()));
-        };
+        Consumer<List<DocumentEntity>> dianaCallBack = toEntities(callback);
         manager.get().n1qlQuery(n1qlQuery, dianaCallBack);
 
     }
@@ -125,13 +145,148 @@ class DefaultCouchbaseDocumentRepositoryAsync extends AbstractDocumentRepository
         Objects.requireNonNull(n1qlQuery, "n1qlQuery is required");
         Objects.requireNonNull(callback, "callback is required");
 
-        Consumer<List<DocumentEntity>> dianaCallBack = d -> {
-            callback.accept(
-                    d.stream()
-                            .map(getConverter()::toEntity)
-                            .map(o -> (T) o)
-                            .collect(toList()));
-        };
+        Consumer<List<DocumentEntity>> dianaCallBack = toEntities(callback);
         manager.get().n1qlQuery(n1qlQuery, dianaCallBack);
     }
+
+    @Override
+    public <T> CompletionStage<List<Optional<T>>> findByIds(Class<T> entityClass, Iterable<?> ids)
+            throws NullPointerException, IllegalStateException {
+        return findByIds(entityClass, ids, CouchbaseMultiGet.DEFAULT_MAX_CONCURRENCY);
+    }
+
+    @Override
+    public <T> CompletionStage<List<Optional<T>>> findByIds(Class<T> entityClass, Iterable<?> ids, int maxConcurrency)
+            throws NullPointerException, IllegalArgumentException, IllegalStateException {
+        return findByIds(entityClass, ids, maxConcurrency, CouchbaseTimeouts.DEFAULT_TIMEOUT);
+    }
+
+    @Override
+    public <T> CompletionStage<List<Optional<T>>> findByIds(Class<T> entityClass, Iterable<?> ids, int maxConcurrency,
+                                                            Duration timeout)
+            throws NullPointerException, IllegalArgumentException, IllegalStateException {
+        Objects.requireNonNull(entityClass, "entityClass is required");
+        Objects.requireNonNull(ids, "ids is required");
+        Objects.requireNonNull(timeout, "timeout is required");
+        if (classRepresentations == null) {
+            throw new IllegalStateException("The ClassRepresentations is required to find by ids");
+        }
+        String collection = classRepresentations.get(entityClass).getName();
+        return CouchbaseMultiGet.of(getBucket("find by ids").async(), converter, executor, collection, entityClass,
+                ids, maxConcurrency, timeout);
+    }
+
+    @Override
+    public <T> CompletionStage<CouchbaseBulkResult<T>> saveBulk(Iterable<T> entities, int maxInFlight)
+            throws NullPointerException, IllegalArgumentException, IllegalStateException {
+        return saveBulk(entities, maxInFlight, CouchbaseRetryPolicy.defaultPolicy());
+    }
+
+    @Override
+    public <T> CompletionStage<CouchbaseBulkResult<T>> saveBulk(Iterable<T> entities, int maxInFlight,
+                                                                CouchbaseRetryPolicy retryPolicy)
+            throws NullPointerException, IllegalArgumentException, IllegalStateException {
+        Objects.requireNonNull(entities, "entities is required");
+        Objects.requireNonNull(retryPolicy, "retryPolicy is required");
+        AsyncBucket bucket = getBucket("bulk saves").async();
+        Function<T, CompletionStage<?>> writer = entity -> CouchbaseTimeouts.toFuture(
+                bucket.upsert(CouchbaseDocuments.toJsonDocument(converter.toDocument(entity))));
+        return new CouchbaseBulkSave<>(entities, maxInFlight, writer, retryPolicy, CouchbaseTimeouts.scheduler())
+                .start();
+    }
+
+    @Override
+    public <T> CompletionStage<List<T>> n1qlQueryStage(String n1qlQuery, JsonObject params)
+            throws NullPointerException {
+        Objects.requireNonNull(n1qlQuery, "n1qlQuery is required");
+        Objects.requireNonNull(params, "params is required");
+        return toEntitiesStage(c -> manager.get().n1qlQuery(n1qlQuery, params, c));
+    }
+
+    @Override
+    public <T> CompletionStage<List<T>> n1qlQueryStage(Statement n1qlQuery, JsonObject params)
+            throws NullPointerException {
+        Objects.requireNonNull(n1qlQuery, "n1qlQuery is required");
+        Objects.requireNonNull(params, "params is required");
+        return toEntitiesStage(c -> manager.get().n1qlQuery(n1qlQuery, params, c));
+    }
+
+    @Override
+    public <T> CompletionStage<List<T>> n1qlQueryStage(String n1qlQuery) throws NullPointerException {
+        Objects.requireNonNull(n1qlQuery, "n1qlQuery is required");
+        return toEntitiesStage(c -> manager.get().n1qlQuery(n1qlQuery, c));
+    }
+
+    @Override
+    public <T> CompletionStage<List<T>> n1qlQueryStage(Statement n1qlQuery) throws NullPointerException {
+        Objects.requireNonNull(n1qlQuery, "n1qlQuery is required");
+        return toEntitiesStage(c -> manager.get().n1qlQuery(n1qlQuery, c));
+    }
+
+    @Override
+    public <T> CompletionStage<List<T>> findStage(DocumentQuery query) throws NullPointerException {
+        Objects.requireNonNull(query, "query is required");
+        return toEntitiesStage(c -> manager.get().find(query, c));
+    }
+
+    @Override
+    public <T> void save(T entity, Consumer<T> callBack)
+            throws ExecuteAsyncQueryException, UnsupportedOperationException, NullPointerException {
+        Objects.requireNonNull(entity, "entity is required");
+        Objects.requireNonNull(callBack, "callBack is required");
+        manager.get().save(converter.toDocument(entity), toEntity(entity, callBack));
+    }
+
+    @Override
+    public <T> void save(T entity, Duration ttl, Consumer<T> callBack)
+            throws ExecuteAsyncQueryException, UnsupportedOperationException, NullPointerException {
+        Objects.requireNonNull(entity, "entity is required");
+        Objects.requireNonNull(ttl, "ttl is required");
+        Objects.requireNonNull(callBack, "callBack is required");
+        manager.get().save(converter.toDocument(entity), ttl, toEntity(entity, callBack));
+    }
+
+    @Override
+    public <T> void update(T entity, Consumer<T> callBack)
+            throws ExecuteAsyncQueryException, UnsupportedOperationException, NullPointerException {
+        Objects.requireNonNull(entity, "entity is required");
+        Objects.requireNonNull(callBack, "callBack is required");
+        manager.get().update(converter.toDocument(entity), toEntity(entity, callBack));
+    }
+
+    @Override
+    public <T> void find(DocumentQuery query, Consumer<List<T>> callBack)
+            throws ExecuteAsyncQueryException, UnsupportedOperationException, NullPointerException {
+        Objects.requireNonNull(query, "query is required");
+        Objects.requireNonNull(callBack, "callBack is required");
+        manager.get().find(query, toEntities(callBack));
+    }
+
+    private Bucket getBucket(String operation) {
+        if (bucket == null || bucket.isUnsatisfied()) {
+            throw new IllegalStateException("A com.couchbase.client.java.Bucket must be produced to use "
+                    + operation);
+        }
+        return bucket.get();
+    }
+
+    private <T> Consumer<DocumentEntity> toEntity(T entity, Consumer<T> callBack) {
+        return d -> executor.execute(() -> (T) converter.toEntity(entity.getClass(), d), callBack);
+    }
+
+    private <T> Consumer<List<DocumentEntity>> toEntities(Consumer<List<T>> callback) {
+        return d -> executor.execute(() -> this.<T>convert(d), callback);
+    }
+
+    private <T> List<T> convert(List<DocumentEntity> documents) {
+        return documents.stream()
+                .map(getConverter()::toEntity)
+                .map(o -> (T) o)
+                .collect(toList());
+    }
+
+    private <T> CompletionStage<List<T>> toEntitiesStage(Consumer<Consumer<List<DocumentEntity>>> call) {
+        CompletionStage<List<DocumentEntity>> documents = CouchbaseTimeouts.toStage(call);
+        return documents.thenApplyAsync(this::convert, executor);
+    }
 }
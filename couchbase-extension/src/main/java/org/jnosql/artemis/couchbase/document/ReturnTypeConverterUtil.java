@@ -23,12 +23,16 @@ import org.jnosql.artemis.document.DocumentRepository;
 import org.jnosql.diana.api.document.DocumentQuery;
 
 import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.PriorityQueue;
 import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -70,8 +74,10 @@ final class ReturnTypeConverterUtil {
     }
 
     static Object returnObject(List result, Class typeClass, Method method) {
-        Class<?> returnType = method.getReturnType();
+        return returnObject(result, typeClass, method.getReturnType());
+    }
 
+    static Object returnObject(List result, Class typeClass, Class<?> returnType) {
         if (typeClass.equals(returnType)) {
             if (!result.isEmpty()) {
                 return result.get(0);
@@ -95,4 +101,28 @@ final class ReturnTypeConverterUtil {
 
         return result;
     }
+
+    static boolean isCompletionStage(Method method) {
+        Class<?> returnType = method.getReturnType();
+        return CompletionStage.class.equals(returnType) || CompletableFuture.class.equals(returnType);
+    }
+
+    /**
+     * Converts the list of the stage to the type argument of the {@link CompletionStage} the method returns
+     */
+    static CompletableFuture<Object> returnStage(CompletionStage<? extends List> stage, Class typeClass,
+                                                 Method method) {
+        Class<?> resultType = List.class;
+        Type returnType = method.getGenericReturnType();
+        if (ParameterizedType.class.isInstance(returnType)) {
+            Type argument = ParameterizedType.class.cast(returnType).getActualTypeArguments()[0];
+            if (ParameterizedType.class.isInstance(argument)) {
+                resultType = Class.class.cast(ParameterizedType.class.cast(argument).getRawType());
+            } else if (Class.class.isInstance(argument)) {
+                resultType = Class.class.cast(argument);
+            }
+        }
+        Class<?> type = resultType;
+        return stage.thenApply(l -> returnObject(l, typeClass, type)).toCompletableFuture();
+    }
 }
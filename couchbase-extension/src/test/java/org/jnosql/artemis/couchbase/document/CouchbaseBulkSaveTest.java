@@ -0,0 +1,182 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.couchbase.document;
+
+import com.couchbase.client.core.BackpressureException;
+import com.couchbase.client.java.error.TemporaryFailureException;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CouchbaseBulkSaveTest {
+
+    private static final CouchbaseRetryPolicy RETRY = CouchbaseRetryPolicy.of(3, Duration.ofMillis(1),
+            Duration.ofMillis(5), Duration.ofSeconds(5));
+
+    private ScheduledExecutorService scheduler;
+
+    @Before
+    public void setUp() {
+        scheduler = new ScheduledThreadPoolExecutor(1);
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldReturnErrorWhenMaxInFlightIsInvalid() {
+        new CouchbaseBulkSave<>(Arrays.asList("a"), 0, e -> CompletableFuture.completedFuture(e), RETRY, scheduler);
+    }
+
+    @Test
+    public void shouldSaveAll() throws Exception {
+        List<String> saved = new ArrayList<>();
+        CouchbaseBulkResult<String> result = new CouchbaseBulkSave<String>(Arrays.asList("a", "b", "c"), 2,
+                e -> {
+                    saved.add(e);
+                    return CompletableFuture.completedFuture(e);
+                }, RETRY, scheduler).start().toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertEquals(Arrays.asList("a", "b", "c"), saved);
+        assertEquals(3, result.getSuccesses());
+        assertTrue(result.isSuccess());
+    }
+
+    @Test
+    public void shouldRespectTheMaxInFlight() {
+        List<CompletableFuture<Object>> writes = new ArrayList<>();
+        new CouchbaseBulkSave<String>(Arrays.asList("a", "b", "c", "d"), 2, e -> {
+            CompletableFuture<Object> write = new CompletableFuture<>();
+            writes.add(write);
+            return write;
+        }, RETRY, scheduler).start();
+
+        assertEquals(2, writes.size());
+        writes.get(0).complete(null);
+        assertEquals(3, writes.size());
+    }
+
+    @Test
+    public void shouldRetryTransientError() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CouchbaseBulkResult<String> result = new CouchbaseBulkSave<String>(Arrays.asList("a"), 2, e -> {
+            if (calls.incrementAndGet() < 3) {
+                return failed(new TemporaryFailureException());
+            }
+            return CompletableFuture.completedFuture(e);
+        }, RETRY, scheduler).start().toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertEquals(3, calls.get());
+        assertEquals(1, result.getSuccesses());
+        assertEquals(2, result.getRetries());
+    }
+
+    @Test
+    public void shouldRetryBackpressure() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CouchbaseBulkResult<String> result = new CouchbaseBulkSave<String>(Arrays.asList("a"), 2, e -> {
+            if (calls.incrementAndGet() == 1) {
+                return failed(new BackpressureException());
+            }
+            return CompletableFuture.completedFuture(e);
+        }, RETRY, scheduler).start().toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertEquals(2, calls.get());
+        assertEquals(1, result.getRetries());
+        assertTrue(result.isSuccess());
+    }
+
+    @Test
+    public void shouldFailWhenRetriesAreExhausted() throws Exception {
+        CouchbaseBulkResult<String> result = new CouchbaseBulkSave<String>(Arrays.asList("a", "b"), 2, e -> {
+            if ("a".equals(e)) {
+                return failed(new TemporaryFailureException());
+            }
+            return CompletableFuture.completedFuture(e);
+        }, RETRY, scheduler).start().toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertFalse(result.isSuccess());
+        assertEquals(1, result.getSuccesses());
+        assertEquals("a", result.getFailed().get(0).getEntity());
+        assertEquals(3, result.getFailed().get(0).getAttempts());
+    }
+
+    @Test
+    public void shouldNotRetryPermanentError() throws Exception {
+        AtomicInteger calls = new AtomicInteger();
+        CouchbaseBulkResult<String> result = new CouchbaseBulkSave<String>(Arrays.asList("a"), 2, e -> {
+            calls.incrementAndGet();
+            return failed(new IllegalArgumentException("invalid document"));
+        }, RETRY, scheduler).start().toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, calls.get());
+        assertEquals(1, result.getFailures());
+        assertTrue(result.getFailed().get(0).getCause() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    public void shouldFailWhenTheWriterThrows() throws Exception {
+        CouchbaseBulkResult<String> result = new CouchbaseBulkSave<String>(Arrays.asList("a"), 2, e -> {
+            throw new IllegalArgumentException("The entity must have the _id document to be saved");
+        }, RETRY, scheduler).start().toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, result.getFailures());
+        assertEquals(1, result.getFailed().get(0).getAttempts());
+    }
+
+    @Test
+    public void shouldNotRetryWhenTheWriteTimesOut() throws Exception {
+        CouchbaseRetryPolicy policy = CouchbaseRetryPolicy.of(2, Duration.ofMillis(1), Duration.ofMillis(1),
+                Duration.ofMillis(20));
+        AtomicInteger calls = new AtomicInteger();
+        CouchbaseBulkResult<String> result = new CouchbaseBulkSave<String>(Arrays.asList("a"), 2, e -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<>();
+        }, policy, scheduler).start().toCompletableFuture().get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, calls.get());
+        assertEquals(0, result.getRetries());
+        assertEquals(1, result.getFailures());
+        assertTrue(result.getFailed().get(0).getCause() instanceof TimeoutException);
+    }
+
+    private static CompletableFuture<Object> failed(Throwable error) {
+        CompletableFuture<Object> write = new CompletableFuture<>();
+        write.completeExceptionally(error);
+        return write;
+    }
+}
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.couchbase.document;
+
+import org.junit.Test;
+
+import javax.enterprise.inject.Instance;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CouchbaseConversionExecutorTest {
+
+    @Test(expected = NullPointerException.class)
+    public void shouldReturnErrorWhenExecutorIsNull() {
+        CouchbaseConversionExecutor.of((Executor) null);
+    }
+
+    @Test
+    public void shouldTrackQueueDepth() {
+        List<Runnable> queue = new ArrayList<>();
+        CouchbaseConversionExecutor executor = CouchbaseConversionExecutor.of(queue::add);
+        List<String> done = new ArrayList<>();
+
+        executor.execute(() -> done.add("a"));
+        executor.execute(() -> done.add("b"));
+        assertEquals(2, executor.getQueueDepth());
+        assertEquals(2, executor.getMaxQueueDepth());
+
+        queue.get(0).run();
+        assertEquals(1, executor.getQueueDepth());
+        queue.get(1).run();
+        assertEquals(0, executor.getQueueDepth());
+        assertEquals(2, executor.getMaxQueueDepth());
+        assertEquals(2, executor.getSubmitted());
+        assertEquals(2, executor.getCompleted());
+        assertEquals(2, done.size());
+    }
+
+    @Test
+    public void shouldNotRunOnCallerWhenRejected() {
+        CouchbaseConversionExecutor executor = CouchbaseConversionExecutor.of(r -> {
+            throw new RejectedExecutionException("full");
+        });
+        List<String> done = new ArrayList<>();
+        try {
+            executor.execute(() -> done.add("a"));
+            fail("The task should be rejected");
+        } catch (RejectedExecutionException exception) {
+            assertTrue(done.isEmpty());
+        }
+        assertEquals(0, executor.getQueueDepth());
+        assertEquals(0, executor.getSubmitted());
+    }
+
+    @Test
+    public void shouldCompleteStageExceptionallyWhenRejected() {
+        CouchbaseConversionExecutor executor = CouchbaseConversionExecutor.of(r -> {
+            throw new RejectedExecutionException("full");
+        });
+        CompletableFuture<String> stage = new CompletableFuture<>();
+        executor.execute(() -> "Ada", stage);
+        assertTrue(stage.isCompletedExceptionally());
+    }
+
+    @Test
+    public void shouldNotRunCallbackWhenRejected() {
+        CouchbaseConversionExecutor executor = CouchbaseConversionExecutor.of(r -> {
+            throw new RejectedExecutionException("full");
+        });
+        List<String> results = new ArrayList<>();
+        executor.execute(() -> "Ada", results::add);
+        assertTrue(results.isEmpty());
+    }
+
+    @Test
+    public void shouldNotPropagateCallbackError() {
+        CouchbaseConversionExecutor executor = CouchbaseConversionExecutor.direct();
+        executor.execute(() -> {
+            throw new IllegalStateException("callback error");
+        });
+        assertEquals(1, executor.getCompleted());
+        assertEquals(0, executor.getQueueDepth());
+    }
+
+    @Test
+    public void shouldGiveTheConversionToTheCallback() {
+        CouchbaseConversionExecutor executor = CouchbaseConversionExecutor.direct();
+        List<String> results = new ArrayList<>();
+        executor.execute(() -> "Ada", results::add);
+        assertEquals(1, results.size());
+        assertEquals("Ada", results.get(0));
+    }
+
+    @Test
+    public void shouldCompleteStageExceptionallyWhenConversionFails() {
+        CouchbaseConversionExecutor executor = CouchbaseConversionExecutor.direct();
+        CompletableFuture<String> stage = new CompletableFuture<>();
+        executor.execute(() -> {
+            throw new IllegalStateException("conversion error");
+        }, stage);
+        assertTrue(stage.isCompletedExceptionally());
+        assertEquals(1, executor.getCompleted());
+    }
+
+    @Test
+    public void shouldCompleteStageWithTheConversion() throws Exception {
+        CouchbaseConversionExecutor executor = CouchbaseConversionExecutor.direct();
+        CompletableFuture<String> stage = new CompletableFuture<>();
+        executor.execute(() -> "Ada", stage);
+        assertEquals("Ada", stage.get());
+    }
+
+    @Test
+    public void shouldRunOnTheDefaultPool() throws Exception {
+        CompletableFuture<String> stage = new CompletableFuture<>();
+        CouchbaseConversionExecutor.defaultExecutor().execute(() -> Thread.currentThread().getName(), stage);
+        assertTrue(stage.get(5, TimeUnit.SECONDS).startsWith("couchbase-conversion-"));
+    }
+
+    @Test
+    public void shouldUseDefaultExecutorWhenThereIsNotBean() {
+        assertSame(CouchbaseConversionExecutor.defaultExecutor(),
+                CouchbaseConversionExecutor.of((Instance<CouchbaseConversionExecutor>) null));
+    }
+}
@@ -24,6 +24,7 @@ import org.jnosql.artemis.CrudRepositoryAsync;
 import org.jnosql.artemis.DynamicQueryException;
 import org.jnosql.artemis.reflection.ClassRepresentations;
 import org.jnosql.diana.api.column.ColumnQuery;
+import org.jnosql.diana.api.document.DocumentQuery;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -34,6 +35,10 @@ import javax.inject.Inject;
 import java.lang.reflect.Proxy;
 import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
 import java.util.function.Consumer;
 
 import static java.util.Collections.singletonList;
@@ -150,10 +155,45 @@ public class CouchbaseCrudRepositoryAsyncProxyTest {
         verify(repository).n1qlQuery(Mockito.eq("select * from Person where name= $name"), Mockito.eq(params), Mockito.eq(callBack));
     }
 
+    @Test
+    public void shouldFindByNameFromN1qlStage() throws Exception {
+        JsonObject params = JsonObject.create().put("name", "Ada");
+        Person ada = new Person("Ada", 12);
+        Mockito.when(repository.n1qlQueryStage("select * from Person where name= $name", params))
+                .thenReturn(CompletableFuture.completedFuture(singletonList(ada)));
+
+        List<Person> people = personRepository.queryNameStage(params).toCompletableFuture().get();
+        assertEquals(singletonList(ada), people);
+    }
+
+    @Test
+    public void shouldFindByAgeStage() throws Exception {
+        Person ada = new Person("Ada", 12);
+        Mockito.when(repository.findStage(Mockito.any(DocumentQuery.class)))
+                .thenReturn(CompletableFuture.completedFuture(singletonList(ada)));
+
+        Optional<Person> person = personRepository.findByAge(12).toCompletableFuture().get();
+        assertEquals(ada, person.get());
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void shouldCompleteExceptionallyWhenFindFails() throws Exception {
+        CompletableFuture<List<Person>> failed = new CompletableFuture<>();
+        failed.completeExceptionally(new IllegalStateException("unavailable"));
+        Mockito.when(repository.findStage(Mockito.any(DocumentQuery.class))).thenReturn((CompletableFuture) failed);
+
+        personRepository.findByAge(12).toCompletableFuture().get();
+    }
+
     interface PersonAsyncRepository extends CrudRepositoryAsync<Person> {
 
         Person findByName(String name);
 
+        CompletionStage<Optional<Person>> findByAge(Integer age);
+
+        @N1QL("select * from Person where name= $name")
+        CompletionStage<List<Person>> queryNameStage(JsonObject params);
+
 
         @N1QL("select * from Person where name= $name")
         void queryName(JsonObject params);
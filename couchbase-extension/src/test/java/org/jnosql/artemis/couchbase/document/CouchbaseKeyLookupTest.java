@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.couchbase.document;
+
+import org.jnosql.artemis.CrudRepository;
+import org.jnosql.artemis.reflection.ClassRepresentation;
+import org.jnosql.artemis.reflection.ClassRepresentations;
+import org.jnosql.diana.api.Condition;
+import org.jnosql.diana.api.document.DocumentCondition;
+import org.jnosql.diana.api.document.DocumentQuery;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+
+import javax.inject.Inject;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(WeldJUnit4Runner.class)
+public class CouchbaseKeyLookupTest {
+
+    @Inject
+    private ClassRepresentations classRepresentations;
+
+    private ClassRepresentation representation;
+
+    @Before
+    public void setUp() {
+        representation = classRepresentations.get(Book.class);
+    }
+
+    @Test
+    public void shouldLookUpByKey() throws NoSuchMethodException {
+        Optional<CouchbaseKeyLookup> lookup = CouchbaseKeyLookup.of(BookRepository.class
+                .getMethod("findByIsbn", String.class), representation);
+        assertTrue(lookup.isPresent());
+
+        DocumentCondition condition = lookup.get().toQuery(new Object[]{"978-0321356680"}).getCondition().get();
+        assertEquals(Condition.EQUALS, condition.getCondition());
+        assertEquals(CouchbaseKeyLookup.KEY, condition.getDocument().getName());
+    }
+
+    @Test
+    public void shouldLookUpByKeys() throws NoSuchMethodException {
+        Optional<CouchbaseKeyLookup> lookup = CouchbaseKeyLookup.of(BookRepository.class
+                .getMethod("findByIsbnIn", List.class), representation);
+        assertTrue(lookup.isPresent());
+
+        DocumentCondition condition = lookup.get().toQuery(new Object[]{Arrays.asList("1", "2")})
+                .getCondition().get();
+        assertEquals(Condition.IN, condition.getCondition());
+    }
+
+    @Test
+    public void shouldNotLookUpByOtherFields() throws NoSuchMethodException {
+        assertFalse(CouchbaseKeyLookup.of(BookRepository.class.getMethod("findByTitle", String.class),
+                representation).isPresent());
+        assertFalse(CouchbaseKeyLookup.of(BookRepository.class.getMethod("findByIsbnAndTitle", String.class,
+                String.class), representation).isPresent());
+    }
+
+    @Test
+    public void shouldUseKeyLookupOnProxy() {
+        CouchbaseDocumentRepository repository = Mockito.mock(CouchbaseDocumentRepository.class);
+        Book book = new Book();
+        book.setIsbn("978-0321356680");
+        when(repository.findById(Book.class, "978-0321356680")).thenReturn(Optional.of(book));
+
+        Optional<Book> result = proxy(repository).findByIsbn("978-0321356680");
+
+        assertEquals(book, result.get());
+        verify(repository, never()).singleResult(any(DocumentQuery.class));
+    }
+
+    @Test
+    public void shouldUseKeysLookupOnProxy() {
+        CouchbaseDocumentRepository repository = Mockito.mock(CouchbaseDocumentRepository.class);
+        Book book = new Book();
+        book.setIsbn("1");
+        List<String> isbns = Arrays.asList("1", "2");
+        when(repository.findByIds(Book.class, isbns)).thenReturn(Arrays.asList(Optional.of(book), Optional.empty()));
+
+        List<Book> books = proxy(repository).findByIsbnIn(isbns);
+
+        assertEquals(Collections.singletonList(book), books);
+        verify(repository, never()).find(any(DocumentQuery.class));
+    }
+
+    private BookRepository proxy(CouchbaseDocumentRepository repository) {
+        CouchbaseocumentCrudRepositoryProxy handler = new CouchbaseocumentCrudRepositoryProxy(repository,
+                classRepresentations, BookRepository.class);
+        return (BookRepository) Proxy.newProxyInstance(BookRepository.class.getClassLoader(),
+                new Class[]{BookRepository.class}, handler);
+    }
+
+    interface BookRepository extends CrudRepository<Book> {
+
+        Optional<Book> findByIsbn(String isbn);
+
+        List<Book> findByIsbnIn(List<String> isbns);
+
+        List<Book> findByTitle(String title);
+
+        List<Book> findByIsbnAndTitle(String isbn, String title);
+    }
+}
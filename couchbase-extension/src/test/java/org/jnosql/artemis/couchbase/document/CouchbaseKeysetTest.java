@@ -0,0 +1,179 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.couchbase.document;
+
+import com.couchbase.client.java.document.json.JsonArray;
+import com.couchbase.client.java.document.json.JsonObject;
+import org.jnosql.diana.api.document.Document;
+import org.jnosql.diana.api.document.DocumentEntity;
+import org.jnosql.diana.api.document.DocumentQuery;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CouchbaseKeysetTest {
+
+    @Test
+    public void shouldOrderAndLimitFirstPage() {
+        CouchbasePageRequest page = CouchbasePageRequest.of(10, "name", "_id");
+        assertEquals("SELECT * FROM Person WHERE age = $age ORDER BY `Person`.`name` ASC, META(`Person`).id ASC "
+                        + "LIMIT 11",
+                CouchbaseKeyset.toN1QL("SELECT * FROM Person WHERE age = $age", page));
+    }
+
+    @Test
+    public void shouldSeekAfterContinuation() {
+        CouchbasePageRequest page = CouchbasePageRequest.of(10, "name", "_id");
+        String continuation = CouchbaseKeyset.encode(page, row("Ada", "1"));
+
+        assertEquals("SELECT * FROM Person WHERE ((`Person`.`name` > $__keyset_0) OR (`Person`.`name` = "
+                        + "$__keyset_0 AND META(`Person`).id > $__keyset_1)) AND (age = $age) "
+                        + "ORDER BY `Person`.`name` ASC, META(`Person`).id ASC LIMIT 11",
+                CouchbaseKeyset.toN1QL("SELECT * FROM Person WHERE age = $age", page.withContinuation(continuation)));
+    }
+
+    @Test
+    public void shouldAddWhereWhenQueryHasNone() {
+        CouchbasePageRequest page = CouchbasePageRequest.of(5, "name").descending();
+        String continuation = CouchbaseKeyset.encode(page, row("Ada", "1"));
+
+        assertEquals("SELECT * FROM Person WHERE (`Person`.`name` < $__keyset_0) ORDER BY `Person`.`name` DESC "
+                        + "LIMIT 6",
+                CouchbaseKeyset.toN1QL("SELECT * FROM Person", page.withContinuation(continuation)));
+    }
+
+    @Test
+    public void shouldIgnoreWhereInsideSubqueryAndQuotes() {
+        CouchbasePageRequest page = CouchbasePageRequest.of(5, "name");
+        String continuation = CouchbaseKeyset.encode(page, row("Ada", "1"));
+        String query = "SELECT * FROM Person WHERE note = 'order by' AND age IN (SELECT RAW a FROM Ages WHERE a > 1)";
+
+        assertEquals("SELECT * FROM Person WHERE ((`Person`.`name` > $__keyset_0)) AND (note = 'order by' AND age IN "
+                        + "(SELECT RAW a FROM Ages WHERE a > 1)) ORDER BY `Person`.`name` ASC LIMIT 6",
+                CouchbaseKeyset.toN1QL(query, page.withContinuation(continuation)));
+    }
+
+    @Test
+    public void shouldQualifyWithTheAlias() {
+        CouchbasePageRequest page = CouchbasePageRequest.of(5, "name");
+        String continuation = CouchbaseKeyset.encode(page, row("Ada", "1"));
+        String query = "SELECT p.name, a.city FROM default:`person-bucket` AS p JOIN Address a ON KEYS p.address";
+
+        assertEquals(query + " WHERE (`p`.`name` > $__keyset_0) ORDER BY `p`.`name` ASC LIMIT 6",
+                CouchbaseKeyset.toN1QL(query, page.withContinuation(continuation)));
+        assertEquals("SELECT * FROM `person-bucket` WHERE age > 1 ORDER BY `person-bucket`.`name` ASC LIMIT 6",
+                CouchbaseKeyset.toN1QL("SELECT * FROM `person-bucket` WHERE age > 1", page));
+    }
+
+    @Test
+    public void shouldKeepJsonValuesInContinuation() {
+        CouchbasePageRequest page = CouchbasePageRequest.of(10, "age", "tags");
+        DocumentEntity row = DocumentEntity.of("Person");
+        row.add(Document.of("age", 10));
+        row.add(Document.of("tags", asList("java", "nosql")));
+
+        List<Object> values = CouchbaseKeyset.decode(page.withContinuation(CouchbaseKeyset.encode(page, row)));
+        assertEquals(10, values.get(0));
+        assertEquals(JsonArray.from("java", "nosql"), values.get(1));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldReturnErrorWhenQueryIsOrdered() {
+        CouchbaseKeyset.toN1QL("SELECT * FROM Person ORDER BY name", CouchbasePageRequest.of(10, "name"));
+    }
+
+    @Test
+    public void shouldAddKeysetParams() {
+        CouchbasePageRequest page = CouchbasePageRequest.of(10, "name", "_id");
+        JsonObject params = JsonObject.create().put("age", 10);
+        assertSame(params, CouchbaseKeyset.toParams(params, page));
+
+        JsonObject keysetParams = CouchbaseKeyset.toParams(params,
+                page.withContinuation(CouchbaseKeyset.encode(page, row("Ada", "1"))));
+        assertEquals(10, keysetParams.get("age"));
+        assertEquals("Ada", keysetParams.get("__keyset_0"));
+        assertEquals("1", keysetParams.get("__keyset_1"));
+        assertFalse(params.containsKey("__keyset_0"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldReturnErrorWhenContinuationBelongsToAnotherPage() {
+        CouchbasePageRequest page = CouchbasePageRequest.of(10, "name");
+        String continuation = CouchbaseKeyset.encode(page, row("Ada", "1"));
+        CouchbaseKeyset.toParams(null, CouchbasePageRequest.of(10, "age").withContinuation(continuation));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldReturnErrorWhenContinuationIsInvalid() {
+        CouchbaseKeyset.toParams(null, CouchbasePageRequest.of(10, "name").withContinuation("not a token"));
+    }
+
+    @Test
+    public void shouldSortAndLimitDocumentQuery() {
+        CouchbasePageRequest page = CouchbasePageRequest.of(10, "name");
+        DocumentQuery query = CouchbaseKeyset.toQuery(DocumentQuery.of("Person"), page);
+        assertEquals(1, query.getSorts().size());
+        assertEquals(11L, query.getLimit());
+    }
+
+    @Test
+    public void shouldSliceWithNextPage() {
+        CouchbasePageRequest page = CouchbasePageRequest.of(2, "name");
+        List<DocumentEntity> rows = asList(row("Ada", "1"), row("Bob", "2"), row("Carl", "3"));
+
+        CouchbaseSlice<String> slice = CouchbaseKeyset.toSlice(rows, page, this::name);
+        assertEquals(Arrays.asList("Ada", "Bob"), slice.getContent());
+        assertTrue(slice.hasNext());
+        assertEquals(asList("Bob"), CouchbaseKeyset.decode(slice.nextPage().get()));
+    }
+
+    @Test
+    public void shouldSliceLastPage() {
+        CouchbasePageRequest page = CouchbasePageRequest.of(2, "name");
+        CouchbaseSlice<String> slice = CouchbaseKeyset.toSlice(asList(row("Ada", "1")), page, this::name);
+        assertEquals(asList("Ada"), slice.getContent());
+        assertFalse(slice.hasNext());
+        assertNull(slice.getContinuation().orElse(null));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldReturnErrorWhenRowHasNotKeysetField() {
+        CouchbaseKeyset.encode(CouchbasePageRequest.of(2, "age"), row("Ada", "1"));
+    }
+
+    private String name(DocumentEntity entity) {
+        return entity.find("name").get().get(String.class);
+    }
+
+    private DocumentEntity row(String name, String id) {
+        DocumentEntity entity = DocumentEntity.of("Person");
+        entity.add(Document.of("name", name));
+        entity.add(Document.of("_id", id));
+        return entity;
+    }
+}
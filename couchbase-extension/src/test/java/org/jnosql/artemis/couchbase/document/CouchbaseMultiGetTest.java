@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.couchbase.document;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CouchbaseMultiGetTest {
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldReturnErrorWhenMaxConcurrencyIsInvalid() {
+        new CouchbaseMultiGet<String>(Arrays.asList("1"), 0, (k, c) -> c.accept(Optional.empty(), null));
+    }
+
+    @Test
+    public void shouldKeepTheOrderOfTheKeys() throws Exception {
+        List<BiConsumer<Optional<String>, Throwable>> callbacks = new ArrayList<>();
+        List<Object> keys = new ArrayList<>();
+        CompletableFuture<List<Optional<String>>> result = new CouchbaseMultiGet<String>(Arrays.asList("1", "2", "3"),
+                10, (k, c) -> {
+            keys.add(k);
+            callbacks.add(c);
+        }).start().toCompletableFuture();
+
+        assertEquals(3, callbacks.size());
+        callbacks.get(2).accept(Optional.of("three"), null);
+        callbacks.get(0).accept(Optional.of("one"), null);
+        assertFalse(result.isDone());
+        callbacks.get(1).accept(Optional.empty(), null);
+
+        assertEquals(Arrays.asList("1", "2", "3"), keys);
+        assertEquals(Arrays.asList(Optional.of("one"), Optional.empty(), Optional.of("three")), result.get());
+    }
+
+    @Test
+    public void shouldRespectTheMaxConcurrency() {
+        List<BiConsumer<Optional<String>, Throwable>> callbacks = new ArrayList<>();
+        CompletableFuture<List<Optional<String>>> result = new CouchbaseMultiGet<String>(
+                Arrays.asList("1", "2", "3", "4", "5"), 2, (k, c) -> callbacks.add(c)).start().toCompletableFuture();
+
+        assertEquals(2, callbacks.size());
+        callbacks.get(0).accept(Optional.of("one"), null);
+        assertEquals(3, callbacks.size());
+        callbacks.get(1).accept(Optional.of("two"), null);
+        callbacks.get(2).accept(Optional.of("three"), null);
+        assertEquals(5, callbacks.size());
+        callbacks.get(3).accept(Optional.of("four"), null);
+        callbacks.get(4).accept(Optional.of("five"), null);
+        assertTrue(result.isDone());
+    }
+
+    @Test
+    public void shouldCompleteWhenCallbackIsOnTheSameThread() throws Exception {
+        List<String> keys = new ArrayList<>();
+        for (int index = 0; index < 10_000; index++) {
+            keys.add(Integer.toString(index));
+        }
+        List<Optional<String>> result = new CouchbaseMultiGet<String>(keys, 4,
+                (k, c) -> c.accept(Optional.of(k.toString()), null))
+                .start().toCompletableFuture().get();
+        assertEquals(10_000, result.size());
+        assertEquals(Optional.of("9999"), result.get(9999));
+    }
+
+    @Test
+    public void shouldCompleteExceptionallyWhenKeyIsNull() {
+        CompletableFuture<List<Optional<String>>> result = new CouchbaseMultiGet<String>(Arrays.asList("1", null),
+                10, (k, c) -> c.accept(Optional.empty(), null)).start().toCompletableFuture();
+        assertTrue(result.isCompletedExceptionally());
+    }
+
+    @Test(expected = ExecutionException.class)
+    public void shouldCompleteExceptionallyWhenGetFails() throws Exception {
+        new CouchbaseMultiGet<String>(Arrays.asList("1"), 10, (k, c) -> {
+            throw new IllegalStateException("unavailable");
+        }).start().toCompletableFuture().get();
+    }
+
+    @Test
+    public void shouldCompleteExceptionallyWhenCallbackHasError() {
+        List<BiConsumer<Optional<String>, Throwable>> callbacks = new ArrayList<>();
+        CompletableFuture<List<Optional<String>>> result = new CouchbaseMultiGet<String>(
+                Arrays.asList("1", "2", "3"), 1, (k, c) -> callbacks.add(c)).start().toCompletableFuture();
+
+        callbacks.get(0).accept(null, new IllegalArgumentException("conversion failed"));
+        assertTrue(result.isCompletedExceptionally());
+        assertEquals(1, callbacks.size());
+    }
+
+    @Test
+    public void shouldTimeOutWhenGetDoesNotCallBack() throws Exception {
+        CompletableFuture<List<Optional<String>>> result = new CouchbaseMultiGet<String>(Arrays.asList("1"), 1,
+                (k, c) -> {
+                }).start().toCompletableFuture();
+        CouchbaseTimeouts.within(result, Duration.ofMillis(10));
+        try {
+            result.get();
+            fail("the multi get should time out");
+        } catch (ExecutionException exception) {
+            assertTrue(exception.getCause() instanceof TimeoutException);
+        }
+    }
+}
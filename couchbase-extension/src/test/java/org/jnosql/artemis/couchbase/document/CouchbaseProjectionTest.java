@@ -0,0 +1,185 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.couchbase.document;
+
+import com.couchbase.client.java.document.json.JsonObject;
+import org.jnosql.artemis.Column;
+import org.jnosql.diana.api.document.Document;
+import org.jnosql.diana.api.document.DocumentEntity;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CouchbaseProjectionTest {
+
+    @Test
+    public void shouldSelectProjectedDocuments() {
+        CouchbaseProjection<BookSummary> projection = CouchbaseProjection.of(BookSummary.class);
+        assertEquals("SELECT {\"title\": `books`.`title`, \"_id\": META(`books`).id} AS `books` FROM books "
+                + "WHERE year = $year", projection.select("SELECT * FROM books WHERE year = $year"));
+    }
+
+    @Test
+    public void shouldNameTheRowAfterTheBucket() {
+        CouchbaseProjection<BookSummary> projection = CouchbaseProjection.of(BookSummary.class);
+        assertEquals("select {\"title\": `travel-sample`.`title`, \"_id\": META(`travel-sample`).id} "
+                + "AS `travel-sample` from default:`travel-sample`",
+                projection.select("select * from default:`travel-sample`"));
+    }
+
+    @Test
+    public void shouldReadTheFieldsFromTheAlias() {
+        CouchbaseProjection<BookSummary> projection = CouchbaseProjection.of(BookSummary.class);
+        assertEquals("SELECT {\"title\": `b`.`title`, \"_id\": META(`b`).id} AS `books` FROM books b "
+                + "WHERE b.year = 2008", projection.select("SELECT * FROM books b WHERE b.year = 2008"));
+        assertEquals("SELECT {\"title\": `t`.`title`, \"_id\": META(`t`).id} AS `travel-sample` "
+                + "FROM `travel-sample` AS `t` "
+                + "ORDER BY t.title LIMIT 10",
+                projection.select("SELECT * FROM `travel-sample` AS `t` ORDER BY t.title LIMIT 10"));
+    }
+
+    @Test
+    public void shouldKeepTheClausesOfTheQuery() {
+        CouchbaseProjection<BookSummary> projection = CouchbaseProjection.of(BookSummary.class);
+        assertEquals("SELECT {\"title\": `books`.`title`, \"_id\": META(`books`).id} AS `books` FROM books "
+                + "USE KEYS $keys;", projection.select("SELECT * FROM books USE KEYS $keys;"));
+        assertEquals("SELECT {\"title\": `books`.`title`, \"_id\": META(`books`).id} AS `books` FROM books "
+                + "LIMIT 10", projection.select("SELECT * FROM books LIMIT 10"));
+    }
+
+    @Test
+    public void shouldKeepQueryWithJoin() {
+        CouchbaseProjection<BookSummary> projection = CouchbaseProjection.of(BookSummary.class);
+        String join = "SELECT * FROM books b JOIN authors a ON KEYS b.author WHERE a.name = $name";
+        String unnest = "SELECT * FROM books UNNEST books.tags t";
+        assertEquals(join, projection.select(join));
+        assertEquals(unnest, projection.select(unnest));
+    }
+
+    @Test
+    public void shouldMapProjectedRow() {
+        String query = CouchbaseProjection.of(BookSummary.class).select("SELECT * FROM books WHERE year = 2008");
+        JsonObject row = JsonObject.fromJson("{\"books\": {\"title\": \"Effective Java\", "
+                + "\"_id\": \"978-0321356680\"}}");
+        assertTrue(query.contains(" AS `books` "));
+
+        DocumentEntity entity = DocumentEntity.of("books");
+        row.getObject("books").toMap().forEach((name, value) -> entity.add(Document.of(name, value)));
+        BookSummary summary = CouchbaseProjection.of(BookSummary.class).toProjection(entity);
+        assertEquals("978-0321356680", summary.isbn);
+        assertEquals("Effective Java", summary.title);
+    }
+
+    @Test
+    public void shouldKeepExplicitSelectList() {
+        CouchbaseProjection<BookSummary> projection = CouchbaseProjection.of(BookSummary.class);
+        String query = "select title, meta().id as _id from books";
+        assertEquals(query, projection.select(query));
+    }
+
+    @Test
+    public void shouldMapInterfaceProjection() {
+        DocumentEntity entity = DocumentEntity.of("Person");
+        entity.add(Document.of("name", "Ada"));
+        entity.add(Document.of("age", "10"));
+        entity.add(Document.of("address", "London"));
+
+        PersonView view = CouchbaseProjection.of(PersonView.class).toProjection(entity);
+        assertEquals("Ada", view.getName());
+        assertEquals(10, view.getAge());
+        assertFalse(view.isActive());
+    }
+
+    @Test
+    public void shouldMapClassProjection() {
+        DocumentEntity entity = DocumentEntity.of("Book");
+        entity.add(Document.of("_id", "978-0321356680"));
+        entity.add(Document.of("title", "Effective Java"));
+
+        BookSummary summary = CouchbaseProjection.of(BookSummary.class).toProjection(entity);
+        assertEquals("978-0321356680", summary.isbn);
+        assertEquals("Effective Java", summary.title);
+    }
+
+    @Test
+    public void shouldReturnNullWhenDocumentIsMissing() {
+        BookSummary summary = CouchbaseProjection.of(BookSummary.class).toProjection(DocumentEntity.of("Book"));
+        assertNull(summary.title);
+    }
+
+    @Test
+    public void shouldFindProjectionType() throws NoSuchMethodException {
+        assertEquals(Optional.of(PersonView.class), CouchbaseProjection.projectionType(Methods.class
+                .getMethod("views"), Person.class));
+        assertEquals(Optional.of(BookSummary.class), CouchbaseProjection.projectionType(Methods.class
+                .getMethod("summary"), Person.class));
+        assertFalse(CouchbaseProjection.projectionType(Methods.class.getMethod("people"), Person.class).isPresent());
+        assertFalse(CouchbaseProjection.projectionType(Methods.class.getMethod("names"), Person.class).isPresent());
+        assertFalse(CouchbaseProjection.projectionType(Methods.class.getMethod("books"), Person.class).isPresent());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldReturnErrorWhenProjectionHasNoGetter() {
+        CouchbaseProjection.of(Runnable.class);
+    }
+
+    @Test
+    public void shouldReuseTheProjectionOfAType() {
+        assertSame(CouchbaseProjection.of(PersonView.class), CouchbaseProjection.of(PersonView.class));
+    }
+
+    interface PersonView {
+
+        String getName();
+
+        int getAge();
+
+        boolean isActive();
+    }
+
+    static class BookSummary {
+
+        private String title;
+
+        @Column("_id")
+        private String isbn;
+    }
+
+    interface Methods {
+
+        Stream<PersonView> views();
+
+        Optional<BookSummary> summary();
+
+        List<Person> people();
+
+        List<String> names();
+
+        List<Book> books();
+    }
+}
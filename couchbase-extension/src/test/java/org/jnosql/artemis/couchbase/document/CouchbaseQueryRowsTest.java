@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.couchbase.document;
+
+import com.couchbase.client.java.AsyncBucket;
+import com.couchbase.client.java.Bucket;
+import com.couchbase.client.java.document.json.JsonObject;
+import com.couchbase.client.java.error.QueryExecutionException;
+import com.couchbase.client.java.query.AsyncN1qlQueryResult;
+import com.couchbase.client.java.query.AsyncN1qlQueryRow;
+import com.couchbase.client.java.query.N1qlQuery;
+import org.jnosql.diana.api.document.DocumentEntity;
+import org.junit.Test;
+import org.mockito.Mockito;
+import rx.Observable;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.when;
+
+public class CouchbaseQueryRowsTest {
+
+    @Test
+    public void shouldConvertTheRows() {
+        Bucket bucket = bucket(Observable.just(row("Book:1", "Effective Java"), row("Book:2", "Clean Code"),
+                row(JsonObject.create().put("count", 2))), Observable.empty());
+
+        List<DocumentEntity> entities = CouchbaseQueryRows.stream(bucket, N1qlQuery.simple("select * from library"))
+                .collect(Collectors.toList());
+
+        assertEquals(2, entities.size());
+        assertEquals("Book", entities.get(0).getName());
+        assertEquals("Clean Code", entities.get(1).find("title").get().get());
+    }
+
+    @Test
+    public void shouldReadTheRowsOnDemand() {
+        AtomicInteger sent = new AtomicInteger();
+        Observable<AsyncN1qlQueryRow> rows = Observable.range(1, 10_000)
+                .map(i -> row("Book:" + i, "Book " + i))
+                .doOnNext(r -> sent.incrementAndGet());
+        Bucket bucket = bucket(rows, Observable.empty());
+
+        try (Stream<DocumentEntity> entities = CouchbaseQueryRows.stream(bucket,
+                N1qlQuery.simple("select * from library"))) {
+            Optional<DocumentEntity> first = entities.findFirst();
+            assertTrue(first.isPresent());
+        }
+        assertTrue(sent.get() < 10_000);
+    }
+
+    @Test(expected = QueryExecutionException.class)
+    public void shouldFailWhenTheQueryFails() {
+        Bucket bucket = bucket(Observable.empty(), Observable.just(JsonObject.create()
+                .put("code", 3000).put("msg", "syntax error")));
+
+        CouchbaseQueryRows.stream(bucket, N1qlQuery.simple("select * fro library")).count();
+    }
+
+    private static Bucket bucket(Observable<AsyncN1qlQueryRow> rows, Observable<JsonObject> errors) {
+        AsyncN1qlQueryResult result = Mockito.mock(AsyncN1qlQueryResult.class);
+        when(result.rows()).thenReturn(rows);
+        when(result.errors()).thenReturn(errors);
+        AsyncBucket asyncBucket = Mockito.mock(AsyncBucket.class);
+        when(asyncBucket.query(any(N1qlQuery.class))).thenReturn(Observable.just(result));
+        Bucket bucket = Mockito.mock(Bucket.class);
+        when(bucket.name()).thenReturn("library");
+        when(bucket.async()).thenReturn(asyncBucket);
+        return bucket;
+    }
+
+    private static AsyncN1qlQueryRow row(String key, String title) {
+        return row(JsonObject.create().put("library", JsonObject.create().put("_id", key).put("title", title)));
+    }
+
+    private static AsyncN1qlQueryRow row(JsonObject value) {
+        AsyncN1qlQueryRow row = Mockito.mock(AsyncN1qlQueryRow.class);
+        when(row.value()).thenReturn(value);
+        return row;
+    }
+}
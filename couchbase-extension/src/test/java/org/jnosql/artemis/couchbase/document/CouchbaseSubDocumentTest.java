@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.couchbase.document;
+
+import com.couchbase.client.java.Bucket;
+import com.couchbase.client.java.error.DocumentDoesNotExistException;
+import com.couchbase.client.java.subdoc.DocumentFragment;
+import com.couchbase.client.java.subdoc.LookupInBuilder;
+import com.couchbase.client.java.subdoc.MutateInBuilder;
+import com.couchbase.client.java.subdoc.Mutation;
+import org.jnosql.artemis.reflection.ClassRepresentation;
+import org.jnosql.artemis.reflection.ClassRepresentations;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mockito;
+
+import javax.inject.Inject;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(WeldJUnit4Runner.class)
+public class CouchbaseSubDocumentTest {
+
+    @Inject
+    private ClassRepresentations classRepresentations;
+
+    private ClassRepresentation representation;
+
+    private Bucket bucket;
+
+    private MutateInBuilder builder;
+
+    private DocumentFragment<Mutation> fragment;
+
+    @Before
+    public void setUp() {
+        representation = classRepresentations.get(Book.class);
+        bucket = Mockito.mock(Bucket.class);
+        builder = Mockito.mock(MutateInBuilder.class);
+        fragment = Mockito.mock(DocumentFragment.class);
+        when(bucket.mutateIn("Book:978-0321356680")).thenReturn(builder);
+        when(builder.execute()).thenReturn(fragment);
+        when(fragment.cas()).thenReturn(42L);
+    }
+
+    @Test
+    public void shouldMutatePaths() {
+        when(fragment.content(1)).thenReturn(5L);
+        CouchbaseMutation mutation = CouchbaseMutation.create()
+                .set("title", "Effective Java")
+                .increment("views", 2)
+                .arrayAppend("tags", "java", "jvm")
+                .remove("draft.notes")
+                .withCas(41L)
+                .withExpiry(Duration.ofHours(1));
+
+        CouchbaseMutationResult result = CouchbaseSubDocument.mutate(bucket, representation, "978-0321356680",
+                mutation);
+
+        assertEquals(42L, result.getCas());
+        assertEquals(Optional.of(5L), result.getCounter("views"));
+        verify(builder).upsert("title", "Effective Java", true);
+        verify(builder).counter("views", 2L, true);
+        verify(builder).arrayAppend("tags", "java", true);
+        verify(builder).arrayAppend("tags", "jvm", true);
+        verify(builder).remove("draft.notes");
+        verify(builder).withCas(41L);
+        verify(builder).withExpiry(3600);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldReturnErrorWhenMutatesKey() {
+        CouchbaseSubDocument.mutate(bucket, representation, "978-0321356680",
+                CouchbaseMutation.create().set("isbn", "0"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldReturnErrorWhenMutationIsEmpty() {
+        CouchbaseSubDocument.mutate(bucket, representation, "978-0321356680", CouchbaseMutation.create());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldReturnErrorWhenThereAreTooManyPaths() {
+        CouchbaseMutation mutation = CouchbaseMutation.create();
+        for (int index = 0; index <= CouchbaseSubDocument.MAX_PATHS; index++) {
+            mutation.increment("counter" + index, 1);
+        }
+        CouchbaseSubDocument.mutate(bucket, representation, "978-0321356680", mutation);
+    }
+
+    @Test
+    public void shouldUseUnixTimeWhenExpiryIsLongerThanThirtyDays() {
+        Clock clock = Clock.fixed(Instant.ofEpochSecond(1_500_000_000L), ZoneOffset.UTC);
+        assertEquals(2_592_000, CouchbaseSubDocument.toExpiry(Duration.ofDays(30), clock));
+        assertEquals(1_502_592_001, CouchbaseSubDocument.toExpiry(Duration.ofDays(30).plusSeconds(1), clock));
+        assertEquals(1, CouchbaseSubDocument.toExpiry(Duration.ofMillis(500), clock));
+    }
+
+    @Test
+    public void shouldMutateWithUnixTimeExpiry() {
+        Clock clock = Clock.fixed(Instant.ofEpochSecond(1_500_000_000L), ZoneOffset.UTC);
+        CouchbaseSubDocument.mutate(bucket, representation, "978-0321356680",
+                CouchbaseMutation.create().set("title", "Effective Java").withExpiry(Duration.ofDays(365)), clock);
+        verify(builder).withExpiry(1_531_536_000);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldReturnErrorWhenExpiryIsTooLong() {
+        CouchbaseSubDocument.toExpiry(Duration.ofDays(365 * 100), Clock.systemUTC());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldReturnErrorWhenExpiryIsNotPositive() {
+        CouchbaseMutation.create().withExpiry(Duration.ZERO);
+    }
+
+    @Test
+    public void shouldKeepPrefixedKey() {
+        assertEquals("Book:1", CouchbaseSubDocument.key("Book", 1));
+        assertEquals("Book:1", CouchbaseSubDocument.key("Book", "Book:1"));
+    }
+
+    @Test
+    public void shouldReturnEmptyCasWhenDocumentDoesNotExist() {
+        LookupInBuilder lookup = Mockito.mock(LookupInBuilder.class);
+        when(bucket.lookupIn("Book:1")).thenReturn(lookup);
+        when(lookup.exists("_id")).thenReturn(lookup);
+        when(lookup.execute()).thenThrow(new DocumentDoesNotExistException());
+
+        assertFalse(CouchbaseSubDocument.findCas(bucket, representation, "1").isPresent());
+    }
+}
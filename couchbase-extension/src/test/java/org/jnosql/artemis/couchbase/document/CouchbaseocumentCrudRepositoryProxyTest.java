@@ -21,7 +21,9 @@ package org.jnosql.artemis.couchbase.document;
 
 import com.couchbase.client.java.document.json.JsonObject;
 import org.jnosql.artemis.CrudRepository;
+import org.jnosql.artemis.DynamicQueryException;
 import org.jnosql.artemis.reflection.ClassRepresentations;
+import org.jnosql.diana.api.document.DocumentQuery;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -32,6 +34,8 @@ import javax.inject.Inject;
 import java.lang.reflect.Proxy;
 import java.time.Duration;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 import static java.util.Collections.singletonList;
 import static org.hamcrest.Matchers.containsInAnyOrder;
@@ -127,22 +131,102 @@ public class CouchbaseocumentCrudRepositoryProxyTest {
     @Test
     public void shouldFindAll() {
         personRepository.findAll();
-        verify(repository).n1qlQuery("select * from Person");
+        verify(repository).n1qlPreparedQuery("select * from Person");
     }
 
     @Test
     public void shouldFindByNameN1ql() {
         JsonObject params = JsonObject.create().put("name", "Ada");
         personRepository.findByName(params);
-        verify(repository).n1qlQuery(Mockito.eq("select * from Person where name = $name"), Mockito.any());
+        verify(repository).n1qlPreparedQuery(Mockito.eq("select * from Person where name = $name"), Mockito.any());
+    }
+
+    @Test
+    public void shouldFindByAgeN1qlStream() {
+        JsonObject params = JsonObject.create().put("age", 20);
+        personRepository.findByAge(params);
+        verify(repository).n1qlPreparedQueryStream("select * from Person where age = $age", params);
+        verify(repository, Mockito.never()).n1qlPreparedQuery("select * from Person where age = $age", params);
+    }
+
+    @Test
+    public void shouldFindProjectionFromN1ql() {
+        JsonObject params = JsonObject.create().put("age", 10);
+        PersonName name = () -> "Ada";
+        when(repository.n1qlPreparedQuery("select * from Person where age = $age", params, PersonName.class))
+                .thenReturn(singletonList(name));
+
+        List<PersonName> names = personRepository.findNamesByAge(params);
+        assertEquals(singletonList(name), names);
+    }
+
+    @Test
+    public void shouldFindProjection() {
+        PersonName name = () -> "Ada";
+        ArgumentCaptor<DocumentQuery> captor = ArgumentCaptor.forClass(DocumentQuery.class);
+        when(repository.find(any(DocumentQuery.class), Mockito.eq(PersonName.class)))
+                .thenReturn(singletonList(name));
+
+        Optional<PersonName> result = personRepository.findByName("Ada");
+        assertEquals(name, result.get());
+        verify(repository).find(captor.capture(), Mockito.eq(PersonName.class));
+        assertEquals("Person", captor.getValue().getCollection());
+    }
+
+    @Test
+    public void shouldFindSliceFromN1ql() {
+        JsonObject params = JsonObject.create().put("age", 10);
+        CouchbasePageRequest page = CouchbasePageRequest.of(10, "name");
+        CouchbaseSlice<Person> slice = new CouchbaseSlice<>(singletonList(new Person("Ada", 10)), null);
+        when(repository.<Person>n1qlPreparedQuerySlice("select * from Person where age = $age", params, page))
+                .thenReturn(slice);
+
+        assertEquals(slice, personRepository.findPageByAge(params, page));
+    }
+
+    @Test
+    public void shouldFindSlice() {
+        CouchbasePageRequest page = CouchbasePageRequest.of(10, "name");
+        ArgumentCaptor<DocumentQuery> captor = ArgumentCaptor.forClass(DocumentQuery.class);
+        CouchbaseSlice<Person> slice = new CouchbaseSlice<>(singletonList(new Person("Ada", 10)), null);
+        when(repository.<Person>findSlice(any(DocumentQuery.class), Mockito.eq(page))).thenReturn(slice);
+
+        assertEquals(slice, personRepository.findByAge(10, page));
+        verify(repository).findSlice(captor.capture(), Mockito.eq(page));
+        assertEquals("Person", captor.getValue().getCollection());
+    }
+
+    @Test(expected = DynamicQueryException.class)
+    public void shouldReturnErrorWhenSliceHasNoPageRequest() {
+        personRepository.findByName("Ada", null);
+    }
+
+    interface PersonName {
+
+        String getName();
     }
 
     interface PersonRepository extends CrudRepository<Person> {
 
+        @N1QL("select * from Person where age = $age")
+        List<PersonName> findNamesByAge(JsonObject params);
+
+        Optional<PersonName> findByName(String name);
+
         @N1QL("select * from Person")
         List<Person> findAll();
 
         @N1QL("select * from Person where name = $name")
         List<Person> findByName(JsonObject params);
+
+        @N1QL("select * from Person where age = $age")
+        Stream<Person> findByAge(JsonObject params);
+
+        @N1QL("select * from Person where age = $age")
+        CouchbaseSlice<Person> findPageByAge(JsonObject params, CouchbasePageRequest page);
+
+        CouchbaseSlice<Person> findByAge(Integer age, CouchbasePageRequest page);
+
+        CouchbaseSlice<Person> findByName(String name, CouchbasePageRequest page);
     }
 }
\ No newline at end of file
@@ -19,22 +19,46 @@
  */
 package org.jnosql.artemis.couchbase.document;
 
+import com.couchbase.client.java.AsyncBucket;
+import com.couchbase.client.java.Bucket;
+import com.couchbase.client.java.document.JsonDocument;
 import com.couchbase.client.java.document.json.JsonObject;
+import com.couchbase.client.java.error.TemporaryFailureException;
 import com.couchbase.client.java.query.Statement;
 import org.jnosql.artemis.document.DocumentEntityConverter;
+import org.jnosql.artemis.reflection.ClassRepresentations;
+import org.jnosql.diana.api.document.DocumentQuery;
 import org.jnosql.diana.api.document.Document;
 import org.jnosql.diana.api.document.DocumentEntity;
 import org.jnosql.diana.couchbase.document.CouchbaseDocumentCollectionManagerAsync;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import rx.Observable;
 
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.when;
 
 @RunWith(WeldJUnit4Runner.class)
@@ -43,18 +67,23 @@ public class DefaultCouchbaseDocumentRepositoryAsyncTest {
     @Inject
     private DocumentEntityConverter converter;
 
+    @Inject
+    private ClassRepresentations classRepresentations;
+
     private CouchbaseDocumentCollectionManagerAsync managerAsync;
 
     private CouchbaseDocumentRepositoryAsync repositoryAsync;
 
+    private Instance managerInstance;
+
 
     @Before
     public void setUp() {
         managerAsync = Mockito.mock(CouchbaseDocumentCollectionManagerAsync.class);
-        Instance instance = Mockito.mock(Instance.class);
-        when(instance.get()).thenReturn(managerAsync);
+        managerInstance = Mockito.mock(Instance.class);
+        when(managerInstance.get()).thenReturn(managerAsync);
 
-        repositoryAsync = new DefaultCouchbaseDocumentRepositoryAsync(converter, instance);
+        repositoryAsync = new DefaultCouchbaseDocumentRepositoryAsync(converter, managerInstance, classRepresentations);
 
         DocumentEntity entity = DocumentEntity.of("Person");
         entity.add(Document.of("name", "Ada"));
@@ -102,5 +131,214 @@ public class DefaultCouchbaseDocumentRepositoryAsyncTest {
         Mockito.verify(managerAsync).n1qlQuery(Mockito.eq(query),  Mockito.any(Consumer.class));
     }
 
+    @Test
+    public void shouldFindByIds() throws Exception {
+        AsyncBucket asyncBucket = Mockito.mock(AsyncBucket.class);
+        when(asyncBucket.get("Book:3")).thenReturn(Observable.just(JsonDocument.create("Book:3", JsonObject.create()
+                .put("_id", "Book:3").put("title", "Book 3"))));
+        when(asyncBucket.get("Book:2")).thenReturn(Observable.empty());
+        when(asyncBucket.get("Book:1")).thenReturn(Observable.just(JsonDocument.create("Book:1", JsonObject.create()
+                .put("_id", "Book:1").put("title", "Book 1"))));
+        CouchbaseDocumentRepositoryAsync repository = withBucket(asyncBucket);
+
+        List<Optional<Book>> books = repository.findByIds(Book.class, Arrays.asList("3", "2", "1"))
+                .toCompletableFuture().get();
+
+        assertEquals(3, books.size());
+        assertEquals("Book 3", books.get(0).get().getTitle());
+        assertFalse(books.get(1).isPresent());
+        assertEquals("Book 1", books.get(2).get().getTitle());
+        Mockito.verify(managerAsync, Mockito.never()).find(any(DocumentQuery.class), any(Consumer.class));
+    }
+
+    @Test
+    public void shouldFailFindByIdsAsSoonAsAGetFails() throws Exception {
+        AsyncBucket asyncBucket = Mockito.mock(AsyncBucket.class);
+        when(asyncBucket.get("Book:1")).thenReturn(Observable.never());
+        when(asyncBucket.get("Book:2")).thenReturn(Observable.error(new TemporaryFailureException()));
+        CouchbaseDocumentRepositoryAsync repository = withBucket(asyncBucket);
+
+        CompletableFuture<List<Optional<Book>>> books = repository.findByIds(Book.class, Arrays.asList("1", "2"))
+                .toCompletableFuture();
+        try {
+            books.get(1, TimeUnit.SECONDS);
+            fail("findByIds should fail");
+        } catch (ExecutionException exception) {
+            assertTrue(exception.getCause() instanceof TemporaryFailureException);
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldReturnErrorWhenFindsByIdsWithoutBucket() {
+        repositoryAsync.findByIds(Book.class, Arrays.asList("1", "2"));
+    }
+
+    @Test
+    public void shouldSaveBulkThroughTheBucket() throws Exception {
+        AsyncBucket asyncBucket = Mockito.mock(AsyncBucket.class);
+        when(asyncBucket.upsert(any(JsonDocument.class))).thenAnswer(i -> Observable.just(i.getArguments()[0]));
+        CouchbaseDocumentRepositoryAsync repository = withBucket(asyncBucket);
+
+        CouchbaseBulkResult<Book> result = repository.saveBulk(Arrays.asList(book("1", "Dune"),
+                book("2", "Emma")), 1).toCompletableFuture().get();
+
+        assertEquals(2, result.getSuccesses());
+        assertTrue(result.isSuccess());
+        ArgumentCaptor<JsonDocument> documents = ArgumentCaptor.forClass(JsonDocument.class);
+        Mockito.verify(asyncBucket, Mockito.times(2)).upsert(documents.capture());
+        assertEquals("Book:1", documents.getAllValues().get(0).id());
+        assertEquals("Dune", documents.getAllValues().get(0).content().getString("title"));
+        Mockito.verify(managerAsync, Mockito.never()).save(any(DocumentEntity.class), any(Consumer.class));
+    }
+
+    @Test
+    public void shouldRetryTheBulkSaveWhenTheBucketFailsTemporarily() throws Exception {
+        AsyncBucket asyncBucket = Mockito.mock(AsyncBucket.class);
+        when(asyncBucket.upsert(any(JsonDocument.class)))
+                .thenReturn(Observable.error(new TemporaryFailureException()))
+                .thenAnswer(i -> Observable.just(i.getArguments()[0]));
+        CouchbaseDocumentRepositoryAsync repository = withBucket(asyncBucket);
+
+        CouchbaseBulkResult<Book> result = repository.saveBulk(Collections.singletonList(book("1", "Dune")), 1,
+                CouchbaseRetryPolicy.of(2, Duration.ofMillis(1), Duration.ofMillis(1), Duration.ofSeconds(5)))
+                .toCompletableFuture().get();
+
+        assertTrue(result.isSuccess());
+        assertEquals(1, result.getRetries());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldReturnErrorWhenSavesBulkWithoutBucket() {
+        repositoryAsync.saveBulk(Collections.singletonList(book("1", "Dune")), 1);
+    }
+
+    @Test
+    public void shouldTimeOutFindByIdsWhenTheBucketDoesNotAnswer() throws Exception {
+        AsyncBucket asyncBucket = Mockito.mock(AsyncBucket.class);
+        when(asyncBucket.get(any(String.class))).thenReturn(Observable.never());
+        CouchbaseDocumentRepositoryAsync repository = withBucket(asyncBucket);
+
+        CompletableFuture<List<Optional<Book>>> books = repository.findByIds(Book.class, Arrays.asList("1", "2"),
+                CouchbaseMultiGet.DEFAULT_MAX_CONCURRENCY, Duration.ofMillis(10)).toCompletableFuture();
+        try {
+            books.get();
+            fail("findByIds should time out");
+        } catch (ExecutionException exception) {
+            assertTrue(exception.getCause() instanceof TimeoutException);
+        }
+    }
+
+    @Test
+    public void shouldFindStage() throws Exception {
+        String query = "select * from Person where name = $name";
+        JsonObject params = JsonObject.create().put("name", "Ada");
+        DocumentEntity entity = DocumentEntity.of("Person");
+        entity.add(Document.of("name", "Ada"));
+        entity.add(Document.of("age", 10));
+        doAnswer(invocation -> {
+            Consumer<List<DocumentEntity>> callback = (Consumer<List<DocumentEntity>>) invocation.getArguments()[2];
+            callback.accept(Collections.singletonList(entity));
+            return null;
+        }).when(managerAsync).n1qlQuery(Mockito.eq(query), Mockito.eq(params), any(Consumer.class));
+
+        List<Person> people = repositoryAsync.<Person>n1qlQueryStage(query, params).toCompletableFuture().get();
+        assertEquals(1, people.size());
+        assertEquals("Ada", people.get(0).getName());
+    }
+
+    @Test
+    public void shouldCompleteExceptionallyWhenQueryFails() {
+        Mockito.doThrow(new IllegalStateException("unavailable")).when(managerAsync)
+                .n1qlQuery(Mockito.eq("select * from Person"), any(Consumer.class));
+
+        assertTrue(repositoryAsync.n1qlQueryStage("select * from Person").toCompletableFuture()
+                .isCompletedExceptionally());
+    }
+
+    @Test
+    public void shouldFailTheStageWhenTheConversionExecutorIsFull() throws Exception {
+        Instance executor = Mockito.mock(Instance.class);
+        when(executor.get()).thenReturn(CouchbaseConversionExecutor.of(r -> {
+            throw new RejectedExecutionException("full");
+        }));
+        CouchbaseDocumentRepositoryAsync repository = new DefaultCouchbaseDocumentRepositoryAsync(converter,
+                managerInstance, classRepresentations, executor);
+        doAnswer(invocation -> {
+            Consumer<List<DocumentEntity>> callback = (Consumer<List<DocumentEntity>>) invocation.getArguments()[1];
+            callback.accept(Collections.emptyList());
+            return null;
+        }).when(managerAsync).find(any(DocumentQuery.class), any(Consumer.class));
+
+        try {
+            repository.findStage(DocumentQuery.of("Person")).toCompletableFuture().get();
+            fail("The stage should fail");
+        } catch (ExecutionException exception) {
+            assertTrue(exception.getCause() instanceof RejectedExecutionException);
+        }
+    }
+
+    @Test
+    public void shouldConvertOnConversionExecutor() {
+        List<Runnable> tasks = new ArrayList<>();
+        Instance<CouchbaseConversionExecutor> executorInstance = Mockito.mock(Instance.class);
+        when(executorInstance.get()).thenReturn(CouchbaseConversionExecutor.of(tasks::add));
+        Instance instance = Mockito.mock(Instance.class);
+        when(instance.get()).thenReturn(managerAsync);
+        CouchbaseDocumentRepositoryAsync repository = new DefaultCouchbaseDocumentRepositoryAsync(converter, instance,
+                classRepresentations, executorInstance);
+
+        DocumentEntity entity = DocumentEntity.of("Person");
+        entity.add(Document.of("name", "Ada"));
+        doAnswer(invocation -> {
+            Consumer<List<DocumentEntity>> callback = (Consumer<List<DocumentEntity>>) invocation.getArguments()[1];
+            callback.accept(Collections.singletonList(entity));
+            return null;
+        }).when(managerAsync).n1qlQuery(Mockito.eq("select * from Person"), any(Consumer.class));
+
+        List<Person> people = new ArrayList<>();
+        repository.<Person>n1qlQuery("select * from Person", people::addAll);
+        assertTrue(people.isEmpty());
+        assertEquals(1, tasks.size());
+
+        tasks.get(0).run();
+        assertEquals("Ada", people.get(0).getName());
+    }
+
+    @Test
+    public void shouldConvertTheSavedEntityOnTheExecutor() {
+        List<Runnable> tasks = new ArrayList<>();
+        Instance executor = Mockito.mock(Instance.class);
+        when(executor.get()).thenReturn(CouchbaseConversionExecutor.of(tasks::add));
+        CouchbaseDocumentRepositoryAsync repository = new DefaultCouchbaseDocumentRepositoryAsync(converter,
+                managerInstance, classRepresentations, executor);
+        List<Person> saved = new ArrayList<>();
 
-}
\ No newline at end of file
+        repository.save(new Person("Ada", 10), saved::add);
+        ArgumentCaptor<Consumer> callBack = ArgumentCaptor.forClass(Consumer.class);
+        Mockito.verify(managerAsync).save(any(DocumentEntity.class), callBack.capture());
+        DocumentEntity entity = DocumentEntity.of("Person");
+        entity.add(Document.of("name", "Ada"));
+        entity.add(Document.of("age", 10));
+        callBack.getValue().accept(entity);
+
+        assertTrue(saved.isEmpty());
+        tasks.get(0).run();
+        assertEquals("Ada", saved.get(0).getName());
+    }
+
+    private CouchbaseDocumentRepositoryAsync withBucket(AsyncBucket asyncBucket) {
+        Bucket bucket = Mockito.mock(Bucket.class);
+        when(bucket.async()).thenReturn(asyncBucket);
+        Instance<Bucket> bucketInstance = Mockito.mock(Instance.class);
+        when(bucketInstance.get()).thenReturn(bucket);
+        return new DefaultCouchbaseDocumentRepositoryAsync(converter, managerInstance, classRepresentations, null,
+                bucketInstance);
+    }
+
+    private static Book book(String isbn, String title) {
+        Book book = new Book();
+        book.setIsbn(isbn);
+        book.setTitle(title);
+        return book;
+    }
+}
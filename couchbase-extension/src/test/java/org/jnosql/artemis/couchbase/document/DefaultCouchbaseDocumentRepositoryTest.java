@@ -19,22 +19,41 @@
  */
 package org.jnosql.artemis.couchbase.document;
 
+import com.couchbase.client.java.AsyncBucket;
+import com.couchbase.client.java.Bucket;
+import com.couchbase.client.java.document.JsonDocument;
 import com.couchbase.client.java.document.json.JsonObject;
+import com.couchbase.client.java.query.AsyncN1qlQueryResult;
+import com.couchbase.client.java.query.AsyncN1qlQueryRow;
+import com.couchbase.client.java.query.N1qlQuery;
 import com.couchbase.client.java.query.Statement;
 import org.jnosql.artemis.document.DocumentEntityConverter;
 import org.jnosql.artemis.document.DocumentEventPersistManager;
 import org.jnosql.artemis.document.DocumentWorkflow;
+import org.jnosql.artemis.reflection.ClassRepresentations;
 import org.jnosql.diana.api.document.Document;
 import org.jnosql.diana.api.document.DocumentEntity;
+import org.jnosql.diana.api.document.DocumentQuery;
 import org.jnosql.diana.couchbase.document.CouchbaseDocumentCollectionManager;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
+import rx.Observable;
 
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.when;
 
 
@@ -50,6 +69,9 @@ public class DefaultCouchbaseDocumentRepositoryTest {
     @Inject
     private DocumentEventPersistManager persistManager;
 
+    @Inject
+    private ClassRepresentations classRepresentations;
+
     private CouchbaseDocumentCollectionManager manager;
 
     private CouchbaseDocumentRepository repository;
@@ -97,4 +119,139 @@ public class DefaultCouchbaseDocumentRepositoryTest {
         Mockito.verify(manager).n1qlQuery(statement);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void shouldReturnN1qlStream() {
+        DocumentEntity entity = DocumentEntity.of("Person");
+        entity.add(Document.of("name", "Ada"));
+        entity.add(Document.of("age", 10));
+        JsonObject params = JsonObject.create().put("name", "Ada");
+        when(manager.n1qlQuery("select * from Person where name = $name", params))
+                .thenReturn(Collections.singletonList(entity));
+
+        Stream<Person> people = repository.n1qlQueryStream("select * from Person where name = $name", params);
+        assertEquals(Collections.singletonList(new Person("Ada", 10)), people.collect(Collectors.toList()));
+    }
+
+    @Test
+    public void shouldStreamN1qlThroughTheBucket() {
+        AsyncN1qlQueryRow row = Mockito.mock(AsyncN1qlQueryRow.class);
+        when(row.value()).thenReturn(JsonObject.create().put("library", JsonObject.create()
+                .put("_id", "Book:1").put("title", "Effective Java")));
+        AsyncN1qlQueryResult result = Mockito.mock(AsyncN1qlQueryResult.class);
+        when(result.rows()).thenReturn(Observable.just(row));
+        when(result.errors()).thenReturn(Observable.empty());
+        AsyncBucket asyncBucket = Mockito.mock(AsyncBucket.class);
+        when(asyncBucket.query(any(N1qlQuery.class))).thenReturn(Observable.just(result));
+        Bucket bucket = Mockito.mock(Bucket.class);
+        when(bucket.name()).thenReturn("library");
+        when(bucket.async()).thenReturn(asyncBucket);
+        CouchbaseDocumentRepository repository = withBucket(bucket);
+
+        List<Book> books = repository.<Book>n1qlQueryStream("select * from library where title = $title",
+                JsonObject.create().put("title", "Effective Java")).collect(Collectors.toList());
+
+        assertEquals("Effective Java", books.get(0).getTitle());
+        Mockito.verify(manager, Mockito.never()).n1qlQuery(any(String.class), any(JsonObject.class));
+    }
+
+    @Test
+    public void shouldRunPreparedQueryThroughTheBucket() {
+        AsyncN1qlQueryRow row = Mockito.mock(AsyncN1qlQueryRow.class);
+        when(row.value()).thenReturn(JsonObject.create().put("library", JsonObject.create()
+                .put("_id", "Book:1").put("title", "Effective Java")));
+        AsyncN1qlQueryResult result = Mockito.mock(AsyncN1qlQueryResult.class);
+        when(result.rows()).thenReturn(Observable.just(row));
+        when(result.errors()).thenReturn(Observable.empty());
+        AsyncBucket asyncBucket = Mockito.mock(AsyncBucket.class);
+        when(asyncBucket.query(any(N1qlQuery.class))).thenReturn(Observable.just(result));
+        Bucket bucket = Mockito.mock(Bucket.class);
+        when(bucket.name()).thenReturn("library");
+        when(bucket.async()).thenReturn(asyncBucket);
+        CouchbaseDocumentRepository repository = withBucket(bucket);
+
+        List<Book> books = repository.n1qlPreparedQuery("select * from library where title = $title",
+                JsonObject.create().put("title", "Effective Java"));
+
+        assertEquals("Effective Java", books.get(0).getTitle());
+        ArgumentCaptor<N1qlQuery> query = ArgumentCaptor.forClass(N1qlQuery.class);
+        Mockito.verify(asyncBucket).query(query.capture());
+        assertFalse(query.getValue().params().isAdhoc());
+        Mockito.verify(manager, Mockito.never()).n1qlQuery(any(String.class), any(JsonObject.class));
+    }
+
+    @Test
+    public void shouldRunPreparedQueryThroughTheManagerWithoutBucket() {
+        DocumentEntity entity = DocumentEntity.of("Person");
+        entity.add(Document.of("name", "Ada"));
+        entity.add(Document.of("age", 10));
+        when(manager.n1qlQuery("select * from Person")).thenReturn(Collections.singletonList(entity));
+
+        List<Person> people = repository.n1qlPreparedQuery("select * from Person");
+        assertEquals(Collections.singletonList(new Person("Ada", 10)), people);
+    }
+
+    @Test
+    public void shouldFindByIdsWithoutBucket() {
+        Instance instance = Mockito.mock(Instance.class);
+        when(instance.get()).thenReturn(manager);
+        CouchbaseDocumentRepository repository = new DefaultCouchbaseDocumentRepository(instance, converter, flow,
+                persistManager, classRepresentations);
+
+        DocumentEntity entity = DocumentEntity.of("Book");
+        entity.add(Document.of("_id", "1"));
+        entity.add(Document.of("title", "Effective Java"));
+        when(manager.find(any(DocumentQuery.class))).thenReturn(Collections.singletonList(entity),
+                Collections.emptyList());
+
+        List<Optional<Book>> books = repository.findByIds(Book.class, Arrays.asList("1", "2"));
+        assertEquals(2, books.size());
+        assertEquals("Effective Java", books.get(0).get().getTitle());
+        assertFalse(books.get(1).isPresent());
+        Mockito.verify(manager, Mockito.times(2)).find(any(DocumentQuery.class));
+    }
+
+    @Test
+    public void shouldFindByIdThroughTheBucket() {
+        Bucket bucket = Mockito.mock(Bucket.class);
+        when(bucket.get("Book:1")).thenReturn(JsonDocument.create("Book:1", JsonObject.create()
+                .put("_id", "Book:1").put("title", "Effective Java")));
+        CouchbaseDocumentRepository repository = withBucket(bucket);
+
+        Optional<Book> book = repository.findById(Book.class, "1");
+
+        assertEquals("Effective Java", book.get().getTitle());
+        assertFalse(repository.findById(Book.class, "2").isPresent());
+        Mockito.verify(manager, Mockito.never()).find(any(DocumentQuery.class));
+    }
+
+    @Test
+    public void shouldFindByIdsThroughTheBucket() {
+        AsyncBucket asyncBucket = Mockito.mock(AsyncBucket.class);
+        when(asyncBucket.get("Book:1")).thenReturn(Observable.just(JsonDocument.create("Book:1", JsonObject.create()
+                .put("_id", "Book:1").put("title", "Effective Java"))));
+        when(asyncBucket.get("Book:2")).thenReturn(Observable.empty());
+        Bucket bucket = Mockito.mock(Bucket.class);
+        when(bucket.async()).thenReturn(asyncBucket);
+        CouchbaseDocumentRepository repository = withBucket(bucket);
+
+        List<Optional<Book>> books = repository.findByIds(Book.class, Arrays.asList("1", "2"));
+
+        assertEquals("Effective Java", books.get(0).get().getTitle());
+        assertFalse(books.get(1).isPresent());
+        Mockito.verify(manager, Mockito.never()).find(any(DocumentQuery.class));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldReturnErrorWhenMutatesWithoutBucket() {
+        repository.mutate(Book.class, "978-0321356680", CouchbaseMutation.create().increment("views", 1));
+    }
+
+    private CouchbaseDocumentRepository withBucket(Bucket bucket) {
+        Instance instance = Mockito.mock(Instance.class);
+        when(instance.get()).thenReturn(manager);
+        Instance<Bucket> bucketInstance = Mockito.mock(Instance.class);
+        when(bucketInstance.get()).thenReturn(bucket);
+        return new DefaultCouchbaseDocumentRepository(instance, converter, flow, persistManager,
+                classRepresentations, bucketInstance);
+    }
+}
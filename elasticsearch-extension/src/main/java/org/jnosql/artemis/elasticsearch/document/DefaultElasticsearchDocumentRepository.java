@@ -20,7 +20,10 @@
 package org.jnosql.artemis.elasticsearch.document;
 
 
+import org.elasticsearch.action.search.SearchRequestBuilder;
+import org.elasticsearch.client.Client;
 import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.search.aggregations.AggregationBuilder;
 import org.jnosql.artemis.document.AbstractDocumentRepository;
 import org.jnosql.artemis.document.DocumentEntityConverter;
 import org.jnosql.artemis.document.DocumentEventPersistManager;
@@ -34,6 +37,7 @@ import javax.inject.Inject;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * The Default implementation of {@link ElasticsearchDocumentRepository}
@@ -49,14 +53,23 @@ class DefaultElasticsearchDocumentRepository extends AbstractDocumentRepository
 
     private DocumentEventPersistManager persistManager;
 
+    private Instance<Client> client;
+
     @Inject
     DefaultElasticsearchDocumentRepository(Instance<ElasticsearchDocumentCollectionManager> manager,
                                            DocumentEntityConverter converter, DocumentWorkflow flow,
-                                           DocumentEventPersistManager persistManager) {
+                                           DocumentEventPersistManager persistManager, Instance<Client> client) {
         this.manager = manager;
         this.converter = converter;
         this.flow = flow;
         this.persistManager = persistManager;
+        this.client = client;
+    }
+
+    DefaultElasticsearchDocumentRepository(Instance<ElasticsearchDocumentCollectionManager> manager,
+                                           DocumentEntityConverter converter, DocumentWorkflow flow,
+                                           DocumentEventPersistManager persistManager) {
+        this(manager, converter, flow, persistManager, null);
     }
 
     DefaultElasticsearchDocumentRepository() {
@@ -89,4 +102,79 @@ class DefaultElasticsearchDocumentRepository extends AbstractDocumentRepository
         return entities.stream().map(converter::toEntity).map(e -> (T) e)
                 .collect(Collectors.toList());
     }
+
+    @Override
+    public <T> List<T> find(QueryBuilder query, ElasticsearchSearchOptions options, String... types)
+            throws NullPointerException, IllegalStateException {
+        Objects.requireNonNull(query, "query is required");
+        Objects.requireNonNull(options, "options is required");
+        SearchRequestBuilder search = search(query, options, types)
+                .setFetchSource(options.getIncludes(), options.getExcludes());
+        return toEntities(search).map(converter::toEntity).map(e -> (T) e)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public <P> List<P> find(QueryBuilder query, ElasticsearchSearchOptions options, Class<P> projection,
+                            String... types) throws NullPointerException, IllegalArgumentException,
+            IllegalStateException {
+        Objects.requireNonNull(query, "query is required");
+        Objects.requireNonNull(options, "options is required");
+        ElasticsearchProjection<P> mapper = ElasticsearchProjection.of(projection);
+        SearchRequestBuilder search = search(query, options, types);
+        String[] includes = mapper.getIncludes();
+        if (includes.length == 0) {
+            search.setFetchSource(false);
+        } else {
+            search.setFetchSource(includes, options.getExcludes());
+        }
+        return toEntities(search).map(mapper::toProjection).collect(Collectors.toList());
+    }
+
+    @Override
+    public <T> ElasticsearchBulkResult<T> saveBulk(Iterable<T> entities, ElasticsearchBulkOptions options)
+            throws NullPointerException, IllegalStateException {
+        Objects.requireNonNull(entities, "entities is required");
+        Objects.requireNonNull(options, "options is required");
+        return new ElasticsearchBulkIndexer<T>(options, converter::toDocument).index(getClient(), entities);
+    }
+
+    @Override
+    public <T> Stream<T> findStream(QueryBuilder query, ElasticsearchScrollOptions options, String... types)
+            throws NullPointerException, IllegalStateException {
+        Objects.requireNonNull(query, "query is required");
+        Objects.requireNonNull(options, "options is required");
+        return ElasticsearchScrollIterator.stream(getClient(), options, query, d -> (T) converter.toEntity(d), types);
+    }
+
+    @Override
+    public ElasticsearchAggregationResult aggregate(String index, QueryBuilder query,
+                                                    Iterable<? extends AggregationBuilder> aggregations,
+                                                    String... types)
+            throws NullPointerException, IllegalArgumentException, IllegalStateException {
+        Objects.requireNonNull(index, "index is required");
+        Objects.requireNonNull(query, "query is required");
+        Objects.requireNonNull(aggregations, "aggregations is required");
+        return ElasticsearchAggregations.toResult(ElasticsearchAggregations
+                .search(getClient(), index, query, aggregations, types).get());
+    }
+
+    private SearchRequestBuilder search(QueryBuilder query, ElasticsearchSearchOptions options, String... types) {
+        SearchRequestBuilder search = getClient().prepareSearch(options.getIndex()).setTypes(types).setQuery(query);
+        if (options.getSize() != null) {
+            search.setSize(options.getSize());
+        }
+        return search;
+    }
+
+    private Stream<DocumentEntity> toEntities(SearchRequestBuilder search) {
+        return Stream.of(search.get().getHits().getHits()).map(ElasticsearchScrolls::toEntity);
+    }
+
+    private Client getClient() {
+        if (client == null || client.isUnsatisfied()) {
+            throw new IllegalStateException("An org.elasticsearch.client.Client must be produced to use it");
+        }
+        return client.get();
+    }
 }
@@ -20,19 +20,29 @@
 package org.jnosql.artemis.elasticsearch.document;
 
 
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.Client;
 import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.search.aggregations.AggregationBuilder;
 import org.jnosql.artemis.document.AbstractDocumentRepositoryAsync;
 import org.jnosql.artemis.document.DocumentEntityConverter;
 import org.jnosql.diana.api.ExecuteAsyncQueryException;
 import org.jnosql.diana.api.document.DocumentCollectionManagerAsync;
 import org.jnosql.diana.api.document.DocumentEntity;
+import org.jnosql.diana.api.document.DocumentQuery;
 import org.jnosql.diana.elasticsearch.document.ElasticsearchDocumentCollectionManagerAsync;
 
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
+import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 import static java.util.stream.Collectors.toList;
 
@@ -42,15 +52,37 @@ import static java.util.stream.Collectors.toList;
 class DefaultElasticsearchDocumentRepositoryAsync extends AbstractDocumentRepositoryAsync implements
         ElasticsearchDocumentRepositoryAsync {
 
+    private static final Logger LOGGER = Logger.getLogger(DefaultElasticsearchDocumentRepositoryAsync.class
+            .getName());
+
     private DocumentEntityConverter converter;
 
     private Instance<ElasticsearchDocumentCollectionManagerAsync> manager;
 
+    private ElasticsearchConversionExecutor executor;
+
+    private Instance<Client> client;
+
     @Inject
     DefaultElasticsearchDocumentRepositoryAsync(DocumentEntityConverter converter,
-                                                Instance<ElasticsearchDocumentCollectionManagerAsync> manager) {
+                                                Instance<ElasticsearchDocumentCollectionManagerAsync> manager,
+                                                Instance<ElasticsearchConversionExecutor> executor,
+                                                Instance<Client> client) {
         this.converter = converter;
         this.manager = manager;
+        this.executor = ElasticsearchConversionExecutor.of(executor);
+        this.client = client;
+    }
+
+    DefaultElasticsearchDocumentRepositoryAsync(DocumentEntityConverter converter,
+                                                Instance<ElasticsearchDocumentCollectionManagerAsync> manager,
+                                                Instance<ElasticsearchConversionExecutor> executor) {
+        this(converter, manager, executor, null);
+    }
+
+    DefaultElasticsearchDocumentRepositoryAsync(DocumentEntityConverter converter,
+                                                Instance<ElasticsearchDocumentCollectionManagerAsync> manager) {
+        this(converter, manager, null);
     }
 
     DefaultElasticsearchDocumentRepositoryAsync() {
@@ -66,18 +98,123 @@ class DefaultElasticsearchDocumentRepositoryAsync extends AbstractDocumentReposi
         return manager.get();
     }
 
+    @Override
+    public <T> void save(T entity, Consumer<T> callBack)
+            throws ExecuteAsyncQueryException, UnsupportedOperationException, NullPointerException {
+        Objects.requireNonNull(entity, "entity is required");
+        Objects.requireNonNull(callBack, "callBack is required");
+        manager.get().save(converter.toDocument(entity), toEntity(entity, callBack));
+    }
+
+    @Override
+    public <T> void save(T entity, Duration ttl, Consumer<T> callBack)
+            throws ExecuteAsyncQueryException, UnsupportedOperationException, NullPointerException {
+        Objects.requireNonNull(entity, "entity is required");
+        Objects.requireNonNull(ttl, "ttl is required");
+        Objects.requireNonNull(callBack, "callBack is required");
+        manager.get().save(converter.toDocument(entity), ttl, toEntity(entity, callBack));
+    }
+
+    @Override
+    public <T> void update(T entity, Consumer<T> callBack)
+            throws ExecuteAsyncQueryException, UnsupportedOperationException, NullPointerException {
+        Objects.requireNonNull(entity, "entity is required");
+        Objects.requireNonNull(callBack, "callBack is required");
+        manager.get().update(converter.toDocument(entity), toEntity(entity, callBack));
+    }
+
     @Override
     public <T> void find(QueryBuilder query, Consumer<List<T>> callBack, String... types) throws NullPointerException, ExecuteAsyncQueryException {
         Objects.requireNonNull(query, "query is required");
         Objects.requireNonNull(callBack, "callBack is required");
 
-        Consumer<List<DocumentEntity>> dianaCallBack = d -> {
-            callBack.accept(
-                    d.stream()
-                            .map(getConverter()::toEntity)
-                            .map(o -> (T) o)
-                            .collect(toList()));
-        };
+        Consumer<List<DocumentEntity>> dianaCallBack = toEntities(callBack);
         manager.get().find(query, dianaCallBack, types);
     }
+
+    @Override
+    public <T> void find(DocumentQuery query, Consumer<List<T>> callBack)
+            throws ExecuteAsyncQueryException, UnsupportedOperationException, NullPointerException {
+        Objects.requireNonNull(query, "query is required");
+        Objects.requireNonNull(callBack, "callBack is required");
+        manager.get().find(query, toEntities(callBack));
+    }
+
+    @Override
+    public <T> void findPages(QueryBuilder query, ElasticsearchScrollOptions options, Consumer<List<T>> callBack,
+                              String... types) throws NullPointerException, IllegalStateException {
+        Objects.requireNonNull(query, "query is required");
+        Objects.requireNonNull(options, "options is required");
+        Objects.requireNonNull(callBack, "callBack is required");
+        this.<T>toScroll(options).forEach(query, callBack, types);
+    }
+
+    @Override
+    public <T> CompletionStage<ElasticsearchPage<T>> findPageStage(QueryBuilder query,
+                                                                   ElasticsearchScrollOptions options,
+                                                                   String... types)
+            throws NullPointerException, IllegalStateException {
+        Objects.requireNonNull(query, "query is required");
+        Objects.requireNonNull(options, "options is required");
+        return this.<T>toScroll(options).first(query, types);
+    }
+
+    @Override
+    public void aggregate(String index, QueryBuilder query, Iterable<? extends AggregationBuilder> aggregations,
+                          Consumer<ElasticsearchAggregationResult> callBack, String... types)
+            throws NullPointerException, IllegalArgumentException, IllegalStateException {
+        Objects.requireNonNull(callBack, "callBack is required");
+        aggregateStage(index, query, aggregations, types).whenComplete((result, error) -> {
+            if (error != null) {
+                LOGGER.log(Level.WARNING, "Error when running the aggregations on " + index, error);
+                return;
+            }
+            callBack.accept(result);
+        });
+    }
+
+    @Override
+    public CompletionStage<ElasticsearchAggregationResult> aggregateStage(
+            String index, QueryBuilder query, Iterable<? extends AggregationBuilder> aggregations, String... types)
+            throws NullPointerException, IllegalArgumentException, IllegalStateException {
+        Objects.requireNonNull(index, "index is required");
+        Objects.requireNonNull(query, "query is required");
+        Objects.requireNonNull(aggregations, "aggregations is required");
+        CompletableFuture<ElasticsearchAggregationResult> result = new CompletableFuture<>();
+        ElasticsearchAggregations.search(getClient(), index, query, aggregations, types)
+                .execute(new ActionListener<SearchResponse>() {
+                    @Override
+                    public void onResponse(SearchResponse response) {
+                        executor.execute(() -> ElasticsearchAggregations.toResult(response), result);
+                    }
+
+                    @Override
+                    public void onFailure(Exception exception) {
+                        result.completeExceptionally(exception);
+                    }
+                });
+        return result;
+    }
+
+    private <T> ElasticsearchAsyncScroll<T> toScroll(ElasticsearchScrollOptions options) {
+        return new ElasticsearchAsyncScroll<>(getClient(), options, d -> (T) converter.toEntity(d), executor);
+    }
+
+    private Client getClient() {
+        if (client == null || client.isUnsatisfied()) {
+            throw new IllegalStateException("An org.elasticsearch.client.Client must be produced to use it");
+        }
+        return client.get();
+    }
+
+    private <T> Consumer<DocumentEntity> toEntity(T entity, Consumer<T> callBack) {
+        return d -> executor.execute(() -> (T) converter.toEntity(entity.getClass(), d), callBack);
+    }
+
+    private <T> Consumer<List<DocumentEntity>> toEntities(Consumer<List<T>> callBack) {
+        return d -> executor.execute(() -> d.stream()
+                .map(getConverter()::toEntity)
+                .map(o -> (T) o)
+                .collect(toList()), callBack);
+    }
 }
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+import org.elasticsearch.search.aggregations.Aggregation;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * The result of an aggregation search: the number of hits matched by the query and the aggregations by name,
+ * e.g. {@link org.elasticsearch.search.aggregations.bucket.terms.Terms} to buckets or
+ * {@link org.elasticsearch.search.aggregations.metrics.avg.Avg} to metrics.
+ */
+public final class ElasticsearchAggregationResult {
+
+    private final long totalHits;
+
+    private final Map<String, Aggregation> aggregations;
+
+    ElasticsearchAggregationResult(long totalHits, Map<String, Aggregation> aggregations) {
+        this.totalHits = totalHits;
+        this.aggregations = Collections.unmodifiableMap(aggregations);
+    }
+
+    /**
+     * @return the number of hits matched by the query
+     */
+    public long getTotalHits() {
+        return totalHits;
+    }
+
+    /**
+     * @return the aggregations by name
+     */
+    public Map<String, Aggregation> getAggregations() {
+        return aggregations;
+    }
+
+    /**
+     * Returns the aggregation with the given name
+     *
+     * @param name the aggregation name
+     * @param type the aggregation type, e.g. {@link org.elasticsearch.search.aggregations.bucket.terms.Terms}
+     * @param <A>  the aggregation type
+     * @return the aggregation
+     * @throws NullPointerException     when either name or type are null
+     * @throws IllegalArgumentException when there is not an aggregation with the name or it is not of the type
+     */
+    public <A extends Aggregation> A get(String name, Class<A> type) throws NullPointerException,
+            IllegalArgumentException {
+        return find(name, type).orElseThrow(() -> new IllegalArgumentException("There is not an aggregation "
+                + name + " in the result"));
+    }
+
+    /**
+     * Finds the aggregation with the given name
+     *
+     * @param name the aggregation name
+     * @param type the aggregation type
+     * @param <A>  the aggregation type
+     * @return the aggregation or {@link Optional#empty()} when there is not an aggregation with the name
+     * @throws NullPointerException     when either name or type are null
+     * @throws IllegalArgumentException when the aggregation is not of the type
+     */
+    public <A extends Aggregation> Optional<A> find(String name, Class<A> type) throws NullPointerException,
+            IllegalArgumentException {
+        Objects.requireNonNull(name, "name is required");
+        Objects.requireNonNull(type, "type is required");
+        Aggregation aggregation = aggregations.get(name);
+        if (aggregation == null) {
+            return Optional.empty();
+        }
+        if (!type.isInstance(aggregation)) {
+            throw new IllegalArgumentException("The aggregation " + name + " is not a " + type.getName()
+                    + ": " + aggregation.getClass().getName());
+        }
+        return Optional.of(type.cast(aggregation));
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("ElasticsearchAggregationResult{");
+        sb.append("totalHits=").append(totalHits);
+        sb.append(", aggregations=").append(aggregations.keySet());
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+import org.elasticsearch.action.search.SearchRequestBuilder;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.search.aggregations.AggregationBuilder;
+import org.elasticsearch.search.aggregations.Aggregations;
+
+import java.util.HashMap;
+import java.util.Objects;
+
+/**
+ * The request of an aggregation search, with size zero since just the aggregations are read, and the conversion
+ * of its response to {@link ElasticsearchAggregationResult}.
+ */
+final class ElasticsearchAggregations {
+
+    private ElasticsearchAggregations() {
+    }
+
+    static SearchRequestBuilder search(Client client, String index, QueryBuilder query,
+                                       Iterable<? extends AggregationBuilder> aggregations, String... types) {
+        SearchRequestBuilder search = client.prepareSearch(index)
+                .setTypes(types)
+                .setQuery(query)
+                .setSize(0);
+        boolean empty = true;
+        for (AggregationBuilder aggregation : aggregations) {
+            search.addAggregation(Objects.requireNonNull(aggregation, "aggregation is required"));
+            empty = false;
+        }
+        if (empty) {
+            throw new IllegalArgumentException("The aggregation search must have at least one aggregation");
+        }
+        return search;
+    }
+
+    static ElasticsearchAggregationResult toResult(SearchResponse response) {
+        Aggregations aggregations = response.getAggregations();
+        return new ElasticsearchAggregationResult(response.getHits().getTotalHits(),
+                aggregations == null ? new HashMap<>() : aggregations.asMap());
+    }
+}
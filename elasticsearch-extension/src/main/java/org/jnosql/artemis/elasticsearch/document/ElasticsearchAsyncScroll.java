@@ -0,0 +1,153 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.search.SearchHit;
+import org.jnosql.diana.api.document.DocumentEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reads a scroll one page at a time with the asynchronous client calls. The hits of a page are converted on the
+ * conversion executor instead of the client I/O thread, and the next page is just requested when the reader asks
+ * for it, so a slow reader never has more than one page in memory.
+ *
+ * @param <T> the entity type
+ */
+final class ElasticsearchAsyncScroll<T> {
+
+    private static final Logger LOGGER = Logger.getLogger(ElasticsearchAsyncScroll.class.getName());
+
+    private final Client client;
+
+    private final ElasticsearchScrollOptions options;
+
+    private final Function<DocumentEntity, T> converter;
+
+    private final Executor executor;
+
+    private long read;
+
+    ElasticsearchAsyncScroll(Client client, ElasticsearchScrollOptions options,
+                             Function<DocumentEntity, T> converter, Executor executor) {
+        this.client = client;
+        this.options = options;
+        this.converter = converter;
+        this.executor = executor;
+    }
+
+    CompletionStage<ElasticsearchPage<T>> first(QueryBuilder query, String... types) {
+        CompletableFuture<ElasticsearchPage<T>> page = new CompletableFuture<>();
+        ElasticsearchScrolls.search(client, options, query, types).execute(toListener(page));
+        return page;
+    }
+
+    CompletionStage<ElasticsearchPage<T>> next(String scrollId) {
+        CompletableFuture<ElasticsearchPage<T>> page = new CompletableFuture<>();
+        ElasticsearchScrolls.scroll(client, options, scrollId).execute(toListener(page));
+        return page;
+    }
+
+    void clear(String scrollId) {
+        ElasticsearchScrolls.clear(client, scrollId);
+    }
+
+    /**
+     * Calls the callback with each page, the last call has an empty list. The next page is requested after the
+     * callback returns; an error stops the scroll and is logged, since the callback cannot receive it.
+     */
+    void forEach(QueryBuilder query, Consumer<List<T>> callBack, String... types) {
+        first(query, types).whenComplete((page, error) -> accept(page, error, callBack));
+    }
+
+    private void accept(ElasticsearchPage<T> page, Throwable error, Consumer<List<T>> callBack) {
+        if (error != null) {
+            LOGGER.log(Level.WARNING, "Error when reading the scroll of " + options, error);
+            return;
+        }
+        try {
+            if (!page.getContent().isEmpty()) {
+                callBack.accept(page.getContent());
+            }
+            if (page.hasNext()) {
+                page.next().whenComplete((nextPage, nextError) -> accept(nextPage, nextError, callBack));
+            } else {
+                callBack.accept(new ArrayList<>());
+            }
+        } catch (RuntimeException exception) {
+            page.close();
+            LOGGER.log(Level.WARNING, "Error on the callback of the scroll of " + options, exception);
+        }
+    }
+
+    private ActionListener<SearchResponse> toListener(CompletableFuture<ElasticsearchPage<T>> page) {
+        return new ActionListener<SearchResponse>() {
+            @Override
+            public void onResponse(SearchResponse response) {
+                try {
+                    executor.execute(() -> {
+                        try {
+                            page.complete(toPage(response));
+                        } catch (RuntimeException exception) {
+                            ElasticsearchScrolls.clear(client, response.getScrollId());
+                            page.completeExceptionally(exception);
+                        }
+                    });
+                } catch (RuntimeException exception) {
+                    page.completeExceptionally(exception);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception exception) {
+                page.completeExceptionally(exception);
+            }
+        };
+    }
+
+    private ElasticsearchPage<T> toPage(SearchResponse response) {
+        SearchHit[] hits = response.getHits().getHits();
+        List<T> content = new ArrayList<>(hits.length);
+        for (SearchHit hit : hits) {
+            content.add(converter.apply(ElasticsearchScrolls.toEntity(hit)));
+        }
+        boolean next;
+        synchronized (this) {
+            read += hits.length;
+            next = hits.length > 0 && read < response.getHits().getTotalHits();
+        }
+        if (!next) {
+            ElasticsearchScrolls.clear(client, response.getScrollId());
+        }
+        return new ElasticsearchPage<>(content, this, response.getScrollId(), next);
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+/**
+ * An entity that {@link ElasticsearchDocumentRepository#saveBulk(Iterable, ElasticsearchBulkOptions)} could not save
+ *
+ * @param <T> the entity type
+ */
+public final class ElasticsearchBulkFailure<T> {
+
+    private static final int TOO_MANY_REQUESTS = 429;
+
+    private final T entity;
+
+    private final int status;
+
+    private final String message;
+
+    ElasticsearchBulkFailure(T entity, int status, String message) {
+        this.entity = entity;
+        this.status = status;
+        this.message = message;
+    }
+
+    /**
+     * @return the entity
+     */
+    public T getEntity() {
+        return entity;
+    }
+
+    /**
+     * @return the HTTP status of the item
+     */
+    public int getStatus() {
+        return status;
+    }
+
+    /**
+     * @return the error message
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * @return true when the item was still rejected by a full write queue after every retry
+     */
+    public boolean isRejected() {
+        return status == TOO_MANY_REQUESTS;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("ElasticsearchBulkFailure{");
+        sb.append("entity=").append(entity);
+        sb.append(", status=").append(status);
+        sb.append(", message='").append(message).append('\'');
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+import org.elasticsearch.ExceptionsHelper;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.Client;
+import org.jnosql.diana.api.document.Document;
+import org.jnosql.diana.api.document.DocumentEntity;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Saves entities through a {@link BulkProcessor}, which groups the index requests on _bulk requests and retries the
+ * rejected items. Each index request is kept with its entity until the bulk response reports it, so a failed item
+ * is reported with the entity; an item without response when the timeout elapses is reported as failed too.
+ *
+ * @param <T> the entity type
+ */
+final class ElasticsearchBulkIndexer<T> implements BulkProcessor.Listener {
+
+    static final String ID = "_id";
+
+    private static final int REQUEST_TIMEOUT = 408;
+
+    private final ElasticsearchBulkOptions options;
+
+    private final Function<T, DocumentEntity> converter;
+
+    private final Map<Object, T> pending = new IdentityHashMap<>();
+
+    private final List<ElasticsearchBulkFailure<T>> failures = new ArrayList<>();
+
+    private long successes;
+
+    ElasticsearchBulkIndexer(ElasticsearchBulkOptions options, Function<T, DocumentEntity> converter) {
+        this.options = Objects.requireNonNull(options, "options is required");
+        this.converter = Objects.requireNonNull(converter, "converter is required");
+    }
+
+    ElasticsearchBulkResult<T> index(Client client, Iterable<T> entities) {
+        BulkProcessor processor = options.toProcessor(client, this);
+        boolean finished = false;
+        try {
+            for (T entity : entities) {
+                Objects.requireNonNull(entity, "entity is required");
+                IndexRequest request = toRequest(converter.apply(entity));
+                track(request, entity);
+                processor.add(request);
+            }
+        } finally {
+            try {
+                finished = processor.awaitClose(options.getTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return toResult(finished);
+    }
+
+    IndexRequest toRequest(DocumentEntity entity) {
+        IndexRequest request = new IndexRequest(options.getIndex(), entity.getName());
+        Map<String, Object> source = new LinkedHashMap<>();
+        for (Document document : entity.getDocuments()) {
+            if (ID.equals(document.getName())) {
+                request.id(document.get(String.class));
+            } else {
+                source.put(document.getName(), toSource(document.get()));
+            }
+        }
+        return request.source(source);
+    }
+
+    synchronized void track(Object request, T entity) {
+        pending.put(request, entity);
+    }
+
+    synchronized ElasticsearchBulkResult<T> toResult(boolean finished) {
+        if (!finished) {
+            String message = "The bulk request did not finish in " + options.getTimeout();
+            pending.values().forEach(e -> failures.add(new ElasticsearchBulkFailure<>(e, REQUEST_TIMEOUT, message)));
+            pending.clear();
+        }
+        return new ElasticsearchBulkResult<>(successes, new ArrayList<>(failures));
+    }
+
+    @Override
+    public void beforeBulk(long executionId, BulkRequest request) {
+    }
+
+    @Override
+    public synchronized void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+        List<?> requests = request.requests();
+        for (BulkItemResponse item : response.getItems()) {
+            Object itemRequest = requests.get(item.getItemId());
+            if (!pending.containsKey(itemRequest)) {
+                continue;
+            }
+            T entity = pending.remove(itemRequest);
+            if (item.isFailed()) {
+                failures.add(new ElasticsearchBulkFailure<>(entity, item.status().getStatus(),
+                        item.getFailureMessage()));
+            } else {
+                successes++;
+            }
+        }
+    }
+
+    @Override
+    public synchronized void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+        int status = ExceptionsHelper.status(failure).getStatus();
+        for (Object itemRequest : request.requests()) {
+            if (pending.containsKey(itemRequest)) {
+                failures.add(new ElasticsearchBulkFailure<>(pending.remove(itemRequest), status,
+                        String.valueOf(failure)));
+            }
+        }
+    }
+
+    private static Object toSource(Object value) {
+        if (value instanceof Document) {
+            Document document = (Document) value;
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put(document.getName(), toSource(document.get()));
+            return map;
+        }
+        if (!(value instanceof Iterable)) {
+            return value;
+        }
+        if (((Iterable<?>) value).iterator().hasNext() && isDocuments((Iterable<?>) value)) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            for (Object element : (Iterable<?>) value) {
+                Document document = (Document) element;
+                map.put(document.getName(), toSource(document.get()));
+            }
+            return map;
+        }
+        List<Object> list = new ArrayList<>();
+        ((Iterable<?>) value).forEach(e -> list.add(toSource(e)));
+        return list;
+    }
+
+    private static boolean isDocuments(Iterable<?> values) {
+        for (Object value : values) {
+            if (!(value instanceof Document)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+import org.elasticsearch.action.bulk.BackoffPolicy;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * How {@link ElasticsearchDocumentRepository#saveBulk(Iterable, ElasticsearchBulkOptions)} groups the entities on
+ * _bulk requests. A bulk request is sent when it reaches either the max actions or the max bytes, or when the
+ * flush interval elapses, and up to the concurrent requests are in flight while the next one is filled. The items
+ * rejected by a full write queue, status 429, are sent again after an exponential backoff.
+ */
+public final class ElasticsearchBulkOptions {
+
+    static final int DEFAULT_MAX_ACTIONS = 1000;
+
+    static final long DEFAULT_MAX_BYTES = 5L * 1024 * 1024;
+
+    static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofSeconds(1);
+
+    static final int DEFAULT_CONCURRENT_REQUESTS = 1;
+
+    static final int DEFAULT_MAX_RETRIES = 8;
+
+    static final Duration DEFAULT_INITIAL_BACKOFF = Duration.ofMillis(50);
+
+    static final Duration DEFAULT_TIMEOUT = Duration.ofMinutes(1);
+
+    private final String index;
+
+    private final int maxActions;
+
+    private final long maxBytes;
+
+    private final Duration flushInterval;
+
+    private final int concurrentRequests;
+
+    private final int maxRetries;
+
+    private final Duration initialBackoff;
+
+    private final Duration timeout;
+
+    private ElasticsearchBulkOptions(String index, int maxActions, long maxBytes, Duration flushInterval,
+                                     int concurrentRequests, int maxRetries, Duration initialBackoff,
+                                     Duration timeout) {
+        this.index = index;
+        this.maxActions = maxActions;
+        this.maxBytes = maxBytes;
+        this.flushInterval = flushInterval;
+        this.concurrentRequests = concurrentRequests;
+        this.maxRetries = maxRetries;
+        this.initialBackoff = initialBackoff;
+        this.timeout = timeout;
+    }
+
+    /**
+     * @return the index the entities are saved on
+     */
+    public String getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the max number of documents on a bulk request
+     */
+    public int getMaxActions() {
+        return maxActions;
+    }
+
+    /**
+     * @return the max size in bytes of a bulk request
+     */
+    public long getMaxBytes() {
+        return maxBytes;
+    }
+
+    /**
+     * @return the max time a document waits on a bulk request that is not full
+     */
+    public Duration getFlushInterval() {
+        return flushInterval;
+    }
+
+    /**
+     * @return the number of bulk requests in flight while the next one is filled, zero sends them one by one
+     */
+    public int getConcurrentRequests() {
+        return concurrentRequests;
+    }
+
+    /**
+     * @return the max number of times a rejected item is sent again
+     */
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * @return the wait before the first retry of rejected items, it grows exponentially on each retry
+     */
+    public Duration getInitialBackoff() {
+        return initialBackoff;
+    }
+
+    /**
+     * @return the max time to wait for the bulk requests in flight once every entity is added
+     */
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * @param maxActions the max number of documents on a bulk request
+     * @return new options with the max actions
+     * @throws IllegalArgumentException when maxActions is not greater than zero
+     */
+    public ElasticsearchBulkOptions withMaxActions(int maxActions) throws IllegalArgumentException {
+        if (maxActions <= 0) {
+            throw new IllegalArgumentException("The max actions must be greater than zero: " + maxActions);
+        }
+        return new ElasticsearchBulkOptions(index, maxActions, maxBytes, flushInterval, concurrentRequests,
+                maxRetries, initialBackoff, timeout);
+    }
+
+    /**
+     * @param maxBytes the max size in bytes of a bulk request
+     * @return new options with the max bytes
+     * @throws IllegalArgumentException when maxBytes is not greater than zero
+     */
+    public ElasticsearchBulkOptions withMaxBytes(long maxBytes) throws IllegalArgumentException {
+        if (maxBytes <= 0) {
+            throw new IllegalArgumentException("The max bytes must be greater than zero: " + maxBytes);
+        }
+        return new ElasticsearchBulkOptions(index, maxActions, maxBytes, flushInterval, concurrentRequests,
+                maxRetries, initialBackoff, timeout);
+    }
+
+    /**
+     * @param flushInterval the max time a document waits on a bulk request that is not full
+     * @return new options with the flush interval
+     * @throws NullPointerException     when flushInterval is null
+     * @throws IllegalArgumentException when flushInterval is not positive
+     */
+    public ElasticsearchBulkOptions withFlushInterval(Duration flushInterval) throws NullPointerException,
+            IllegalArgumentException {
+        requirePositive(flushInterval, "flushInterval");
+        return new ElasticsearchBulkOptions(index, maxActions, maxBytes, flushInterval, concurrentRequests,
+                maxRetries, initialBackoff, timeout);
+    }
+
+    /**
+     * @param concurrentRequests the number of bulk requests in flight, zero sends them one by one
+     * @return new options with the concurrent requests
+     * @throws IllegalArgumentException when concurrentRequests is negative
+     */
+    public ElasticsearchBulkOptions withConcurrentRequests(int concurrentRequests) throws IllegalArgumentException {
+        if (concurrentRequests < 0) {
+            throw new IllegalArgumentException("The concurrent requests cannot be negative: " + concurrentRequests);
+        }
+        return new ElasticsearchBulkOptions(index, maxActions, maxBytes, flushInterval, concurrentRequests,
+                maxRetries, initialBackoff, timeout);
+    }
+
+    /**
+     * @param initialBackoff the wait before the first retry of rejected items
+     * @param maxRetries     the max number of retries, zero to not retry
+     * @return new options with the retry
+     * @throws NullPointerException     when initialBackoff is null
+     * @throws IllegalArgumentException when maxRetries is negative or initialBackoff is not positive
+     */
+    public ElasticsearchBulkOptions withRetry(Duration initialBackoff, int maxRetries) throws NullPointerException,
+            IllegalArgumentException {
+        requirePositive(initialBackoff, "initialBackoff");
+        if (maxRetries < 0) {
+            throw new IllegalArgumentException("The max retries cannot be negative: " + maxRetries);
+        }
+        return new ElasticsearchBulkOptions(index, maxActions, maxBytes, flushInterval, concurrentRequests,
+                maxRetries, initialBackoff, timeout);
+    }
+
+    /**
+     * @param timeout the max time to wait for the bulk requests in flight once every entity is added
+     * @return new options with the timeout
+     * @throws NullPointerException     when timeout is null
+     * @throws IllegalArgumentException when timeout is not positive
+     */
+    public ElasticsearchBulkOptions withTimeout(Duration timeout) throws NullPointerException,
+            IllegalArgumentException {
+        requirePositive(timeout, "timeout");
+        return new ElasticsearchBulkOptions(index, maxActions, maxBytes, flushInterval, concurrentRequests,
+                maxRetries, initialBackoff, timeout);
+    }
+
+    BulkProcessor toProcessor(Client client, BulkProcessor.Listener listener) {
+        BackoffPolicy backoff = maxRetries == 0 ? BackoffPolicy.noBackoff()
+                : BackoffPolicy.exponentialBackoff(TimeValue.timeValueMillis(initialBackoff.toMillis()), maxRetries);
+        return BulkProcessor.builder(client, listener)
+                .setBulkActions(maxActions)
+                .setBulkSize(new ByteSizeValue(maxBytes, ByteSizeUnit.BYTES))
+                .setFlushInterval(TimeValue.timeValueMillis(flushInterval.toMillis()))
+                .setConcurrentRequests(concurrentRequests)
+                .setBackoffPolicy(backoff)
+                .build();
+    }
+
+    /**
+     * Creates the options with {@value #DEFAULT_MAX_ACTIONS} actions or 5MB by bulk request, a flush interval of one
+     * second, one concurrent request and up to {@value #DEFAULT_MAX_RETRIES} retries of rejected items
+     *
+     * @param index the index the entities are saved on
+     * @return the options
+     * @throws NullPointerException when index is null
+     */
+    public static ElasticsearchBulkOptions of(String index) throws NullPointerException {
+        Objects.requireNonNull(index, "index is required");
+        return new ElasticsearchBulkOptions(index, DEFAULT_MAX_ACTIONS, DEFAULT_MAX_BYTES, DEFAULT_FLUSH_INTERVAL,
+                DEFAULT_CONCURRENT_REQUESTS, DEFAULT_MAX_RETRIES, DEFAULT_INITIAL_BACKOFF, DEFAULT_TIMEOUT);
+    }
+
+    private static void requirePositive(Duration duration, String name) {
+        Objects.requireNonNull(duration, name + " is required");
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("The " + name + " must be positive: " + duration);
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("ElasticsearchBulkOptions{");
+        sb.append("index='").append(index).append('\'');
+        sb.append(", maxActions=").append(maxActions);
+        sb.append(", maxBytes=").append(maxBytes);
+        sb.append(", flushInterval=").append(flushInterval);
+        sb.append(", concurrentRequests=").append(concurrentRequests);
+        sb.append(", maxRetries=").append(maxRetries);
+        sb.append(", initialBackoff=").append(initialBackoff);
+        sb.append(", timeout=").append(timeout);
+        sb.append('}');
+        return sb.toString();
+    }
+}
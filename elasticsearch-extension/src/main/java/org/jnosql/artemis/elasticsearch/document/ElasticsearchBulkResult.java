@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The result of {@link ElasticsearchDocumentRepository#saveBulk(Iterable, ElasticsearchBulkOptions)}
+ *
+ * @param <T> the entity type
+ */
+public final class ElasticsearchBulkResult<T> {
+
+    private final long successes;
+
+    private final List<ElasticsearchBulkFailure<T>> failures;
+
+    ElasticsearchBulkResult(long successes, List<ElasticsearchBulkFailure<T>> failures) {
+        this.successes = successes;
+        this.failures = Collections.unmodifiableList(failures);
+    }
+
+    /**
+     * @return the number of entities saved with success
+     */
+    public long getSuccesses() {
+        return successes;
+    }
+
+    /**
+     * @return the entities that failed
+     */
+    public List<ElasticsearchBulkFailure<T>> getFailures() {
+        return failures;
+    }
+
+    /**
+     * @return the number of entities processed
+     */
+    public long getTotal() {
+        return successes + failures.size();
+    }
+
+    /**
+     * @return true when there is not failure
+     */
+    public boolean isSuccess() {
+        return failures.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("ElasticsearchBulkResult{");
+        sb.append("successes=").append(successes);
+        sb.append(", failures=").append(failures.size());
+        sb.append('}');
+        return sb.toString();
+    }
+}
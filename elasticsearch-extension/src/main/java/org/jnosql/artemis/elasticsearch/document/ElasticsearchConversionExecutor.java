@@ -0,0 +1,215 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+import javax.enterprise.inject.Instance;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs the conversion of the results and the callbacks of the async repository, so they do not run on the
+ * driver's I/O threads. The default is a pool with one thread per processor and a queue of
+ * {@value #DEFAULT_QUEUE_SIZE} tasks; a task is never run on the calling thread, when the queue is full it is rejected
+ * and a stage waiting for the conversion completes exceptionally with the {@link RejectedExecutionException}.
+ * Produce an instance of this class to replace it, {@link #of(Executor)} accepts any {@link Executor}, e.g. a virtual
+ * thread per task executor on Java 21.
+ */
+public final class ElasticsearchConversionExecutor implements Executor {
+
+    private static final Logger LOGGER = Logger.getLogger(ElasticsearchConversionExecutor.class.getName());
+
+    static final int DEFAULT_QUEUE_SIZE = 10_000;
+
+    private final Executor executor;
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+
+    private final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    private final AtomicLong submitted = new AtomicLong();
+
+    private final AtomicLong completed = new AtomicLong();
+
+    private ElasticsearchConversionExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @throws RejectedExecutionException when the underlying executor does not accept the task
+     */
+    @Override
+    public void execute(Runnable command) throws RejectedExecutionException {
+        Objects.requireNonNull(command, "command is required");
+        submitted.incrementAndGet();
+        int depth = queueDepth.incrementAndGet();
+        maxQueueDepth.accumulateAndGet(depth, Math::max);
+        Runnable task = () -> {
+            queueDepth.decrementAndGet();
+            try {
+                command.run();
+            } catch (RuntimeException exception) {
+                LOGGER.log(Level.WARNING, "Error on an async repository callback", exception);
+            } finally {
+                completed.incrementAndGet();
+            }
+        };
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException exception) {
+            queueDepth.decrementAndGet();
+            submitted.decrementAndGet();
+            throw exception;
+        }
+    }
+
+    /**
+     * Runs the conversion and then gives its result to the callback. An error of the conversion, or the rejection of
+     * the task, is logged since the callback cannot receive it.
+     */
+    <T> void execute(Supplier<T> conversion, Consumer<T> callBack) {
+        Objects.requireNonNull(conversion, "conversion is required");
+        Objects.requireNonNull(callBack, "callBack is required");
+        try {
+            execute(() -> callBack.accept(conversion.get()));
+        } catch (RejectedExecutionException exception) {
+            LOGGER.log(Level.SEVERE, "The conversion executor is full, the result is dropped", exception);
+        }
+    }
+
+    /**
+     * Runs the conversion and then completes the stage with its result. An error of the conversion, or the rejection
+     * of the task, completes the stage exceptionally.
+     */
+    <T> void execute(Supplier<T> conversion, CompletableFuture<T> stage) {
+        Objects.requireNonNull(conversion, "conversion is required");
+        Objects.requireNonNull(stage, "stage is required");
+        try {
+            execute(() -> {
+                try {
+                    stage.complete(conversion.get());
+                } catch (RuntimeException exception) {
+                    stage.completeExceptionally(exception);
+                }
+            });
+        } catch (RejectedExecutionException exception) {
+            stage.completeExceptionally(exception);
+        }
+    }
+
+    /**
+     * @return the number of tasks waiting for a thread
+     */
+    public int getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * @return the highest number of tasks that were waiting for a thread at the same time
+     */
+    public int getMaxQueueDepth() {
+        return maxQueueDepth.get();
+    }
+
+    /**
+     * @return the number of tasks submitted
+     */
+    public long getSubmitted() {
+        return submitted.get();
+    }
+
+    /**
+     * @return the number of tasks finished
+     */
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    /**
+     * Creates a ElasticsearchConversionExecutor that runs the tasks on the given executor
+     *
+     * @param executor the executor
+     * @return a new {@link ElasticsearchConversionExecutor}
+     * @throws NullPointerException when executor is null
+     */
+    public static ElasticsearchConversionExecutor of(Executor executor) throws NullPointerException {
+        return new ElasticsearchConversionExecutor(Objects.requireNonNull(executor, "executor is required"));
+    }
+
+    /**
+     * @return a ElasticsearchConversionExecutor that runs the tasks on the calling thread, i.e. the driver's thread
+     */
+    public static ElasticsearchConversionExecutor direct() {
+        return new ElasticsearchConversionExecutor(Runnable::run);
+    }
+
+    /**
+     * @return the default executor, shared by the repositories of this module
+     */
+    public static ElasticsearchConversionExecutor defaultExecutor() {
+        return DefaultHolder.INSTANCE;
+    }
+
+    static ElasticsearchConversionExecutor of(Instance<ElasticsearchConversionExecutor> executor) {
+        if (executor == null || executor.isUnsatisfied()) {
+            return defaultExecutor();
+        }
+        return executor.get();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("ElasticsearchConversionExecutor{");
+        sb.append("queueDepth=").append(queueDepth);
+        sb.append(", maxQueueDepth=").append(maxQueueDepth);
+        sb.append(", submitted=").append(submitted);
+        sb.append(", completed=").append(completed);
+        sb.append('}');
+        return sb.toString();
+    }
+
+    private static final class DefaultHolder {
+
+        private static final ElasticsearchConversionExecutor INSTANCE = of(newPool());
+
+        private static ThreadPoolExecutor newPool() {
+            int threads = Runtime.getRuntime().availableProcessors();
+            AtomicInteger counter = new AtomicInteger();
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(DEFAULT_QUEUE_SIZE), runnable -> {
+                Thread thread = new Thread(runnable, "elasticsearch-conversion-" + counter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+            pool.allowCoreThreadTimeOut(true);
+            return pool;
+        }
+    }
+}
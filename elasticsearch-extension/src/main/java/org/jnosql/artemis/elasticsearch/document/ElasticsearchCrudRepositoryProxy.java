@@ -0,0 +1,150 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+
+import org.elasticsearch.index.query.QueryBuilder;
+import org.jnosql.artemis.CrudRepository;
+import org.jnosql.artemis.document.DocumentRepository;
+import org.jnosql.artemis.document.query.AbstractDocumentCrudRepository;
+import org.jnosql.artemis.document.query.DocumentQueryDeleteParser;
+import org.jnosql.artemis.document.query.DocumentQueryParser;
+import org.jnosql.artemis.reflection.ClassRepresentation;
+import org.jnosql.artemis.reflection.ClassRepresentations;
+import org.jnosql.diana.api.document.DocumentDeleteQuery;
+import org.jnosql.diana.api.document.DocumentQuery;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * The findBy queries whose condition fits the filter context run as filter searches when the scroll options, which
+ * name the index, are given: up to the page size of the scroll options they are sized searches limited by the query,
+ * otherwise they are scrolled, so no hit is cut by the Elasticsearch default size. Without scroll options they run
+ * through the Diana query.
+ */
+class ElasticsearchCrudRepositoryProxy<T> implements InvocationHandler {
+
+    private final Class<T> typeClass;
+
+    private final ElasticsearchDocumentRepository repository;
+
+
+    private final DocumentCrudRepository crudRepository;
+
+    private final ClassRepresentation classRepresentation;
+
+    private final DocumentQueryParser queryParser;
+
+    private final DocumentQueryDeleteParser deleteQueryParser;
+
+    private final Map<Method, ElasticsearchMethodPlan> plans = new HashMap<>();
+
+    private final ElasticsearchScrollOptions scroll;
+
+
+    ElasticsearchCrudRepositoryProxy(ElasticsearchDocumentRepository repository,
+                                     ClassRepresentations classRepresentations, Class<?> repositoryType) {
+        this(repository, classRepresentations, repositoryType, null);
+    }
+
+    ElasticsearchCrudRepositoryProxy(ElasticsearchDocumentRepository repository,
+                                     ClassRepresentations classRepresentations, Class<?> repositoryType,
+                                     ElasticsearchScrollOptions scroll) {
+        this.repository = repository;
+        this.scroll = scroll;
+        this.crudRepository = new DocumentCrudRepository(repository);
+        this.typeClass = Class.class.cast(ParameterizedType.class.cast(repositoryType.getGenericInterfaces()[0])
+                .getActualTypeArguments()[0]);
+        this.classRepresentation = classRepresentations.get(typeClass);
+        this.queryParser = new DocumentQueryParser();
+        this.deleteQueryParser = new DocumentQueryDeleteParser();
+        for (Method method : repositoryType.getMethods()) {
+            plans.put(method, ElasticsearchMethodPlan.of(method));
+        }
+    }
+
+
+    @Override
+    public Object invoke(Object o, Method method, Object[] args) throws Throwable {
+
+        ElasticsearchMethodPlan plan = plans.get(method);
+        if (plan == null) {
+            plan = ElasticsearchMethodPlan.of(method);
+        }
+
+        switch (plan.getType()) {
+            case QUERY:
+                List<T> result = repository.find(plan.getTemplate().toQuery(args), classRepresentation.getName());
+                return ReturnTypeConverterUtil.returnObject(result, typeClass, method);
+            case SAVE:
+                return method.invoke(crudRepository, args);
+            case FIND_BY:
+                DocumentQuery query = queryParser.parse(method.getName(), args, classRepresentation);
+                Optional<QueryBuilder> filter = scroll == null ? Optional.empty() : ElasticsearchFilterQuery.of(query);
+                if (filter.isPresent()) {
+                    List<T> entities = findByFilter(filter.get(), query.getMaxResults());
+                    return ReturnTypeConverterUtil.returnObject(entities, typeClass, method);
+                }
+                return ReturnTypeConverterUtil.returnObject(query, repository, typeClass, method);
+            case DELETE_BY:
+                DocumentDeleteQuery deleteQuery = deleteQueryParser.parse(method.getName(), args, classRepresentation);
+                repository.delete(deleteQuery);
+                return null;
+            default:
+                return null;
+        }
+    }
+
+    private List<T> findByFilter(QueryBuilder filter, long maxResults) {
+        String type = classRepresentation.getName();
+        if (maxResults > 0 && maxResults <= scroll.getPageSize()) {
+            ElasticsearchSearchOptions options = ElasticsearchSearchOptions.of(scroll.getIndex())
+                    .withSize((int) maxResults);
+            return repository.find(filter, options, type);
+        }
+        try (Stream<T> entities = repository.findStream(filter, scroll, type)) {
+            Stream<T> limited = maxResults > 0 ? entities.limit(maxResults) : entities;
+            return limited.collect(toList());
+        }
+    }
+
+    class DocumentCrudRepository extends AbstractDocumentCrudRepository implements CrudRepository {
+
+        private final DocumentRepository repository;
+
+        DocumentCrudRepository(DocumentRepository repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        protected DocumentRepository getDocumentRepository() {
+            return repository;
+        }
+    }
+}
@@ -21,9 +21,11 @@ package org.jnosql.artemis.elasticsearch.document;
 
 
 import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.search.aggregations.AggregationBuilder;
 import org.jnosql.artemis.document.DocumentRepository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * A {@link DocumentRepository} to elasticsearch
@@ -39,4 +41,88 @@ public interface ElasticsearchDocumentRepository extends DocumentRepository {
      * @throws NullPointerException when query is null
      */
     <T> List<T> find(QueryBuilder query, String... types);
+
+    /**
+     * Find entities from {@link QueryBuilder} reading just the source filtered by the options, so the entities
+     * have just the included documents. It needs a {@link org.elasticsearch.client.Client} produced by CDI.
+     *
+     * @param query   the query
+     * @param options the search options
+     * @param types   the types
+     * @param <T>     the entity type
+     * @return the objects from query
+     * @throws NullPointerException  when either query or options are null
+     * @throws IllegalStateException when there is not a {@link org.elasticsearch.client.Client} to inject
+     */
+    <T> List<T> find(QueryBuilder query, ElasticsearchSearchOptions options, String... types)
+            throws NullPointerException, IllegalStateException;
+
+    /**
+     * Find projections from {@link QueryBuilder}, the source includes are the documents of the projection,
+     * the options includes are ignored. The projection is either an interface whose getters name the documents
+     * or a class with a no-arg constructor whose fields name the documents, {@link org.jnosql.artemis.Column}
+     * can rename them. It needs a {@link org.elasticsearch.client.Client} produced by CDI.
+     *
+     * @param query      the query
+     * @param options    the search options
+     * @param projection the projection type
+     * @param types      the types
+     * @param <P>        the projection type
+     * @return the projections from query
+     * @throws NullPointerException     when either query, options or projection are null
+     * @throws IllegalArgumentException when the projection has neither getter nor field
+     * @throws IllegalStateException    when there is not a {@link org.elasticsearch.client.Client} to inject
+     */
+    <P> List<P> find(QueryBuilder query, ElasticsearchSearchOptions options, Class<P> projection, String... types)
+            throws NullPointerException, IllegalArgumentException, IllegalStateException;
+
+    /**
+     * Saves the entities on _bulk requests, see {@link ElasticsearchBulkOptions}, and waits until every bulk request
+     * finishes. It needs a {@link org.elasticsearch.client.Client} produced by CDI. Unlike save, it neither fires
+     * the entity events nor stops on the first failure: the result has each entity that failed.
+     *
+     * @param entities the entities
+     * @param options  the bulk options
+     * @param <T>      the entity type
+     * @return the number of entities saved and the failures
+     * @throws NullPointerException  when either entities, options or an entity are null
+     * @throws IllegalStateException when there is not a {@link org.elasticsearch.client.Client} to inject
+     */
+    <T> ElasticsearchBulkResult<T> saveBulk(Iterable<T> entities, ElasticsearchBulkOptions options)
+            throws NullPointerException, IllegalStateException;
+
+    /**
+     * Finds the entities with a scroll, so the result is neither limited by index.max_result_window nor held in
+     * memory: a page is fetched when the stream reaches it and each hit is converted lazily. The stream must be
+     * closed, e.g. with try-with-resources, when it is not read to the end, to clear the scroll context.
+     * It needs a {@link org.elasticsearch.client.Client} produced by CDI.
+     *
+     * @param query   the query
+     * @param options the scroll options
+     * @param types   the types
+     * @param <T>     the entity type
+     * @return the entities in index order
+     * @throws NullPointerException  when either query or options are null
+     * @throws IllegalStateException when there is not a {@link org.elasticsearch.client.Client} to inject
+     */
+    <T> Stream<T> findStream(QueryBuilder query, ElasticsearchScrollOptions options, String... types)
+            throws NullPointerException, IllegalStateException;
+
+    /**
+     * Runs the aggregations on the entities matched by {@link QueryBuilder}, the search has size zero so no hit is
+     * read, just the aggregations computed by Elasticsearch. It needs a {@link org.elasticsearch.client.Client}
+     * produced by CDI.
+     *
+     * @param index        the index to search
+     * @param query        the query
+     * @param aggregations the aggregations
+     * @param types        the types
+     * @return the aggregations by name
+     * @throws NullPointerException     when either index, query, aggregations or an aggregation are null
+     * @throws IllegalArgumentException when aggregations is empty
+     * @throws IllegalStateException    when there is not a {@link org.elasticsearch.client.Client} to inject
+     */
+    ElasticsearchAggregationResult aggregate(String index, QueryBuilder query,
+                                             Iterable<? extends AggregationBuilder> aggregations, String... types)
+            throws NullPointerException, IllegalArgumentException, IllegalStateException;
 }
@@ -21,10 +21,12 @@ package org.jnosql.artemis.elasticsearch.document;
 
 
 import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.search.aggregations.AggregationBuilder;
 import org.jnosql.artemis.document.DocumentRepositoryAsync;
 import org.jnosql.diana.api.ExecuteAsyncQueryException;
 
 import java.util.List;
+import java.util.concurrent.CompletionStage;
 import java.util.function.Consumer;
 
 /**
@@ -42,4 +44,73 @@ public interface ElasticsearchDocumentRepositoryAsync extends DocumentRepository
      */
     <T> void find(QueryBuilder query, Consumer<List<T>> callBack, String... types)
             throws NullPointerException, ExecuteAsyncQueryException;
+
+    /**
+     * Finds the entities with a scroll and calls the callback with each page, the next page is just requested after
+     * the callback returns and the last call has an empty list. It needs a {@link org.elasticsearch.client.Client}
+     * produced by CDI.
+     *
+     * @param query    the query
+     * @param options  the scroll options
+     * @param callBack the callback
+     * @param types    the types
+     * @param <T>      the entity type
+     * @throws NullPointerException  when either query, options or callBack are null
+     * @throws IllegalStateException when there is not a {@link org.elasticsearch.client.Client} to inject
+     */
+    <T> void findPages(QueryBuilder query, ElasticsearchScrollOptions options, Consumer<List<T>> callBack,
+                       String... types) throws NullPointerException, IllegalStateException;
+
+    /**
+     * Finds the first page of a scroll, see {@link ElasticsearchPage#next()} to read the next pages.
+     * It needs a {@link org.elasticsearch.client.Client} produced by CDI.
+     *
+     * @param query   the query
+     * @param options the scroll options
+     * @param types   the types
+     * @param <T>     the entity type
+     * @return the first page
+     * @throws NullPointerException  when either query or options are null
+     * @throws IllegalStateException when there is not a {@link org.elasticsearch.client.Client} to inject
+     */
+    <T> CompletionStage<ElasticsearchPage<T>> findPageStage(QueryBuilder query, ElasticsearchScrollOptions options,
+                                                            String... types)
+            throws NullPointerException, IllegalStateException;
+
+    /**
+     * Runs the aggregations on the entities matched by {@link QueryBuilder} and calls the callback with the result,
+     * see {@link ElasticsearchDocumentRepository#aggregate(String, QueryBuilder, Iterable, String...)}. An error is
+     * just logged, since the callback cannot receive it. It needs a {@link org.elasticsearch.client.Client} produced
+     * by CDI.
+     *
+     * @param index        the index to search
+     * @param query        the query
+     * @param aggregations the aggregations
+     * @param callBack     the callback
+     * @param types        the types
+     * @throws NullPointerException     when either index, query, aggregations, an aggregation or callBack are null
+     * @throws IllegalArgumentException when aggregations is empty
+     * @throws IllegalStateException    when there is not a {@link org.elasticsearch.client.Client} to inject
+     */
+    void aggregate(String index, QueryBuilder query, Iterable<? extends AggregationBuilder> aggregations,
+                   Consumer<ElasticsearchAggregationResult> callBack, String... types)
+            throws NullPointerException, IllegalArgumentException, IllegalStateException;
+
+    /**
+     * Runs the aggregations on the entities matched by {@link QueryBuilder},
+     * see {@link ElasticsearchDocumentRepository#aggregate(String, QueryBuilder, Iterable, String...)}.
+     * It needs a {@link org.elasticsearch.client.Client} produced by CDI.
+     *
+     * @param index        the index to search
+     * @param query        the query
+     * @param aggregations the aggregations
+     * @param types        the types
+     * @return the aggregations by name
+     * @throws NullPointerException     when either index, query, aggregations or an aggregation are null
+     * @throws IllegalArgumentException when aggregations is empty
+     * @throws IllegalStateException    when there is not a {@link org.elasticsearch.client.Client} to inject
+     */
+    CompletionStage<ElasticsearchAggregationResult> aggregateStage(
+            String index, QueryBuilder query, Iterable<? extends AggregationBuilder> aggregations, String... types)
+            throws NullPointerException, IllegalArgumentException, IllegalStateException;
 }
@@ -0,0 +1,142 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.jnosql.diana.api.document.Document;
+import org.jnosql.diana.api.document.DocumentCondition;
+import org.jnosql.diana.api.document.DocumentQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Translates the condition of a derived findBy query to the filter context, a bool query with just filter,
+ * must_not and should clauses. Filters do not score, so Elasticsearch can cache them and reuse the cached
+ * bitsets on the next calls. The terms match the indexed value as is, so the fields should be keyword,
+ * numeric or date fields.
+ */
+final class ElasticsearchFilterQuery {
+
+    private ElasticsearchFilterQuery() {
+    }
+
+    /**
+     * @return the filter query or {@link Optional#empty()} when the query has no condition, a condition without
+     * filter, is sorted or skips results, since the filter search neither sorts nor skips; the caller limits it
+     */
+    static Optional<QueryBuilder> of(DocumentQuery query) {
+        if (!query.getSorts().isEmpty() || query.getStart() > 0) {
+            return Optional.empty();
+        }
+        return query.getCondition().flatMap(ElasticsearchFilterQuery::toFilter)
+                .map(f -> QueryBuilders.boolQuery().filter(f));
+    }
+
+    /**
+     * @return the filter or {@link Optional#empty()} when the condition, or one of its conditions, has no filter
+     */
+    static Optional<QueryBuilder> toFilter(DocumentCondition condition) {
+        Document document = condition.getDocument();
+        String name = document.getName();
+        Object value = document.get();
+        switch (condition.getCondition()) {
+            case EQUALS:
+                return Optional.of(QueryBuilders.termQuery(name, value));
+            case GREATER_THAN:
+                return Optional.of(QueryBuilders.rangeQuery(name).gt(value));
+            case GREATER_EQUALS_THAN:
+                return Optional.of(QueryBuilders.rangeQuery(name).gte(value));
+            case LESSER_THAN:
+                return Optional.of(QueryBuilders.rangeQuery(name).lt(value));
+            case LESSER_EQUALS_THAN:
+                return Optional.of(QueryBuilders.rangeQuery(name).lte(value));
+            case IN:
+                return Optional.of(QueryBuilders.termsQuery(name, toList(value)));
+            case LIKE:
+                return Optional.of(QueryBuilders.wildcardQuery(name, toWildcard(String.valueOf(value))));
+            case AND:
+                BoolQueryBuilder and = QueryBuilders.boolQuery();
+                for (DocumentCondition c : toConditions(value)) {
+                    Optional<QueryBuilder> filter = toFilter(c);
+                    if (!filter.isPresent()) {
+                        return Optional.empty();
+                    }
+                    and.filter(filter.get());
+                }
+                return Optional.of(and);
+            case OR:
+                BoolQueryBuilder or = QueryBuilders.boolQuery().minimumShouldMatch(1);
+                for (DocumentCondition c : toConditions(value)) {
+                    Optional<QueryBuilder> filter = toFilter(c);
+                    if (!filter.isPresent()) {
+                        return Optional.empty();
+                    }
+                    or.should(filter.get());
+                }
+                return Optional.of(or);
+            case NOT:
+                return toFilter(DocumentCondition.class.cast(value)).map(f -> QueryBuilders.boolQuery().mustNot(f));
+            default:
+                return Optional.empty();
+        }
+    }
+
+    private static List<Object> toList(Object value) {
+        List<Object> values = new ArrayList<>();
+        if (value instanceof Iterable) {
+            ((Iterable<?>) value).forEach(values::add);
+        } else {
+            values.add(value);
+        }
+        return values;
+    }
+
+    private static List<DocumentCondition> toConditions(Object value) {
+        List<DocumentCondition> conditions = new ArrayList<>();
+        ((Iterable<?>) value).forEach(c -> conditions.add(DocumentCondition.class.cast(c)));
+        return conditions;
+    }
+
+    private static String toWildcard(String like) {
+        StringBuilder wildcard = new StringBuilder(like.length());
+        for (char current : like.toCharArray()) {
+            switch (current) {
+                case '%':
+                    wildcard.append('*');
+                    break;
+                case '_':
+                    wildcard.append('?');
+                    break;
+                case '*':
+                case '?':
+                case '\\':
+                    wildcard.append('\\').append(current);
+                    break;
+                default:
+                    wildcard.append(current);
+            }
+        }
+        return wildcard.toString();
+    }
+}
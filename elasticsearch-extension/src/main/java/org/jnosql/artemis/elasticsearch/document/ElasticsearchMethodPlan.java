@@ -0,0 +1,89 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+import org.jnosql.artemis.DynamicQueryException;
+
+import java.lang.reflect.Method;
+
+/**
+ * What a repository method does, resolved once from the {@link Method} so the proxy does not read annotations,
+ * compare method names or parse the {@link Query} JSON on each call.
+ */
+final class ElasticsearchMethodPlan {
+
+    private static final String SAVE = "save";
+    private static final String UPDATE = "update";
+    private static final String FIND_BY = "findBy";
+    private static final String DELETE_BY = "deleteBy";
+
+    private final MethodType type;
+
+    private final ElasticsearchQueryTemplate template;
+
+    private ElasticsearchMethodPlan(MethodType type, ElasticsearchQueryTemplate template) {
+        this.type = type;
+        this.template = template;
+    }
+
+    MethodType getType() {
+        return type;
+    }
+
+    ElasticsearchQueryTemplate getTemplate() {
+        return template;
+    }
+
+    /**
+     * @throws DynamicQueryException when the {@link Query} has a placeholder without method parameter
+     */
+    static ElasticsearchMethodPlan of(Method method) {
+        Query query = method.getAnnotation(Query.class);
+        if (query != null) {
+            ElasticsearchQueryTemplate template = ElasticsearchQueryTemplate.of(query.value());
+            if (template.getParameterCount() > method.getParameterCount()) {
+                throw new DynamicQueryException("The query of " + method + " needs " + template.getParameterCount()
+                        + " parameters: " + query.value());
+            }
+            return new ElasticsearchMethodPlan(MethodType.QUERY, template);
+        }
+        return new ElasticsearchMethodPlan(MethodType.of(method.getName()), null);
+    }
+
+    enum MethodType {
+        QUERY, SAVE, FIND_BY, DELETE_BY, UNKNOWN;
+
+        static MethodType of(String methodName) {
+            switch (methodName) {
+                case ElasticsearchMethodPlan.SAVE:
+                case ElasticsearchMethodPlan.UPDATE:
+                    return SAVE;
+                default:
+            }
+            if (methodName.startsWith(ElasticsearchMethodPlan.FIND_BY)) {
+                return FIND_BY;
+            }
+            if (methodName.startsWith(ElasticsearchMethodPlan.DELETE_BY)) {
+                return DELETE_BY;
+            }
+            return UNKNOWN;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+/**
+ * A page of a scroll from {@link ElasticsearchDocumentRepositoryAsync#findPageStage}.
+ * The scroll context is cleared once the last page is read, a reader that stops before must call {@link #close()}.
+ *
+ * @param <T> the entity type
+ */
+public final class ElasticsearchPage<T> {
+
+    private final List<T> content;
+
+    private final ElasticsearchAsyncScroll<T> scroll;
+
+    private final String scrollId;
+
+    private final boolean next;
+
+    ElasticsearchPage(List<T> content, ElasticsearchAsyncScroll<T> scroll, String scrollId, boolean next) {
+        this.content = Collections.unmodifiableList(content);
+        this.scroll = scroll;
+        this.scrollId = scrollId;
+        this.next = next;
+    }
+
+    /**
+     * @return the entities of this page
+     */
+    public List<T> getContent() {
+        return content;
+    }
+
+    /**
+     * @return true when there is a next page
+     */
+    public boolean hasNext() {
+        return next;
+    }
+
+    /**
+     * @return the next page
+     * @throws IllegalStateException when there is not next page
+     */
+    public CompletionStage<ElasticsearchPage<T>> next() throws IllegalStateException {
+        if (!next) {
+            throw new IllegalStateException("There is not next page");
+        }
+        return scroll.next(scrollId);
+    }
+
+    /**
+     * Clears the scroll context, to stop reading before the last page
+     */
+    public void close() {
+        if (next) {
+            scroll.clear(scrollId);
+        }
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("ElasticsearchPage{");
+        sb.append("content=").append(content.size());
+        sb.append(", next=").append(next);
+        sb.append('}');
+        return sb.toString();
+    }
+}
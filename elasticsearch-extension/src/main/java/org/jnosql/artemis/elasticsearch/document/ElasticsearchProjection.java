@@ -0,0 +1,244 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+import org.jnosql.artemis.Column;
+import org.jnosql.diana.api.Value;
+import org.jnosql.diana.api.document.Document;
+import org.jnosql.diana.api.document.DocumentEntity;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static org.jnosql.artemis.elasticsearch.document.ElasticsearchBulkIndexer.ID;
+
+/**
+ * Maps a hit to a projection, either an interface whose getters name the documents or a class with a
+ * no-arg constructor whose fields name the documents, {@link Column} can rename a field. The projected documents
+ * are the _source includes of the search, so Elasticsearch neither reads nor sends the other ones.
+ *
+ * @param <P> the projection type
+ */
+final class ElasticsearchProjection<P> {
+
+    /**
+     * The projection of each type, a {@link ClassValue} keeps it with the type so it does not pin the class loader
+     */
+    private static final ClassValue<ElasticsearchProjection<?>> CACHE = new ClassValue<ElasticsearchProjection<?>>() {
+        @Override
+        protected ElasticsearchProjection<?> computeValue(Class<?> type) {
+            return create(type);
+        }
+    };
+
+    private static final Map<Class<?>, Class<?>> WRAPPERS = new HashMap<>();
+
+    private static final Map<Class<?>, Object> DEFAULTS = new HashMap<>();
+
+    static {
+        WRAPPERS.put(boolean.class, Boolean.class);
+        WRAPPERS.put(byte.class, Byte.class);
+        WRAPPERS.put(char.class, Character.class);
+        WRAPPERS.put(short.class, Short.class);
+        WRAPPERS.put(int.class, Integer.class);
+        WRAPPERS.put(long.class, Long.class);
+        WRAPPERS.put(float.class, Float.class);
+        WRAPPERS.put(double.class, Double.class);
+        DEFAULTS.put(boolean.class, false);
+        DEFAULTS.put(byte.class, (byte) 0);
+        DEFAULTS.put(char.class, '\0');
+        DEFAULTS.put(short.class, (short) 0);
+        DEFAULTS.put(int.class, 0);
+        DEFAULTS.put(long.class, 0L);
+        DEFAULTS.put(float.class, 0F);
+        DEFAULTS.put(double.class, 0D);
+    }
+
+    private final Class<P> type;
+
+    private final Map<String, Class<?>> properties;
+
+    private final Map<String, String> documents;
+
+    private final Constructor<P> constructor;
+
+    private final Map<String, Field> fields;
+
+    private final String[] includes;
+
+    private ElasticsearchProjection(Class<P> type, Map<String, Class<?>> properties, Map<String, String> documents,
+                                    Constructor<P> constructor, Map<String, Field> fields) {
+        this.type = type;
+        this.properties = properties;
+        this.documents = documents;
+        this.constructor = constructor;
+        this.fields = fields;
+        this.includes = documents.values().stream().distinct().filter(d -> !ID.equals(d)).toArray(String[]::new);
+    }
+
+    /**
+     * @return the documents read by the projection but the _id, which is not in the source, the _source includes
+     * of the search
+     */
+    String[] getIncludes() {
+        return includes.clone();
+    }
+
+    P toProjection(DocumentEntity entity) {
+        Map<String, Object> values = new HashMap<>();
+        for (Map.Entry<String, String> property : documents.entrySet()) {
+            Object value = entity.find(property.getValue()).map(Document::get).orElse(null);
+            values.put(property.getKey(), convert(value, properties.get(property.getKey())));
+        }
+        if (constructor == null) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class[]{type},
+                    new ProjectionHandler(type, values)));
+        }
+        try {
+            P projection = constructor.newInstance();
+            for (Map.Entry<String, Field> field : fields.entrySet()) {
+                Object value = values.get(field.getKey());
+                if (value != null) {
+                    field.getValue().set(projection, value);
+                }
+            }
+            return projection;
+        } catch (ReflectiveOperationException exception) {
+            throw new IllegalStateException("Error when creating the projection " + type.getName(), exception);
+        }
+    }
+
+    static <P> ElasticsearchProjection<P> of(Class<P> type) {
+        Objects.requireNonNull(type, "type is required");
+        return (ElasticsearchProjection<P>) CACHE.get(type);
+    }
+
+    private static <P> ElasticsearchProjection<P> create(Class<P> type) {
+        Map<String, Class<?>> properties = new LinkedHashMap<>();
+        Map<String, String> documents = new LinkedHashMap<>();
+        if (type.isInterface()) {
+            for (Method method : type.getMethods()) {
+                if (method.getParameterCount() != 0 || void.class.equals(method.getReturnType())
+                        || method.isDefault() || Modifier.isStatic(method.getModifiers())) {
+                    continue;
+                }
+                String property = toProperty(method.getName());
+                properties.put(method.getName(), method.getReturnType());
+                documents.put(method.getName(), property);
+            }
+            if (documents.isEmpty()) {
+                throw new IllegalArgumentException("The projection has no getter: " + type.getName());
+            }
+            return new ElasticsearchProjection<>(type, properties, documents, null, Collections.emptyMap());
+        }
+
+        Constructor<P> constructor;
+        try {
+            constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+        } catch (NoSuchMethodException exception) {
+            throw new IllegalArgumentException("The projection must have a no-arg constructor: " + type.getName());
+        }
+        Map<String, Field> fields = new LinkedHashMap<>();
+        for (Class<?> current = type; current != null && !Object.class.equals(current);
+             current = current.getSuperclass()) {
+            for (Field field : current.getDeclaredFields()) {
+                int modifiers = field.getModifiers();
+                if (Modifier.isStatic(modifiers) || Modifier.isTransient(modifiers) || field.isSynthetic()
+                        || fields.containsKey(field.getName())) {
+                    continue;
+                }
+                field.setAccessible(true);
+                Column column = field.getAnnotation(Column.class);
+                String document = column == null || column.value().trim().isEmpty() ? field.getName() : column.value();
+                fields.put(field.getName(), field);
+                properties.put(field.getName(), field.getType());
+                documents.put(field.getName(), document);
+            }
+        }
+        if (documents.isEmpty()) {
+            throw new IllegalArgumentException("The projection has no field: " + type.getName());
+        }
+        return new ElasticsearchProjection<>(type, properties, documents, constructor, fields);
+    }
+
+    private static String toProperty(String methodName) {
+        if (methodName.startsWith("get") && methodName.length() > 3) {
+            return decapitalize(methodName.substring(3));
+        }
+        if (methodName.startsWith("is") && methodName.length() > 2) {
+            return decapitalize(methodName.substring(2));
+        }
+        return methodName;
+    }
+
+    private static String decapitalize(String name) {
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+
+    private static Object convert(Object value, Class<?> type) {
+        Class<?> wrapper = WRAPPERS.getOrDefault(type, type);
+        if (value == null) {
+            return DEFAULTS.get(type);
+        }
+        if (wrapper.isInstance(value)) {
+            return value;
+        }
+        return Value.of(value).get(wrapper);
+    }
+
+    private static final class ProjectionHandler implements InvocationHandler {
+
+        private final Class<?> type;
+
+        private final Map<String, Object> values;
+
+        private ProjectionHandler(Class<?> type, Map<String, Object> values) {
+            this.type = type;
+            this.values = values;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            switch (method.getName()) {
+                case "equals":
+                    return args != null && args.length == 1 && proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return type.getSimpleName() + values;
+                default:
+            }
+            if (!values.containsKey(method.getName())) {
+                throw new UnsupportedOperationException("The projection does not support " + method);
+            }
+            return values.get(method.getName());
+        }
+    }
+}
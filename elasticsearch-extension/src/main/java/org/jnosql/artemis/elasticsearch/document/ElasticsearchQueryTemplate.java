@@ -0,0 +1,208 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+
+import java.lang.reflect.Array;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * The JSON of a {@link Query} split once at its ?0, ?1... placeholders, so a call just joins the parts with the
+ * arguments. A placeholder inside a JSON string gets the escaped text of the argument, any other one gets the
+ * argument as a JSON value: a number, a boolean, null, an array from an Iterable or array, or a string.
+ */
+final class ElasticsearchQueryTemplate {
+
+    private final String template;
+
+    private final List<String> parts;
+
+    private final int[] indexes;
+
+    private final boolean[] quoted;
+
+    private final int parameterCount;
+
+    private ElasticsearchQueryTemplate(String template, List<String> parts, int[] indexes, boolean[] quoted) {
+        this.template = template;
+        this.parts = parts;
+        this.indexes = indexes;
+        this.quoted = quoted;
+        int max = -1;
+        for (int index : indexes) {
+            max = Math.max(max, index);
+        }
+        this.parameterCount = max + 1;
+    }
+
+    /**
+     * @return the number of arguments the template needs, the highest placeholder plus one
+     */
+    int getParameterCount() {
+        return parameterCount;
+    }
+
+    QueryBuilder toQuery(Object[] args) {
+        return QueryBuilders.wrapperQuery(render(args));
+    }
+
+    /**
+     * @throws IllegalArgumentException when there are fewer arguments than placeholders or an unquoted argument is
+     *                                  NaN or infinite, which JSON cannot represent
+     */
+    String render(Object[] args) {
+        int size = args == null ? 0 : args.length;
+        if (size < parameterCount) {
+            throw new IllegalArgumentException("The query needs " + parameterCount + " arguments: " + template);
+        }
+        StringBuilder json = new StringBuilder(template.length() + 16 * indexes.length);
+        for (int index = 0; index < indexes.length; index++) {
+            json.append(parts.get(index));
+            Object arg = args[indexes[index]];
+            if (quoted[index]) {
+                escape(String.valueOf(arg), json);
+            } else {
+                appendValue(arg, json);
+            }
+        }
+        json.append(parts.get(indexes.length));
+        return json.toString();
+    }
+
+    static ElasticsearchQueryTemplate of(String template) {
+        Objects.requireNonNull(template, "template is required");
+        List<String> parts = new ArrayList<>();
+        List<Integer> indexes = new ArrayList<>();
+        List<Boolean> quoted = new ArrayList<>();
+        StringBuilder part = new StringBuilder();
+        boolean inString = false;
+        for (int index = 0; index < template.length(); index++) {
+            char current = template.charAt(index);
+            if (inString && current == '\\' && index + 1 < template.length()) {
+                part.append(current).append(template.charAt(++index));
+                continue;
+            }
+            if (current == '"') {
+                inString = !inString;
+            }
+            int end = index + 1;
+            while (current == '?' && end < template.length() && Character.isDigit(template.charAt(end))) {
+                end++;
+            }
+            if (end > index + 1) {
+                parts.add(part.toString());
+                part.setLength(0);
+                indexes.add(Integer.parseInt(template.substring(index + 1, end)));
+                quoted.add(inString);
+                index = end - 1;
+            } else {
+                part.append(current);
+            }
+        }
+        parts.add(part.toString());
+        int[] indexArray = new int[indexes.size()];
+        boolean[] quotedArray = new boolean[quoted.size()];
+        for (int index = 0; index < indexArray.length; index++) {
+            indexArray[index] = indexes.get(index);
+            quotedArray[index] = quoted.get(index);
+        }
+        return new ElasticsearchQueryTemplate(template, parts, indexArray, quotedArray);
+    }
+
+    private static boolean isNotFinite(Object value) {
+        if (value instanceof Double) {
+            return ((Double) value).isNaN() || ((Double) value).isInfinite();
+        }
+        if (value instanceof Float) {
+            return ((Float) value).isNaN() || ((Float) value).isInfinite();
+        }
+        return false;
+    }
+
+    private static void appendValue(Object value, StringBuilder json) {
+        if (isNotFinite(value)) {
+            throw new IllegalArgumentException("JSON has no number for the value: " + value);
+        }
+        if (value == null || value instanceof Number || value instanceof Boolean) {
+            json.append(value);
+        } else if (value instanceof Iterable) {
+            json.append('[');
+            String separator = "";
+            for (Object element : (Iterable<?>) value) {
+                json.append(separator);
+                appendValue(element, json);
+                separator = ",";
+            }
+            json.append(']');
+        } else if (value.getClass().isArray()) {
+            json.append('[');
+            for (int index = 0; index < Array.getLength(value); index++) {
+                if (index > 0) {
+                    json.append(',');
+                }
+                appendValue(Array.get(value, index), json);
+            }
+            json.append(']');
+        } else {
+            String text = value instanceof Enum ? ((Enum<?>) value).name() : value.toString();
+            json.append('"');
+            escape(text, json);
+            json.append('"');
+        }
+    }
+
+    private static void escape(String text, StringBuilder json) {
+        for (int index = 0; index < text.length(); index++) {
+            char current = text.charAt(index);
+            switch (current) {
+                case '"':
+                    json.append("\\\"");
+                    break;
+                case '\\':
+                    json.append("\\\\");
+                    break;
+                case '\n':
+                    json.append("\\n");
+                    break;
+                case '\r':
+                    json.append("\\r");
+                    break;
+                case '\t':
+                    json.append("\\t");
+                    break;
+                default:
+                    if (current < 0x20) {
+                        json.append(String.format("\\u%04x", (int) current));
+                    } else {
+                        json.append(current);
+                    }
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return template;
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.search.SearchHit;
+import org.jnosql.diana.api.document.DocumentEntity;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Walks the hits of a scroll one page at a time: the next page is just fetched when the current one is consumed and
+ * each hit is converted when the iterator reaches it. The scroll context is cleared either when the last page is
+ * read or when the stream is closed.
+ *
+ * @param <T> the entity type
+ */
+final class ElasticsearchScrollIterator<T> implements Iterator<T>, AutoCloseable {
+
+    private final Client client;
+
+    private final ElasticsearchScrollOptions options;
+
+    private final Function<DocumentEntity, T> converter;
+
+    private SearchHit[] hits;
+
+    private int position;
+
+    private long read;
+
+    private long total;
+
+    private String scrollId;
+
+    private boolean closed;
+
+    private ElasticsearchScrollIterator(Client client, ElasticsearchScrollOptions options,
+                                        Function<DocumentEntity, T> converter, SearchResponse first) {
+        this.client = client;
+        this.options = options;
+        this.converter = converter;
+        accept(first);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (position < hits.length) {
+            return true;
+        }
+        if (hits.length == 0 || read >= total) {
+            close();
+            return false;
+        }
+        accept(ElasticsearchScrolls.scroll(client, options, scrollId).get());
+        return hasNext();
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("The scroll has no more hits");
+        }
+        return converter.apply(ElasticsearchScrolls.toEntity(hits[position++]));
+    }
+
+    @Override
+    public void close() {
+        if (!closed) {
+            closed = true;
+            ElasticsearchScrolls.clear(client, scrollId);
+        }
+    }
+
+    private void accept(SearchResponse response) {
+        this.scrollId = response.getScrollId();
+        this.hits = response.getHits().getHits();
+        this.total = response.getHits().getTotalHits();
+        this.position = 0;
+        this.read += hits.length;
+    }
+
+    static <T> Stream<T> stream(Client client, ElasticsearchScrollOptions options, QueryBuilder query,
+                                Function<DocumentEntity, T> converter, String... types) {
+        SearchResponse first = ElasticsearchScrolls.search(client, options, query, types).get();
+        ElasticsearchScrollIterator<T> iterator = new ElasticsearchScrollIterator<>(client, options, converter, first);
+        Spliterator<T> spliterator = Spliterators.spliteratorUnknownSize(iterator,
+                Spliterator.ORDERED | Spliterator.NONNULL);
+        return StreamSupport.stream(spliterator, false).onClose(iterator::close);
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+import java.time.Duration;
+import java.util.Objects;
+
+/**
+ * How a scroll walks the result of a query: the index to search, the number of hits fetched by page and how long
+ * Elasticsearch keeps the scroll context between two pages. The scroll reads the hits in index order, so it is not
+ * limited by index.max_result_window and each page just holds page size hits. When the application produces the
+ * options as a CDI bean, the Elasticsearch repositories use them to run the findBy queries on the filter context.
+ */
+public final class ElasticsearchScrollOptions {
+
+    static final int DEFAULT_PAGE_SIZE = 500;
+
+    static final Duration DEFAULT_KEEP_ALIVE = Duration.ofMinutes(1);
+
+    private final String index;
+
+    private final int pageSize;
+
+    private final Duration keepAlive;
+
+    private ElasticsearchScrollOptions(String index, int pageSize, Duration keepAlive) {
+        this.index = index;
+        this.pageSize = pageSize;
+        this.keepAlive = keepAlive;
+    }
+
+    /**
+     * @return the index to search
+     */
+    public String getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the number of hits by page
+     */
+    public int getPageSize() {
+        return pageSize;
+    }
+
+    /**
+     * @return how long the scroll context is kept between two pages
+     */
+    public Duration getKeepAlive() {
+        return keepAlive;
+    }
+
+    /**
+     * @param pageSize the number of hits by page
+     * @return new options with the page size
+     * @throws IllegalArgumentException when pageSize is not greater than zero
+     */
+    public ElasticsearchScrollOptions withPageSize(int pageSize) throws IllegalArgumentException {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("The page size must be greater than zero: " + pageSize);
+        }
+        return new ElasticsearchScrollOptions(index, pageSize, keepAlive);
+    }
+
+    /**
+     * @param keepAlive how long the scroll context is kept between two pages
+     * @return new options with the keep alive
+     * @throws NullPointerException     when keepAlive is null
+     * @throws IllegalArgumentException when keepAlive is not positive
+     */
+    public ElasticsearchScrollOptions withKeepAlive(Duration keepAlive) throws NullPointerException,
+            IllegalArgumentException {
+        Objects.requireNonNull(keepAlive, "keepAlive is required");
+        if (keepAlive.isNegative() || keepAlive.isZero()) {
+            throw new IllegalArgumentException("The keep alive must be positive: " + keepAlive);
+        }
+        return new ElasticsearchScrollOptions(index, pageSize, keepAlive);
+    }
+
+    /**
+     * Creates the options with pages of {@value #DEFAULT_PAGE_SIZE} hits and a keep alive of one minute
+     *
+     * @param index the index to search
+     * @return the options
+     * @throws NullPointerException when index is null
+     */
+    public static ElasticsearchScrollOptions of(String index) throws NullPointerException {
+        Objects.requireNonNull(index, "index is required");
+        return new ElasticsearchScrollOptions(index, DEFAULT_PAGE_SIZE, DEFAULT_KEEP_ALIVE);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("ElasticsearchScrollOptions{");
+        sb.append("index='").append(index).append('\'');
+        sb.append(", pageSize=").append(pageSize);
+        sb.append(", keepAlive=").append(keepAlive);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+import org.elasticsearch.action.search.SearchRequestBuilder;
+import org.elasticsearch.action.search.SearchScrollRequestBuilder;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.sort.SortOrder;
+import org.jnosql.diana.api.document.Document;
+import org.jnosql.diana.api.document.DocumentEntity;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import static org.jnosql.artemis.elasticsearch.document.ElasticsearchBulkIndexer.ID;
+
+/**
+ * The requests of a scroll and the conversion of its hits to {@link DocumentEntity}, the hit id becomes the _id
+ * document and each JSON object of the source becomes a list of sub documents.
+ */
+final class ElasticsearchScrolls {
+
+    private static final Logger LOGGER = Logger.getLogger(ElasticsearchScrolls.class.getName());
+
+    private static final String INDEX_ORDER = "_doc";
+
+    private ElasticsearchScrolls() {
+    }
+
+    static SearchRequestBuilder search(Client client, ElasticsearchScrollOptions options, QueryBuilder query,
+                                       String... types) {
+        return client.prepareSearch(options.getIndex())
+                .setTypes(types)
+                .setQuery(query)
+                .setSize(options.getPageSize())
+                .addSort(INDEX_ORDER, SortOrder.ASC)
+                .setScroll(toTimeValue(options));
+    }
+
+    static SearchScrollRequestBuilder scroll(Client client, ElasticsearchScrollOptions options, String scrollId) {
+        return client.prepareSearchScroll(scrollId).setScroll(toTimeValue(options));
+    }
+
+    /**
+     * Releases the scroll context on the server, an error is just logged since the context expires anyway
+     */
+    static void clear(Client client, String scrollId) {
+        if (scrollId == null) {
+            return;
+        }
+        try {
+            client.prepareClearScroll().addScrollId(scrollId).execute();
+        } catch (RuntimeException exception) {
+            LOGGER.log(Level.WARNING, "Error when clearing the scroll: " + scrollId, exception);
+        }
+    }
+
+    static DocumentEntity toEntity(SearchHit hit) {
+        DocumentEntity entity = DocumentEntity.of(hit.getType());
+        entity.add(Document.of(ID, hit.getId()));
+        Map<String, Object> source = hit.getSource();
+        if (source != null) {
+            toDocuments(source).forEach(entity::add);
+        }
+        return entity;
+    }
+
+    private static List<Document> toDocuments(Map<?, ?> map) {
+        List<Document> documents = new ArrayList<>();
+        map.forEach((key, value) -> documents.add(Document.of(key.toString(), toValue(value))));
+        return documents;
+    }
+
+    private static Object toValue(Object value) {
+        if (value instanceof Map) {
+            return toDocuments((Map<?, ?>) value);
+        }
+        if (value instanceof List) {
+            List<Object> values = new ArrayList<>();
+            ((List<?>) value).forEach(v -> values.add(toValue(v)));
+            return values;
+        }
+        return value;
+    }
+
+    private static TimeValue toTimeValue(ElasticsearchScrollOptions options) {
+        return TimeValue.timeValueMillis(options.getKeepAlive().toMillis());
+    }
+}
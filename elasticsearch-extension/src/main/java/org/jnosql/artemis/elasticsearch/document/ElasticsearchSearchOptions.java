@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * How a search reads the hits: the index to search, the max number of hits and the _source filtering, the documents
+ * included and excluded from each hit source. The names are the document names, the ones in {@link
+ * org.jnosql.artemis.Column}, and accept wildcards and the dot notation to sub documents. Without includes the whole
+ * source is read but the excludes.
+ */
+public final class ElasticsearchSearchOptions {
+
+    private static final String[] EMPTY = new String[0];
+
+    private final String index;
+
+    private final String[] includes;
+
+    private final String[] excludes;
+
+    private final Integer size;
+
+    private ElasticsearchSearchOptions(String index, String[] includes, String[] excludes, Integer size) {
+        this.index = index;
+        this.includes = includes;
+        this.excludes = excludes;
+        this.size = size;
+    }
+
+    /**
+     * @return the index to search
+     */
+    public String getIndex() {
+        return index;
+    }
+
+    /**
+     * @return the documents included in the source
+     */
+    public String[] getIncludes() {
+        return includes.clone();
+    }
+
+    /**
+     * @return the documents excluded from the source
+     */
+    public String[] getExcludes() {
+        return excludes.clone();
+    }
+
+    /**
+     * @return the max number of hits, when it is null the Elasticsearch default is used
+     */
+    public Integer getSize() {
+        return size;
+    }
+
+    /**
+     * @param includes the documents included in the source
+     * @return new options with the includes
+     * @throws NullPointerException when includes or one of them is null
+     */
+    public ElasticsearchSearchOptions withIncludes(String... includes) throws NullPointerException {
+        return new ElasticsearchSearchOptions(index, toNames(includes, "includes"), excludes, size);
+    }
+
+    /**
+     * @param excludes the documents excluded from the source
+     * @return new options with the excludes
+     * @throws NullPointerException when excludes or one of them is null
+     */
+    public ElasticsearchSearchOptions withExcludes(String... excludes) throws NullPointerException {
+        return new ElasticsearchSearchOptions(index, includes, toNames(excludes, "excludes"), size);
+    }
+
+    /**
+     * @param size the max number of hits
+     * @return new options with the size
+     * @throws IllegalArgumentException when size is negative
+     */
+    public ElasticsearchSearchOptions withSize(int size) throws IllegalArgumentException {
+        if (size < 0) {
+            throw new IllegalArgumentException("The size must not be negative: " + size);
+        }
+        return new ElasticsearchSearchOptions(index, includes, excludes, size);
+    }
+
+    /**
+     * Creates the options that read the whole source with the Elasticsearch default size
+     *
+     * @param index the index to search
+     * @return the options
+     * @throws NullPointerException when index is null
+     */
+    public static ElasticsearchSearchOptions of(String index) throws NullPointerException {
+        Objects.requireNonNull(index, "index is required");
+        return new ElasticsearchSearchOptions(index, EMPTY, EMPTY, null);
+    }
+
+    private static String[] toNames(String[] names, String parameter) {
+        Objects.requireNonNull(names, parameter + " is required");
+        for (String name : names) {
+            Objects.requireNonNull(name, parameter + " must not have null");
+        }
+        return names.clone();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("ElasticsearchSearchOptions{");
+        sb.append("index='").append(index).append('\'');
+        sb.append(", includes=").append(Arrays.toString(includes));
+        sb.append(", excludes=").append(Arrays.toString(excludes));
+        sb.append(", size=").append(size);
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -19,7 +19,13 @@
  */
 package org.jnosql.artemis.elasticsearch.document;
 
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.search.SearchRequestBuilder;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.Client;
 import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
 import org.jnosql.artemis.document.DocumentEntityConverter;
 import org.jnosql.diana.api.document.Document;
 import org.jnosql.diana.api.document.DocumentEntity;
@@ -27,15 +33,24 @@ import org.jnosql.diana.elasticsearch.document.ElasticsearchDocumentCollectionMa
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.function.Consumer;
 
 import static org.elasticsearch.index.query.QueryBuilders.boolQuery;
 import static org.elasticsearch.index.query.QueryBuilders.termQuery;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.when;
 
 @RunWith(WeldJUnit4Runner.class)
@@ -48,14 +63,16 @@ public class DefaultElasticsearchDocumentRepositoryAsyncTest {
 
     private ElasticsearchDocumentRepositoryAsync repositoryAsync;
 
+    private Instance managerInstance;
+
 
     @Before
     public void setUp() {
         managerAsync = Mockito.mock(ElasticsearchDocumentCollectionManagerAsync.class);
-        Instance instance = Mockito.mock(Instance.class);
-        when(instance.get()).thenReturn(managerAsync);
+        managerInstance = Mockito.mock(Instance.class);
+        when(managerInstance.get()).thenReturn(managerAsync);
 
-        repositoryAsync = new DefaultElasticsearchDocumentRepositoryAsync(converter, instance);
+        repositoryAsync = new DefaultElasticsearchDocumentRepositoryAsync(converter, managerInstance);
 
         DocumentEntity entity = DocumentEntity.of("Person");
         entity.add(Document.of("name", "Ada"));
@@ -74,4 +91,85 @@ public class DefaultElasticsearchDocumentRepositoryAsyncTest {
                 Mockito.eq("Person"));
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldAggregate() {
+        SearchRequestBuilder search = Mockito.mock(SearchRequestBuilder.class,
+                i -> i.getMethod().getReturnType().isInstance(i.getMock()) ? i.getMock() : null);
+        ElasticsearchDocumentRepositoryAsync repository = aggregating(search,
+                ElasticsearchAggregationsTest.response(42L, null));
+
+        ElasticsearchAggregationResult result = repository.aggregateStage("library", QueryBuilders.matchAllQuery(),
+                Collections.singletonList(AggregationBuilders.terms("names").field("name")), "Person")
+                .toCompletableFuture().join();
+
+        assertEquals(42L, result.getTotalHits());
+        Mockito.verify(search).setSize(0);
+    }
+
+    @Test
+    public void shouldFailAggregateStageWhenTheResponseCannotBeConverted() {
+        SearchRequestBuilder search = Mockito.mock(SearchRequestBuilder.class,
+                i -> i.getMethod().getReturnType().isInstance(i.getMock()) ? i.getMock() : null);
+        SearchResponse response = Mockito.mock(SearchResponse.class);
+        when(response.getHits()).thenThrow(new IllegalStateException("broken response"));
+        ElasticsearchDocumentRepositoryAsync repository = aggregating(search, response);
+
+        CompletableFuture<ElasticsearchAggregationResult> result = repository.aggregateStage("library",
+                QueryBuilders.matchAllQuery(),
+                Collections.singletonList(AggregationBuilders.terms("names").field("name")), "Person")
+                .toCompletableFuture();
+
+        assertTrue(result.isCompletedExceptionally());
+        try {
+            result.join();
+            fail("the stage should have failed");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+    }
+
+    private ElasticsearchDocumentRepositoryAsync aggregating(SearchRequestBuilder search, SearchResponse response) {
+        Client client = Mockito.mock(Client.class);
+        when(client.prepareSearch("library")).thenReturn(search);
+        Mockito.doAnswer(i -> {
+            ActionListener<SearchResponse> listener = (ActionListener<SearchResponse>) i.getArguments()[0];
+            listener.onResponse(response);
+            return null;
+        }).when(search).execute(Mockito.any(ActionListener.class));
+        Instance executorInstance = Mockito.mock(Instance.class);
+        when(executorInstance.get()).thenReturn(ElasticsearchConversionExecutor.direct());
+        Instance clientInstance = Mockito.mock(Instance.class);
+        when(clientInstance.get()).thenReturn(client);
+        return new DefaultElasticsearchDocumentRepositoryAsync(converter, managerInstance, executorInstance,
+                clientInstance);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldReturnErrorWhenAggregatesWithoutClient() {
+        repositoryAsync.aggregate("library", QueryBuilders.matchAllQuery(),
+                Collections.singletonList(AggregationBuilders.terms("names").field("name")), r -> {}, "Person");
+    }
+
+    @Test
+    public void shouldConvertTheSavedEntityOnTheExecutor() {
+        List<Runnable> tasks = new ArrayList<>();
+        Instance executor = Mockito.mock(Instance.class);
+        when(executor.get()).thenReturn(ElasticsearchConversionExecutor.of(tasks::add));
+        ElasticsearchDocumentRepositoryAsync repository = new DefaultElasticsearchDocumentRepositoryAsync(converter,
+                managerInstance, executor);
+        List<Person> saved = new ArrayList<>();
+
+        repository.save(new Person("Ada", 10), saved::add);
+        ArgumentCaptor<Consumer> callBack = ArgumentCaptor.forClass(Consumer.class);
+        Mockito.verify(managerAsync).save(any(DocumentEntity.class), callBack.capture());
+        DocumentEntity entity = DocumentEntity.of("Person");
+        entity.add(Document.of("name", "Ada"));
+        entity.add(Document.of("age", 10));
+        callBack.getValue().accept(entity);
+
+        assertTrue(saved.isEmpty());
+        tasks.get(0).run();
+        assertEquals("Ada", saved.get(0).getName());
+    }
+}
@@ -19,8 +19,11 @@
  */
 package org.jnosql.artemis.elasticsearch.document;
 
+import org.elasticsearch.action.search.SearchRequestBuilder;
+import org.elasticsearch.client.Client;
 import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
 import org.hamcrest.Matchers;
 import org.jnosql.artemis.document.DocumentEntityConverter;
 import org.jnosql.artemis.document.DocumentEventPersistManager;
@@ -42,6 +45,7 @@ import java.util.List;
 import static org.elasticsearch.index.query.QueryBuilders.boolQuery;
 import static org.elasticsearch.index.query.QueryBuilders.termQuery;
 import static org.hamcrest.Matchers.contains;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThat;
 import static org.mockito.Mockito.when;
 
@@ -60,12 +64,15 @@ public class DefaultElasticsearchDocumentRepositoryTest {
 
     private ElasticsearchDocumentCollectionManager manager;
 
+    private Client client;
+
     private ElasticsearchDocumentRepository repository;
 
 
     @Before
     public void setup() {
         manager = Mockito.mock(ElasticsearchDocumentCollectionManager.class);
+        client = Mockito.mock(Client.class);
         Instance instance = Mockito.mock(Instance.class);
         when(instance.get()).thenReturn(manager);
         repository = new DefaultElasticsearchDocumentRepository(instance, converter, flow, persistManager);
@@ -86,4 +93,89 @@ public class DefaultElasticsearchDocumentRepositoryTest {
         Mockito.verify(manager).find(Mockito.eq(queryBuilder), Mockito.eq("Person"));
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldFindWithSourceFilter() {
+        SearchRequestBuilder search = mockSearch();
+        ElasticsearchSearchOptions options = ElasticsearchSearchOptions.of("library").withIncludes("name")
+                .withExcludes("address").withSize(20);
+
+        List<Person> people = repositoryWithClient().find(QueryBuilders.matchAllQuery(), options, "Person");
+
+        assertThat(people, contains(new Person("Ada", null)));
+        Mockito.verify(search).setTypes("Person");
+        Mockito.verify(search).setSize(20);
+        Mockito.verify(search).setFetchSource(new String[]{"name"}, new String[]{"address"});
+    }
+
+    @Test
+    public void shouldFindProjection() {
+        SearchRequestBuilder search = mockSearch();
+        ElasticsearchSearchOptions options = ElasticsearchSearchOptions.of("library").withIncludes("age");
+
+        List<PersonName> names = repositoryWithClient().find(QueryBuilders.matchAllQuery(), options,
+                PersonName.class, "Person");
+
+        assertEquals(1, names.size());
+        assertEquals("Ada", names.get(0).getName());
+        Mockito.verify(search).setFetchSource(new String[]{"name"}, new String[0]);
+        Mockito.verify(search, Mockito.never()).setSize(Mockito.anyInt());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldReturnErrorWhenFindsProjectionWithoutClient() {
+        repository.find(QueryBuilders.matchAllQuery(), ElasticsearchSearchOptions.of("library"), PersonName.class,
+                "Person");
+    }
+
+    @Test
+    public void shouldAggregate() {
+        SearchRequestBuilder search = mockSearch();
+        Mockito.doReturn(ElasticsearchAggregationsTest.response(42L, null)).when(search).get();
+
+        ElasticsearchAggregationResult result = repositoryWithClient().aggregate("library",
+                QueryBuilders.matchAllQuery(), Collections.singletonList(AggregationBuilders.avg("age")
+                        .field("age")), "Person");
+
+        assertEquals(42L, result.getTotalHits());
+        Mockito.verify(search).setSize(0);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldReturnErrorWhenAggregatesWithoutClient() {
+        repository.aggregate("library", QueryBuilders.matchAllQuery(),
+                Collections.singletonList(AggregationBuilders.avg("age").field("age")), "Person");
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldReturnErrorWhenSavesBulkWithoutClient() {
+        repository.saveBulk(Collections.singletonList(new Person("Ada", 10)), ElasticsearchBulkOptions.of("library"));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void shouldReturnErrorWhenStreamsWithoutClient() {
+        repository.findStream(QueryBuilders.matchAllQuery(), ElasticsearchScrollOptions.of("library"), "Person");
+    }
+
+    private SearchRequestBuilder mockSearch() {
+        SearchRequestBuilder search = Mockito.mock(SearchRequestBuilder.class,
+                i -> i.getMethod().getReturnType().isInstance(i.getMock()) ? i.getMock() : null);
+        Mockito.doReturn(ElasticsearchScrollIteratorTest.response(null, 1, "Ada")).when(search).get();
+        when(client.prepareSearch("library")).thenReturn(search);
+        return search;
+    }
+
+    private ElasticsearchDocumentRepository repositoryWithClient() {
+        Instance managerInstance = Mockito.mock(Instance.class);
+        when(managerInstance.get()).thenReturn(manager);
+        Instance clientInstance = Mockito.mock(Instance.class);
+        when(clientInstance.get()).thenReturn(client);
+        return new DefaultElasticsearchDocumentRepository(managerInstance, converter, flow, persistManager,
+                clientInstance);
+    }
+
+    interface PersonName {
+
+        String getName();
+    }
+}
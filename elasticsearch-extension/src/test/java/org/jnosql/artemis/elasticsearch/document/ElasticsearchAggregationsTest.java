@@ -0,0 +1,137 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+import org.elasticsearch.action.search.SearchRequestBuilder;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.SearchHits;
+import org.elasticsearch.search.aggregations.Aggregation;
+import org.elasticsearch.search.aggregations.AggregationBuilder;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.Aggregations;
+import org.elasticsearch.search.aggregations.bucket.terms.Terms;
+import org.elasticsearch.search.aggregations.metrics.avg.Avg;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ElasticsearchAggregationsTest {
+
+    private Client client;
+
+    private SearchRequestBuilder search;
+
+    @Before
+    public void setUp() {
+        client = Mockito.mock(Client.class);
+        search = Mockito.mock(SearchRequestBuilder.class,
+                i -> i.getMethod().getReturnType().isInstance(i.getMock()) ? i.getMock() : null);
+        when(client.prepareSearch("library")).thenReturn(search);
+    }
+
+    @Test
+    public void shouldSearchWithoutHits() {
+        QueryBuilder query = QueryBuilders.matchAllQuery();
+        AggregationBuilder names = AggregationBuilders.terms("names").field("name");
+        AggregationBuilder age = AggregationBuilders.avg("age").field("age");
+
+        ElasticsearchAggregations.search(client, "library", query, Arrays.asList(names, age), "Person");
+
+        verify(search).setTypes("Person");
+        verify(search).setQuery(query);
+        verify(search).setSize(0);
+        verify(search).addAggregation(names);
+        verify(search).addAggregation(age);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldReturnErrorWhenThereIsNotAggregation() {
+        ElasticsearchAggregations.search(client, "library", QueryBuilders.matchAllQuery(), Collections.emptyList());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void shouldReturnErrorWhenAggregationIsNull() {
+        ElasticsearchAggregations.search(client, "library", QueryBuilders.matchAllQuery(),
+                Collections.singletonList(null));
+    }
+
+    @Test
+    public void shouldReturnTypedAggregations() {
+        Terms names = Mockito.mock(Terms.class);
+        Avg age = Mockito.mock(Avg.class);
+        Map<String, Aggregation> map = new HashMap<>();
+        map.put("names", names);
+        map.put("age", age);
+
+        ElasticsearchAggregationResult result = ElasticsearchAggregations.toResult(response(42L, aggregations(map)));
+
+        assertEquals(42L, result.getTotalHits());
+        assertSame(names, result.get("names", Terms.class));
+        assertSame(age, result.get("age", Avg.class));
+        assertFalse(result.find("count", Avg.class).isPresent());
+    }
+
+    @Test
+    public void shouldReturnEmptyResultWhenThereIsNotAggregation() {
+        ElasticsearchAggregationResult result = ElasticsearchAggregations.toResult(response(0L, null));
+        assertEquals(0L, result.getTotalHits());
+        assertEquals(Collections.emptyMap(), result.getAggregations());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldReturnErrorWhenAggregationIsMissing() {
+        ElasticsearchAggregations.toResult(response(0L, null)).get("names", Terms.class);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldReturnErrorWhenAggregationHasAnotherType() {
+        Map<String, Aggregation> map = Collections.singletonMap("age", Mockito.mock(Avg.class));
+        ElasticsearchAggregations.toResult(response(1L, aggregations(map))).get("age", Terms.class);
+    }
+
+    private static Aggregations aggregations(Map<String, Aggregation> map) {
+        Aggregations aggregations = Mockito.mock(Aggregations.class);
+        when(aggregations.asMap()).thenReturn(map);
+        return aggregations;
+    }
+
+    static SearchResponse response(long total, Aggregations aggregations) {
+        SearchHits hits = Mockito.mock(SearchHits.class);
+        when(hits.getTotalHits()).thenReturn(total);
+        SearchResponse response = Mockito.mock(SearchResponse.class);
+        when(response.getHits()).thenReturn(hits);
+        when(response.getAggregations()).thenReturn(aggregations);
+        return response;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.search.ClearScrollRequestBuilder;
+import org.elasticsearch.action.search.SearchRequestBuilder;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequestBuilder;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.jnosql.diana.api.document.DocumentEntity;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.jnosql.artemis.elasticsearch.document.ElasticsearchScrollIteratorTest.response;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ElasticsearchAsyncScrollTest {
+
+    private static final Answer<Object> SELF = i -> i.getMethod().getReturnType().isInstance(i.getMock())
+            ? i.getMock() : null;
+
+    private final Function<DocumentEntity, String> converter = e -> e.find("name").get().get(String.class);
+
+    private final ElasticsearchScrollOptions options = ElasticsearchScrollOptions.of("library").withPageSize(2);
+
+    private Client client;
+
+    private ClearScrollRequestBuilder clear;
+
+    private ElasticsearchAsyncScroll<String> scroll;
+
+    @Before
+    public void setUp() {
+        client = Mockito.mock(Client.class);
+        SearchRequestBuilder search = Mockito.mock(SearchRequestBuilder.class, SELF);
+        SearchScrollRequestBuilder searchScroll = Mockito.mock(SearchScrollRequestBuilder.class, SELF);
+        clear = Mockito.mock(ClearScrollRequestBuilder.class, SELF);
+        when(client.prepareSearch("library")).thenReturn(search);
+        when(client.prepareSearchScroll("s1")).thenReturn(searchScroll);
+        when(client.prepareClearScroll()).thenReturn(clear);
+        respond(search, response("s1", 3, "Ada", "Grace"));
+        respond(searchScroll, response("s2", 3, "Margaret"));
+        scroll = new ElasticsearchAsyncScroll<>(client, options, converter, Runnable::run);
+    }
+
+    @Test
+    public void shouldReadPageByPage() {
+        ElasticsearchPage<String> first = scroll.first(QueryBuilders.matchAllQuery(), "Person")
+                .toCompletableFuture().join();
+        assertEquals(Arrays.asList("Ada", "Grace"), first.getContent());
+        assertTrue(first.hasNext());
+
+        ElasticsearchPage<String> second = first.next().toCompletableFuture().join();
+        assertEquals(Collections.singletonList("Margaret"), second.getContent());
+        assertFalse(second.hasNext());
+        verify(clear).addScrollId("s2");
+    }
+
+    @Test
+    public void shouldCallBackEachPage() {
+        List<List<String>> pages = new ArrayList<>();
+        scroll.forEach(QueryBuilders.matchAllQuery(), pages::add, "Person");
+
+        assertEquals(Arrays.asList(Arrays.asList("Ada", "Grace"), Collections.singletonList("Margaret"),
+                Collections.emptyList()), pages);
+    }
+
+    private void respond(Object builder, SearchResponse response) {
+        Answer<Void> answer = i -> {
+            ActionListener<SearchResponse> listener = (ActionListener<SearchResponse>) i.getArguments()[0];
+            listener.onResponse(response);
+            return null;
+        };
+        if (builder instanceof SearchRequestBuilder) {
+            doAnswer(answer).when((SearchRequestBuilder) builder).execute(any(ActionListener.class));
+        } else {
+            doAnswer(answer).when((SearchScrollRequestBuilder) builder).execute(any(ActionListener.class));
+        }
+    }
+}
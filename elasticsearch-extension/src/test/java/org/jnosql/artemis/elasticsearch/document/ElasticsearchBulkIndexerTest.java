@@ -0,0 +1,115 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.common.util.concurrent.EsRejectedExecutionException;
+import org.elasticsearch.rest.RestStatus;
+import org.jnosql.diana.api.document.Document;
+import org.jnosql.diana.api.document.DocumentEntity;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+public class ElasticsearchBulkIndexerTest {
+
+    private final ElasticsearchBulkIndexer<Person> indexer = new ElasticsearchBulkIndexer<>(
+            ElasticsearchBulkOptions.of("library"), p -> DocumentEntity.of("Person"));
+
+    @Test
+    public void shouldCreateIndexRequest() {
+        DocumentEntity entity = DocumentEntity.of("Person");
+        entity.add(Document.of("_id", "ada"));
+        entity.add(Document.of("name", "Ada"));
+        entity.add(Document.of("address", Arrays.asList(Document.of("city", "London"))));
+
+        IndexRequest request = indexer.toRequest(entity);
+        assertEquals("library", request.index());
+        assertEquals("Person", request.type());
+        assertEquals("ada", request.id());
+        Map<String, Object> source = request.sourceAsMap();
+        assertEquals("Ada", source.get("name"));
+        assertEquals("London", ((Map<?, ?>) source.get("address")).get("city"));
+        assertFalse(source.containsKey("_id"));
+    }
+
+    @Test
+    public void shouldReportItemFailures() {
+        IndexRequest ada = new IndexRequest("library", "Person", "ada");
+        IndexRequest grace = new IndexRequest("library", "Person", "grace");
+        indexer.track(ada, new Person("Ada", 10));
+        indexer.track(grace, new Person("Grace", 20));
+        BulkRequest request = new BulkRequest().add(ada).add(grace);
+
+        BulkItemResponse success = Mockito.mock(BulkItemResponse.class);
+        when(success.getItemId()).thenReturn(0);
+        BulkItemResponse rejected = Mockito.mock(BulkItemResponse.class);
+        when(rejected.getItemId()).thenReturn(1);
+        when(rejected.isFailed()).thenReturn(true);
+        when(rejected.status()).thenReturn(RestStatus.TOO_MANY_REQUESTS);
+        when(rejected.getFailureMessage()).thenReturn("rejected execution");
+        BulkResponse response = Mockito.mock(BulkResponse.class);
+        when(response.getItems()).thenReturn(new BulkItemResponse[]{success, rejected});
+
+        indexer.afterBulk(1L, request, response);
+        ElasticsearchBulkResult<Person> result = indexer.toResult(true);
+
+        assertEquals(1L, result.getSuccesses());
+        assertEquals(1, result.getFailures().size());
+        assertEquals(new Person("Grace", 20), result.getFailures().get(0).getEntity());
+        assertTrue(result.getFailures().get(0).isRejected());
+    }
+
+    @Test
+    public void shouldReportFailedBulk() {
+        IndexRequest ada = new IndexRequest("library", "Person", "ada");
+        indexer.track(ada, new Person("Ada", 10));
+
+        indexer.afterBulk(1L, new BulkRequest().add(ada), new EsRejectedExecutionException("rejected"));
+        ElasticsearchBulkResult<Person> result = indexer.toResult(true);
+
+        assertEquals(0L, result.getSuccesses());
+        assertTrue(result.getFailures().get(0).isRejected());
+    }
+
+    @Test
+    public void shouldReportPendingWhenTimeoutElapses() {
+        indexer.track(new IndexRequest("library", "Person", "ada"), new Person("Ada", 10));
+
+        ElasticsearchBulkResult<Person> result = indexer.toResult(false);
+        assertFalse(result.isSuccess());
+        assertEquals(1L, result.getTotal());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldReturnErrorWhenMaxActionsIsInvalid() {
+        ElasticsearchBulkOptions.of("library").withMaxActions(0);
+    }
+}
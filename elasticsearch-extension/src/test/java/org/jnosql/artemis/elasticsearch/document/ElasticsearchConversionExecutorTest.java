@@ -0,0 +1,56 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+import org.junit.Test;
+
+import javax.enterprise.inject.Instance;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ElasticsearchConversionExecutorTest {
+
+    @Test
+    public void shouldRunOnTheDefaultPool() throws Exception {
+        CompletableFuture<String> stage = new CompletableFuture<>();
+        ElasticsearchConversionExecutor.defaultExecutor().execute(() -> Thread.currentThread().getName(), stage);
+        assertTrue(stage.get(5, TimeUnit.SECONDS).startsWith("elasticsearch-conversion-"));
+    }
+
+    @Test
+    public void shouldCompleteStageExceptionallyWhenRejected() {
+        ElasticsearchConversionExecutor executor = ElasticsearchConversionExecutor.of(r -> {
+            throw new RejectedExecutionException("full");
+        });
+        CompletableFuture<String> stage = new CompletableFuture<>();
+        executor.execute(() -> "Ada", stage);
+        assertTrue(stage.isCompletedExceptionally());
+    }
+
+    @Test
+    public void shouldUseDefaultExecutorWhenThereIsNotBean() {
+        assertSame(ElasticsearchConversionExecutor.defaultExecutor(),
+                ElasticsearchConversionExecutor.of((Instance<ElasticsearchConversionExecutor>) null));
+    }
+}
@@ -0,0 +1,194 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.TermQueryBuilder;
+import org.elasticsearch.index.query.WrapperQueryBuilder;
+import org.jnosql.artemis.CrudRepository;
+import org.jnosql.artemis.DynamicQueryException;
+import org.jnosql.artemis.reflection.ClassRepresentations;
+import org.jnosql.diana.api.document.DocumentDeleteQuery;
+import org.jnosql.diana.api.document.DocumentQuery;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import javax.inject.Inject;
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+
+@RunWith(WeldJUnit4Runner.class)
+public class ElasticsearchCrudRepositoryProxyTest {
+
+    private static final ElasticsearchScrollOptions SCROLL = ElasticsearchScrollOptions.of("library");
+
+    private ElasticsearchDocumentRepository repository;
+
+    @Inject
+    private ClassRepresentations classRepresentations;
+
+    private PersonRepository personRepository;
+
+
+    @Before
+    public void setUp() {
+        this.repository = Mockito.mock(ElasticsearchDocumentRepository.class);
+
+        ElasticsearchCrudRepositoryProxy handler = new ElasticsearchCrudRepositoryProxy(repository,
+                classRepresentations, PersonRepository.class);
+
+        when(repository.save(any(Person.class))).thenReturn(new Person());
+        when(repository.save(any(Person.class), any(Duration.class))).thenReturn(new Person());
+        when(repository.update(any(Person.class))).thenReturn(new Person());
+        personRepository = (PersonRepository) Proxy.newProxyInstance(PersonRepository.class.getClassLoader(),
+                new Class[]{PersonRepository.class},
+                handler);
+    }
+
+
+    private PersonRepository filterRepository() {
+        ElasticsearchCrudRepositoryProxy handler = new ElasticsearchCrudRepositoryProxy(repository,
+                classRepresentations, PersonRepository.class, SCROLL);
+        return (PersonRepository) Proxy.newProxyInstance(PersonRepository.class.getClassLoader(),
+                new Class[]{PersonRepository.class}, handler);
+    }
+
+    @Test
+    public void shouldSave() {
+        ArgumentCaptor<Person> captor = ArgumentCaptor.forClass(Person.class);
+        Person person = new Person("Ada", 20);
+        assertNotNull(personRepository.save(person));
+        verify(repository).save(captor.capture());
+        assertEquals(person, captor.getValue());
+    }
+
+    @Test
+    public void shouldUpdate() {
+        ArgumentCaptor<Person> captor = ArgumentCaptor.forClass(Person.class);
+        Person person = new Person("Ada", 20);
+        assertNotNull(personRepository.update(person));
+        verify(repository).update(captor.capture());
+        assertEquals(person, captor.getValue());
+    }
+
+    @Test
+    public void shouldSaveItarable() {
+        ArgumentCaptor<Iterable> captor = ArgumentCaptor.forClass(Iterable.class);
+        Person person = new Person("Ada", 20);
+        personRepository.save(singletonList(person));
+        verify(repository).save(captor.capture());
+        Iterable<Person> persons = captor.getValue();
+        assertThat(persons, containsInAnyOrder(person));
+    }
+
+    @Test
+    public void shouldFindByQuery() {
+        ArgumentCaptor<QueryBuilder> captor = ArgumentCaptor.forClass(QueryBuilder.class);
+        Person person = new Person("Ada", 20);
+        when(repository.find(any(QueryBuilder.class), Mockito.eq("Person"))).thenReturn(singletonList(person));
+
+        assertEquals(singletonList(person), personRepository.findByAgeQuery(20));
+        verify(repository).find(captor.capture(), Mockito.eq("Person"));
+        assertTrue(captor.getValue() instanceof WrapperQueryBuilder);
+    }
+
+    @Test
+    public void shouldFindByOnFilterContext() {
+        ArgumentCaptor<QueryBuilder> captor = ArgumentCaptor.forClass(QueryBuilder.class);
+        Person person = new Person("Ada", 20);
+        when(repository.findStream(any(QueryBuilder.class), Mockito.eq(SCROLL), Mockito.eq("Person")))
+                .thenReturn(Stream.of(person));
+
+        assertEquals(Optional.of(person), filterRepository().findByName("Ada"));
+        verify(repository).findStream(captor.capture(), Mockito.eq(SCROLL), Mockito.eq("Person"));
+        BoolQueryBuilder query = (BoolQueryBuilder) captor.getValue();
+        assertTrue(query.must().isEmpty());
+        assertEquals("name", ((TermQueryBuilder) query.filter().get(0)).fieldName());
+    }
+
+    @Test
+    public void shouldReturnEveryMatchOnFilterContext() {
+        List<Person> people = IntStream.range(0, 25).mapToObj(i -> new Person("Ada", i)).collect(toList());
+        when(repository.findStream(any(QueryBuilder.class), Mockito.eq(SCROLL), Mockito.eq("Person")))
+                .thenReturn(people.stream());
+
+        assertEquals(people, filterRepository().findByAge(20));
+        verify(repository, Mockito.never()).find(any(QueryBuilder.class), Mockito.eq("Person"));
+    }
+
+    @Test
+    public void shouldFindByWithDianaQueryWithoutScrollOptions() {
+        Person person = new Person("Ada", 20);
+        when(repository.find(any(DocumentQuery.class))).thenReturn(singletonList(person));
+
+        assertEquals(Optional.of(person), personRepository.findByName("Ada"));
+        verify(repository).find(any(DocumentQuery.class));
+        verify(repository, Mockito.never()).find(any(QueryBuilder.class), Mockito.eq("Person"));
+    }
+
+    @Test
+    public void shouldDeleteBy() {
+        personRepository.deleteByName("Ada");
+        verify(repository).delete(any(DocumentDeleteQuery.class));
+    }
+
+    @Test(expected = DynamicQueryException.class)
+    public void shouldReturnErrorWhenQueryHasMorePlaceholdersThanParameters() {
+        new ElasticsearchCrudRepositoryProxy(repository, classRepresentations, InvalidRepository.class);
+    }
+
+    interface PersonRepository extends CrudRepository<Person> {
+
+        @Query("{\"bool\": {\"filter\": {\"term\": {\"age\": ?0}}}}")
+        List<Person> findByAgeQuery(Integer age);
+
+        Optional<Person> findByName(String name);
+
+        List<Person> findByAge(Integer age);
+
+        void deleteByName(String name);
+    }
+
+    interface InvalidRepository extends CrudRepository<Person> {
+
+        @Query("{\"term\": {\"name\": \"?1\"}}")
+        List<Person> findByName(String name);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.RangeQueryBuilder;
+import org.elasticsearch.index.query.TermsQueryBuilder;
+import org.elasticsearch.index.query.WildcardQueryBuilder;
+import org.jnosql.diana.api.Sort;
+import org.jnosql.diana.api.document.Document;
+import org.jnosql.diana.api.document.DocumentCondition;
+import org.jnosql.diana.api.document.DocumentQuery;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.when;
+
+public class ElasticsearchFilterQueryTest {
+
+    @Test
+    public void shouldTranslateToFilterContext() {
+        DocumentQuery query = DocumentQuery.of("Person")
+                .and(DocumentCondition.gt(Document.of("age", 10)))
+                .and(DocumentCondition.in(Document.of("name", Arrays.asList("Ada", "Grace"))));
+
+        BoolQueryBuilder filter = (BoolQueryBuilder) ElasticsearchFilterQuery.of(query).get();
+        assertTrue(filter.must().isEmpty());
+        assertTrue(filter.should().isEmpty());
+        assertEquals(1, filter.filter().size());
+    }
+
+    @Test
+    public void shouldTranslateConditions() {
+        RangeQueryBuilder range = (RangeQueryBuilder) ElasticsearchFilterQuery
+                .toFilter(DocumentCondition.lte(Document.of("age", 10))).get();
+        assertEquals("age", range.fieldName());
+        assertEquals(10, range.to());
+
+        TermsQueryBuilder terms = (TermsQueryBuilder) ElasticsearchFilterQuery
+                .toFilter(DocumentCondition.in(Document.of("name", Arrays.asList("Ada", "Grace")))).get();
+        assertEquals(Arrays.asList("Ada", "Grace"), terms.values());
+
+        WildcardQueryBuilder wildcard = (WildcardQueryBuilder) ElasticsearchFilterQuery
+                .toFilter(DocumentCondition.like(Document.of("name", "A_a%*"))).get();
+        assertEquals("A?a*\\*", wildcard.value());
+    }
+
+    @Test
+    public void shouldKeepQueryContextWhenSorted() {
+        DocumentQuery query = DocumentQuery.of("Person").and(DocumentCondition.eq(Document.of("name", "Ada")))
+                .addSort(Sort.of("age", Sort.SortType.ASC));
+        assertFalse(ElasticsearchFilterQuery.of(query).isPresent());
+    }
+
+    @Test
+    public void shouldKeepQueryContextWhenPaginated() {
+        DocumentQuery query = Mockito.mock(DocumentQuery.class);
+        when(query.getSorts()).thenReturn(Collections.emptyList());
+        when(query.getCondition()).thenReturn(Optional.of(DocumentCondition.eq(Document.of("name", "Ada"))));
+        when(query.getStart()).thenReturn(10L);
+        assertFalse(ElasticsearchFilterQuery.of(query).isPresent());
+    }
+
+    @Test
+    public void shouldFilterWhenLimited() {
+        DocumentQuery query = Mockito.mock(DocumentQuery.class);
+        when(query.getSorts()).thenReturn(Collections.emptyList());
+        when(query.getCondition()).thenReturn(Optional.of(DocumentCondition.eq(Document.of("name", "Ada"))));
+        when(query.getMaxResults()).thenReturn(10L);
+        assertTrue(ElasticsearchFilterQuery.of(query).isPresent());
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+import org.jnosql.artemis.Column;
+import org.jnosql.diana.api.document.Document;
+import org.jnosql.diana.api.document.DocumentEntity;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class ElasticsearchProjectionTest {
+
+    @Test
+    public void shouldIncludeProjectedDocuments() {
+        assertArrayEquals(new String[]{"title"}, ElasticsearchProjection.of(BookSummary.class).getIncludes());
+        assertArrayEquals(new String[0], ElasticsearchProjection.of(BookId.class).getIncludes());
+    }
+
+    @Test
+    public void shouldMapInterfaceProjection() {
+        DocumentEntity entity = DocumentEntity.of("Person");
+        entity.add(Document.of("name", "Ada"));
+        entity.add(Document.of("age", "10"));
+
+        PersonView view = ElasticsearchProjection.of(PersonView.class).toProjection(entity);
+        assertEquals("Ada", view.getName());
+        assertEquals(10, view.getAge());
+        assertFalse(view.isActive());
+    }
+
+    @Test
+    public void shouldMapClassProjection() {
+        DocumentEntity entity = DocumentEntity.of("Book");
+        entity.add(Document.of("_id", "978-0321356680"));
+        entity.add(Document.of("title", "Effective Java"));
+
+        BookSummary summary = ElasticsearchProjection.of(BookSummary.class).toProjection(entity);
+        assertEquals("978-0321356680", summary.isbn);
+        assertEquals("Effective Java", summary.title);
+    }
+
+    @Test
+    public void shouldReturnNullWhenDocumentIsMissing() {
+        BookSummary summary = ElasticsearchProjection.of(BookSummary.class).toProjection(DocumentEntity.of("Book"));
+        assertNull(summary.title);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldReturnErrorWhenProjectionHasNoGetter() {
+        ElasticsearchProjection.of(Runnable.class);
+    }
+
+    @Test
+    public void shouldReuseTheProjectionOfAType() {
+        assertSame(ElasticsearchProjection.of(PersonView.class), ElasticsearchProjection.of(PersonView.class));
+    }
+
+    interface PersonView {
+
+        String getName();
+
+        int getAge();
+
+        boolean isActive();
+    }
+
+    static class BookSummary {
+
+        private String title;
+
+        @Column("_id")
+        private String isbn;
+    }
+
+    static class BookId {
+
+        @Column("_id")
+        private String isbn;
+    }
+}
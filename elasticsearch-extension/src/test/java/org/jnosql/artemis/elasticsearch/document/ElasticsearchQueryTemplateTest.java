@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+public class ElasticsearchQueryTemplateTest {
+
+    @Test
+    public void shouldReplaceQuotedPlaceholder() {
+        ElasticsearchQueryTemplate template = ElasticsearchQueryTemplate.of("{\"term\": {\"name\": \"?0\"}}");
+        assertEquals("{\"term\": {\"name\": \"Ada \\\"Lovelace\\\"\"}}",
+                template.render(new Object[]{"Ada \"Lovelace\""}));
+    }
+
+    @Test
+    public void shouldReplaceValuePlaceholders() {
+        ElasticsearchQueryTemplate template = ElasticsearchQueryTemplate
+                .of("{\"bool\": {\"filter\": [{\"terms\": {\"name\": ?1}}, {\"range\": {\"age\": {\"gt\": ?0}}}]}}");
+        assertEquals(2, template.getParameterCount());
+        assertEquals("{\"bool\": {\"filter\": [{\"terms\": {\"name\": [\"Ada\",\"Grace\"]}}, "
+                        + "{\"range\": {\"age\": {\"gt\": 10}}}]}}",
+                template.render(new Object[]{10, Arrays.asList("Ada", "Grace")}));
+    }
+
+    @Test
+    public void shouldKeepEscapedQuotes() {
+        ElasticsearchQueryTemplate template = ElasticsearchQueryTemplate.of("{\"term\": {\"note\": \"\\\"?\\\" ?0\"}}");
+        assertEquals("{\"term\": {\"note\": \"\\\"?\\\" x\"}}", template.render(new Object[]{"x"}));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldReturnErrorWhenArgumentIsMissing() {
+        ElasticsearchQueryTemplate.of("{\"term\": {\"name\": \"?0\"}}").render(new Object[0]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldReturnErrorWhenArgumentIsNaN() {
+        ElasticsearchQueryTemplate.of("{\"range\": {\"age\": {\"gt\": ?0}}}").render(new Object[]{Double.NaN});
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldReturnErrorWhenArgumentIsInfinite() {
+        ElasticsearchQueryTemplate.of("{\"terms\": {\"age\": ?0}}")
+                .render(new Object[]{asList(1F, Float.POSITIVE_INFINITY)});
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017 Otavio Santana and others
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements. See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership. The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.jnosql.artemis.elasticsearch.document;
+
+import org.elasticsearch.action.search.ClearScrollRequestBuilder;
+import org.elasticsearch.action.search.SearchRequestBuilder;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequestBuilder;
+import org.elasticsearch.client.Client;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchHits;
+import org.jnosql.diana.api.document.Document;
+import org.jnosql.diana.api.document.DocumentEntity;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.mockito.stubbing.Answer;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ElasticsearchScrollIteratorTest {
+
+    private static final Answer<Object> SELF = i -> i.getMethod().getReturnType().isInstance(i.getMock())
+            ? i.getMock() : null;
+
+    private final Function<DocumentEntity, String> converter = e -> e.find("name").get().get(String.class);
+
+    private final ElasticsearchScrollOptions options = ElasticsearchScrollOptions.of("library").withPageSize(2);
+
+    private Client client;
+
+    private SearchRequestBuilder search;
+
+    private SearchScrollRequestBuilder scroll;
+
+    private ClearScrollRequestBuilder clear;
+
+    @Before
+    public void setUp() {
+        client = Mockito.mock(Client.class);
+        search = Mockito.mock(SearchRequestBuilder.class, SELF);
+        scroll = Mockito.mock(SearchScrollRequestBuilder.class, SELF);
+        clear = Mockito.mock(ClearScrollRequestBuilder.class, SELF);
+        when(client.prepareSearch("library")).thenReturn(search);
+        when(client.prepareSearchScroll(Mockito.anyString())).thenReturn(scroll);
+        when(client.prepareClearScroll()).thenReturn(clear);
+    }
+
+    @Test
+    public void shouldReadEveryPageAndClearScroll() {
+        doReturn(response("s1", 3, "Ada", "Grace")).when(search).get();
+        doReturn(response("s2", 3, "Margaret")).when(scroll).get();
+
+        List<String> names = ElasticsearchScrollIterator.stream(client, options, QueryBuilders.matchAllQuery(),
+                converter, "Person").collect(Collectors.toList());
+
+        assertEquals(Arrays.asList("Ada", "Grace", "Margaret"), names);
+        verify(client).prepareSearchScroll("s1");
+        verify(clear).addScrollId("s2");
+    }
+
+    @Test
+    public void shouldClearScrollWhenStreamIsClosed() {
+        doReturn(response("s1", 10, "Ada", "Grace")).when(search).get();
+
+        try (Stream<String> stream = ElasticsearchScrollIterator.stream(client, options,
+                QueryBuilders.matchAllQuery(), converter, "Person")) {
+            assertEquals("Ada", stream.findFirst().get());
+        }
+
+        verify(client, never()).prepareSearchScroll(Mockito.anyString());
+        verify(clear).addScrollId("s1");
+    }
+
+    @Test
+    public void shouldConvertHit() {
+        Map<String, Object> address = new HashMap<>();
+        address.put("city", "London");
+        Map<String, Object> source = new HashMap<>();
+        source.put("name", "Ada");
+        source.put("address", address);
+        SearchHit hit = hit("ada", source);
+
+        DocumentEntity entity = ElasticsearchScrolls.toEntity(hit);
+        assertEquals("Person", entity.getName());
+        assertEquals("ada", entity.find("_id").get().get());
+        List<Document> documents = (List<Document>) entity.find("address").get().get();
+        assertEquals(Collections.singletonList(Document.of("city", "London")), documents);
+    }
+
+    static SearchResponse response(String scrollId, long total, String... names) {
+        SearchHit[] hits = Stream.of(names).map(n -> hit(n.toLowerCase(), Collections.singletonMap("name", n)))
+                .toArray(SearchHit[]::new);
+        SearchHits searchHits = Mockito.mock(SearchHits.class);
+        when(searchHits.getHits()).thenReturn(hits);
+        when(searchHits.getTotalHits()).thenReturn(total);
+        SearchResponse response = Mockito.mock(SearchResponse.class);
+        when(response.getHits()).thenReturn(searchHits);
+        when(response.getScrollId()).thenReturn(scrollId);
+        return response;
+    }
+
+    private static SearchHit hit(String id, Map<String, Object> source) {
+        SearchHit hit = Mockito.mock(SearchHit.class);
+        when(hit.getId()).thenReturn(id);
+        when(hit.getType()).thenReturn("Person");
+        when(hit.getSource()).thenReturn(source);
+        return hit;
+    }
+}
@@ -22,12 +22,15 @@ package org.jnosql.artemis.orientdb.document;
 
 import org.jnosql.artemis.document.AbstractDocumentRepositoryAsync;
 import org.jnosql.artemis.document.DocumentEntityConverter;
+import org.jnosql.diana.api.ExecuteAsyncQueryException;
 import org.jnosql.diana.api.document.DocumentCollectionManagerAsync;
 import org.jnosql.diana.api.document.DocumentEntity;
+import org.jnosql.diana.api.document.DocumentQuery;
 import org.jnosql.diana.orientdb.document.OrientDBDocumentCollectionManagerAsync;
 
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
+import java.time.Duration;
 import java.util.List;
 import java.util.Objects;
 import java.util.function.Consumer;
@@ -44,11 +47,20 @@ class DefaultOrientDBDocumentRepositoryAsync extends AbstractDocumentRepositoryA
 
     private Instance<OrientDBDocumentCollectionManagerAsync> manager;
 
+    private OrientDBConversionExecutor executor;
+
     @Inject
     DefaultOrientDBDocumentRepositoryAsync(DocumentEntityConverter converter,
-                                           Instance<OrientDBDocumentCollectionManagerAsync> manager) {
+                                           Instance<OrientDBDocumentCollectionManagerAsync> manager,
+                                           Instance<OrientDBConversionExecutor> executor) {
         this.converter = converter;
         this.manager = manager;
+        this.executor = OrientDBConversionExecutor.of(executor);
+    }
+
+    DefaultOrientDBDocumentRepositoryAsync(DocumentEntityConverter converter,
+                                           Instance<OrientDBDocumentCollectionManagerAsync> manager) {
+        this(converter, manager, null);
     }
 
     DefaultOrientDBDocumentRepositoryAsync() {
@@ -64,20 +76,58 @@ class DefaultOrientDBDocumentRepositoryAsync extends AbstractDocumentRepositoryA
         return manager.get();
     }
 
+    @Override
+    public <T> void save(T entity, Consumer<T> callBack)
+            throws ExecuteAsyncQueryException, UnsupportedOperationException, NullPointerException {
+        Objects.requireNonNull(entity, "entity is required");
+        Objects.requireNonNull(callBack, "callBack is required");
+        manager.get().save(converter.toDocument(entity), toEntity(entity, callBack));
+    }
+
+    @Override
+    public <T> void save(T entity, Duration ttl, Consumer<T> callBack)
+            throws ExecuteAsyncQueryException, UnsupportedOperationException, NullPointerException {
+        Objects.requireNonNull(entity, "entity is required");
+        Objects.requireNonNull(ttl, "ttl is required");
+        Objects.requireNonNull(callBack, "callBack is required");
+        manager.get().save(converter.toDocument(entity), ttl, toEntity(entity, callBack));
+    }
+
+    @Override
+    public <T> void update(T entity, Consumer<T> callBack)
+            throws ExecuteAsyncQueryException, UnsupportedOperationException, NullPointerException {
+        Objects.requireNonNull(entity, "entity is required");
+        Objects.requireNonNull(callBack, "callBack is required");
+        manager.get().update(converter.toDocument(entity), toEntity(entity, callBack));
+    }
+
     @Override
     public <T> void find(String query, Consumer<List<T>> callBack, Object... params) {
         Objects.requireNonNull(query, "query is required");
         Objects.requireNonNull(callBack, "callBack is required");
 
-        Consumer<List<DocumentEntity>> dianaCallBack = d -> {
-            callBack.accept(
-                    d.stream()
-                            .map(getConverter()::toEntity)
-                            .map(o -> (T) o)
-                            .collect(toList()));
-        };
+        Consumer<List<DocumentEntity>> dianaCallBack = toEntities(callBack);
 
         manager.get().find(query, dianaCallBack, params);
 
     }
+
+    @Override
+    public <T> void find(DocumentQuery query, Consumer<List<T>> callBack)
+            throws ExecuteAsyncQueryException, UnsupportedOperationException, NullPointerException {
+        Objects.requireNonNull(query, "query is required");
+        Objects.requireNonNull(callBack, "callBack is required");
+        manager.get().find(query, toEntities(callBack));
+    }
+
+    private <T> Consumer<DocumentEntity> toEntity(T entity, Consumer<T> callBack) {
+        return d -> executor.execute(() -> (T) converter.toEntity(entity.getClass(), d), callBack);
+    }
+
+    private <T> Consumer<List<DocumentEntity>> toEntities(Consumer<List<T>> callBack) {
+        return d -> executor.execute(() -> d.stream()
+                .map(getConverter()::toEntity)
+                .map(o -> (T) o)
+                .collect(toList()), callBack);
+    }
 }
@@ -26,13 +26,18 @@ import org.jnosql.diana.orientdb.document.OrientDBDocumentCollectionManagerAsync
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mockito;
 
 import javax.enterprise.inject.Instance;
 import javax.inject.Inject;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.when;
 
 @RunWith(WeldJUnit4Runner.class)
@@ -45,14 +50,16 @@ public class DefaultOrientDBDocumentRepositoryAsyncTest {
 
     private OrientDBDocumentRepositoryAsync repositoryAsync;
 
+    private Instance managerInstance;
+
 
     @Before
     public void setUp() {
         managerAsync = Mockito.mock(OrientDBDocumentCollectionManagerAsync.class);
-        Instance instance = Mockito.mock(Instance.class);
-        when(instance.get()).thenReturn(managerAsync);
+        managerInstance = Mockito.mock(Instance.class);
+        when(managerInstance.get()).thenReturn(managerAsync);
 
-        repositoryAsync = new DefaultOrientDBDocumentRepositoryAsync(converter, instance);
+        repositoryAsync = new DefaultOrientDBDocumentRepositoryAsync(converter, managerInstance);
 
         DocumentEntity entity = DocumentEntity.of("Person");
         entity.add(Document.of("name", "Ada"));
@@ -71,4 +78,26 @@ public class DefaultOrientDBDocumentRepositoryAsyncTest {
                 Mockito.eq("Person"));
 
     }
-}
\ No newline at end of file
+
+    @Test
+    public void shouldConvertTheSavedEntityOnTheExecutor() {
+        List<Runnable> tasks = new ArrayList<>();
+        Instance executor = Mockito.mock(Instance.class);
+        when(executor.get()).thenReturn(OrientDBConversionExecutor.of(tasks::add));
+        OrientDBDocumentRepositoryAsync repository = new DefaultOrientDBDocumentRepositoryAsync(converter,
+                managerInstance, executor);
+        List<Person> saved = new ArrayList<>();
+
+        repository.save(new Person("Ada", 10), saved::add);
+        ArgumentCaptor<Consumer> callBack = ArgumentCaptor.forClass(Consumer.class);
+        Mockito.verify(managerAsync).save(any(DocumentEntity.class), callBack.capture());
+        DocumentEntity entity = DocumentEntity.of("Person");
+        entity.add(Document.of("name", "Ada"));
+        entity.add(Document.of("age", 10));
+        callBack.getValue().accept(entity);
+
+        assertTrue(saved.isEmpty());
+        tasks.get(0).run();
+        assertEquals("Ada", saved.get(0).getName());
+    }
+}